@@ -22,15 +22,55 @@
  * THE SOFTWARE.
  */
 import java.io.*;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import javassist.bytecode.*;
 
+/**
+ * Reports all methods whose bytecode is too large to be inlined by the JIT even when they are hot,
+ * and fails when any of them is not listed in the allowlist file given as the optional second argument.
+ * <p>
+ * Each non-empty line of the allowlist that does not start with <code>#</code> names one method as
+ * <code>SimpleClassName.methodName(descriptor)</code>, which is the same form printed in the report.
+ */
 public class InlineAdvisor {
     private static final int FREQ_INLINE_THRESHOLD = Integer.valueOf(System.getProperty("InlineAdvisor.FreqInlineThreshold")).intValue();
 
+    private static final Set allowed = new HashSet();
+    private static final Set seen = new HashSet();
+    private static int violations;
+
     public static void main(String[] args) throws IOException {
+        if (args.length > 1)
+            readAllowlist(new File(args[1]));
         walk(new File(args[0]));
+        for (Iterator it = allowed.iterator(); it.hasNext();) {
+            String method = (String) it.next();
+            if (!seen.contains(method))
+                System.err.println("Allowlisted method is small enough to be inlined or does not exist anymore: " + method);
+        }
+        if (violations > 0) {
+            System.err.println(violations + " method(s) exceed the inlining threshold of " + FREQ_INLINE_THRESHOLD
+                    + " bytes. Split them into a small fast path and an out-of-line slow path, or add them to the allowlist.");
+            System.exit(1);
+        }
+    }
+
+    private static void readAllowlist(File file) throws IOException {
+        BufferedReader reader = new BufferedReader(new FileReader(file));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.length() > 0 && !line.startsWith("#"))
+                    allowed.add(line);
+            }
+        } finally {
+            reader.close();
+        }
     }
 
     private static void walk(File root) throws IOException {
@@ -61,8 +101,16 @@ public class InlineAdvisor {
             if (ca == null)
                 continue;
             int len = ca.getCode().length;
-            if (len > FREQ_INLINE_THRESHOLD)
-                System.err.println("Method will never be inlined(" + len + "): " + file.getName() + "." + mi.getName() + mi.getDescriptor());
+            if (len <= FREQ_INLINE_THRESHOLD)
+                continue;
+            String className = cf.getName().substring(cf.getName().lastIndexOf('.') + 1);
+            String method = className + "." + mi.getName() + mi.getDescriptor();
+            if (allowed.contains(method)) {
+                seen.add(method);
+            } else {
+                System.err.println("Method will never be inlined(" + len + "): " + method);
+                violations++;
+            }
         }
     }
 }
@@ -172,7 +172,10 @@ public class Java6to2 implements Opcodes {
         File[] list = root.listFiles(new FilenameFilter() {
             public boolean accept(File dir, String name) {
                 File f = new File(dir, name);
-                return f.isDirectory() || name.endsWith(".class") && !name.equals("module-info.class");
+                /* Leave the versioned classes of a multi-release jar in META-INF/versions untouched */
+                if (f.isDirectory())
+                    return !name.equals("META-INF");
+                return name.endsWith(".class") && !name.equals("module-info.class");
             }
         });
         if (list == null)
@@ -0,0 +1,85 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java 11 replacement of the no-op <code>QueryEvents</code> class in the base layer of the multi-release jar,
+ * which reports every batch query as a Java Flight Recorder {@link QueryEvent}.
+ * <p>
+ * When the event is disabled, {@link #begin()} returns <code>null</code> after a single check and {@link #end(Object, String, int, int)}
+ * returns immediately.
+ */
+final class QueryEvents {
+
+    /**
+     * The JFR event emitted for each batch query.
+     */
+    @Name("org.joml.primitives.Query")
+    @Label("Geometry Query")
+    @Category({ "JOML", "Primitives" })
+    @Description("A batch of intersection tests or transformations")
+    static final class QueryEvent extends Event {
+        @Label("Operation")
+        String operation;
+
+        @Label("Candidates")
+        @Description("The number of primitives the query considered")
+        int candidates;
+
+        @Label("Hits")
+        @Description("The number of primitives the query reported")
+        int hits;
+    }
+
+    private QueryEvents() {
+    }
+
+    static Object begin() {
+        QueryEvent event = new QueryEvent();
+        if (!event.isEnabled())
+            return null;
+        event.begin();
+        return event;
+    }
+
+    static void end(Object event, String operation, int candidates, int hits) {
+        if (event == null)
+            return;
+        QueryEvent e = (QueryEvent) event;
+        e.end();
+        if (e.shouldCommit()) {
+            e.operation = operation;
+            e.candidates = candidates;
+            e.hits = hits;
+            e.commit();
+        }
+    }
+
+}
@@ -27,11 +27,16 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+//#ifdef __HAS_NIO__
+import java.nio.DoubleBuffer;
+//#endif
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 
 import org.joml.Math;
+import org.joml.Matrix3dc;
 import org.joml.Matrix4dc;
+import org.joml.Matrix4x3dc;
 import org.joml.Options;
 import org.joml.Runtime;
 import org.joml.Vector2d;
@@ -361,6 +366,89 @@ public class AABBd implements Externalizable, AABBdc {
         return dest.set(lengthX(), lengthY(), lengthZ());
     }
 
+    /**
+     * Set <code>this</code> to the smallest axis-aligned box containing the <code>count</code> points whose <code>(x, y, z)</code> coordinates
+     * are stored in <code>points</code> starting at <code>offset</code>, with <code>stride</code> array elements between the starts of two consecutive points.
+     * <p>
+     * This computes the bounds in a single pass over the array, which is considerably faster than calling {@link #union(double, double, double)}
+     * for every point.
+     * <p>
+     * If <code>count</code> is <code>0</code>, <code>this</code> will be set to the empty box
+     * <code>(minX, minY, minZ)=(+inf, +inf, +inf)</code> and <code>(maxX, maxY, maxZ)=(-inf, -inf, -inf)</code>.
+     * 
+     * @param points
+     *          the array containing the point coordinates
+     * @param offset
+     *          the position in <code>points</code> of the x coordinate of the first point
+     * @param stride
+     *          the number of array elements between the x coordinates of two consecutive points, at least <code>3</code>
+     * @param count
+     *          the number of points
+     * @return this
+     */
+    public AABBd setFromPoints(double[] points, int offset, int stride, int count) {
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, minZ = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY, maxZ = Double.NEGATIVE_INFINITY;
+        for (int i = 0, j = offset; i < count; i++, j += stride) {
+            double x = points[j], y = points[j + 1], z = points[j + 2];
+            minX = minX < x ? minX : x;
+            minY = minY < y ? minY : y;
+            minZ = minZ < z ? minZ : z;
+            maxX = maxX > x ? maxX : x;
+            maxY = maxY > y ? maxY : y;
+            maxZ = maxZ > z ? maxZ : z;
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+        return this;
+    }
+
+//#ifdef __HAS_NIO__
+    /**
+     * Set <code>this</code> to the smallest axis-aligned box containing the <code>count</code> points whose <code>(x, y, z)</code> coordinates
+     * are stored in <code>points</code> starting at the absolute buffer position <code>offset</code>, with <code>stride</code> buffer elements
+     * between the starts of two consecutive points.
+     * <p>
+     * This method does not modify the position of the buffer.
+     * 
+     * @see #setFromPoints(double[], int, int, int)
+     * 
+     * @param points
+     *          the buffer containing the point coordinates
+     * @param offset
+     *          the absolute position in <code>points</code> of the x coordinate of the first point
+     * @param stride
+     *          the number of buffer elements between the x coordinates of two consecutive points, at least <code>3</code>
+     * @param count
+     *          the number of points
+     * @return this
+     */
+    public AABBd setFromPoints(DoubleBuffer points, int offset, int stride, int count) {
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, minZ = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY, maxZ = Double.NEGATIVE_INFINITY;
+        for (int i = 0, j = offset; i < count; i++, j += stride) {
+            double x = points.get(j), y = points.get(j + 1), z = points.get(j + 2);
+            minX = minX < x ? minX : x;
+            minY = minY < y ? minY : y;
+            minZ = minZ < z ? minZ : z;
+            maxX = maxX > x ? maxX : x;
+            maxY = maxY > y ? maxY : y;
+            maxZ = maxZ > z ? maxZ : z;
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+        return this;
+    }
+//#endif
+
     /**
      * Set <code>this</code> to the union of <code>this</code> and the given point <code>(x, y, z)</code>.
      * 
@@ -614,30 +702,138 @@ public class AABBd implements Externalizable, AABBdc {
     }
 
     public AABBd transform(Matrix4dc m, AABBd dest) {
-        double dx = maxX - minX, dy = maxY - minY, dz = maxZ - minZ;
-        double minx = Double.POSITIVE_INFINITY, miny = Double.POSITIVE_INFINITY, minz = Double.POSITIVE_INFINITY;
-        double maxx = Double.NEGATIVE_INFINITY, maxy = Double.NEGATIVE_INFINITY, maxz = Double.NEGATIVE_INFINITY;
-        for (int i = 0; i < 8; i++) {
-            double x = minX + (i & 1) * dx, y = minY + (i >> 1 & 1) * dy, z = minZ + (i >> 2 & 1) * dz;
-            double tx = m.m00() * x + m.m10() * y + m.m20() * z + m.m30();
-            double ty = m.m01() * x + m.m11() * y + m.m21() * z + m.m31();
-            double tz = m.m02() * x + m.m12() * y + m.m22() * z + m.m32();
-            minx = Math.min(tx, minx);
-            miny = Math.min(ty, miny);
-            minz = Math.min(tz, minz);
-            maxx = Math.max(tx, maxx);
-            maxy = Math.max(ty, maxy);
-            maxz = Math.max(tz, maxz);
-        }
-        dest.minX = minx;
-        dest.minY = miny;
-        dest.minZ = minz;
-        dest.maxX = maxx;
-        dest.maxY = maxy;
-        dest.maxZ = maxz;
+        return transform(m.m00(), m.m01(), m.m02(), m.m10(), m.m11(), m.m12(), m.m20(), m.m21(), m.m22(), m.m30(), m.m31(), m.m32(), dest);
+    }
+
+    /**
+     * Apply the given affine transformation to this {@link AABBd}.
+     * 
+     * @see #transform(Matrix4x3dc, AABBd)
+     * 
+     * @param m
+     *          the affine transformation matrix
+     * @return this
+     */
+    public AABBd transform(Matrix4x3dc m) {
+        return transform(m, this);
+    }
+
+    public AABBd transform(Matrix4x3dc m, AABBd dest) {
+        return transform(m.m00(), m.m01(), m.m02(), m.m10(), m.m11(), m.m12(), m.m20(), m.m21(), m.m22(), m.m30(), m.m31(), m.m32(), dest);
+    }
+
+    /**
+     * Apply the linear transformation <code>m</code> followed by the translation <code>(tx, ty, tz)</code> to this {@link AABBd}.
+     * 
+     * @see #transform(Matrix3dc, double, double, double, AABBd)
+     * 
+     * @param m
+     *          the linear transformation matrix
+     * @param tx
+     *          the x component of the translation
+     * @param ty
+     *          the y component of the translation
+     * @param tz
+     *          the z component of the translation
+     * @return this
+     */
+    public AABBd transform(Matrix3dc m, double tx, double ty, double tz) {
+        return transform(m, tx, ty, tz, this);
+    }
+
+    public AABBd transform(Matrix3dc m, double tx, double ty, double tz, AABBd dest) {
+        return transform(m.m00(), m.m01(), m.m02(), m.m10(), m.m11(), m.m12(), m.m20(), m.m21(), m.m22(), tx, ty, tz, dest);
+    }
+
+    private boolean isEmpty() {
+        return minX > maxX || minY > maxY || minZ > maxZ;
+    }
+
+    private AABBd transform(double m00, double m01, double m02, double m10, double m11, double m12,
+                            double m20, double m21, double m22, double m30, double m31, double m32, AABBd dest) {
+        if (isEmpty())
+            return dest.set(this);
+        double cx = (minX + maxX) * 0.5, cy = (minY + maxY) * 0.5, cz = (minZ + maxZ) * 0.5;
+        double ex = (maxX - minX) * 0.5, ey = (maxY - minY) * 0.5, ez = (maxZ - minZ) * 0.5;
+        double ncx = Math.fma(m00, cx, Math.fma(m10, cy, Math.fma(m20, cz, m30)));
+        double ncy = Math.fma(m01, cx, Math.fma(m11, cy, Math.fma(m21, cz, m31)));
+        double ncz = Math.fma(m02, cx, Math.fma(m12, cy, Math.fma(m22, cz, m32)));
+        double nex = Math.abs(m00) * ex + Math.abs(m10) * ey + Math.abs(m20) * ez;
+        double ney = Math.abs(m01) * ex + Math.abs(m11) * ey + Math.abs(m21) * ez;
+        double nez = Math.abs(m02) * ex + Math.abs(m12) * ey + Math.abs(m22) * ez;
+        dest.minX = ncx - nex;
+        dest.minY = ncy - ney;
+        dest.minZ = ncz - nez;
+        dest.maxX = ncx + nex;
+        dest.maxY = ncy + ney;
+        dest.maxZ = ncz + nez;
         return dest;
     }
 
+    /**
+     * Apply the given {@link Matrix4dc#isAffine() affine} transformation to <code>count</code> boxes packed
+     * into <code>src</code> and store the results into <code>dest</code>.
+     * <p>
+     * Each box occupies six consecutive elements in the order <code>minX, minY, minZ, maxX, maxY, maxZ</code>.
+     * The matrix elements are read only once for the whole batch, so this is preferable to transforming
+     * individual {@link AABBd} instances when many boxes share the same transformation.
+     * <code>src</code> and <code>dest</code> may be the same array with the same offset.
+     * Empty boxes are copied unchanged.
+     * 
+     * @see #transform(Matrix4dc, AABBd)
+     * 
+     * @param m
+     *          the affine transformation matrix
+     * @param src
+     *          the packed source boxes
+     * @param srcOffset
+     *          the index of the first element of the first box in <code>src</code>
+     * @param dest
+     *          will hold the packed transformed boxes
+     * @param destOffset
+     *          the index of the first element of the first box in <code>dest</code>
+     * @param count
+     *          the number of boxes
+     */
+    public static void transformAll(Matrix4dc m, double[] src, int srcOffset, double[] dest, int destOffset, int count) {
+        Object event = QueryEvents.begin();
+        double m00 = m.m00(), m01 = m.m01(), m02 = m.m02();
+        double m10 = m.m10(), m11 = m.m11(), m12 = m.m12();
+        double m20 = m.m20(), m21 = m.m21(), m22 = m.m22();
+        double m30 = m.m30(), m31 = m.m31(), m32 = m.m32();
+        double a00 = Math.abs(m00), a01 = Math.abs(m01), a02 = Math.abs(m02);
+        double a10 = Math.abs(m10), a11 = Math.abs(m11), a12 = Math.abs(m12);
+        double a20 = Math.abs(m20), a21 = Math.abs(m21), a22 = Math.abs(m22);
+        for (int i = 0, s = srcOffset, d = destOffset; i < count; i++, s += 6, d += 6) {
+            double minX = src[s], minY = src[s + 1], minZ = src[s + 2];
+            double maxX = src[s + 3], maxY = src[s + 4], maxZ = src[s + 5];
+            if (minX > maxX || minY > maxY || minZ > maxZ) {
+                dest[d] = minX;
+                dest[d + 1] = minY;
+                dest[d + 2] = minZ;
+                dest[d + 3] = maxX;
+                dest[d + 4] = maxY;
+                dest[d + 5] = maxZ;
+                continue;
+            }
+            double cx = (minX + maxX) * 0.5, cy = (minY + maxY) * 0.5, cz = (minZ + maxZ) * 0.5;
+            double ex = (maxX - minX) * 0.5, ey = (maxY - minY) * 0.5, ez = (maxZ - minZ) * 0.5;
+            double ncx = Math.fma(m00, cx, Math.fma(m10, cy, Math.fma(m20, cz, m30)));
+            double ncy = Math.fma(m01, cx, Math.fma(m11, cy, Math.fma(m21, cz, m31)));
+            double ncz = Math.fma(m02, cx, Math.fma(m12, cy, Math.fma(m22, cz, m32)));
+            double nex = a00 * ex + a10 * ey + a20 * ez;
+            double ney = a01 * ex + a11 * ey + a21 * ez;
+            double nez = a02 * ex + a12 * ey + a22 * ez;
+            dest[d] = ncx - nex;
+            dest[d + 1] = ncy - ney;
+            dest[d + 2] = ncz - nez;
+            dest[d + 3] = ncx + nex;
+            dest[d + 4] = ncy + ney;
+            dest[d + 5] = ncz + nez;
+        }
+        QueryEvents.end(event, "AABBd.transformAll", count, count);
+    }
+
     public int hashCode() {
         final int prime = 31;
         int result = 1;
@@ -23,7 +23,9 @@
  */
 package org.joml.primitives;
 
+import org.joml.Matrix3dc;
 import org.joml.Matrix4dc;
+import org.joml.Matrix4x3dc;
 import org.joml.Vector2d;
 import org.joml.Vector3d;
 import org.joml.Vector3dc;
@@ -481,10 +483,18 @@ public interface AABBdc {
 
     /**
      * Apply the given {@link Matrix4dc#isAffine() affine} transformation to this {@link AABBd}
-     * and store the resulting AABB into <code>dest</code>.
+     * and store the result in <code>dest</code>.
      * <p>
      * The matrix in <code>m</code> <i>must</i> be {@link Matrix4dc#isAffine() affine}.
-     *
+     * <p>
+     * Instead of transforming all eight corners, this method transforms the center of the box by <code>m</code>
+     * and its half-extents by the component-wise absolute value of the upper-left 3x3 submatrix of <code>m</code>,
+     * as described in "Transforming Axis-Aligned Bounding Boxes" by Jim Arvo, Graphics Gems, 1990.
+     * The result is the same box that encloses all eight transformed corners.
+     * <p>
+     * If this box is empty, i.e. any of its minimum coordinates is greater than the corresponding maximum coordinate,
+     * it is copied unchanged into <code>dest</code>.
+     * 
      * @param m
      *          the affine transformation matrix
      * @param dest
@@ -493,4 +503,38 @@ public interface AABBdc {
      */
     AABBd transform(Matrix4dc m, AABBd dest);
 
+    /**
+     * Apply the given affine transformation to this {@link AABBd} and store the result in <code>dest</code>.
+     * <p>
+     * This uses the same center/extent formulation as {@link #transform(Matrix4dc, AABBd)}.
+     * 
+     * @param m
+     *          the affine transformation matrix
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    AABBd transform(Matrix4x3dc m, AABBd dest);
+
+    /**
+     * Apply the linear transformation <code>m</code> followed by the translation <code>(tx, ty, tz)</code> to this {@link AABBd}
+     * and store the result in <code>dest</code>.
+     * <p>
+     * This is useful when an object's orientation and position are stored separately, as it avoids
+     * building a 4x4 matrix first. It uses the same center/extent formulation as {@link #transform(Matrix4dc, AABBd)}.
+     * 
+     * @param m
+     *          the linear transformation matrix
+     * @param tx
+     *          the x component of the translation
+     * @param ty
+     *          the y component of the translation
+     * @param tz
+     *          the z component of the translation
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    AABBd transform(Matrix3dc m, double tx, double ty, double tz, AABBd dest);
+
 }
@@ -25,7 +25,9 @@ package org.joml.primitives;
 
 import java.text.NumberFormat;
 
+import org.joml.Matrix3fc;
 import org.joml.Matrix4fc;
+import org.joml.Matrix4x3fc;
 import org.joml.Vector2f;
 import org.joml.Vector3d;
 import org.joml.Vector3f;
@@ -460,11 +462,19 @@ public interface AABBfc {
     int intersectsLineSegment(LineSegmentf lineSegment, Vector2f result);
 
     /**
-     * Apply the given {@link Matrix4fc#isAffine() affine} transformation to this
-     * {@link AABBf} and store the resulting AABB into <code>dest</code>.
+     * Apply the given {@link Matrix4fc#isAffine() affine} transformation to this {@link AABBf}
+     * and store the result in <code>dest</code>.
      * <p>
      * The matrix in <code>m</code> <i>must</i> be {@link Matrix4fc#isAffine() affine}.
-     *
+     * <p>
+     * Instead of transforming all eight corners, this method transforms the center of the box by <code>m</code>
+     * and its half-extents by the component-wise absolute value of the upper-left 3x3 submatrix of <code>m</code>,
+     * as described in "Transforming Axis-Aligned Bounding Boxes" by Jim Arvo, Graphics Gems, 1990.
+     * The result is the same box that encloses all eight transformed corners.
+     * <p>
+     * If this box is empty, i.e. any of its minimum coordinates is greater than the corresponding maximum coordinate,
+     * it is copied unchanged into <code>dest</code>.
+     * 
      * @param m
      *          the affine transformation matrix
      * @param dest
@@ -473,6 +483,40 @@ public interface AABBfc {
      */
     AABBf transform(Matrix4fc m, AABBf dest);
 
+    /**
+     * Apply the given affine transformation to this {@link AABBf} and store the result in <code>dest</code>.
+     * <p>
+     * This uses the same center/extent formulation as {@link #transform(Matrix4fc, AABBf)}.
+     * 
+     * @param m
+     *          the affine transformation matrix
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    AABBf transform(Matrix4x3fc m, AABBf dest);
+
+    /**
+     * Apply the linear transformation <code>m</code> followed by the translation <code>(tx, ty, tz)</code> to this {@link AABBf}
+     * and store the result in <code>dest</code>.
+     * <p>
+     * This is useful when an object's orientation and position are stored separately, as it avoids
+     * building a 4x4 matrix first. It uses the same center/extent formulation as {@link #transform(Matrix4fc, AABBf)}.
+     * 
+     * @param m
+     *          the linear transformation matrix
+     * @param tx
+     *          the x component of the translation
+     * @param ty
+     *          the y component of the translation
+     * @param tz
+     *          the z component of the translation
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    AABBf transform(Matrix3fc m, float tx, float ty, float tz, AABBf dest);
+
     /**
      * Return a string representation of this AABB by formatting the vector components with the given {@link NumberFormat}.
      *
@@ -30,6 +30,7 @@ import java.io.ObjectOutput;
 
 import org.joml.Math;
 import org.joml.Matrix4fc;
+import org.joml.Matrix4x3fc;
 import org.joml.RoundingMode;
 import org.joml.Vector2f;
 import org.joml.Vector3d;
@@ -617,27 +618,48 @@ public class AABBi implements Externalizable, AABBic {
     }
 
     public AABBi transform(Matrix4fc m, AABBi dest) {
-        float dx = maxX - minX, dy = maxY - minY, dz = maxZ - minZ;
-        float minx = Float.POSITIVE_INFINITY, miny = Float.POSITIVE_INFINITY, minz = Float.POSITIVE_INFINITY;
-        float maxx = Float.NEGATIVE_INFINITY, maxy = Float.NEGATIVE_INFINITY, maxz = Float.NEGATIVE_INFINITY;
-        for (int i = 0; i < 8; i++) {
-            float x = minX + (i & 1) * dx, y = minY + (i >> 1 & 1) * dy, z = minZ + (i >> 2 & 1) * dz;
-            float tx = m.m00() * x + m.m10() * y + m.m20() * z + m.m30();
-            float ty = m.m01() * x + m.m11() * y + m.m21() * z + m.m31();
-            float tz = m.m02() * x + m.m12() * y + m.m22() * z + m.m32();
-            minx = Math.min(tx, minx);
-            miny = Math.min(ty, miny);
-            minz = Math.min(tz, minz);
-            maxx = Math.max(tx, maxx);
-            maxy = Math.max(ty, maxy);
-            maxz = Math.max(tz, maxz);
-        }
-        dest.minX = Math.roundUsing(minx, RoundingMode.FLOOR);
-        dest.minY = Math.roundUsing(miny, RoundingMode.FLOOR);
-        dest.minZ = Math.roundUsing(minz, RoundingMode.FLOOR);
-        dest.maxX = Math.roundUsing(maxx, RoundingMode.CEILING);
-        dest.maxY = Math.roundUsing(maxy, RoundingMode.CEILING);
-        dest.maxZ = Math.roundUsing(maxz, RoundingMode.CEILING);
+        return transform(m.m00(), m.m01(), m.m02(), m.m10(), m.m11(), m.m12(), m.m20(), m.m21(), m.m22(), m.m30(), m.m31(), m.m32(), dest);
+    }
+
+    /**
+     * Apply the given affine transformation to this {@link AABBi}.
+     *
+     * @see #transform(Matrix4x3fc, AABBi)
+     *
+     * @param m
+     *          the affine transformation matrix
+     * @return this
+     */
+    public AABBi transform(Matrix4x3fc m) {
+        return transform(m, this);
+    }
+
+    public AABBi transform(Matrix4x3fc m, AABBi dest) {
+        return transform(m.m00(), m.m01(), m.m02(), m.m10(), m.m11(), m.m12(), m.m20(), m.m21(), m.m22(), m.m30(), m.m31(), m.m32(), dest);
+    }
+
+    private boolean isEmpty() {
+        return minX > maxX || minY > maxY || minZ > maxZ;
+    }
+
+    private AABBi transform(float m00, float m01, float m02, float m10, float m11, float m12,
+                            float m20, float m21, float m22, float m30, float m31, float m32, AABBi dest) {
+        if (isEmpty())
+            return dest.set(this);
+        float cx = ((float) minX + maxX) * 0.5f, cy = ((float) minY + maxY) * 0.5f, cz = ((float) minZ + maxZ) * 0.5f;
+        float ex = ((float) maxX - minX) * 0.5f, ey = ((float) maxY - minY) * 0.5f, ez = ((float) maxZ - minZ) * 0.5f;
+        float ncx = Math.fma(m00, cx, Math.fma(m10, cy, Math.fma(m20, cz, m30)));
+        float ncy = Math.fma(m01, cx, Math.fma(m11, cy, Math.fma(m21, cz, m31)));
+        float ncz = Math.fma(m02, cx, Math.fma(m12, cy, Math.fma(m22, cz, m32)));
+        float nex = Math.abs(m00) * ex + Math.abs(m10) * ey + Math.abs(m20) * ez;
+        float ney = Math.abs(m01) * ex + Math.abs(m11) * ey + Math.abs(m21) * ez;
+        float nez = Math.abs(m02) * ex + Math.abs(m12) * ey + Math.abs(m22) * ez;
+        dest.minX = Math.roundUsing(ncx - nex, RoundingMode.FLOOR);
+        dest.minY = Math.roundUsing(ncy - ney, RoundingMode.FLOOR);
+        dest.minZ = Math.roundUsing(ncz - nez, RoundingMode.FLOOR);
+        dest.maxX = Math.roundUsing(ncx + nex, RoundingMode.CEILING);
+        dest.maxY = Math.roundUsing(ncy + ney, RoundingMode.CEILING);
+        dest.maxZ = Math.roundUsing(ncz + nez, RoundingMode.CEILING);
         return dest;
     }
 
@@ -24,6 +24,7 @@
 package org.joml.primitives;
 
 import org.joml.Matrix4fc;
+import org.joml.Matrix4x3fc;
 import org.joml.Vector2f;
 import org.joml.Vector3d;
 import org.joml.Vector3f;
@@ -492,10 +493,14 @@ public interface AABBic {
     int intersectLineSegment(LineSegmentf lineSegment, Vector2f result);
 
     /**
-     * Apply the given {@link Matrix4fc#isAffine() affine} transformation to this
-     * {@link AABBi} and store the resulting AABB into <code>dest</code>.
+     * Apply the given {@link Matrix4fc#isAffine() affine} transformation to this {@link AABBi}
+     * and store the result in <code>dest</code>.
      * <p>
      * The matrix in <code>m</code> <i>must</i> be {@link Matrix4fc#isAffine() affine}.
+     * <p>
+     * The box is transformed using its center and half-extents, like {@link AABBf#transform(Matrix4fc, AABBf)},
+     * and the resulting bounds are rounded outwards to integers.
+     * If this box is empty, it is copied unchanged into <code>dest</code>.
      *
      * @param m
      *          the affine transformation matrix
@@ -505,4 +510,17 @@ public interface AABBic {
      */
     AABBi transform(Matrix4fc m, AABBi dest);
 
+    /**
+     * Apply the given affine transformation to this {@link AABBi} and store the result in <code>dest</code>.
+     * <p>
+     * The resulting bounds are rounded outwards to integers.
+     *
+     * @param m
+     *          the affine transformation matrix
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    AABBi transform(Matrix4x3fc m, AABBi dest);
+
 }
@@ -30,6 +30,8 @@ import java.io.ObjectOutput;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 
+import org.joml.Math;
+import org.joml.Matrix3x2fc;
 import org.joml.Options;
 import org.joml.Runtime;
 import org.joml.Vector2fc;
@@ -144,6 +146,74 @@ public class Circlef implements Externalizable {
         return dest;
     }
 
+    /**
+     * Transform <code>this</code> circle by the given affine 2D transformation.
+     * 
+     * @see #transform(Matrix3x2fc, Circlef)
+     * 
+     * @param m
+     *          the 2D affine transformation matrix
+     * @return this
+     */
+    public Circlef transform(Matrix3x2fc m) {
+        return transform(m, this);
+    }
+
+    /**
+     * Transform <code>this</code> circle by the given affine 2D transformation and store the result in <code>dest</code>.
+     * <p>
+     * The center is transformed as a position. Because a non-uniform scaling does not map a circle onto a circle,
+     * the radius is multiplied by the length of the longer of the first two columns of <code>m</code>,
+     * so that <code>dest</code> always encloses the transformed circle.
+     * 
+     * @param m
+     *          the 2D affine transformation matrix
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Circlef transform(Matrix3x2fc m, Circlef dest) {
+        float m00 = m.m00(), m01 = m.m01(), m10 = m.m10(), m11 = m.m11();
+        float x = this.x, y = this.y;
+        dest.x = Math.fma(m00, x, Math.fma(m10, y, m.m20()));
+        dest.y = Math.fma(m01, x, Math.fma(m11, y, m.m21()));
+        dest.r = r * Math.sqrt(Math.max(Math.fma(m00, m00, m01 * m01), Math.fma(m10, m10, m11 * m11)));
+        return dest;
+    }
+
+    /**
+     * Transform <code>count</code> circles packed into <code>src</code> by the given affine 2D transformation
+     * and store the results into <code>dest</code>.
+     * <p>
+     * Each circle occupies three consecutive elements in the order <code>x, y, r</code>.
+     * <code>src</code> and <code>dest</code> may be the same array with the same offset.
+     * 
+     * @see #transform(Matrix3x2fc, Circlef)
+     * 
+     * @param m
+     *          the 2D affine transformation matrix
+     * @param src
+     *          the packed source circles
+     * @param srcOffset
+     *          the index of the first element of the first circle in <code>src</code>
+     * @param dest
+     *          will hold the packed transformed circles
+     * @param destOffset
+     *          the index of the first element of the first circle in <code>dest</code>
+     * @param count
+     *          the number of circles
+     */
+    public static void transformAll(Matrix3x2fc m, float[] src, int srcOffset, float[] dest, int destOffset, int count) {
+        float m00 = m.m00(), m01 = m.m01(), m10 = m.m10(), m11 = m.m11(), m20 = m.m20(), m21 = m.m21();
+        float scale = Math.sqrt(Math.max(Math.fma(m00, m00, m01 * m01), Math.fma(m10, m10, m11 * m11)));
+        for (int i = 0, s = srcOffset, d = destOffset; i < count; i++, s += 3, d += 3) {
+            float x = src[s], y = src[s + 1];
+            dest[d] = Math.fma(m00, x, Math.fma(m10, y, m20));
+            dest[d + 1] = Math.fma(m01, x, Math.fma(m11, y, m21));
+            dest[d + 2] = src[s + 2] * scale;
+        }
+    }
+
     public int hashCode() {
         final int prime = 31;
         int result = 1;
@@ -0,0 +1,564 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import org.joml.Math;
+
+/**
+ * Computes the convex hull of a set of 2D or 3D points given as packed coordinates in a float array.
+ * <p>
+ * The 2D hull is computed with Andrew's monotone chain algorithm in <code>O(n log n)</code> and the 3D hull with the Quickhull
+ * algorithm in expected <code>O(n log n)</code>. Points are identified by their index <code>i</code> in the input, which refers to
+ * the coordinates starting at array position <code>offset + i * stride</code>, so no object is created per point. All working
+ * memory is kept in fields of this object and only grows when a larger input is processed, so a single instance can be reused for
+ * any number of hulls without allocating. An instance must not be used by several threads at the same time.
+ * <p>
+ * References:
+ * <ul>
+ * <li><a href="https://en.wikibooks.org/wiki/Algorithm_Implementation/Geometry/Convex_hull/Monotone_chain">Andrew's monotone chain convex hull algorithm</a></li>
+ * <li><a href="https://doi.org/10.1145/235815.235821">Barber et al., "The Quickhull Algorithm for Convex Hulls"</a></li>
+ * </ul>
+ */
+public class ConvexHullf {
+
+    private static final float FLT_EPSILON = 1.1920929E-7f;
+    private static final int NONE = -1;
+
+    /* 2D working memory */
+    private int[] order = new int[0];
+    private int[] chain = new int[0];
+    private float[] polygon = new float[0];
+
+    /* the input of the current 3D hull */
+    private float[] points;
+    private int offset, stride;
+    private float epsilon;
+
+    /* per face: three vertices, the neighbors across the edges v0v1, v1v2 and v2v0, the plane, the outside set and a visit mark */
+    private int[] faceVertices = new int[0];
+    private int[] faceNeighbors = new int[0];
+    private float[] facePlanes = new float[0];
+    private int[] outsideHead = new int[0];
+    private int[] faceMark = new int[0];
+    private boolean[] faceAlive = new boolean[0];
+    private int faceSlots;
+    private int[] freeFaces = new int[0];
+    private int freeCount;
+    private int hullFaceCount;
+
+    /* per point: the next point in the same outside set and the new face starting at this horizon vertex */
+    private int[] nextOutside = new int[0];
+    private int[] newFaceAt = new int[0];
+
+    /* per iteration: visible faces, horizon edges (start vertex, end vertex, neighbor) and new faces */
+    private int[] visible = new int[0];
+    private int[] horizon = new int[0];
+    private int[] newFaces = new int[0];
+
+    /**
+     * Compute the convex hull of the <code>count</code> 2D points whose <code>(x, y)</code> coordinates are stored in <code>points</code>
+     * starting at <code>offset</code>, with <code>stride</code> array elements between the starts of two consecutive points.
+     * <p>
+     * The indices of the hull vertices are stored in counter-clockwise order into <code>dest</code>, starting with the vertex having the
+     * smallest x (and then smallest y) coordinate. Points lying on a hull edge are not part of the result.
+     * 
+     * @param points
+     *          the array containing the point coordinates
+     * @param offset
+     *          the position in <code>points</code> of the x coordinate of the first point
+     * @param stride
+     *          the number of array elements between the x coordinates of two consecutive points, at least <code>2</code>
+     * @param count
+     *          the number of points
+     * @param dest
+     *          will hold the indices of the hull vertices and must have room for <code>count</code> elements
+     * @return the number of hull vertices stored into <code>dest</code>
+     */
+    public int computeHull2D(float[] points, int offset, int stride, int count, int[] dest) {
+        if (order.length < count) {
+            order = new int[count];
+            chain = new int[count << 1];
+        }
+        for (int i = 0; i < count; i++)
+            order[i] = i;
+        sortByXY(points, offset, stride, count);
+        if (count < 3) {
+            for (int i = 0; i < count; i++)
+                dest[i] = order[i];
+            return count;
+        }
+        int k = 0;
+        for (int i = 0; i < count; i++) {
+            while (k >= 2 && cross(points, offset, stride, chain[k - 2], chain[k - 1], order[i]) <= 0.0f)
+                k--;
+            chain[k++] = order[i];
+        }
+        for (int i = count - 2, lower = k + 1; i >= 0; i--) {
+            while (k >= lower && cross(points, offset, stride, chain[k - 2], chain[k - 1], order[i]) <= 0.0f)
+                k--;
+            chain[k++] = order[i];
+        }
+        /* the last vertex of the upper chain is the first vertex of the lower chain */
+        System.arraycopy(chain, 0, dest, 0, k - 1);
+        return k - 1;
+    }
+
+    /**
+     * Compute the convex hull of the <code>count</code> 2D points whose <code>(x, y)</code> coordinates are stored in <code>points</code>
+     * starting at <code>offset</code>, with <code>stride</code> array elements between the starts of two consecutive points, and set
+     * <code>dest</code> to it.
+     * 
+     * @see #computeHull2D(float[], int, int, int, int[])
+     * 
+     * @param points
+     *          the array containing the point coordinates
+     * @param offset
+     *          the position in <code>points</code> of the x coordinate of the first point
+     * @param stride
+     *          the number of array elements between the x coordinates of two consecutive points, at least <code>2</code>
+     * @param count
+     *          the number of points
+     * @param dest
+     *          will hold the convex hull
+     * @return dest
+     */
+    public ConvexPolygonf computeHull2D(float[] points, int offset, int stride, int count, ConvexPolygonf dest) {
+        if (order.length < count) {
+            order = new int[count];
+            chain = new int[count << 1];
+        }
+        int n = computeHull2D(points, offset, stride, count, order);
+        if (polygon.length < n << 1)
+            polygon = new float[n << 1];
+        for (int i = 0; i < n; i++) {
+            int j = offset + order[i] * stride;
+            polygon[i << 1] = points[j];
+            polygon[(i << 1) + 1] = points[j + 1];
+        }
+        return dest.set(polygon, 0, n);
+    }
+
+    private static float cross(float[] points, int offset, int stride, int a, int b, int c) {
+        int ia = offset + a * stride, ib = offset + b * stride, ic = offset + c * stride;
+        float aX = points[ia], aY = points[ia + 1];
+        return (points[ib] - aX) * (points[ic + 1] - aY) - (points[ib + 1] - aY) * (points[ic] - aX);
+    }
+
+    private static boolean lessXY(float[] points, int offset, int stride, int a, int b) {
+        int ia = offset + a * stride, ib = offset + b * stride;
+        return points[ia] < points[ib] || points[ia] == points[ib] && points[ia + 1] < points[ib + 1];
+    }
+
+    /* in-place heap sort of the first count elements of order, which needs neither recursion nor scratch memory */
+    private void sortByXY(float[] points, int offset, int stride, int count) {
+        for (int i = (count >> 1) - 1; i >= 0; i--)
+            siftDown(points, offset, stride, i, count);
+        for (int end = count - 1; end > 0; end--) {
+            int t = order[0];
+            order[0] = order[end];
+            order[end] = t;
+            siftDown(points, offset, stride, 0, end);
+        }
+    }
+
+    private void siftDown(float[] points, int offset, int stride, int i, int count) {
+        int v = order[i];
+        for (int child = 2 * i + 1; child < count; child = 2 * i + 1) {
+            if (child + 1 < count && lessXY(points, offset, stride, order[child], order[child + 1]))
+                child++;
+            if (!lessXY(points, offset, stride, v, order[child]))
+                break;
+            order[i] = order[child];
+            i = child;
+        }
+        order[i] = v;
+    }
+
+    /**
+     * Compute the convex hull of the <code>count</code> 3D points whose <code>(x, y, z)</code> coordinates are stored in <code>points</code>
+     * starting at <code>offset</code>, with <code>stride</code> array elements between the starts of two consecutive points.
+     * <p>
+     * The hull is triangulated, and its faces and vertices can be obtained afterwards via {@link #getFaces(int[])} and
+     * {@link #getVertices(int[])}. Points closer to the hull than a tolerance derived from the extent of the input are
+     * considered to lie on the hull, so that coplanar input points do not produce slivers.
+     * <p>
+     * If the points are all coplanar, collinear or coincident, no 3D hull exists and <code>0</code> is returned.
+     * 
+     * @param points
+     *          the array containing the point coordinates
+     * @param offset
+     *          the position in <code>points</code> of the x coordinate of the first point
+     * @param stride
+     *          the number of array elements between the x coordinates of two consecutive points, at least <code>3</code>
+     * @param count
+     *          the number of points
+     * @return the number of triangular faces of the hull
+     */
+    public int computeHull3D(float[] points, int offset, int stride, int count) {
+        this.points = points;
+        this.offset = offset;
+        this.stride = stride;
+        faceSlots = 0;
+        freeCount = 0;
+        hullFaceCount = 0;
+        if (count < 4 || !createSimplex(count))
+            return 0;
+        int cursor = 0, iteration = 0;
+        while (true) {
+            int face = NONE;
+            for (int n = 0; n < faceSlots; n++) {
+                if (faceAlive[cursor] && outsideHead[cursor] != NONE) {
+                    face = cursor;
+                    break;
+                }
+                cursor = cursor + 1 == faceSlots ? 0 : cursor + 1;
+            }
+            if (face == NONE)
+                break;
+            int eye = NONE;
+            float farthest = Float.NEGATIVE_INFINITY;
+            for (int p = outsideHead[face]; p != NONE; p = nextOutside[p]) {
+                float d = distance(face, p);
+                if (d > farthest) {
+                    farthest = d;
+                    eye = p;
+                }
+            }
+            addPoint(face, eye, ++iteration);
+        }
+        for (int f = 0; f < faceSlots; f++)
+            if (faceAlive[f])
+                hullFaceCount++;
+        return hullFaceCount;
+    }
+
+    /**
+     * Return the number of triangular faces of the last hull computed by {@link #computeHull3D(float[], int, int, int)}.
+     * 
+     * @return the number of faces
+     */
+    public int faceCount() {
+        return hullFaceCount;
+    }
+
+    /**
+     * Store the point indices of the faces of the last hull computed by {@link #computeHull3D(float[], int, int, int)} into
+     * <code>dest</code>, three consecutive indices per face.
+     * <p>
+     * The vertices of every face are in counter-clockwise order when looking at the hull from outside.
+     * 
+     * @param dest
+     *          will hold the vertex indices and must have room for <code>3 * faceCount()</code> elements
+     * @return the number of faces
+     */
+    public int getFaces(int[] dest) {
+        int n = 0;
+        for (int f = 0; f < faceSlots; f++) {
+            if (!faceAlive[f])
+                continue;
+            dest[n++] = faceVertices[3 * f];
+            dest[n++] = faceVertices[3 * f + 1];
+            dest[n++] = faceVertices[3 * f + 2];
+        }
+        return n / 3;
+    }
+
+    /**
+     * Store the distinct point indices of the vertices of the last hull computed by {@link #computeHull3D(float[], int, int, int)}
+     * into <code>dest</code>, in ascending order.
+     * 
+     * @param dest
+     *          will hold the vertex indices and must have room for <code>faceCount() / 2 + 2</code> elements
+     * @return the number of vertices
+     */
+    public int getVertices(int[] dest) {
+        /* newFaceAt is not needed anymore and serves as the per point mark */
+        int pointCount = newFaceAt.length;
+        for (int i = 0; i < pointCount; i++)
+            newFaceAt[i] = NONE;
+        for (int f = 0; f < faceSlots; f++) {
+            if (!faceAlive[f])
+                continue;
+            newFaceAt[faceVertices[3 * f]] = 0;
+            newFaceAt[faceVertices[3 * f + 1]] = 0;
+            newFaceAt[faceVertices[3 * f + 2]] = 0;
+        }
+        int n = 0;
+        for (int i = 0; i < pointCount; i++)
+            if (newFaceAt[i] == 0)
+                dest[n++] = i;
+        return n;
+    }
+
+    private float coord(int point, int component) {
+        return points[offset + point * stride + component];
+    }
+
+    private float distance(int face, int point) {
+        /* relative to a vertex of the face, so that the error does not grow with the distance of the input from the origin */
+        int i = offset + point * stride, a = offset + faceVertices[3 * face] * stride, j = 3 * face;
+        return facePlanes[j] * (points[i] - points[a]) + facePlanes[j + 1] * (points[i + 1] - points[a + 1])
+             + facePlanes[j + 2] * (points[i + 2] - points[a + 2]);
+    }
+
+    private void ensurePointCapacity(int count) {
+        if (nextOutside.length >= count)
+            return;
+        nextOutside = new int[count];
+        /* also used for the six extreme points when creating the simplex */
+        newFaceAt = new int[count < 6 ? 6 : count];
+    }
+
+    private int newFace(int a, int b, int c) {
+        int f;
+        if (freeCount > 0) {
+            f = freeFaces[--freeCount];
+        } else {
+            f = faceSlots++;
+            if (faceAlive.length < faceSlots) {
+                int capacity = faceSlots < 16 ? 32 : faceSlots << 1;
+                faceVertices = grow(faceVertices, 3 * capacity);
+                faceNeighbors = grow(faceNeighbors, 3 * capacity);
+                float[] planes = new float[3 * capacity];
+                System.arraycopy(facePlanes, 0, planes, 0, facePlanes.length);
+                facePlanes = planes;
+                outsideHead = grow(outsideHead, capacity);
+                faceMark = grow(faceMark, capacity);
+                boolean[] alive = new boolean[capacity];
+                System.arraycopy(faceAlive, 0, alive, 0, faceAlive.length);
+                faceAlive = alive;
+                freeFaces = new int[capacity];
+            }
+        }
+        faceVertices[3 * f] = a;
+        faceVertices[3 * f + 1] = b;
+        faceVertices[3 * f + 2] = c;
+        float aX = coord(a, 0), aY = coord(a, 1), aZ = coord(a, 2);
+        float abX = coord(b, 0) - aX, abY = coord(b, 1) - aY, abZ = coord(b, 2) - aZ;
+        float acX = coord(c, 0) - aX, acY = coord(c, 1) - aY, acZ = coord(c, 2) - aZ;
+        float nX = abY * acZ - abZ * acY, nY = abZ * acX - abX * acZ, nZ = abX * acY - abY * acX;
+        float lenSquared = nX * nX + nY * nY + nZ * nZ;
+        float invLen = lenSquared > 0.0f ? Math.invsqrt(lenSquared) : 0.0f;
+        nX *= invLen;
+        nY *= invLen;
+        nZ *= invLen;
+        facePlanes[3 * f] = nX;
+        facePlanes[3 * f + 1] = nY;
+        facePlanes[3 * f + 2] = nZ;
+        outsideHead[f] = NONE;
+        faceMark[f] = 0;
+        faceAlive[f] = true;
+        return f;
+    }
+
+    private static int[] grow(int[] array, int capacity) {
+        int[] result = new int[capacity];
+        System.arraycopy(array, 0, result, 0, array.length);
+        return result;
+    }
+
+    private boolean createSimplex(int count) {
+        ensurePointCapacity(count);
+        /* the points with minimum and maximum x, y and z, whose distances give the extent of the input for the tolerance */
+        int[] extremes = newFaceAt;
+        for (int c = 0; c < 6; c++)
+            extremes[c] = 0;
+        for (int i = 0; i < count; i++) {
+            for (int c = 0; c < 3; c++) {
+                float v = coord(i, c);
+                if (v < coord(extremes[c], c))
+                    extremes[c] = i;
+                if (v > coord(extremes[c + 3], c))
+                    extremes[c + 3] = i;
+            }
+        }
+        /* distances are computed relative to a face vertex, so their error only grows with the extent and not with the position */
+        epsilon = 3.0f * FLT_EPSILON * (coord(extremes[3], 0) - coord(extremes[0], 0) + coord(extremes[4], 1) - coord(extremes[1], 1)
+                + coord(extremes[5], 2) - coord(extremes[2], 2));
+        /* the two most distant extreme points */
+        int p0 = 0, p1 = 0;
+        float best = 0.0f;
+        for (int c = 0; c < 3; c++) {
+            int a = extremes[c], b = extremes[c + 3];
+            float dX = coord(b, 0) - coord(a, 0), dY = coord(b, 1) - coord(a, 1), dZ = coord(b, 2) - coord(a, 2);
+            float d = dX * dX + dY * dY + dZ * dZ;
+            if (d > best) {
+                best = d;
+                p0 = a;
+                p1 = b;
+            }
+        }
+        if (best <= epsilon * epsilon)
+            return false;
+        /* the point farthest from the line through p0 and p1 */
+        float oX = coord(p0, 0), oY = coord(p0, 1), oZ = coord(p0, 2);
+        float lX = coord(p1, 0) - oX, lY = coord(p1, 1) - oY, lZ = coord(p1, 2) - oZ;
+        float invLen = Math.invsqrt(lX * lX + lY * lY + lZ * lZ);
+        lX *= invLen;
+        lY *= invLen;
+        lZ *= invLen;
+        int p2 = NONE;
+        best = epsilon * epsilon;
+        for (int i = 0; i < count; i++) {
+            float dX = coord(i, 0) - oX, dY = coord(i, 1) - oY, dZ = coord(i, 2) - oZ;
+            float cX = dY * lZ - dZ * lY, cY = dZ * lX - dX * lZ, cZ = dX * lY - dY * lX;
+            float d = cX * cX + cY * cY + cZ * cZ;
+            if (d > best) {
+                best = d;
+                p2 = i;
+            }
+        }
+        if (p2 == NONE)
+            return false;
+        /* the point farthest from the plane through p0, p1 and p2 */
+        int f0 = newFace(p0, p1, p2);
+        int p3 = NONE;
+        best = epsilon;
+        for (int i = 0; i < count; i++) {
+            float d = Math.abs(distance(f0, i));
+            if (d > best) {
+                best = d;
+                p3 = i;
+            }
+        }
+        if (p3 == NONE) {
+            faceSlots = 0;
+            return false;
+        }
+        if (distance(f0, p3) > 0.0f) {
+            /* orient the base face away from the apex */
+            faceSlots = 0;
+            int t = p1;
+            p1 = p2;
+            p2 = t;
+            f0 = newFace(p0, p1, p2);
+        }
+        int f1 = newFace(p0, p3, p1);
+        int f2 = newFace(p1, p3, p2);
+        int f3 = newFace(p2, p3, p0);
+        setNeighbors(f0, f1, f2, f3);
+        setNeighbors(f1, f3, f2, f0);
+        setNeighbors(f2, f1, f3, f0);
+        setNeighbors(f3, f2, f1, f0);
+        /* distribute all other points to the outside sets of the faces */
+        for (int i = 0; i < count; i++) {
+            if (i == p0 || i == p1 || i == p2 || i == p3)
+                continue;
+            for (int f = f0; f <= f3; f++) {
+                if (distance(f, i) > epsilon) {
+                    nextOutside[i] = outsideHead[f];
+                    outsideHead[f] = i;
+                    break;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void setNeighbors(int face, int n0, int n1, int n2) {
+        faceNeighbors[3 * face] = n0;
+        faceNeighbors[3 * face + 1] = n1;
+        faceNeighbors[3 * face + 2] = n2;
+    }
+
+    private void addPoint(int face, int eye, int iteration) {
+        if (visible.length < faceSlots) {
+            visible = new int[faceSlots << 1];
+            /* every visible face has at most three horizon edges */
+            horizon = new int[9 * (faceSlots << 1)];
+            newFaces = new int[faceSlots << 1];
+        }
+        /* flood fill the faces visible from the eye point, using the tail of the visible array as the stack */
+        int visibleCount = 0, top = visible.length;
+        faceMark[face] = iteration;
+        visible[--top] = face;
+        while (top < visible.length) {
+            int f = visible[top++];
+            visible[visibleCount++] = f;
+            for (int k = 0; k < 3; k++) {
+                int n = faceNeighbors[3 * f + k];
+                if (faceMark[n] != iteration && distance(n, eye) > 0.0f) {
+                    faceMark[n] = iteration;
+                    visible[--top] = n;
+                }
+            }
+        }
+        /* the horizon consists of the edges between a visible and an invisible face */
+        int horizonCount = 0;
+        for (int i = 0; i < visibleCount; i++) {
+            int f = visible[i];
+            for (int k = 0; k < 3; k++) {
+                int n = faceNeighbors[3 * f + k];
+                if (faceMark[n] == iteration)
+                    continue;
+                horizon[3 * horizonCount] = faceVertices[3 * f + k];
+                horizon[3 * horizonCount + 1] = faceVertices[3 * f + (k + 1) % 3];
+                horizon[3 * horizonCount + 2] = n;
+                horizonCount++;
+            }
+        }
+        if (newFaces.length < horizonCount)
+            newFaces = new int[horizonCount << 1];
+        /* connect every horizon edge with the eye point */
+        for (int i = 0; i < horizonCount; i++) {
+            int a = horizon[3 * i], b = horizon[3 * i + 1], n = horizon[3 * i + 2];
+            int f = newFace(a, b, eye);
+            faceNeighbors[3 * f] = n;
+            for (int k = 0; k < 3; k++) {
+                if (faceVertices[3 * n + k] == b) {
+                    faceNeighbors[3 * n + k] = f;
+                    break;
+                }
+            }
+            newFaceAt[a] = f;
+            newFaces[i] = f;
+        }
+        for (int i = 0; i < horizonCount; i++) {
+            int f = newFaces[i];
+            int next = newFaceAt[faceVertices[3 * f + 1]];
+            faceNeighbors[3 * f + 1] = next;
+            faceNeighbors[3 * next + 2] = f;
+        }
+        /* move the outside points of the visible faces to the new faces and discard the ones inside the hull */
+        for (int i = 0; i < visibleCount; i++) {
+            int f = visible[i];
+            for (int p = outsideHead[f], next; p != NONE; p = next) {
+                next = nextOutside[p];
+                if (p == eye)
+                    continue;
+                for (int j = 0; j < horizonCount; j++) {
+                    int g = newFaces[j];
+                    if (distance(g, p) > epsilon) {
+                        nextOutside[p] = outsideHead[g];
+                        outsideHead[g] = p;
+                        break;
+                    }
+                }
+            }
+            faceAlive[f] = false;
+            freeFaces[freeCount++] = f;
+        }
+    }
+
+}
@@ -0,0 +1,596 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import org.joml.Math;
+import org.joml.Vector2f;
+
+/**
+ * Represents a 2D convex polygon using single-precision floating-point numbers, together with its edge normals and bounds
+ * precomputed for fast separating axis tests.
+ * <p>
+ * The vertices are stored as consecutive <code>(x, y)</code> coordinates in a packed array and may be given in clockwise or
+ * counter-clockwise order. Edge <code>i</code> is the directed line segment from vertex <code>i</code> to vertex <code>i + 1</code>
+ * (modulus the number of vertices). For every edge, this class stores its unit outward normal and the projection of the polygon's
+ * vertices onto it, so the polygon is the intersection of the half-planes <code>normal(i) * p &lt;= offset(i)</code>.
+ * <p>
+ * The vertices cannot be modified directly, because the precomputed data would then be stale. Use {@link #set(float[], int, int)}
+ * or {@link #translate(float, float)} instead.
+ */
+public class ConvexPolygonf {
+
+    private float[] vertices = new float[0];
+    private float[] normals = new float[0];
+    private float[] offsets = new float[0];
+    private int count;
+    private float minX, minY, maxX, maxY;
+
+    /**
+     * Create a new empty {@link ConvexPolygonf}.
+     */
+    public ConvexPolygonf() {
+    }
+
+    /**
+     * Create a new {@link ConvexPolygonf} with the vertices given as consecutive <code>(x, y)</code> coordinates.
+     * 
+     * @param verticesXY
+     *          the <code>(x, y)</code> coordinates of all vertices in clockwise or counter-clockwise order
+     */
+    public ConvexPolygonf(float[] verticesXY) {
+        set(verticesXY, 0, verticesXY.length >> 1);
+    }
+
+    /**
+     * Create a new {@link ConvexPolygonf} as a copy of the given <code>source</code>.
+     * 
+     * @param source
+     *          the {@link ConvexPolygonf} to copy from
+     */
+    public ConvexPolygonf(ConvexPolygonf source) {
+        set(source);
+    }
+
+    /**
+     * Set this {@link ConvexPolygonf} to be a copy of <code>source</code>.
+     * 
+     * @param source
+     *          the {@link ConvexPolygonf} to copy from
+     * @return this
+     */
+    public ConvexPolygonf set(ConvexPolygonf source) {
+        ensureCapacity(source.count);
+        count = source.count;
+        System.arraycopy(source.vertices, 0, vertices, 0, count << 1);
+        System.arraycopy(source.normals, 0, normals, 0, count << 1);
+        System.arraycopy(source.offsets, 0, offsets, 0, count);
+        minX = source.minX;
+        minY = source.minY;
+        maxX = source.maxX;
+        maxY = source.maxY;
+        return this;
+    }
+
+    /**
+     * Set the vertices of this polygon to the <code>count</code> vertices given as consecutive <code>(x, y)</code> coordinates in
+     * <code>verticesXY</code> starting at <code>offset</code>, and precompute the edge normals and bounds.
+     * <p>
+     * The internal arrays are only reallocated if this polygon has to hold more vertices than before.
+     * 
+     * @param verticesXY
+     *          the <code>(x, y)</code> coordinates of all vertices in clockwise or counter-clockwise order
+     * @param offset
+     *          the position in <code>verticesXY</code> of the x coordinate of the first vertex
+     * @param count
+     *          the number of vertices
+     * @return this
+     */
+    public ConvexPolygonf set(float[] verticesXY, int offset, int count) {
+        ensureCapacity(count);
+        this.count = count;
+        System.arraycopy(verticesXY, offset, vertices, 0, count << 1);
+        float area = 0.0f;
+        minX = Float.POSITIVE_INFINITY;
+        minY = Float.POSITIVE_INFINITY;
+        maxX = Float.NEGATIVE_INFINITY;
+        maxY = Float.NEGATIVE_INFINITY;
+        for (int i = 0, j = count - 1; i < count; j = i, i++) {
+            float x = vertices[i << 1], y = vertices[(i << 1) + 1];
+            area += vertices[j << 1] * y - x * vertices[(j << 1) + 1];
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+        }
+        float sign = area < 0.0f ? -1.0f : 1.0f;
+        for (int i = 0; i < count; i++) {
+            int j = i + 1 == count ? 0 : i + 1;
+            float ax = vertices[i << 1], ay = vertices[(i << 1) + 1];
+            float nx = (vertices[(j << 1) + 1] - ay) * sign, ny = (ax - vertices[j << 1]) * sign;
+            float lenSquared = nx * nx + ny * ny;
+            if (lenSquared == 0.0f) {
+                // a degenerate edge must never be selected as a separating axis
+                normals[i << 1] = 0.0f;
+                normals[(i << 1) + 1] = 0.0f;
+                offsets[i] = Float.POSITIVE_INFINITY;
+                continue;
+            }
+            float invLen = Math.invsqrt(lenSquared);
+            nx *= invLen;
+            ny *= invLen;
+            normals[i << 1] = nx;
+            normals[(i << 1) + 1] = ny;
+            offsets[i] = nx * ax + ny * ay;
+        }
+        return this;
+    }
+
+    private void ensureCapacity(int count) {
+        if (offsets.length >= count)
+            return;
+        vertices = new float[count << 1];
+        normals = new float[count << 1];
+        offsets = new float[count];
+    }
+
+    /**
+     * Translate this polygon by the vector <code>(x, y)</code>.
+     * <p>
+     * This updates the precomputed data in place without recomputing any normal.
+     * 
+     * @param x
+     *          the x component to translate by
+     * @param y
+     *          the y component to translate by
+     * @return this
+     */
+    public ConvexPolygonf translate(float x, float y) {
+        for (int i = 0; i < count; i++) {
+            vertices[i << 1] += x;
+            vertices[(i << 1) + 1] += y;
+            offsets[i] += normals[i << 1] * x + normals[(i << 1) + 1] * y;
+        }
+        minX += x;
+        minY += y;
+        maxX += x;
+        maxY += y;
+        return this;
+    }
+
+    /**
+     * Return the number of vertices of this polygon.
+     * 
+     * @return the number of vertices
+     */
+    public int vertexCount() {
+        return count;
+    }
+
+    /**
+     * Get the vertex with the given <code>index</code> and store it into <code>dest</code>.
+     * 
+     * @param index
+     *          the index of the vertex
+     * @param dest
+     *          will hold the vertex
+     * @return dest
+     */
+    public Vector2f vertex(int index, Vector2f dest) {
+        return dest.set(vertices[index << 1], vertices[(index << 1) + 1]);
+    }
+
+    /**
+     * Get the unit outward normal of the edge with the given <code>index</code> and store it into <code>dest</code>.
+     * 
+     * @param index
+     *          the index of the edge
+     * @param dest
+     *          will hold the normal
+     * @return dest
+     */
+    public Vector2f normal(int index, Vector2f dest) {
+        return dest.set(normals[index << 1], normals[(index << 1) + 1]);
+    }
+
+    /**
+     * Get the axis-aligned bounding rectangle of this polygon and store it into <code>dest</code>.
+     * 
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Rectanglef bounds(Rectanglef dest) {
+        dest.minX = minX;
+        dest.minY = minY;
+        dest.maxX = maxX;
+        dest.maxY = maxY;
+        return dest;
+    }
+
+    /**
+     * Test whether the given point <code>(x, y)</code> lies inside this polygon.
+     * 
+     * @param x
+     *          the x coordinate of the point
+     * @param y
+     *          the y coordinate of the point
+     * @return <code>true</code> iff the point lies inside this polygon or on its boundary; <code>false</code> otherwise
+     */
+    public boolean testPoint(float x, float y) {
+        if (x < minX || x > maxX || y < minY || y > maxY)
+            return false;
+        for (int i = 0; i < count; i++)
+            if (normals[i << 1] * x + normals[(i << 1) + 1] * y > offsets[i])
+                return false;
+        return true;
+    }
+
+    /**
+     * Test whether this polygon and the given <code>other</code> polygon intersect.
+     * 
+     * @param other
+     *          the other polygon
+     * @return <code>true</code> iff both polygons intersect; <code>false</code> otherwise
+     */
+    public boolean testPolygon(ConvexPolygonf other) {
+        return intersectPolygon(other, null);
+    }
+
+    /**
+     * Test whether this polygon and the given <code>other</code> polygon intersect, and if so, store the minimum translation vector
+     * into <code>mtv</code>.
+     * <p>
+     * Translating this polygon by the minimum translation vector separates it from <code>other</code>.
+     * <p>
+     * The bounding rectangles of both polygons are compared first, and the separating axis test stops at the first separating edge normal.
+     * 
+     * @param other
+     *          the other polygon
+     * @param mtv
+     *          if not <code>null</code> and both polygons intersect, will hold the minimum translation vector
+     * @return <code>true</code> iff both polygons intersect; <code>false</code> otherwise
+     */
+    public boolean intersectPolygon(ConvexPolygonf other, Vector2f mtv) {
+        if (!testBounds(other))
+            return false;
+        int edgeA = maxSeparation(this, other);
+        if (edgeA < 0)
+            return false;
+        int edgeB = maxSeparation(other, this);
+        if (edgeB < 0)
+            return false;
+        if (mtv == null)
+            return true;
+        float sepA = separation(this, other, edgeA), sepB = separation(other, this, edgeB);
+        if (sepA >= sepB)
+            mtv.set(normals[edgeA << 1] * sepA, normals[(edgeA << 1) + 1] * sepA);
+        else
+            mtv.set(-other.normals[edgeB << 1] * sepB, -other.normals[(edgeB << 1) + 1] * sepB);
+        return true;
+    }
+
+    boolean testBounds(ConvexPolygonf other) {
+        return maxX >= other.minX && minX <= other.maxX && maxY >= other.minY && minY <= other.maxY;
+    }
+
+    /**
+     * Find the edge of <code>a</code> along whose normal <code>b</code> is separated the most from <code>a</code>.
+     * 
+     * @return the index of that edge; or <code>-1</code> if that edge separates both polygons
+     */
+    private static int maxSeparation(ConvexPolygonf a, ConvexPolygonf b) {
+        int best = 0;
+        float bestSeparation = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < a.count; i++) {
+            float separation = separation(a, b, i);
+            if (separation > 0.0f)
+                return -1;
+            if (separation > bestSeparation) {
+                bestSeparation = separation;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    static float separation(ConvexPolygonf a, ConvexPolygonf b, int edge) {
+        float nx = a.normals[edge << 1], ny = a.normals[(edge << 1) + 1];
+        float min = Float.POSITIVE_INFINITY;
+        for (int j = 0; j < b.count; j++)
+            min = Math.min(min, nx * b.vertices[j << 1] + ny * b.vertices[(j << 1) + 1]);
+        return min - a.offsets[edge];
+    }
+
+    /**
+     * Test whether this polygon and the circle with center <code>(centerX, centerY)</code> and <code>radius</code> intersect.
+     * 
+     * @param centerX
+     *          the x coordinate of the circle's center
+     * @param centerY
+     *          the y coordinate of the circle's center
+     * @param radius
+     *          the radius of the circle
+     * @return <code>true</code> iff this polygon and the circle intersect; <code>false</code> otherwise
+     */
+    public boolean testCircle(float centerX, float centerY, float radius) {
+        return intersectCircle(centerX, centerY, radius, null);
+    }
+
+    /**
+     * Test whether this polygon and the given circle intersect.
+     * 
+     * @param circle
+     *          the circle
+     * @return <code>true</code> iff this polygon and the circle intersect; <code>false</code> otherwise
+     */
+    public boolean testCircle(Circlef circle) {
+        return intersectCircle(circle.x, circle.y, circle.r, null);
+    }
+
+    /**
+     * Test whether this polygon and the circle with center <code>(centerX, centerY)</code> and <code>radius</code> intersect, and if so,
+     * store the minimum translation vector into <code>mtv</code>.
+     * <p>
+     * Translating this polygon by the minimum translation vector separates it from the circle.
+     * 
+     * @param centerX
+     *          the x coordinate of the circle's center
+     * @param centerY
+     *          the y coordinate of the circle's center
+     * @param radius
+     *          the radius of the circle
+     * @param mtv
+     *          if not <code>null</code> and both shapes intersect, will hold the minimum translation vector
+     * @return <code>true</code> iff this polygon and the circle intersect; <code>false</code> otherwise
+     */
+    public boolean intersectCircle(float centerX, float centerY, float radius, Vector2f mtv) {
+        if (centerX + radius < minX || centerX - radius > maxX || centerY + radius < minY || centerY - radius > maxY)
+            return false;
+        int best = 0;
+        float bestSeparation = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            float separation = normals[i << 1] * centerX + normals[(i << 1) + 1] * centerY - offsets[i];
+            if (separation > radius)
+                return false;
+            if (separation > bestSeparation) {
+                bestSeparation = separation;
+                best = i;
+            }
+        }
+        float nx = normals[best << 1], ny = normals[(best << 1) + 1];
+        if (bestSeparation <= 0.0f) {
+            // the center lies inside of the polygon
+            if (mtv != null)
+                mtv.set(-nx * (radius - bestSeparation), -ny * (radius - bestSeparation));
+            return true;
+        }
+        // the center lies in front of the best edge, so the closest point is on that edge or one of its end points
+        int next = best + 1 == count ? 0 : best + 1;
+        float ax = vertices[best << 1], ay = vertices[(best << 1) + 1];
+        float bx = vertices[next << 1], by = vertices[(next << 1) + 1];
+        float ex = bx - ax, ey = by - ay;
+        float t = ((centerX - ax) * ex + (centerY - ay) * ey) / (ex * ex + ey * ey);
+        float px, py;
+        if (t <= 0.0f) {
+            px = ax;
+            py = ay;
+        } else if (t >= 1.0f) {
+            px = bx;
+            py = by;
+        } else {
+            px = ax + t * ex;
+            py = ay + t * ey;
+        }
+        float dx = centerX - px, dy = centerY - py;
+        float distSquared = dx * dx + dy * dy;
+        if (distSquared > radius * radius)
+            return false;
+        if (mtv != null) {
+            if (distSquared == 0.0f) {
+                mtv.set(-nx * radius, -ny * radius);
+            } else {
+                float dist = Math.sqrt(distSquared);
+                float s = (dist - radius) / dist;
+                mtv.set(dx * s, dy * s);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Test whether this polygon and the given circle intersect, and if so, store the minimum translation vector into <code>mtv</code>.
+     * 
+     * @see #intersectCircle(float, float, float, Vector2f)
+     * 
+     * @param circle
+     *          the circle
+     * @param mtv
+     *          if not <code>null</code> and both shapes intersect, will hold the minimum translation vector
+     * @return <code>true</code> iff this polygon and the circle intersect; <code>false</code> otherwise
+     */
+    public boolean intersectCircle(Circlef circle, Vector2f mtv) {
+        return intersectCircle(circle.x, circle.y, circle.r, mtv);
+    }
+
+    /**
+     * Test whether this polygon and the axis-aligned rectangle with minimum corner <code>(minX, minY)</code> and maximum corner
+     * <code>(maxX, maxY)</code> intersect.
+     * 
+     * @param minX
+     *          the x coordinate of the minimum corner of the rectangle
+     * @param minY
+     *          the y coordinate of the minimum corner of the rectangle
+     * @param maxX
+     *          the x coordinate of the maximum corner of the rectangle
+     * @param maxY
+     *          the y coordinate of the maximum corner of the rectangle
+     * @return <code>true</code> iff this polygon and the rectangle intersect; <code>false</code> otherwise
+     */
+    public boolean testRectangle(float minX, float minY, float maxX, float maxY) {
+        return intersectRectangle(minX, minY, maxX, maxY, null);
+    }
+
+    /**
+     * Test whether this polygon and the given rectangle intersect.
+     * 
+     * @param rectangle
+     *          the rectangle
+     * @return <code>true</code> iff this polygon and the rectangle intersect; <code>false</code> otherwise
+     */
+    public boolean testRectangle(Rectanglef rectangle) {
+        return intersectRectangle(rectangle.minX, rectangle.minY, rectangle.maxX, rectangle.maxY, null);
+    }
+
+    /**
+     * Test whether this polygon and the axis-aligned rectangle with minimum corner <code>(minX, minY)</code> and maximum corner
+     * <code>(maxX, maxY)</code> intersect, and if so, store the minimum translation vector into <code>mtv</code>.
+     * <p>
+     * Translating this polygon by the minimum translation vector separates it from the rectangle. The rectangle's axes are tested
+     * using the precomputed bounds of this polygon only.
+     * 
+     * @param minX
+     *          the x coordinate of the minimum corner of the rectangle
+     * @param minY
+     *          the y coordinate of the minimum corner of the rectangle
+     * @param maxX
+     *          the x coordinate of the maximum corner of the rectangle
+     * @param maxY
+     *          the y coordinate of the maximum corner of the rectangle
+     * @param mtv
+     *          if not <code>null</code> and both shapes intersect, will hold the minimum translation vector
+     * @return <code>true</code> iff this polygon and the rectangle intersect; <code>false</code> otherwise
+     */
+    public boolean intersectRectangle(float minX, float minY, float maxX, float maxY, Vector2f mtv) {
+        // the separations along the rectangle's outward normals +x, -x, +y and -y
+        float sepPX = this.minX - maxX, sepNX = minX - this.maxX, sepPY = this.minY - maxY, sepNY = minY - this.maxY;
+        if (sepPX > 0.0f || sepNX > 0.0f || sepPY > 0.0f || sepNY > 0.0f)
+            return false;
+        int best = -1;
+        float bestSeparation = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            float nx = normals[i << 1], ny = normals[(i << 1) + 1];
+            float separation = nx * (nx > 0.0f ? minX : maxX) + ny * (ny > 0.0f ? minY : maxY) - offsets[i];
+            if (separation > 0.0f)
+                return false;
+            if (separation > bestSeparation) {
+                bestSeparation = separation;
+                best = i;
+            }
+        }
+        if (mtv == null)
+            return true;
+        float rectSeparation = Math.max(Math.max(sepPX, sepNX), Math.max(sepPY, sepNY));
+        if (best >= 0 && bestSeparation >= rectSeparation)
+            mtv.set(normals[best << 1] * bestSeparation, normals[(best << 1) + 1] * bestSeparation);
+        else if (rectSeparation == sepPX)
+            mtv.set(-sepPX, 0.0f);
+        else if (rectSeparation == sepNX)
+            mtv.set(sepNX, 0.0f);
+        else if (rectSeparation == sepPY)
+            mtv.set(0.0f, -sepPY);
+        else
+            mtv.set(0.0f, sepNY);
+        return true;
+    }
+
+    /**
+     * Test whether this polygon and the given rectangle intersect, and if so, store the minimum translation vector into <code>mtv</code>.
+     * 
+     * @see #intersectRectangle(float, float, float, float, Vector2f)
+     * 
+     * @param rectangle
+     *          the rectangle
+     * @param mtv
+     *          if not <code>null</code> and both shapes intersect, will hold the minimum translation vector
+     * @return <code>true</code> iff this polygon and the rectangle intersect; <code>false</code> otherwise
+     */
+    public boolean intersectRectangle(Rectanglef rectangle, Vector2f mtv) {
+        return intersectRectangle(rectangle.minX, rectangle.minY, rectangle.maxX, rectangle.maxY, mtv);
+    }
+
+    /**
+     * Determine whether this polygon intersects the ray with the given origin <code>(originX, originY)</code> and direction <code>(dirX, dirY)</code>,
+     * and store the point of intersection closest to the ray's origin into <code>p</code>.
+     * <p>
+     * If the polygon intersects the ray, this method returns the index of the polygon edge intersecting the ray, that is, the index of the
+     * first vertex of the directed line segment. If the ray's origin lies inside of the polygon, this is the edge where the ray leaves the polygon.
+     * <p>
+     * The ray is clipped against the precomputed edge half-planes, so no edge is intersected explicitly.
+     * 
+     * @see Intersectionf#intersectPolygonRay(float[], float, float, float, float, Vector2f)
+     * 
+     * @param originX
+     *          the x coordinate of the ray's origin
+     * @param originY
+     *          the y coordinate of the ray's origin
+     * @param dirX
+     *          the x coordinate of the ray's direction
+     * @param dirY
+     *          the y coordinate of the ray's direction
+     * @param p
+     *          will hold the point of intersection
+     * @return the index of the first vertex of the polygon edge that intersects the ray; or <code>-1</code> if the ray does not intersect the polygon
+     */
+    public int intersectRay(float originX, float originY, float dirX, float dirY, Vector2f p) {
+        float tEnter = Float.NEGATIVE_INFINITY, tExit = Float.POSITIVE_INFINITY;
+        int enterEdge = -1, exitEdge = -1;
+        for (int i = 0; i < count; i++) {
+            float nx = normals[i << 1], ny = normals[(i << 1) + 1];
+            float denom = nx * dirX + ny * dirY;
+            float dist = offsets[i] - (nx * originX + ny * originY);
+            if (denom == 0.0f) {
+                if (dist < 0.0f)
+                    return -1;
+                continue;
+            }
+            float t = dist / denom;
+            if (denom < 0.0f) {
+                if (t > tEnter) {
+                    tEnter = t;
+                    enterEdge = i;
+                }
+            } else if (t < tExit) {
+                tExit = t;
+                exitEdge = i;
+            }
+            if (tEnter > tExit)
+                return -1;
+        }
+        float t;
+        int edge;
+        if (tEnter >= 0.0f) {
+            t = tEnter;
+            edge = enterEdge;
+        } else if (tExit >= 0.0f && exitEdge >= 0) {
+            t = tExit;
+            edge = exitEdge;
+        } else {
+            return -1;
+        }
+        p.x = originX + t * dirX;
+        p.y = originY + t * dirY;
+        return edge;
+    }
+
+}
@@ -0,0 +1,581 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import org.joml.Math;
+import org.joml.Matrix4fc;
+import org.joml.Vector3fc;
+
+/**
+ * Represents the six clipping planes of a view frustum as single-precision floats and provides fast culling tests
+ * for points, spheres, axis-aligned boxes and oriented boxes.
+ * <p>
+ * All planes are stored in normalized form with their normals pointing towards the inside of the frustum. For every plane,
+ * the signs of its normal components are evaluated once when the planes are set and stored as selection masks, which
+ * identify the box corner lying farthest along the plane normal (the "p-vertex") and the corner lying farthest against
+ * it (the "n-vertex"). This allows the box tests to compute the distance of both corners without any sign-dependent branches.
+ * <p>
+ * Reference: <a href="http://gamedevs.org/uploads/fast-extraction-viewing-frustum-planes-from-world-view-projection-matrix.pdf">
+ * Fast Extraction of Viewing Frustum Planes from the World-View-Projection Matrix</a>
+ * <p>
+ * Reference: <a href="http://www.lighthouse3d.com/tutorials/view-frustum-culling/geometric-approach-testing-boxes-ii/">http://www.lighthouse3d.com</a> ("Geometric Approach - Testing Boxes II")
+ */
+public class Frustumf {
+
+    /**
+     * Index of the plane <i>x = -1</i> in clip space, when the planes were set from a projection matrix.
+     */
+    public static final int PLANE_NX = 0;
+    /**
+     * Index of the plane <i>x = 1</i> in clip space, when the planes were set from a projection matrix.
+     */
+    public static final int PLANE_PX = 1;
+    /**
+     * Index of the plane <i>y = -1</i> in clip space, when the planes were set from a projection matrix.
+     */
+    public static final int PLANE_NY = 2;
+    /**
+     * Index of the plane <i>y = 1</i> in clip space, when the planes were set from a projection matrix.
+     */
+    public static final int PLANE_PY = 3;
+    /**
+     * Index of the plane <i>z = -1</i> in clip space, when the planes were set from a projection matrix.
+     */
+    public static final int PLANE_NZ = 4;
+    /**
+     * Index of the plane <i>z = 1</i> in clip space, when the planes were set from a projection matrix.
+     */
+    public static final int PLANE_PZ = 5;
+
+    /**
+     * Return value of {@link #classifyAab(float, float, float, float, float, float) classifyAab()} and
+     * {@link #classifySphere(float, float, float, float) classifySphere()} indicating that the tested primitive
+     * intersects the frustum boundary.
+     */
+    public static final int INTERSECT = -1;
+    /**
+     * Return value of {@link #classifyAab(float, float, float, float, float, float) classifyAab()} and
+     * {@link #classifySphere(float, float, float, float) classifySphere()} indicating that the tested primitive
+     * is fully inside of the frustum.
+     */
+    public static final int INSIDE = -2;
+
+    /**
+     * The plane equations <i>a*x + b*y + c*z + d = 0</i> of the six planes, stored as consecutive <code>(a, b, c, d)</code> quadruples.
+     */
+    private final float[] planes = new float[24];
+    /**
+     * Per plane, the <code>(x, y, z)</code> selection masks of the p-vertex: <code>1.0</code> if the maximum box coordinate
+     * lies farthest along the plane normal in that dimension, or <code>0.0</code> if the minimum box coordinate does.
+     */
+    private final float[] pVertex = new float[18];
+
+    /**
+     * Create a new {@link Frustumf} whose planes are all undefined.
+     * <p>
+     * Before using any of the test methods, the planes must be set via {@link #set(Matrix4fc)} or
+     * {@link #set(Planef, Planef, Planef, Planef, Planef, Planef)}.
+     */
+    public Frustumf() {
+    }
+
+    /**
+     * Create a new {@link Frustumf} from the given projection or combined view-projection matrix <code>m</code>.
+     * 
+     * @see #set(Matrix4fc)
+     * 
+     * @param m
+     *          the projection or combined view-projection matrix
+     */
+    public Frustumf(Matrix4fc m) {
+        set(m);
+    }
+
+    /**
+     * Create a new {@link Frustumf} from the given six planes.
+     * 
+     * @see #set(Planef, Planef, Planef, Planef, Planef, Planef)
+     * 
+     * @param nx
+     *          the plane stored at {@link #PLANE_NX}
+     * @param px
+     *          the plane stored at {@link #PLANE_PX}
+     * @param ny
+     *          the plane stored at {@link #PLANE_NY}
+     * @param py
+     *          the plane stored at {@link #PLANE_PY}
+     * @param nz
+     *          the plane stored at {@link #PLANE_NZ}
+     * @param pz
+     *          the plane stored at {@link #PLANE_PZ}
+     */
+    public Frustumf(Planef nx, Planef px, Planef ny, Planef py, Planef nz, Planef pz) {
+        set(nx, px, ny, py, nz, pz);
+    }
+
+    /**
+     * Create a new {@link Frustumf} as a copy of the given <code>source</code>.
+     * 
+     * @param source
+     *          the {@link Frustumf} to copy from
+     */
+    public Frustumf(Frustumf source) {
+        set(source);
+    }
+
+    /**
+     * Set this {@link Frustumf} to be a copy of <code>source</code>.
+     * 
+     * @param source
+     *          the {@link Frustumf} to copy from
+     * @return this
+     */
+    public Frustumf set(Frustumf source) {
+        System.arraycopy(source.planes, 0, planes, 0, 24);
+        System.arraycopy(source.pVertex, 0, pVertex, 0, 18);
+        return this;
+    }
+
+    /**
+     * Extract the six frustum planes from the given projection or combined view-projection matrix <code>m</code>.
+     * <p>
+     * The resulting planes are in the coordinate system that <code>m</code> transforms from, so when <code>m</code> is the
+     * combined view-projection matrix, they are in world space.
+     * 
+     * @param m
+     *          the projection or combined view-projection matrix
+     * @return this
+     */
+    public Frustumf set(Matrix4fc m) {
+        float m00 = m.m00(), m01 = m.m01(), m02 = m.m02(), m03 = m.m03();
+        float m10 = m.m10(), m11 = m.m11(), m12 = m.m12(), m13 = m.m13();
+        float m20 = m.m20(), m21 = m.m21(), m22 = m.m22(), m23 = m.m23();
+        float m30 = m.m30(), m31 = m.m31(), m32 = m.m32(), m33 = m.m33();
+        setPlane(PLANE_NX, m03 + m00, m13 + m10, m23 + m20, m33 + m30);
+        setPlane(PLANE_PX, m03 - m00, m13 - m10, m23 - m20, m33 - m30);
+        setPlane(PLANE_NY, m03 + m01, m13 + m11, m23 + m21, m33 + m31);
+        setPlane(PLANE_PY, m03 - m01, m13 - m11, m23 - m21, m33 - m31);
+        setPlane(PLANE_NZ, m03 + m02, m13 + m12, m23 + m22, m33 + m32);
+        setPlane(PLANE_PZ, m03 - m02, m13 - m12, m23 - m22, m33 - m32);
+        return this;
+    }
+
+    /**
+     * Set the six frustum planes to the given planes.
+     * <p>
+     * The normals of all planes must point towards the inside of the frustum. The planes need not be normalized.
+     * 
+     * @param nx
+     *          the plane stored at {@link #PLANE_NX}
+     * @param px
+     *          the plane stored at {@link #PLANE_PX}
+     * @param ny
+     *          the plane stored at {@link #PLANE_NY}
+     * @param py
+     *          the plane stored at {@link #PLANE_PY}
+     * @param nz
+     *          the plane stored at {@link #PLANE_NZ}
+     * @param pz
+     *          the plane stored at {@link #PLANE_PZ}
+     * @return this
+     */
+    public Frustumf set(Planef nx, Planef px, Planef ny, Planef py, Planef nz, Planef pz) {
+        setPlane(PLANE_NX, nx.a, nx.b, nx.c, nx.d);
+        setPlane(PLANE_PX, px.a, px.b, px.c, px.d);
+        setPlane(PLANE_NY, ny.a, ny.b, ny.c, ny.d);
+        setPlane(PLANE_PY, py.a, py.b, py.c, py.d);
+        setPlane(PLANE_NZ, nz.a, nz.b, nz.c, nz.d);
+        setPlane(PLANE_PZ, pz.a, pz.b, pz.c, pz.d);
+        return this;
+    }
+
+    /**
+     * Set the plane with the given index to the plane equation <i>a*x + b*y + c*z + d = 0</i>.
+     * <p>
+     * The normal <code>(a, b, c)</code> must point towards the inside of the frustum. It need not be normalized.
+     * 
+     * @param plane
+     *          the index of the plane, one of {@link #PLANE_NX}, {@link #PLANE_PX}, {@link #PLANE_NY}, {@link #PLANE_PY},
+     *          {@link #PLANE_NZ} or {@link #PLANE_PZ}
+     * @param a
+     *          the x factor in the plane equation
+     * @param b
+     *          the y factor in the plane equation
+     * @param c
+     *          the z factor in the plane equation
+     * @param d
+     *          the constant in the plane equation
+     * @return this
+     */
+    public Frustumf setPlane(int plane, float a, float b, float c, float d) {
+        float invLength = Math.invsqrt(a * a + b * b + c * c);
+        int p = plane << 2;
+        planes[p] = a * invLength;
+        planes[p + 1] = b * invLength;
+        planes[p + 2] = c * invLength;
+        planes[p + 3] = d * invLength;
+        int s = plane * 3;
+        pVertex[s] = a >= 0.0f ? 1.0f : 0.0f;
+        pVertex[s + 1] = b >= 0.0f ? 1.0f : 0.0f;
+        pVertex[s + 2] = c >= 0.0f ? 1.0f : 0.0f;
+        return this;
+    }
+
+    /**
+     * Store the normalized plane with the given index into <code>dest</code>.
+     * 
+     * @param plane
+     *          the index of the plane, one of {@link #PLANE_NX}, {@link #PLANE_PX}, {@link #PLANE_NY}, {@link #PLANE_PY},
+     *          {@link #PLANE_NZ} or {@link #PLANE_PZ}
+     * @param dest
+     *          will hold the plane
+     * @return dest
+     */
+    public Planef getPlane(int plane, Planef dest) {
+        int p = plane << 2;
+        return dest.set(planes[p], planes[p + 1], planes[p + 2], planes[p + 3]);
+    }
+
+    /**
+     * Test whether the given point <code>(x, y, z)</code> is within the frustum.
+     * 
+     * @param x
+     *          the x coordinate of the point
+     * @param y
+     *          the y coordinate of the point
+     * @param z
+     *          the z coordinate of the point
+     * @return <code>true</code> if the point is inside the frustum; <code>false</code> otherwise
+     */
+    public boolean testPoint(float x, float y, float z) {
+        float[] pl = planes;
+        for (int p = 0; p < 24; p += 4) {
+            if (pl[p] * x + pl[p + 1] * y + pl[p + 2] * z + pl[p + 3] < 0.0f)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Test whether the given point is within the frustum.
+     * 
+     * @param point
+     *          the point to test
+     * @return <code>true</code> if the point is inside the frustum; <code>false</code> otherwise
+     */
+    public boolean testPoint(Vector3fc point) {
+        return testPoint(point.x(), point.y(), point.z());
+    }
+
+    /**
+     * Test whether the sphere with center <code>(x, y, z)</code> and radius <code>r</code> is partly or completely within the frustum.
+     * <p>
+     * This test is conservative, which means that it may return <code>true</code> for spheres that are outside of the frustum
+     * near one of its corners.
+     * 
+     * @param x
+     *          the x coordinate of the sphere's center
+     * @param y
+     *          the y coordinate of the sphere's center
+     * @param z
+     *          the z coordinate of the sphere's center
+     * @param r
+     *          the sphere's radius
+     * @return <code>true</code> if the sphere is partly or completely inside the frustum; <code>false</code> otherwise
+     */
+    public boolean testSphere(float x, float y, float z, float r) {
+        float[] pl = planes;
+        for (int p = 0; p < 24; p += 4) {
+            if (pl[p] * x + pl[p + 1] * y + pl[p + 2] * z + pl[p + 3] < -r)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Test whether the given sphere is partly or completely within the frustum.
+     * 
+     * @see #testSphere(float, float, float, float)
+     * 
+     * @param sphere
+     *          the sphere to test
+     * @return <code>true</code> if the sphere is partly or completely inside the frustum; <code>false</code> otherwise
+     */
+    public boolean testSphere(Spheref sphere) {
+        return testSphere(sphere.x, sphere.y, sphere.z, sphere.r);
+    }
+
+    /**
+     * Determine whether the sphere with center <code>(x, y, z)</code> and radius <code>r</code> is completely inside,
+     * intersecting or outside of the frustum.
+     * 
+     * @param x
+     *          the x coordinate of the sphere's center
+     * @param y
+     *          the y coordinate of the sphere's center
+     * @param z
+     *          the z coordinate of the sphere's center
+     * @param r
+     *          the sphere's radius
+     * @return {@link #INSIDE} if the sphere is completely inside the frustum, {@link #INTERSECT} if it intersects
+     *         the frustum boundary, or the index of the first plane that culls the sphere
+     */
+    public int classifySphere(float x, float y, float z, float r) {
+        float[] pl = planes;
+        boolean inside = true;
+        for (int p = 0; p < 24; p += 4) {
+            float dist = pl[p] * x + pl[p + 1] * y + pl[p + 2] * z + pl[p + 3];
+            if (dist < -r)
+                return p >> 2;
+            inside &= dist >= r;
+        }
+        return inside ? INSIDE : INTERSECT;
+    }
+
+    /**
+     * Test whether the axis-aligned box with minimum corner <code>(minX, minY, minZ)</code> and maximum corner <code>(maxX, maxY, maxZ)</code>
+     * is partly or completely within the frustum.
+     * <p>
+     * This test is conservative, which means that it may return <code>true</code> for boxes that are outside of the frustum
+     * near one of its corners.
+     * 
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     * @return <code>true</code> if the axis-aligned box is partly or completely inside the frustum; <code>false</code> otherwise
+     */
+    public boolean testAab(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        float[] pl = planes, pv = pVertex;
+        float dX = maxX - minX, dY = maxY - minY, dZ = maxZ - minZ;
+        for (int p = 0, s = 0; p < 24; p += 4, s += 3) {
+            float a = pl[p], b = pl[p + 1], c = pl[p + 2];
+            float distP = a * (minX + pv[s] * dX) + b * (minY + pv[s + 1] * dY) + c * (minZ + pv[s + 2] * dZ) + pl[p + 3];
+            if (distP < 0.0f)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Test whether the given axis-aligned box is partly or completely within the frustum.
+     * 
+     * @see #testAab(float, float, float, float, float, float)
+     * 
+     * @param aabb
+     *          the {@link AABBfc} to test
+     * @return <code>true</code> if the axis-aligned box is partly or completely inside the frustum; <code>false</code> otherwise
+     */
+    public boolean testAab(AABBfc aabb) {
+        return testAab(aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ());
+    }
+
+    /**
+     * Test whether the axis-aligned box with minimum corner <code>min</code> and maximum corner <code>max</code>
+     * is partly or completely within the frustum.
+     * 
+     * @see #testAab(float, float, float, float, float, float)
+     * 
+     * @param min
+     *          the minimum corner
+     * @param max
+     *          the maximum corner
+     * @return <code>true</code> if the axis-aligned box is partly or completely inside the frustum; <code>false</code> otherwise
+     */
+    public boolean testAab(Vector3fc min, Vector3fc max) {
+        return testAab(min.x(), min.y(), min.z(), max.x(), max.y(), max.z());
+    }
+
+    /**
+     * Test each of the <code>count</code> axis-aligned boxes stored in <code>aabbs</code> against the frustum and store the
+     * indices of all boxes that are partly or completely within the frustum in <code>dest</code>.
+     * <p>
+     * The boxes are stored consecutively starting at <code>offset</code>, each as its minimum corner followed by its maximum corner,
+     * so box <code>i</code> occupies the six elements starting at <code>offset + 6 * i</code>.
+     * <p>
+     * Like {@link #testAab(float, float, float, float, float, float)}, this test is conservative.
+     * 
+     * @param aabbs
+     *          the minimum and maximum corners of the axis-aligned boxes
+     * @param offset
+     *          the index of the first element of the first box in <code>aabbs</code>
+     * @param count
+     *          the number of boxes to test
+     * @param dest
+     *          will hold the indices (between <code>0</code> and <code>count - 1</code>) of all boxes that are partly or
+     *          completely inside the frustum in increasing order; must have room for <code>count</code> indices
+     * @return the number of indices stored in <code>dest</code>
+     */
+    public int testAabs(float[] aabbs, int offset, int count, int[] dest) {
+        Object event = QueryEvents.begin();
+        int n = 0;
+        for (int i = 0, o = offset; i < count; i++, o += 6)
+            if (testAab(aabbs[o], aabbs[o + 1], aabbs[o + 2], aabbs[o + 3], aabbs[o + 4], aabbs[o + 5]))
+                dest[n++] = i;
+        QueryEvents.end(event, "Frustumf.testAabs", count, n);
+        return n;
+    }
+
+    /**
+     * Determine whether the axis-aligned box with minimum corner <code>(minX, minY, minZ)</code> and maximum corner <code>(maxX, maxY, maxZ)</code>
+     * is completely inside, intersecting or outside of the frustum.
+     * <p>
+     * The returned plane index can be used by the caller to test that plane first the next time the same box is classified.
+     * 
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     * @return {@link #INSIDE} if the box is completely inside the frustum, {@link #INTERSECT} if it intersects
+     *         the frustum boundary, or the index of the first plane that culls the box
+     */
+    public int classifyAab(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        float[] pl = planes, pv = pVertex;
+        float dX = maxX - minX, dY = maxY - minY, dZ = maxZ - minZ;
+        boolean inside = true;
+        for (int p = 0, s = 0; p < 24; p += 4, s += 3) {
+            float a = pl[p], b = pl[p + 1], c = pl[p + 2], d = pl[p + 3];
+            float sX = pv[s] * dX, sY = pv[s + 1] * dY, sZ = pv[s + 2] * dZ;
+            float distP = a * (minX + sX) + b * (minY + sY) + c * (minZ + sZ) + d;
+            if (distP < 0.0f)
+                return p >> 2;
+            float distN = a * (maxX - sX) + b * (maxY - sY) + c * (maxZ - sZ) + d;
+            inside &= distN >= 0.0f;
+        }
+        return inside ? INSIDE : INTERSECT;
+    }
+
+    /**
+     * Determine whether the given axis-aligned box is completely inside, intersecting or outside of the frustum.
+     * 
+     * @see #classifyAab(float, float, float, float, float, float)
+     * 
+     * @param aabb
+     *          the {@link AABBfc} to classify
+     * @return {@link #INSIDE} if the box is completely inside the frustum, {@link #INTERSECT} if it intersects
+     *         the frustum boundary, or the index of the first plane that culls the box
+     */
+    public int classifyAab(AABBfc aabb) {
+        return classifyAab(aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ());
+    }
+
+    /**
+     * Test whether the oriented box given via its center position, orientation and half-size is partly or completely
+     * within the frustum.
+     * <p>
+     * The orientation of the box is given as three unit vectors spanning the local orthonormal basis of the box.
+     * <p>
+     * The size is given as the half-size along each of the unit vectors defining the orthonormal basis.
+     * <p>
+     * This test is conservative, which means that it may return <code>true</code> for boxes that are outside of the frustum
+     * near one of its corners.
+     * 
+     * @param cX
+     *          the x coordinate of the center of the box
+     * @param cY
+     *          the y coordinate of the center of the box
+     * @param cZ
+     *          the z coordinate of the center of the box
+     * @param uXx
+     *          the x coordinate of the local X unit vector of the box
+     * @param uXy
+     *          the y coordinate of the local X unit vector of the box
+     * @param uXz
+     *          the z coordinate of the local X unit vector of the box
+     * @param uYx
+     *          the x coordinate of the local Y unit vector of the box
+     * @param uYy
+     *          the y coordinate of the local Y unit vector of the box
+     * @param uYz
+     *          the z coordinate of the local Y unit vector of the box
+     * @param uZx
+     *          the x coordinate of the local Z unit vector of the box
+     * @param uZy
+     *          the y coordinate of the local Z unit vector of the box
+     * @param uZz
+     *          the z coordinate of the local Z unit vector of the box
+     * @param hsX
+     *          the half-size of the box along its local X axis
+     * @param hsY
+     *          the half-size of the box along its local Y axis
+     * @param hsZ
+     *          the half-size of the box along its local Z axis
+     * @return <code>true</code> if the oriented box is partly or completely inside the frustum; <code>false</code> otherwise
+     */
+    public boolean testOb(
+            float cX, float cY, float cZ,
+            float uXx, float uXy, float uXz, float uYx, float uYy, float uYz, float uZx, float uZy, float uZz,
+            float hsX, float hsY, float hsZ) {
+        float[] pl = planes;
+        for (int p = 0; p < 24; p += 4) {
+            float a = pl[p], b = pl[p + 1], c = pl[p + 2];
+            float r = hsX * Math.abs(a * uXx + b * uXy + c * uXz)
+                    + hsY * Math.abs(a * uYx + b * uYy + c * uYz)
+                    + hsZ * Math.abs(a * uZx + b * uZy + c * uZz);
+            if (a * cX + b * cY + c * cZ + pl[p + 3] < -r)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Test whether the oriented box given via its center position, orientation and half-size is partly or completely
+     * within the frustum.
+     * 
+     * @see #testOb(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float)
+     * 
+     * @param center
+     *          the center of the box
+     * @param uX
+     *          the local X unit vector of the box
+     * @param uY
+     *          the local Y unit vector of the box
+     * @param uZ
+     *          the local Z unit vector of the box
+     * @param halfSize
+     *          the half-size of the box
+     * @return <code>true</code> if the oriented box is partly or completely inside the frustum; <code>false</code> otherwise
+     */
+    public boolean testOb(Vector3fc center, Vector3fc uX, Vector3fc uY, Vector3fc uZ, Vector3fc halfSize) {
+        return testOb(center.x(), center.y(), center.z(), uX.x(), uX.y(), uX.z(), uY.x(), uY.y(), uY.z(),
+                uZ.x(), uZ.y(), uZ.z(), halfSize.x(), halfSize.y(), halfSize.z());
+    }
+
+}
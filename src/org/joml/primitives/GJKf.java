@@ -0,0 +1,602 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import org.joml.Math;
+import org.joml.Vector3f;
+
+/**
+ * Computes the distance, closest points and penetration depth between two convex shapes given by their
+ * {@link SupportFunctionf support functions}.
+ * <p>
+ * Distances and overlap are computed with the Gilbert-Johnson-Keerthi (GJK) algorithm and the penetration depth of overlapping
+ * shapes with the Expanding Polytope Algorithm (EPA). All intermediate state, including the simplex and the polytope, is kept in
+ * fields of this object, so a single instance can be reused for any number of queries without allocating. An instance must not be
+ * used by several threads at the same time.
+ * <p>
+ * The simplex of the last query is retained. When the same pair of shapes is queried again, for example in the next simulation frame,
+ * passing <code>warmStart = true</code> re-evaluates the retained simplex against the (possibly moved) shapes instead of starting from a
+ * single point, which usually reduces the number of iterations to one or two.
+ * <p>
+ * References:
+ * <ul>
+ * <li>Book "Real-Time Collision Detection" chapter 9.5 "The Gilbert-Johnson-Keerthi Algorithm"</li>
+ * <li><a href="http://www.dtecta.com/papers/jgt98convex.pdf">A Fast and Robust GJK Implementation for Collision Detection of Convex Objects</a></li>
+ * </ul>
+ */
+public class GJKf {
+
+    private static final int MAX_ITERATIONS = 64;
+    private static final int MAX_POLYTOPE_VERTICES = 64;
+    /* a closed triangulated polytope with V vertices has exactly 2V - 4 faces */
+    private static final int MAX_POLYTOPE_FACES = 2 * MAX_POLYTOPE_VERTICES;
+    private static final float RELATIVE_TOLERANCE = 1E-5f;
+    private static final float EPA_TOLERANCE = 1E-4f;
+    private static final float EPSILON = 1E-12f;
+
+    private static final int SEPARATED = 0;
+    private static final int INTERSECTING = 1;
+
+    /* the simplex: Minkowski difference points, the support points on both shapes and the support directions */
+    private final float[] w = new float[12];
+    private final float[] pA = new float[12];
+    private final float[] pB = new float[12];
+    private final float[] dirs = new float[12];
+    private final float[] lambda = new float[4];
+    private final float[] weights = new float[3];
+    private int count;
+    /* the point of the simplex closest to the origin */
+    private float vX, vY, vZ;
+    /* the polytope used by EPA */
+    private final float[] polyW = new float[3 * MAX_POLYTOPE_VERTICES];
+    private final float[] polyA = new float[3 * MAX_POLYTOPE_VERTICES];
+    private final float[] polyB = new float[3 * MAX_POLYTOPE_VERTICES];
+    private final int[] faces = new int[3 * MAX_POLYTOPE_FACES];
+    private final float[] planes = new float[4 * MAX_POLYTOPE_FACES];
+    private final int[] edges = new int[6 * MAX_POLYTOPE_FACES];
+    private int vertexCount, faceCount, edgeCount;
+    private final Vector3f supportA = new Vector3f();
+    private final Vector3f supportB = new Vector3f();
+
+    /**
+     * Discard the simplex retained from the last query, so that the next warm-started query starts from scratch.
+     * 
+     * @return this
+     */
+    public GJKf reset() {
+        count = 0;
+        return this;
+    }
+
+    /**
+     * Test whether the two given convex shapes intersect.
+     * <p>
+     * This returns as soon as a separating axis is found, so it is cheaper than computing the {@link #distance(SupportFunctionf, SupportFunctionf, boolean, Vector3f, Vector3f) distance}.
+     * 
+     * @param a
+     *          the first convex shape
+     * @param b
+     *          the second convex shape
+     * @param warmStart
+     *          whether to start from the simplex retained from the last query
+     * @return <code>true</code> iff both shapes intersect; <code>false</code> otherwise
+     */
+    public boolean testIntersection(SupportFunctionf a, SupportFunctionf b, boolean warmStart) {
+        return run(a, b, warmStart, true) == INTERSECTING;
+    }
+
+    /**
+     * Compute the distance between the two given convex shapes and store the closest points on both shapes into
+     * <code>pointA</code> and <code>pointB</code>.
+     * <p>
+     * If the shapes intersect, <code>0.0</code> is returned and <code>pointA</code> and <code>pointB</code> are left unchanged.
+     * 
+     * @param a
+     *          the first convex shape
+     * @param b
+     *          the second convex shape
+     * @param warmStart
+     *          whether to start from the simplex retained from the last query
+     * @param pointA
+     *          will hold the point on <code>a</code> closest to <code>b</code>
+     * @param pointB
+     *          will hold the point on <code>b</code> closest to <code>a</code>
+     * @return the distance between both shapes; or <code>0.0</code> if they intersect
+     */
+    public float distance(SupportFunctionf a, SupportFunctionf b, boolean warmStart, Vector3f pointA, Vector3f pointB) {
+        if (run(a, b, warmStart, false) == INTERSECTING)
+            return 0.0f;
+        float aX = 0.0f, aY = 0.0f, aZ = 0.0f, bX = 0.0f, bY = 0.0f, bZ = 0.0f;
+        for (int i = 0; i < count; i++) {
+            float l = lambda[i];
+            int j = 3 * i;
+            aX += l * pA[j]; aY += l * pA[j + 1]; aZ += l * pA[j + 2];
+            bX += l * pB[j]; bY += l * pB[j + 1]; bZ += l * pB[j + 2];
+        }
+        pointA.set(aX, aY, aZ);
+        pointB.set(bX, bY, bZ);
+        return Math.sqrt(vX * vX + vY * vY + vZ * vZ);
+    }
+
+    /**
+     * Compute the penetration depth of the two given intersecting convex shapes and store the unit direction of minimum
+     * penetration into <code>normal</code> and the deepest points on both shapes into <code>pointA</code> and <code>pointB</code>.
+     * <p>
+     * The normal points from <code>a</code> towards <code>b</code>, so translating <code>b</code> by <code>normal * depth</code>
+     * separates both shapes.
+     * <p>
+     * The expanding polytope is limited to 64 vertices. For deeply overlapping curved shapes, such as spheres, the returned depth
+     * is then a slight underestimation.
+     * <p>
+     * If the shapes do not intersect, <code>-1.0</code> is returned. If the shapes intersect but their Minkowski difference has no volume,
+     * for example for two coplanar triangles, <code>0.0</code> is returned. In both cases <code>normal</code>, <code>pointA</code> and
+     * <code>pointB</code> are left unchanged.
+     * 
+     * @param a
+     *          the first convex shape
+     * @param b
+     *          the second convex shape
+     * @param warmStart
+     *          whether to start from the simplex retained from the last query
+     * @param normal
+     *          will hold the unit direction of minimum penetration
+     * @param pointA
+     *          will hold the point on <code>a</code> deepest inside <code>b</code>
+     * @param pointB
+     *          will hold the point on <code>b</code> deepest inside <code>a</code>
+     * @return the penetration depth; or <code>-1.0</code> if the shapes do not intersect
+     */
+    public float penetration(SupportFunctionf a, SupportFunctionf b, boolean warmStart, Vector3f normal, Vector3f pointA, Vector3f pointB) {
+        if (run(a, b, warmStart, false) == SEPARATED)
+            return -1.0f;
+        if (!expandToTetrahedron(a, b))
+            return 0.0f;
+        initPolytope();
+        int best = 0;
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            best = closestFace();
+            int p = 4 * best;
+            float nX = planes[p], nY = planes[p + 1], nZ = planes[p + 2], d = planes[p + 3];
+            if (vertexCount == MAX_POLYTOPE_VERTICES)
+                break;
+            int v = 3 * vertexCount;
+            evaluate(a, b, nX, nY, nZ, polyW, polyA, polyB, v, null);
+            float dist = nX * polyW[v] + nY * polyW[v + 1] + nZ * polyW[v + 2];
+            if (dist - d <= EPA_TOLERANCE * Math.max(1.0f, d))
+                break;
+            expandPolytope(vertexCount++);
+        }
+        int p = 4 * best, f = 3 * best;
+        float nX = planes[p], nY = planes[p + 1], nZ = planes[p + 2], d = Math.max(0.0f, planes[p + 3]);
+        int i0 = 3 * faces[f], i1 = 3 * faces[f + 1], i2 = 3 * faces[f + 2];
+        barycentric(polyW, i0, i1, i2, nX * d, nY * d, nZ * d);
+        float u = weights[0], v = weights[1], t = weights[2];
+        pointA.set(u * polyA[i0] + v * polyA[i1] + t * polyA[i2],
+                   u * polyA[i0 + 1] + v * polyA[i1 + 1] + t * polyA[i2 + 1],
+                   u * polyA[i0 + 2] + v * polyA[i1 + 2] + t * polyA[i2 + 2]);
+        pointB.set(u * polyB[i0] + v * polyB[i1] + t * polyB[i2],
+                   u * polyB[i0 + 1] + v * polyB[i1 + 1] + t * polyB[i2 + 1],
+                   u * polyB[i0 + 2] + v * polyB[i1 + 2] + t * polyB[i2 + 2]);
+        normal.set(nX, nY, nZ);
+        return d;
+    }
+
+    private int run(SupportFunctionf a, SupportFunctionf b, boolean warmStart, boolean earlyOut) {
+        if (warmStart && count > 0) {
+            for (int i = 0; i < count; i++) {
+                int j = 3 * i;
+                evaluate(a, b, dirs[j], dirs[j + 1], dirs[j + 2], w, pA, pB, j, dirs);
+            }
+        } else {
+            evaluate(a, b, 1.0f, 0.0f, 0.0f, w, pA, pB, 0, dirs);
+            count = 1;
+        }
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            if (!solve())
+                return INTERSECTING;
+            float vv = vX * vX + vY * vY + vZ * vZ;
+            if (vv <= EPSILON)
+                return INTERSECTING;
+            int j = 3 * count;
+            evaluate(a, b, -vX, -vY, -vZ, w, pA, pB, j, dirs);
+            float vw = vX * w[j] + vY * w[j + 1] + vZ * w[j + 2];
+            if (earlyOut && vw > 0.0f)
+                return SEPARATED;
+            if (vv - vw <= RELATIVE_TOLERANCE * vv || contains(j))
+                return SEPARATED;
+            count++;
+        }
+        return SEPARATED;
+    }
+
+    private void evaluate(SupportFunctionf a, SupportFunctionf b, float dX, float dY, float dZ, float[] w, float[] pA, float[] pB, int j, float[] dirs) {
+        a.support(dX, dY, dZ, supportA);
+        b.support(-dX, -dY, -dZ, supportB);
+        pA[j] = supportA.x; pA[j + 1] = supportA.y; pA[j + 2] = supportA.z;
+        pB[j] = supportB.x; pB[j + 1] = supportB.y; pB[j + 2] = supportB.z;
+        w[j] = supportA.x - supportB.x; w[j + 1] = supportA.y - supportB.y; w[j + 2] = supportA.z - supportB.z;
+        if (dirs != null) {
+            dirs[j] = dX; dirs[j + 1] = dY; dirs[j + 2] = dZ;
+        }
+    }
+
+    private boolean contains(int j) {
+        for (int i = 0; i < j; i += 3)
+            if (w[i] == w[j] && w[i + 1] == w[j + 1] && w[i + 2] == w[j + 2])
+                return true;
+        return false;
+    }
+
+    /**
+     * Compute the point of the simplex closest to the origin and reduce the simplex to the smallest sub-simplex containing it.
+     * 
+     * @return <code>false</code> iff the simplex is a tetrahedron containing the origin
+     */
+    private boolean solve() {
+        switch (count) {
+        case 1:
+            lambda[0] = 1.0f;
+            break;
+        case 2:
+            segment(0, 3);
+            lambda[0] = weights[0];
+            lambda[1] = weights[1];
+            break;
+        case 3:
+            triangle(0, 3, 6);
+            lambda[0] = weights[0];
+            lambda[1] = weights[1];
+            lambda[2] = weights[2];
+            break;
+        default:
+            if (!tetrahedron())
+                return false;
+        }
+        int n = 0;
+        float x = 0.0f, y = 0.0f, z = 0.0f;
+        for (int i = 0; i < count; i++) {
+            float l = lambda[i];
+            if (l <= 0.0f)
+                continue;
+            int src = 3 * i, dst = 3 * n;
+            x += l * w[src]; y += l * w[src + 1]; z += l * w[src + 2];
+            if (src != dst) {
+                System.arraycopy(w, src, w, dst, 3);
+                System.arraycopy(pA, src, pA, dst, 3);
+                System.arraycopy(pB, src, pB, dst, 3);
+                System.arraycopy(dirs, src, dirs, dst, 3);
+            }
+            lambda[n++] = l;
+        }
+        count = n;
+        vX = x;
+        vY = y;
+        vZ = z;
+        return true;
+    }
+
+    private float segment(int a, int b) {
+        float aX = w[a], aY = w[a + 1], aZ = w[a + 2];
+        float abX = w[b] - aX, abY = w[b + 1] - aY, abZ = w[b + 2] - aZ;
+        float abab = abX * abX + abY * abY + abZ * abZ;
+        float t = abab > 0.0f ? -(aX * abX + aY * abY + aZ * abZ) / abab : 0.0f;
+        if (t <= 0.0f) {
+            weights[0] = 1.0f;
+            weights[1] = 0.0f;
+            return aX * aX + aY * aY + aZ * aZ;
+        } else if (t >= 1.0f) {
+            weights[0] = 0.0f;
+            weights[1] = 1.0f;
+            return w[b] * w[b] + w[b + 1] * w[b + 1] + w[b + 2] * w[b + 2];
+        }
+        weights[0] = 1.0f - t;
+        weights[1] = t;
+        float x = aX + t * abX, y = aY + t * abY, z = aZ + t * abZ;
+        return x * x + y * y + z * z;
+    }
+
+    /**
+     * Reference: Book "Real-Time Collision Detection" chapter 5.1.5 "Closest Point on Triangle to Point" with the point at the origin.
+     */
+    private float triangle(int a, int b, int c) {
+        float aX = w[a], aY = w[a + 1], aZ = w[a + 2];
+        float bX = w[b], bY = w[b + 1], bZ = w[b + 2];
+        float cX = w[c], cY = w[c + 1], cZ = w[c + 2];
+        float abX = bX - aX, abY = bY - aY, abZ = bZ - aZ;
+        float acX = cX - aX, acY = cY - aY, acZ = cZ - aZ;
+        float d1 = -(abX * aX + abY * aY + abZ * aZ);
+        float d2 = -(acX * aX + acY * aY + acZ * aZ);
+        if (d1 <= 0.0f && d2 <= 0.0f)
+            return triangleWeights(1.0f, 0.0f, 0.0f, a, b, c);
+        float d3 = -(abX * bX + abY * bY + abZ * bZ);
+        float d4 = -(acX * bX + acY * bY + acZ * bZ);
+        if (d3 >= 0.0f && d4 <= d3)
+            return triangleWeights(0.0f, 1.0f, 0.0f, a, b, c);
+        float vc = d1 * d4 - d3 * d2;
+        if (vc <= 0.0f && d1 >= 0.0f && d3 <= 0.0f) {
+            float v = d1 / (d1 - d3);
+            return triangleWeights(1.0f - v, v, 0.0f, a, b, c);
+        }
+        float d5 = -(abX * cX + abY * cY + abZ * cZ);
+        float d6 = -(acX * cX + acY * cY + acZ * cZ);
+        if (d6 >= 0.0f && d5 <= d6)
+            return triangleWeights(0.0f, 0.0f, 1.0f, a, b, c);
+        float vb = d5 * d2 - d1 * d6;
+        if (vb <= 0.0f && d2 >= 0.0f && d6 <= 0.0f) {
+            float t = d2 / (d2 - d6);
+            return triangleWeights(1.0f - t, 0.0f, t, a, b, c);
+        }
+        float va = d3 * d6 - d5 * d4;
+        if (va <= 0.0f && d4 - d3 >= 0.0f && d5 - d6 >= 0.0f) {
+            float t = (d4 - d3) / (d4 - d3 + d5 - d6);
+            return triangleWeights(0.0f, 1.0f - t, t, a, b, c);
+        }
+        float sum = va + vb + vc;
+        if (sum <= 0.0f) {
+            // degenerate triangle, so the closest point lies on one of its edges
+            float best = segment(a, b);
+            float l0 = weights[0], l1 = weights[1], l2 = 0.0f;
+            float dist = segment(b, c);
+            if (dist < best) {
+                best = dist;
+                l0 = 0.0f; l1 = weights[0]; l2 = weights[1];
+            }
+            dist = segment(a, c);
+            if (dist < best) {
+                best = dist;
+                l0 = weights[0]; l1 = 0.0f; l2 = weights[1];
+            }
+            weights[0] = l0;
+            weights[1] = l1;
+            weights[2] = l2;
+            return best;
+        }
+        float denom = 1.0f / sum;
+        float v = vb * denom, t = vc * denom;
+        return triangleWeights(1.0f - v - t, v, t, a, b, c);
+    }
+
+    private float triangleWeights(float l0, float l1, float l2, int a, int b, int c) {
+        weights[0] = l0;
+        weights[1] = l1;
+        weights[2] = l2;
+        float x = l0 * w[a] + l1 * w[b] + l2 * w[c];
+        float y = l0 * w[a + 1] + l1 * w[b + 1] + l2 * w[c + 1];
+        float z = l0 * w[a + 2] + l1 * w[b + 2] + l2 * w[c + 2];
+        return x * x + y * y + z * z;
+    }
+
+    /**
+     * @return <code>false</code> iff the origin lies inside of the tetrahedron
+     */
+    private boolean tetrahedron() {
+        float best = Float.POSITIVE_INFINITY;
+        boolean outside = false;
+        for (int face = 0; face < 4; face++) {
+            // the face opposite to vertex 'face'
+            int a = face == 0 ? 3 : 0, b = face <= 1 ? 6 : 3, c = face <= 2 ? 9 : 6, d = 3 * face;
+            if (!originOutside(a, b, c, d))
+                continue;
+            outside = true;
+            float dist = triangle(a, b, c);
+            if (dist < best) {
+                best = dist;
+                lambda[face] = 0.0f;
+                lambda[a / 3] = weights[0];
+                lambda[b / 3] = weights[1];
+                lambda[c / 3] = weights[2];
+            }
+        }
+        return outside;
+    }
+
+    private boolean originOutside(int a, int b, int c, int d) {
+        float aX = w[a], aY = w[a + 1], aZ = w[a + 2];
+        float abX = w[b] - aX, abY = w[b + 1] - aY, abZ = w[b + 2] - aZ;
+        float acX = w[c] - aX, acY = w[c + 1] - aY, acZ = w[c + 2] - aZ;
+        float nX = abY * acZ - abZ * acY, nY = abZ * acX - abX * acZ, nZ = abX * acY - abY * acX;
+        float signD = nX * (w[d] - aX) + nY * (w[d + 1] - aY) + nZ * (w[d + 2] - aZ);
+        float signO = -(nX * aX + nY * aY + nZ * aZ);
+        return signD == 0.0f || signO * signD < 0.0f;
+    }
+
+    private boolean expandToTetrahedron(SupportFunctionf a, SupportFunctionf b) {
+        if (count == 1) {
+            for (int i = 0; i < 6 && count == 1; i++) {
+                float s = (i & 1) == 0 ? 1.0f : -1.0f;
+                evaluate(a, b, i >> 1 == 0 ? s : 0.0f, i >> 1 == 1 ? s : 0.0f, i >> 1 == 2 ? s : 0.0f, w, pA, pB, 3, dirs);
+                float dX = w[3] - w[0], dY = w[4] - w[1], dZ = w[5] - w[2];
+                if (dX * dX + dY * dY + dZ * dZ > EPSILON)
+                    count = 2;
+            }
+            if (count == 1)
+                return false;
+        }
+        if (count == 2) {
+            float lX = w[3] - w[0], lY = w[4] - w[1], lZ = w[5] - w[2];
+            float ll = lX * lX + lY * lY + lZ * lZ;
+            float absX = Math.abs(lX), absY = Math.abs(lY), absZ = Math.abs(lZ);
+            // a direction perpendicular to the line using the coordinate axis least aligned with it
+            float pX, pY, pZ;
+            if (absX <= absY && absX <= absZ) {
+                pX = 0.0f; pY = lZ; pZ = -lY;
+            } else if (absY <= absZ) {
+                pX = -lZ; pY = 0.0f; pZ = lX;
+            } else {
+                pX = lY; pY = -lX; pZ = 0.0f;
+            }
+            float qX = lY * pZ - lZ * pY, qY = lZ * pX - lX * pZ, qZ = lX * pY - lY * pX;
+            for (int i = 0; i < 4 && count == 2; i++) {
+                float s = (i & 1) == 0 ? 1.0f : -1.0f;
+                if (i < 2)
+                    evaluate(a, b, s * pX, s * pY, s * pZ, w, pA, pB, 6, dirs);
+                else
+                    evaluate(a, b, s * qX, s * qY, s * qZ, w, pA, pB, 6, dirs);
+                float dX = w[6] - w[0], dY = w[7] - w[1], dZ = w[8] - w[2];
+                float cX = dY * lZ - dZ * lY, cY = dZ * lX - dX * lZ, cZ = dX * lY - dY * lX;
+                if (cX * cX + cY * cY + cZ * cZ > EPSILON * ll)
+                    count = 3;
+            }
+            if (count == 2)
+                return false;
+        }
+        if (count == 3) {
+            float abX = w[3] - w[0], abY = w[4] - w[1], abZ = w[5] - w[2];
+            float acX = w[6] - w[0], acY = w[7] - w[1], acZ = w[8] - w[2];
+            float nX = abY * acZ - abZ * acY, nY = abZ * acX - abX * acZ, nZ = abX * acY - abY * acX;
+            float nn = nX * nX + nY * nY + nZ * nZ;
+            for (int i = 0; i < 2 && count == 3; i++) {
+                float s = i == 0 ? 1.0f : -1.0f;
+                evaluate(a, b, s * nX, s * nY, s * nZ, w, pA, pB, 9, dirs);
+                float dist = nX * (w[9] - w[0]) + nY * (w[10] - w[1]) + nZ * (w[11] - w[2]);
+                if (dist * dist > EPSILON * nn)
+                    count = 4;
+            }
+            if (count == 3)
+                return false;
+        }
+        return true;
+    }
+
+    private void initPolytope() {
+        System.arraycopy(w, 0, polyW, 0, 12);
+        System.arraycopy(pA, 0, polyA, 0, 12);
+        System.arraycopy(pB, 0, polyB, 0, 12);
+        vertexCount = 4;
+        faceCount = 0;
+        for (int face = 0; face < 4; face++) {
+            int a = face == 0 ? 1 : 0, b = face <= 1 ? 2 : 1, c = face <= 2 ? 3 : 2;
+            int d = 3 * face, j = 3 * a, k = 3 * b;
+            float abX = polyW[k] - polyW[j], abY = polyW[k + 1] - polyW[j + 1], abZ = polyW[k + 2] - polyW[j + 2];
+            k = 3 * c;
+            float acX = polyW[k] - polyW[j], acY = polyW[k + 1] - polyW[j + 1], acZ = polyW[k + 2] - polyW[j + 2];
+            float nX = abY * acZ - abZ * acY, nY = abZ * acX - abX * acZ, nZ = abX * acY - abY * acX;
+            if (nX * (polyW[d] - polyW[j]) + nY * (polyW[d + 1] - polyW[j + 1]) + nZ * (polyW[d + 2] - polyW[j + 2]) > 0.0f)
+                addFace(a, c, b);
+            else
+                addFace(a, b, c);
+        }
+    }
+
+    private void addFace(int a, int b, int c) {
+        int f = 3 * faceCount, p = 4 * faceCount;
+        faces[f] = a;
+        faces[f + 1] = b;
+        faces[f + 2] = c;
+        int i = 3 * a, j = 3 * b, k = 3 * c;
+        float abX = polyW[j] - polyW[i], abY = polyW[j + 1] - polyW[i + 1], abZ = polyW[j + 2] - polyW[i + 2];
+        float acX = polyW[k] - polyW[i], acY = polyW[k + 1] - polyW[i + 1], acZ = polyW[k + 2] - polyW[i + 2];
+        float nX = abY * acZ - abZ * acY, nY = abZ * acX - abX * acZ, nZ = abX * acY - abY * acX;
+        float lenSquared = nX * nX + nY * nY + nZ * nZ;
+        if (lenSquared > 0.0f) {
+            float invLen = Math.invsqrt(lenSquared);
+            nX *= invLen; nY *= invLen; nZ *= invLen;
+            planes[p] = nX;
+            planes[p + 1] = nY;
+            planes[p + 2] = nZ;
+            planes[p + 3] = nX * polyW[i] + nY * polyW[i + 1] + nZ * polyW[i + 2];
+        } else {
+            // degenerate faces are never closest and never visible
+            planes[p] = 0.0f;
+            planes[p + 1] = 0.0f;
+            planes[p + 2] = 0.0f;
+            planes[p + 3] = Float.POSITIVE_INFINITY;
+        }
+        faceCount++;
+    }
+
+    private int closestFace() {
+        int best = 0;
+        float bestDist = Float.POSITIVE_INFINITY;
+        for (int i = 0; i < faceCount; i++) {
+            float d = planes[4 * i + 3];
+            if (d < bestDist) {
+                bestDist = d;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private void expandPolytope(int vertex) {
+        int v = 3 * vertex;
+        float x = polyW[v], y = polyW[v + 1], z = polyW[v + 2];
+        edgeCount = 0;
+        for (int i = 0; i < faceCount;) {
+            int f = 3 * i, p = 4 * i, a = 3 * faces[f];
+            if (planes[p] * (x - polyW[a]) + planes[p + 1] * (y - polyW[a + 1]) + planes[p + 2] * (z - polyW[a + 2]) > 0.0f) {
+                addEdge(faces[f], faces[f + 1]);
+                addEdge(faces[f + 1], faces[f + 2]);
+                addEdge(faces[f + 2], faces[f]);
+                faceCount--;
+                System.arraycopy(faces, 3 * faceCount, faces, f, 3);
+                System.arraycopy(planes, 4 * faceCount, planes, p, 4);
+            } else {
+                i++;
+            }
+        }
+        for (int i = 0; i < edgeCount; i++)
+            addFace(edges[2 * i], edges[2 * i + 1], vertex);
+    }
+
+    private void addEdge(int a, int b) {
+        for (int i = 0; i < edgeCount; i++) {
+            if (edges[2 * i] == b && edges[2 * i + 1] == a) {
+                // shared by two visible faces, so it is not on the horizon
+                edgeCount--;
+                edges[2 * i] = edges[2 * edgeCount];
+                edges[2 * i + 1] = edges[2 * edgeCount + 1];
+                return;
+            }
+        }
+        edges[2 * edgeCount] = a;
+        edges[2 * edgeCount + 1] = b;
+        edgeCount++;
+    }
+
+    private void barycentric(float[] p, int a, int b, int c, float x, float y, float z) {
+        float v0X = p[b] - p[a], v0Y = p[b + 1] - p[a + 1], v0Z = p[b + 2] - p[a + 2];
+        float v1X = p[c] - p[a], v1Y = p[c + 1] - p[a + 1], v1Z = p[c + 2] - p[a + 2];
+        float v2X = x - p[a], v2Y = y - p[a + 1], v2Z = z - p[a + 2];
+        float d00 = v0X * v0X + v0Y * v0Y + v0Z * v0Z;
+        float d01 = v0X * v1X + v0Y * v1Y + v0Z * v1Z;
+        float d11 = v1X * v1X + v1Y * v1Y + v1Z * v1Z;
+        float d20 = v2X * v0X + v2Y * v0Y + v2Z * v0Z;
+        float d21 = v2X * v1X + v2Y * v1Y + v2Z * v1Z;
+        float denom = d00 * d11 - d01 * d01;
+        if (denom == 0.0f) {
+            weights[0] = 1.0f;
+            weights[1] = 0.0f;
+            weights[2] = 0.0f;
+            return;
+        }
+        float invDenom = 1.0f / denom;
+        float v = (d11 * d20 - d01 * d21) * invDenom;
+        float t = (d00 * d21 - d01 * d20) * invDenom;
+        weights[0] = 1.0f - v - t;
+        weights[1] = v;
+        weights[2] = t;
+    }
+
+}
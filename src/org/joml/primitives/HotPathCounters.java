@@ -0,0 +1,294 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+/**
+ * Striped event counters for the instrumented build of the intersection tests.
+ * <p>
+ * When the library is built with the <code>instrument</code> profile (<code>mvn -Dinstrument package</code>), selected methods of
+ * {@link Intersectionf} and {@link Intersectiond} count how often they are called, how often they report an intersection and which of
+ * their early-out branches decided the result. In the regular build those calls are removed by the preprocessor and this class stays unused,
+ * so the hot paths carry no overhead.
+ * <p>
+ * Each counted method is {@link #register(String, int) registered} once and then identified by the returned index. Every thread
+ * increments its own row of counters without taking a lock, so counting threads never contend with each other.
+ * A {@link #snapshot()} sums up the rows of all threads that ever counted. Rows of threads that have terminated are kept, so that their
+ * counts remain part of the totals.
+ * <p>
+ * Example: the ratio of <code>earlyOuts(i, 0)</code> to <code>calls(i)</code> for <code>"Intersectionf.testAabPlane"</code> tells how often
+ * boxes lie completely in front of the tested planes, which helps ordering frustum planes for culling.
+ */
+public final class HotPathCounters {
+
+    private static final int MAX_SLOTS = 1024;
+
+    /**
+     * The registered methods. Registration publishes a new immutable instance, so that the counting methods can read it without locking.
+     */
+    private static final class Registry {
+        final String[] names;
+        final int[] bases;
+        final int[] earlyOutCounts;
+        final int slots;
+
+        Registry(String[] names, int[] bases, int[] earlyOutCounts, int slots) {
+            this.names = names;
+            this.bases = bases;
+            this.earlyOutCounts = earlyOutCounts;
+            this.slots = slots;
+        }
+    }
+
+    private static volatile Registry registry = new Registry(new String[0], new int[0], new int[0], 0);
+
+    /* the row of the current thread; only that thread writes to it */
+    private static final ThreadLocal row = new ThreadLocal();
+    /* the rows of all threads that ever counted, guarded by the class lock */
+    private static long[][] rows = new long[16][];
+    private static int rowCount;
+    /* the totals at the last reset, guarded by the class lock */
+    private static final long[] resetSums = new long[MAX_SLOTS];
+
+    private HotPathCounters() {
+    }
+
+    /**
+     * Register a counted method with the given <code>name</code> and number of distinguished early-out branches,
+     * or return the index of the method already registered with that name.
+     * 
+     * @param name
+     *          the name of the counted method, for example <code>"Intersectionf.testAabPlane"</code>
+     * @param earlyOuts
+     *          the number of early-out branches of that method
+     * @return the index identifying the method in {@link #call(int)}, {@link #hit(int)} and {@link #earlyOut(int, int)}
+     * @throws IllegalStateException
+     *          if the counter storage is exhausted
+     */
+    public static synchronized int register(String name, int earlyOuts) {
+        Registry r = registry;
+        int n = r.names.length;
+        for (int i = 0; i < n; i++)
+            if (r.names[i].equals(name))
+                return i;
+        if (r.slots + 2 + earlyOuts > MAX_SLOTS)
+            throw new IllegalStateException("Too many counters");
+        String[] names = new String[n + 1];
+        int[] bases = new int[n + 1];
+        int[] earlyOutCounts = new int[n + 1];
+        System.arraycopy(r.names, 0, names, 0, n);
+        System.arraycopy(r.bases, 0, bases, 0, n);
+        System.arraycopy(r.earlyOutCounts, 0, earlyOutCounts, 0, n);
+        names[n] = name;
+        bases[n] = r.slots;
+        earlyOutCounts[n] = earlyOuts;
+        registry = new Registry(names, bases, earlyOutCounts, r.slots + 2 + earlyOuts);
+        return n;
+    }
+
+    /**
+     * Count a call of the method with the given index.
+     * 
+     * @param counter
+     *          the index returned by {@link #register(String, int)}
+     */
+    public static void call(int counter) {
+        add(registry.bases[counter]);
+    }
+
+    /**
+     * Count a call of the method with the given index that reported an intersection.
+     * 
+     * @param counter
+     *          the index returned by {@link #register(String, int)}
+     */
+    public static void hit(int counter) {
+        add(registry.bases[counter] + 1);
+    }
+
+    /**
+     * Count that the early-out branch <code>branch</code> decided the result of the method with the given index.
+     * 
+     * @param counter
+     *          the index returned by {@link #register(String, int)}
+     * @param branch
+     *          the index of the early-out branch, between <code>0</code> and the number of early-out branches given at registration
+     */
+    public static void earlyOut(int counter, int branch) {
+        add(registry.bases[counter] + 2 + branch);
+    }
+
+    private static void add(int slot) {
+        long[] counts = (long[]) row.get();
+        if (counts == null)
+            counts = newRow();
+        counts[slot]++;
+    }
+
+    private static synchronized long[] newRow() {
+        long[] counts = new long[MAX_SLOTS];
+        if (rowCount == rows.length) {
+            long[][] newRows = new long[rowCount * 2][];
+            System.arraycopy(rows, 0, newRows, 0, rowCount);
+            rows = newRows;
+        }
+        rows[rowCount++] = counts;
+        row.set(counts);
+        return counts;
+    }
+
+    /**
+     * Reset all counters to zero. Registrations are kept.
+     * <p>
+     * The rows of the counting threads are not modified; instead the current totals are remembered and subtracted from later snapshots.
+     */
+    public static synchronized void reset() {
+        sum(resetSums, MAX_SLOTS);
+    }
+
+    private static void sum(long[] sums, int size) {
+        for (int i = 0; i < size; i++)
+            sums[i] = 0L;
+        for (int r = 0; r < rowCount; r++) {
+            long[] counts = rows[r];
+            for (int i = 0; i < size; i++)
+                sums[i] += counts[i];
+        }
+    }
+
+    /**
+     * Sum up the counters of all threads.
+     * <p>
+     * Counts of calls running concurrently with this method may or may not be included. Counts of other threads are only guaranteed to be
+     * included if their increments happen-before this method, for example by {@link Thread#join() joining} those threads.
+     * 
+     * @return a snapshot of all counters
+     */
+    public static synchronized Snapshot snapshot() {
+        Registry r = registry;
+        long[] sums = new long[r.slots];
+        sum(sums, r.slots);
+        for (int i = 0; i < r.slots; i++)
+            sums[i] -= resetSums[i];
+        return new Snapshot(r.names, r.bases, r.earlyOutCounts, sums);
+    }
+
+    /**
+     * Immutable totals of all registered counters at the time of {@link HotPathCounters#snapshot()}.
+     */
+    public static final class Snapshot {
+        private final String[] names;
+        private final int[] bases;
+        private final int[] earlyOutCounts;
+        private final long[] sums;
+
+        Snapshot(String[] names, int[] bases, int[] earlyOutCounts, long[] sums) {
+            this.names = names;
+            this.bases = bases;
+            this.earlyOutCounts = earlyOutCounts;
+            this.sums = sums;
+        }
+
+        /**
+         * @return the number of registered methods
+         */
+        public int size() {
+            return names.length;
+        }
+
+        /**
+         * Return the index of the method registered with the given <code>name</code>.
+         * 
+         * @param name
+         *          the name of the method
+         * @return the index of the method; or <code>-1</code> if no method with that name was registered
+         */
+        public int indexOf(String name) {
+            for (int i = 0; i < names.length; i++)
+                if (names[i].equals(name))
+                    return i;
+            return -1;
+        }
+
+        /**
+         * @param counter
+         *          the index of the method
+         * @return the name of the method
+         */
+        public String name(int counter) {
+            return names[counter];
+        }
+
+        /**
+         * @param counter
+         *          the index of the method
+         * @return the number of calls of the method
+         */
+        public long calls(int counter) {
+            return sums[bases[counter]];
+        }
+
+        /**
+         * @param counter
+         *          the index of the method
+         * @return the number of calls of the method that reported an intersection
+         */
+        public long hits(int counter) {
+            return sums[bases[counter] + 1];
+        }
+
+        /**
+         * @param counter
+         *          the index of the method
+         * @return the number of distinguished early-out branches of the method
+         */
+        public int earlyOutCount(int counter) {
+            return earlyOutCounts[counter];
+        }
+
+        /**
+         * @param counter
+         *          the index of the method
+         * @param branch
+         *          the index of the early-out branch
+         * @return the number of calls of the method whose result was decided by that early-out branch
+         */
+        public long earlyOuts(int counter, int branch) {
+            if (branch < 0 || branch >= earlyOutCounts[counter])
+                throw new IllegalArgumentException("branch");
+            return sums[bases[counter] + 2 + branch];
+        }
+
+        public String toString() {
+            StringBuffer sb = new StringBuffer();
+            for (int i = 0; i < names.length; i++) {
+                sb.append(names[i]).append(": calls=").append(calls(i)).append(", hits=").append(hits(i));
+                for (int b = 0; b < earlyOutCounts[i]; b++)
+                    sb.append(", earlyOut").append(b).append('=').append(earlyOuts(i, b));
+                sb.append('\n');
+            }
+            return sb.toString();
+        }
+    }
+
+}
@@ -167,6 +167,34 @@ public class Intersectionf {
      * {@link #intersectLineSegmentAar(Vector2fc, Vector2fc, Vector2fc, Vector2fc, Vector2f)} to indicate that the line segment lies completely inside of the axis-aligned rectangle.
      */
     public static final int INSIDE = 3;
+    /**
+     * Return value of {@link #intersectTriangleTriangle(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, Vector3f, Vector3f)}
+     * to indicate that the two triangles do not intersect.
+     */
+    public static final int TRIANGLES_DISJOINT = 0;
+    /**
+     * Return value of {@link #intersectTriangleTriangle(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, Vector3f, Vector3f)}
+     * to indicate that the two triangles intersect in a line segment, which may degenerate to a single point.
+     */
+    public static final int TRIANGLES_SEGMENT = 1;
+    /**
+     * Return value of {@link #intersectTriangleTriangle(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, Vector3f, Vector3f)}
+     * to indicate that the two triangles lie in the same plane and overlap.
+     */
+    public static final int TRIANGLES_COPLANAR = 2;
+
+//#ifdef __INSTRUMENT__
+    private static final int TEST_AAB_PLANE = HotPathCounters.register("Intersectionf.testAabPlane", 2);
+    private static final int TEST_AAB_AAB = HotPathCounters.register("Intersectionf.testAabAab", 0);
+    private static final int TEST_OB_OB = HotPathCounters.register("Intersectionf.testObOb", 2);
+    private static final int TEST_SPHERE_SPHERE = HotPathCounters.register("Intersectionf.testSphereSphere", 0);
+    private static final int TEST_AAB_SPHERE = HotPathCounters.register("Intersectionf.testAabSphere", 0);
+    private static final int TEST_RAY_SPHERE = HotPathCounters.register("Intersectionf.testRaySphere", 1);
+    private static final int INTERSECT_RAY_AAB = HotPathCounters.register("Intersectionf.intersectRayAab", 2);
+    private static final int INTERSECT_LINE_SEGMENT_AAB = HotPathCounters.register("Intersectionf.intersectLineSegmentAab", 2);
+    private static final int TEST_RAY_AAB = HotPathCounters.register("Intersectionf.testRayAab", 2);
+    private static final int INTERSECT_RAY_TRIANGLE = HotPathCounters.register("Intersectionf.intersectRayTriangle", 3);
+//#endif
 
     /**
      * Test whether the plane with the general plane equation <i>a*x + b*y + c*z + d = 0</i> intersects the sphere with center
@@ -424,8 +452,17 @@ public class Intersectionf {
             pZ = minZ;
             nZ = maxZ;
         }
-        float distN = d + a * nX + b * nY + c * nZ;
-        float distP = d + a * pX + b * pY + c * pZ;
+        float distN = Math.fma(c, nZ, Math.fma(b, nY, Math.fma(a, nX, d)));
+        float distP = Math.fma(c, pZ, Math.fma(b, pY, Math.fma(a, pX, d)));
+//#ifdef __INSTRUMENT__
+        HotPathCounters.call(TEST_AAB_PLANE);
+        if (distN > 0.0f)
+            HotPathCounters.earlyOut(TEST_AAB_PLANE, 0);
+        else if (distP < 0.0f)
+            HotPathCounters.earlyOut(TEST_AAB_PLANE, 1);
+        else
+            HotPathCounters.hit(TEST_AAB_PLANE);
+//#endif
         return distN <= 0.0f && distP >= 0.0f;
     }
 
@@ -518,8 +555,14 @@ public class Intersectionf {
             float maxXA, float maxYA, float maxZA,
             float minXB, float minYB, float minZB,
             float maxXB, float maxYB, float maxZB) {
-        return maxXA >= minXB && maxYA >= minYB && maxZA >= minZB && 
-               minXA <= maxXB && minYA <= maxYB && minZA <= maxZB;
+        boolean hit = maxXA >= minXB && maxYA >= minYB && maxZA >= minZB && 
+                      minXA <= maxXB && minYA <= maxYB && minZA <= maxZB;
+//#ifdef __INSTRUMENT__
+        HotPathCounters.call(TEST_AAB_AAB);
+        if (hit)
+            HotPathCounters.hit(TEST_AAB_AAB);
+//#endif
+        return hit;
     }
 
     /**
@@ -553,6 +596,236 @@ public class Intersectionf {
         return testAabAab(aabb1.minX, aabb1.minY, aabb1.minZ, aabb1.maxX, aabb1.maxY, aabb1.maxZ, aabb2.minX, aabb2.minY, aabb2.minZ, aabb2.maxX, aabb2.maxY, aabb2.maxZ);
     }
 
+    /**
+     * Determine whether the axis-aligned box with minimum corner <code>(minXA, minYA, minZA)</code> and maximum corner <code>(maxXA, maxYA, maxZA)</code>
+     * moving with the velocity <code>(velX, velY, velZ)</code> intersects the static axis-aligned box with minimum corner <code>(minXB, minYB, minZB)</code>
+     * and maximum corner <code>(maxXB, maxYB, maxZB)</code> during the movement, and return the time of impact.
+     * <p>
+     * The velocity is the full displacement of the moving box during the tested time interval, so the time of impact is in <code>[0, 1]</code>.
+     * Unlike {@link #testAabAab(float, float, float, float, float, float, float, float, float, float, float, float) testAabAab}
+     * at the end of the interval, this will not miss thin boxes the moving box passes through.
+     * <p>
+     * The contact normal is the unit normal of the face of the static box that is hit first, pointing towards the moving box.
+     * If both boxes already intersect at the start of the movement, <code>0.0</code> is returned and the normal is set to <code>(0, 0, 0)</code>.
+     * Boxes that only touch at the start of the movement are reported at time <code>0.0</code> with the normal of the touching face only if
+     * the movement pushes them into each other; touching boxes that move apart or slide along each other are not reported.
+     * <p>
+     * Reference: Book "Real-Time Collision Detection" chapter 5.5.8 "Intersecting Moving AABB Against AABB"
+     * 
+     * @param minXA
+     *              the x coordinate of the minimum corner of the moving axis-aligned box
+     * @param minYA
+     *              the y coordinate of the minimum corner of the moving axis-aligned box
+     * @param minZA
+     *              the z coordinate of the minimum corner of the moving axis-aligned box
+     * @param maxXA
+     *              the x coordinate of the maximum corner of the moving axis-aligned box
+     * @param maxYA
+     *              the y coordinate of the maximum corner of the moving axis-aligned box
+     * @param maxZA
+     *              the z coordinate of the maximum corner of the moving axis-aligned box
+     * @param velX
+     *              the x component of the displacement of the moving axis-aligned box
+     * @param velY
+     *              the y component of the displacement of the moving axis-aligned box
+     * @param velZ
+     *              the z component of the displacement of the moving axis-aligned box
+     * @param minXB
+     *              the x coordinate of the minimum corner of the static axis-aligned box
+     * @param minYB
+     *              the y coordinate of the minimum corner of the static axis-aligned box
+     * @param minZB
+     *              the z coordinate of the minimum corner of the static axis-aligned box
+     * @param maxXB
+     *              the x coordinate of the maximum corner of the static axis-aligned box
+     * @param maxYB
+     *              the y coordinate of the maximum corner of the static axis-aligned box
+     * @param maxZB
+     *              the z coordinate of the maximum corner of the static axis-aligned box
+     * @param normal
+     *              will hold the contact normal
+     * @return the time of impact in <code>[0, 1]</code>; or <code>-1.0</code> if the boxes do not intersect during the movement
+     */
+    public static float intersectSweptAabAab(
+            float minXA, float minYA, float minZA,
+            float maxXA, float maxYA, float maxZA,
+            float velX, float velY, float velZ,
+            float minXB, float minYB, float minZB,
+            float maxXB, float maxYB, float maxZB,
+            Vector3f normal) {
+        float t = sweptAabAab(minXA, minYA, minZA, maxXA, maxYA, maxZA, velX, velY, velZ, minXB, minYB, minZB, maxXB, maxYB, maxZB);
+        if (t >= 0.0f) {
+            int axis = sweptAabAabAxis(minXA, minYA, minZA, maxXA, maxYA, maxZA, velX, velY, velZ, minXB, minYB, minZB, maxXB, maxYB, maxZB);
+            normal.set(axis == 0 ? -Math.signum(velX) : 0.0f, axis == 1 ? -Math.signum(velY) : 0.0f, axis == 2 ? -Math.signum(velZ) : 0.0f);
+        }
+        return t;
+    }
+
+    /**
+     * Determine whether the axis-aligned box <code>moving</code> displaced by <code>vel</code> intersects the static axis-aligned box
+     * <code>target</code> during the movement, and return the time of impact.
+     * 
+     * @see #intersectSweptAabAab(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, Vector3f)
+     * 
+     * @param moving
+     *              the moving axis-aligned box
+     * @param vel
+     *              the displacement of the moving axis-aligned box
+     * @param target
+     *              the static axis-aligned box
+     * @param normal
+     *              will hold the contact normal
+     * @return the time of impact in <code>[0, 1]</code>; or <code>-1.0</code> if the boxes do not intersect during the movement
+     */
+    public static float intersectSweptAabAab(AABBfc moving, Vector3fc vel, AABBfc target, Vector3f normal) {
+        return intersectSweptAabAab(moving.minX(), moving.minY(), moving.minZ(), moving.maxX(), moving.maxY(), moving.maxZ(), vel.x(), vel.y(), vel.z(),
+                target.minX(), target.minY(), target.minZ(), target.maxX(), target.maxY(), target.maxZ(), normal);
+    }
+
+    /**
+     * Determine whether the two axis-aligned boxes <code>a</code> and <code>b</code>, moving with the displacements <code>velA</code> and <code>velB</code>
+     * during the same time interval, intersect during the movement, and return the time of impact.
+     * <p>
+     * The contact normal points from <code>b</code> towards <code>a</code>.
+     * 
+     * @see #intersectSweptAabAab(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, Vector3f)
+     * 
+     * @param a
+     *              the first moving axis-aligned box
+     * @param velA
+     *              the displacement of the first axis-aligned box
+     * @param b
+     *              the second moving axis-aligned box
+     * @param velB
+     *              the displacement of the second axis-aligned box
+     * @param normal
+     *              will hold the contact normal
+     * @return the time of impact in <code>[0, 1]</code>; or <code>-1.0</code> if the boxes do not intersect during the movement
+     */
+    public static float intersectSweptAabSweptAab(AABBfc a, Vector3fc velA, AABBfc b, Vector3fc velB, Vector3f normal) {
+        return intersectSweptAabAab(a.minX(), a.minY(), a.minZ(), a.maxX(), a.maxY(), a.maxZ(),
+                velA.x() - velB.x(), velA.y() - velB.y(), velA.z() - velB.z(),
+                b.minX(), b.minY(), b.minZ(), b.maxX(), b.maxY(), b.maxZ(), normal);
+    }
+
+    /**
+     * Determine the first of the <code>count</code> static axis-aligned boxes stored in <code>boxes</code> that the axis-aligned box with minimum corner
+     * <code>(minX, minY, minZ)</code> and maximum corner <code>(maxX, maxY, maxZ)</code> moving with the velocity <code>(velX, velY, velZ)</code> hits,
+     * and store the contact normal and the time of impact into <code>normalAndTime</code>.
+     * <p>
+     * Each static box is given by the six consecutive values <code>minX, minY, minZ, maxX, maxY, maxZ</code> in <code>boxes</code>.
+     * 
+     * @see #intersectSweptAabAab(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, Vector3f)
+     * 
+     * @param minX
+     *              the x coordinate of the minimum corner of the moving axis-aligned box
+     * @param minY
+     *              the y coordinate of the minimum corner of the moving axis-aligned box
+     * @param minZ
+     *              the z coordinate of the minimum corner of the moving axis-aligned box
+     * @param maxX
+     *              the x coordinate of the maximum corner of the moving axis-aligned box
+     * @param maxY
+     *              the y coordinate of the maximum corner of the moving axis-aligned box
+     * @param maxZ
+     *              the z coordinate of the maximum corner of the moving axis-aligned box
+     * @param velX
+     *              the x component of the displacement of the moving axis-aligned box
+     * @param velY
+     *              the y component of the displacement of the moving axis-aligned box
+     * @param velZ
+     *              the z component of the displacement of the moving axis-aligned box
+     * @param boxes
+     *              the minimum and maximum corners of the static axis-aligned boxes
+     * @param offset
+     *              the position in <code>boxes</code> of the first static box
+     * @param count
+     *              the number of static boxes
+     * @param normalAndTime
+     *              iff the moving box hits any static box, this will hold the contact normal in the <code>(x, y, z)</code> components
+     *              and the time of impact in the <code>w</code> component
+     * @return the index (between <code>0</code> and <code>count - 1</code>) of the static box hit first; or <code>-1</code> if no box is hit
+     */
+    public static int intersectSweptAabAabs(
+            float minX, float minY, float minZ,
+            float maxX, float maxY, float maxZ,
+            float velX, float velY, float velZ,
+            float[] boxes, int offset, int count, Vector4f normalAndTime) {
+        // the bounds of the whole sweep reject most boxes without computing any time of impact
+        float sweepMinX = minX + Math.min(velX, 0.0f), sweepMinY = minY + Math.min(velY, 0.0f), sweepMinZ = minZ + Math.min(velZ, 0.0f);
+        float sweepMaxX = maxX + Math.max(velX, 0.0f), sweepMaxY = maxY + Math.max(velY, 0.0f), sweepMaxZ = maxZ + Math.max(velZ, 0.0f);
+        float nearestT = Float.POSITIVE_INFINITY;
+        int hit = -1;
+        for (int i = 0; i < count; i++) {
+            int j = offset + 6 * i;
+            float minXB = boxes[j], minYB = boxes[j + 1], minZB = boxes[j + 2];
+            float maxXB = boxes[j + 3], maxYB = boxes[j + 4], maxZB = boxes[j + 5];
+            if (!testAabAab(sweepMinX, sweepMinY, sweepMinZ, sweepMaxX, sweepMaxY, sweepMaxZ, minXB, minYB, minZB, maxXB, maxYB, maxZB))
+                continue;
+            float t = sweptAabAab(minX, minY, minZ, maxX, maxY, maxZ, velX, velY, velZ, minXB, minYB, minZB, maxXB, maxYB, maxZB);
+            if (t >= 0.0f && t < nearestT) {
+                nearestT = t;
+                hit = i;
+            }
+        }
+        if (hit < 0)
+            return -1;
+        int j = offset + 6 * hit;
+        int axis = sweptAabAabAxis(minX, minY, minZ, maxX, maxY, maxZ, velX, velY, velZ,
+                boxes[j], boxes[j + 1], boxes[j + 2], boxes[j + 3], boxes[j + 4], boxes[j + 5]);
+        normalAndTime.set(axis == 0 ? -Math.signum(velX) : 0.0f, axis == 1 ? -Math.signum(velY) : 0.0f, axis == 2 ? -Math.signum(velZ) : 0.0f, nearestT);
+        return hit;
+    }
+
+    private static float sweptAabAab(
+            float minXA, float minYA, float minZA,
+            float maxXA, float maxYA, float maxZA,
+            float velX, float velY, float velZ,
+            float minXB, float minYB, float minZB,
+            float maxXB, float maxYB, float maxZB) {
+        float tFirst = Math.max(Math.max(sweptEntry(minXA, maxXA, velX, minXB, maxXB), sweptEntry(minYA, maxYA, velY, minYB, maxYB)),
+                sweptEntry(minZA, maxZA, velZ, minZB, maxZB));
+        float tLast = Math.min(Math.min(sweptExit(minXA, maxXA, velX, minXB, maxXB), sweptExit(minYA, maxYA, velY, minYB, maxYB)),
+                sweptExit(minZA, maxZA, velZ, minZB, maxZB));
+        /* boxes that only touch at the start or at a single instant do not penetrate each other */
+        if (tFirst >= tLast || tFirst > 1.0f || tLast <= 0.0f)
+            return -1.0f;
+        return Math.max(tFirst, 0.0f);
+    }
+
+    private static int sweptAabAabAxis(
+            float minXA, float minYA, float minZA,
+            float maxXA, float maxYA, float maxZA,
+            float velX, float velY, float velZ,
+            float minXB, float minYB, float minZB,
+            float maxXB, float maxYB, float maxZB) {
+        float tX = sweptEntry(minXA, maxXA, velX, minXB, maxXB);
+        float tY = sweptEntry(minYA, maxYA, velY, minYB, maxYB);
+        float tZ = sweptEntry(minZA, maxZA, velZ, minZB, maxZB);
+        /* the boxes already overlap at the start of the movement, so there is no contact face */
+        if (tX < 0.0f && tY < 0.0f && tZ < 0.0f)
+            return -1;
+        return tX >= tY ? (tX >= tZ ? 0 : 2) : (tY >= tZ ? 1 : 2);
+    }
+
+    /**
+     * Compute the time at which the interval <code>[minA, maxA]</code> moving with <code>vel</code> starts to overlap <code>[minB, maxB]</code>.
+     */
+    private static float sweptEntry(float minA, float maxA, float vel, float minB, float maxB) {
+        if (vel == 0.0f)
+            return Float.NEGATIVE_INFINITY;
+        return (vel > 0.0f ? minB - maxA : maxB - minA) / vel;
+    }
+
+    /**
+     * Compute the time at which the interval <code>[minA, maxA]</code> moving with <code>vel</code> stops to overlap <code>[minB, maxB]</code>.
+     */
+    private static float sweptExit(float minA, float maxA, float vel, float minB, float maxB) {
+        if (vel == 0.0f)
+            return maxA <= minB || minA >= maxB ? Float.NEGATIVE_INFINITY : Float.POSITIVE_INFINITY;
+        return (vel > 0.0f ? maxB - minA : minB - maxA) / vel;
+    }
+
     /**
      * Test whether two oriented boxes given via their center position, orientation and half-size, intersect.
      * <p>
@@ -666,6 +939,43 @@ public class Intersectionf {
     public static boolean testObOb(
             float b0cX, float b0cY, float b0cZ, float b0uXx, float b0uXy, float b0uXz, float b0uYx, float b0uYy, float b0uYz, float b0uZx, float b0uZy, float b0uZz, float b0hsX, float b0hsY, float b0hsZ,
             float b1cX, float b1cY, float b1cZ, float b1uXx, float b1uXy, float b1uXz, float b1uYx, float b1uYy, float b1uYz, float b1uZx, float b1uZy, float b1uZz, float b1hsX, float b1hsY, float b1hsZ) {
+//#ifdef __INSTRUMENT__
+        HotPathCounters.call(TEST_OB_OB);
+//#endif
+        float tx = b1cX - b0cX, ty = b1cY - b0cY, tz = b1cZ - b0cZ;
+        float dist2 = tx * tx + ty * ty + tz * tz;
+        // reject if the bounding spheres are disjoint
+        float r0 = Math.sqrt(b0hsX * b0hsX + b0hsY * b0hsY + b0hsZ * b0hsZ);
+        float r1 = Math.sqrt(b1hsX * b1hsX + b1hsY * b1hsY + b1hsZ * b1hsZ);
+        if (dist2 > (r0 + r1) * (r0 + r1)) {
+//#ifdef __INSTRUMENT__
+            HotPathCounters.earlyOut(TEST_OB_OB, 0);
+//#endif
+            return false;
+        }
+        // accept if the inscribed spheres overlap
+        float i0 = Math.min(Math.min(b0hsX, b0hsY), b0hsZ);
+        float i1 = Math.min(Math.min(b1hsX, b1hsY), b1hsZ);
+        if (dist2 < (i0 + i1) * (i0 + i1)) {
+//#ifdef __INSTRUMENT__
+            HotPathCounters.earlyOut(TEST_OB_OB, 1);
+            HotPathCounters.hit(TEST_OB_OB);
+//#endif
+            return true;
+        }
+        boolean hit = testObObSeparatingAxes(
+                b0cX, b0cY, b0cZ, b0uXx, b0uXy, b0uXz, b0uYx, b0uYy, b0uYz, b0uZx, b0uZy, b0uZz, b0hsX, b0hsY, b0hsZ,
+                b1cX, b1cY, b1cZ, b1uXx, b1uXy, b1uXz, b1uYx, b1uYy, b1uYz, b1uZx, b1uZy, b1uZz, b1hsX, b1hsY, b1hsZ);
+//#ifdef __INSTRUMENT__
+        if (hit)
+            HotPathCounters.hit(TEST_OB_OB);
+//#endif
+        return hit;
+    }
+
+    private static boolean testObObSeparatingAxes(
+            float b0cX, float b0cY, float b0cZ, float b0uXx, float b0uXy, float b0uXz, float b0uYx, float b0uYy, float b0uYz, float b0uZx, float b0uZy, float b0uZz, float b0hsX, float b0hsY, float b0hsZ,
+            float b1cX, float b1cY, float b1cZ, float b1uXx, float b1uXy, float b1uXz, float b1uYx, float b1uYy, float b1uYz, float b1uZx, float b1uZy, float b1uZz, float b1hsX, float b1hsY, float b1hsZ) {
         float ra, rb;
         // Compute rotation matrix expressing b in a's coordinate frame
         float rm00 = b0uXx * b1uXx + b0uYx * b1uYx + b0uZx * b1uZx;
@@ -930,11 +1240,19 @@ public class Intersectionf {
     public static boolean testSphereSphere(
             float aX, float aY, float aZ, float radiusSquaredA,
             float bX, float bY, float bZ, float radiusSquaredB) {
+//#ifdef __INSTRUMENT__
+        HotPathCounters.call(TEST_SPHERE_SPHERE);
+//#endif
         float dX = bX - aX, dY = bY - aY, dZ = bZ - aZ;
         float distSquared = dX * dX + dY * dY + dZ * dZ;
         float h = 0.5f + (radiusSquaredA - radiusSquaredB) / distSquared;
         float r_i = radiusSquaredA - h * h * distSquared;
-        return r_i >= 0.0f;
+        boolean hit = r_i >= 0.0f;
+//#ifdef __INSTRUMENT__
+        if (hit)
+            HotPathCounters.hit(TEST_SPHERE_SPHERE);
+//#endif
+        return hit;
     }
 
     /**
@@ -978,8 +1296,8 @@ public class Intersectionf {
      * @return the distance between the point and the plane
      */
     public static float distancePointPlane(float pointX, float pointY, float pointZ, float a, float b, float c, float d) {
-        float denom = (float) Math.sqrt(a * a + b * b + c * c);
-        return (a * pointX + b * pointY + c * pointZ + d) / denom;
+        float denom = (float) Math.sqrt(Math.fma(c, c, Math.fma(a, a, b * b)));
+        return (Math.fma(c, pointZ, Math.fma(a, pointX, b * pointY)) + d) / denom;
     }
 
     /**
@@ -1023,10 +1341,10 @@ public class Intersectionf {
         float v1Z0Z = v1Z - v0Z;
         float v2X0X = v2X - v0X;
         float v1X0X = v1X - v0X;
-        float a = v1Y0Y * v2Z0Z - v2Y0Y * v1Z0Z;
-        float b = v1Z0Z * v2X0X - v2Z0Z * v1X0X;
-        float c = v1X0X * v2Y0Y - v2X0X * v1Y0Y;
-        float d = -(a * v0X + b * v0Y + c * v0Z);
+        float a = Math.fma(v1Y0Y, v2Z0Z, -v2Y0Y * v1Z0Z);
+        float b = Math.fma(v1Z0Z, v2X0X, -v2Z0Z * v1X0X);
+        float c = Math.fma(v1X0X, v2Y0Y, -v2X0X * v1Y0Y);
+        float d = -Math.fma(c, v0Z, Math.fma(a, v0X, b * v0Y));
         return distancePointPlane(pointX, pointY, pointZ, a, b, c, d);
     }
 
@@ -1071,9 +1389,9 @@ public class Intersectionf {
      */
     public static float intersectRayPlane(float originX, float originY, float originZ, float dirX, float dirY, float dirZ,
             float pointX, float pointY, float pointZ, float normalX, float normalY, float normalZ, float epsilon) {
-        float denom = normalX * dirX + normalY * dirY + normalZ * dirZ;
+        float denom = Math.fma(normalZ, dirZ, Math.fma(normalX, dirX, normalY * dirY));
         if (denom < epsilon) {
-            float t = ((pointX - originX) * normalX + (pointY - originY) * normalY + (pointZ - originZ) * normalZ) / denom;
+            float t = Math.fma(pointZ - originZ, normalZ, Math.fma(pointX - originX, normalX, (pointY - originY) * normalY)) / denom;
             if (t >= 0.0f)
                 return t;
         }
@@ -1166,9 +1484,9 @@ public class Intersectionf {
      */
     public static float intersectRayPlane(float originX, float originY, float originZ, float dirX, float dirY, float dirZ,
             float a, float b, float c, float d, float epsilon) {
-        float denom = a * dirX + b * dirY + c * dirZ;
+        float denom = Math.fma(c, dirZ, Math.fma(a, dirX, b * dirY));
         if (denom < 0.0f) {
-            float t = -(a * originX + b * originY + c * originZ + d) / denom;
+            float t = -(Math.fma(c, originZ, Math.fma(a, originX, b * originY)) + d) / denom;
             if (t >= 0.0f)
                 return t;
         }
@@ -1207,6 +1525,9 @@ public class Intersectionf {
             float minX, float minY, float minZ,
             float maxX, float maxY, float maxZ,
             float centerX, float centerY, float centerZ, float radiusSquared) {
+//#ifdef __INSTRUMENT__
+        HotPathCounters.call(TEST_AAB_SPHERE);
+//#endif
         float radius2 = radiusSquared;
         if (centerX < minX) {
             float d = (centerX - minX);
@@ -1229,7 +1550,12 @@ public class Intersectionf {
             float d = (centerZ - maxZ);
             radius2 -= d * d;
         }
-        return radius2 >= 0.0f;
+        boolean hit = radius2 >= 0.0f;
+//#ifdef __INSTRUMENT__
+        if (hit)
+            HotPathCounters.hit(TEST_AAB_SPHERE);
+//#endif
+        return hit;
     }
 
     /**
@@ -1283,6 +1609,147 @@ public class Intersectionf {
         return testAabSphere(aabb.minX, aabb.minY, aabb.minZ, aabb.maxX, aabb.maxY, aabb.maxZ, sphere.x, sphere.y, sphere.z, sphere.r*sphere.r);
     }
 
+    /**
+     * Test whether the axis-aligned box with minimum corner <code>(minX, minY, minZ)</code> and maximum corner <code>(maxX, maxY, maxZ)</code>
+     * intersects the triangle with the vertices <code>(v0X, v0Y, v0Z)</code>, <code>(v1X, v1Y, v1Z)</code> and <code>(v2X, v2Y, v2Z)</code>.
+     * <p>
+     * This method uses the separating axis theorem with the three box face normals, the triangle normal and the nine cross products
+     * of the box axes with the triangle edges. The box face normals and the triangle normal are tested first, because they reject
+     * most disjoint pairs, while the nine edge axes are only tested when those did not separate the box from the triangle.
+     * A triangle that only touches the box counts as intersecting.
+     * <p>
+     * Reference: <a href="http://fileadmin.cs.lth.se/cs/Personal/Tomas_Akenine-Moller/code/tribox_tam.pdf">Fast 3D Triangle-Box Overlap Testing</a>
+     * 
+     * @param minX
+     *          the x coordinate of the minimum corner of the axis-aligned box
+     * @param minY
+     *          the y coordinate of the minimum corner of the axis-aligned box
+     * @param minZ
+     *          the z coordinate of the minimum corner of the axis-aligned box
+     * @param maxX
+     *          the x coordinate of the maximum corner of the axis-aligned box
+     * @param maxY
+     *          the y coordinate of the maximum corner of the axis-aligned box
+     * @param maxZ
+     *          the z coordinate of the maximum corner of the axis-aligned box
+     * @param v0X
+     *          the x coordinate of the first vertex of the triangle
+     * @param v0Y
+     *          the y coordinate of the first vertex of the triangle
+     * @param v0Z
+     *          the z coordinate of the first vertex of the triangle
+     * @param v1X
+     *          the x coordinate of the second vertex of the triangle
+     * @param v1Y
+     *          the y coordinate of the second vertex of the triangle
+     * @param v1Z
+     *          the z coordinate of the second vertex of the triangle
+     * @param v2X
+     *          the x coordinate of the third vertex of the triangle
+     * @param v2Y
+     *          the y coordinate of the third vertex of the triangle
+     * @param v2Z
+     *          the z coordinate of the third vertex of the triangle
+     * @return <code>true</code> iff the axis-aligned box intersects the triangle; <code>false</code> otherwise
+     */
+    public static boolean testAabTriangle(
+            float minX, float minY, float minZ,
+            float maxX, float maxY, float maxZ,
+            float v0X, float v0Y, float v0Z, float v1X, float v1Y, float v1Z, float v2X, float v2Y, float v2Z) {
+        // box face normals: compare the bounds of the triangle with the box
+        if (Math.min(Math.min(v0X, v1X), v2X) > maxX || Math.max(Math.max(v0X, v1X), v2X) < minX
+         || Math.min(Math.min(v0Y, v1Y), v2Y) > maxY || Math.max(Math.max(v0Y, v1Y), v2Y) < minY
+         || Math.min(Math.min(v0Z, v1Z), v2Z) > maxZ || Math.max(Math.max(v0Z, v1Z), v2Z) < minZ)
+            return false;
+        return !aabTriangleSeparated(minX, minY, minZ, maxX, maxY, maxZ, v0X, v0Y, v0Z, v1X, v1Y, v1Z, v2X, v2Y, v2Z);
+    }
+
+    private static boolean aabTriangleSeparated(
+            float minX, float minY, float minZ,
+            float maxX, float maxY, float maxZ,
+            float v0X, float v0Y, float v0Z, float v1X, float v1Y, float v1Z, float v2X, float v2Y, float v2Z) {
+        // triangle normal: test the plane of the triangle against the box
+        float hX = (maxX - minX) * 0.5f, hY = (maxY - minY) * 0.5f, hZ = (maxZ - minZ) * 0.5f;
+        float cX = minX + hX, cY = minY + hY, cZ = minZ + hZ;
+        float e0X = v1X - v0X, e0Y = v1Y - v0Y, e0Z = v1Z - v0Z;
+        float e1X = v2X - v1X, e1Y = v2Y - v1Y, e1Z = v2Z - v1Z;
+        float nX = e0Y * e1Z - e0Z * e1Y, nY = e0Z * e1X - e0X * e1Z, nZ = e0X * e1Y - e0Y * e1X;
+        float d = nX * (v0X - cX) + nY * (v0Y - cY) + nZ * (v0Z - cZ);
+        float r = hX * Math.abs(nX) + hY * Math.abs(nY) + hZ * Math.abs(nZ);
+        if (d > r || d < -r)
+            return true;
+        return aabTriangleSeparatedByEdgeAxes(hX, hY, hZ,
+                v0X - cX, v0Y - cY, v0Z - cZ, v1X - cX, v1Y - cY, v1Z - cZ, v2X - cX, v2Y - cY, v2Z - cZ);
+    }
+
+    private static boolean aabTriangleSeparatedByEdgeAxes(float hX, float hY, float hZ,
+            float p0X, float p0Y, float p0Z, float p1X, float p1Y, float p1Z, float p2X, float p2Y, float p2Z) {
+        // the two vertices of an edge project onto the same point on each of its three axes,
+        // so only that point and the opposite vertex need to be projected
+        float fX = p1X - p0X, fY = p1Y - p0Y, fZ = p1Z - p0Z;
+        if (separatedOnAxis(0.0f, -fZ, fY, p0X, p0Y, p0Z, p2X, p2Y, p2Z, hX, hY, hZ)
+         || separatedOnAxis(fZ, 0.0f, -fX, p0X, p0Y, p0Z, p2X, p2Y, p2Z, hX, hY, hZ)
+         || separatedOnAxis(-fY, fX, 0.0f, p0X, p0Y, p0Z, p2X, p2Y, p2Z, hX, hY, hZ))
+            return true;
+        fX = p2X - p1X; fY = p2Y - p1Y; fZ = p2Z - p1Z;
+        if (separatedOnAxis(0.0f, -fZ, fY, p1X, p1Y, p1Z, p0X, p0Y, p0Z, hX, hY, hZ)
+         || separatedOnAxis(fZ, 0.0f, -fX, p1X, p1Y, p1Z, p0X, p0Y, p0Z, hX, hY, hZ)
+         || separatedOnAxis(-fY, fX, 0.0f, p1X, p1Y, p1Z, p0X, p0Y, p0Z, hX, hY, hZ))
+            return true;
+        fX = p0X - p2X; fY = p0Y - p2Y; fZ = p0Z - p2Z;
+        return separatedOnAxis(0.0f, -fZ, fY, p2X, p2Y, p2Z, p1X, p1Y, p1Z, hX, hY, hZ)
+            || separatedOnAxis(fZ, 0.0f, -fX, p2X, p2Y, p2Z, p1X, p1Y, p1Z, hX, hY, hZ)
+            || separatedOnAxis(-fY, fX, 0.0f, p2X, p2Y, p2Z, p1X, p1Y, p1Z, hX, hY, hZ);
+    }
+
+    private static boolean separatedOnAxis(float aX, float aY, float aZ,
+            float pX, float pY, float pZ, float qX, float qY, float qZ, float hX, float hY, float hZ) {
+        float p = aX * pX + aY * pY + aZ * pZ, q = aX * qX + aY * qY + aZ * qZ;
+        float r = hX * Math.abs(aX) + hY * Math.abs(aY) + hZ * Math.abs(aZ);
+        return Math.min(p, q) > r || Math.max(p, q) < -r;
+    }
+
+    /**
+     * Test whether the axis-aligned box with minimum corner <code>min</code> and maximum corner <code>max</code>
+     * intersects the triangle with the vertices <code>v0</code>, <code>v1</code> and <code>v2</code>.
+     * <p>
+     * Reference: <a href="http://fileadmin.cs.lth.se/cs/Personal/Tomas_Akenine-Moller/code/tribox_tam.pdf">Fast 3D Triangle-Box Overlap Testing</a>
+     * 
+     * @param min
+     *          the minimum corner of the axis-aligned box
+     * @param max
+     *          the maximum corner of the axis-aligned box
+     * @param v0
+     *          the first vertex of the triangle
+     * @param v1
+     *          the second vertex of the triangle
+     * @param v2
+     *          the third vertex of the triangle
+     * @return <code>true</code> iff the axis-aligned box intersects the triangle; <code>false</code> otherwise
+     */
+    public static boolean testAabTriangle(Vector3fc min, Vector3fc max, Vector3fc v0, Vector3fc v1, Vector3fc v2) {
+        return testAabTriangle(min.x(), min.y(), min.z(), max.x(), max.y(), max.z(), v0.x(), v0.y(), v0.z(), v1.x(), v1.y(), v1.z(), v2.x(), v2.y(), v2.z());
+    }
+
+    /**
+     * Test whether the given axis-aligned box intersects the triangle with the vertices <code>v0</code>, <code>v1</code> and <code>v2</code>.
+     * <p>
+     * Reference: <a href="http://fileadmin.cs.lth.se/cs/Personal/Tomas_Akenine-Moller/code/tribox_tam.pdf">Fast 3D Triangle-Box Overlap Testing</a>
+     * 
+     * @param aabb
+     *          the AABB
+     * @param v0
+     *          the first vertex of the triangle
+     * @param v1
+     *          the second vertex of the triangle
+     * @param v2
+     *          the third vertex of the triangle
+     * @return <code>true</code> iff the axis-aligned box intersects the triangle; <code>false</code> otherwise
+     */
+    public static boolean testAabTriangle(AABBf aabb, Vector3fc v0, Vector3fc v1, Vector3fc v2) {
+        return testAabTriangle(aabb.minX, aabb.minY, aabb.minZ, aabb.maxX, aabb.maxY, aabb.maxZ, v0.x(), v0.y(), v0.z(), v1.x(), v1.y(), v1.z(), v2.x(), v2.y(), v2.z());
+    }
+
     /**
      * Find the point on the given plane which is closest to the specified point <code>(pX, pY, pZ)</code> and store the result in <code>result</code>.
      * 
@@ -1405,7 +1872,8 @@ public class Intersectionf {
             // Both segments degenerate into points
             resultA.set(a0X, a0Y, a0Z);
             resultB.set(b0X, b0Y, b0Z);
-            return resultA.dot(resultB);
+            float dX = a0X - b0X, dY = a0Y - b0Y, dZ = a0Z - b0Z;
+            return dX * dX + dY * dY + dZ * dZ;
         }
         if (a <= EPSILON) {
             // First segment degenerates into a point
@@ -1494,6 +1962,25 @@ public class Intersectionf {
             float aX, float aY, float aZ, float bX, float bY, float bZ,
             float v0X, float v0Y, float v0Z, float v1X, float v1Y, float v1Z, float v2X, float v2Y, float v2Z,
             Vector3f lineSegmentResult, Vector3f triangleResult) {
+        float min = findClosestPointsLineSegmentTriangleEdges(aX, aY, aZ, bX, bY, bZ, v0X, v0Y, v0Z, v1X, v1Y, v1Z, v2X, v2Y, v2Z,
+                lineSegmentResult, triangleResult);
+        // segment end points and plane of triangle (when they project inside V0V1V2)
+        float v1X0X = v1X - v0X, v1Y0Y = v1Y - v0Y, v1Z0Z = v1Z - v0Z;
+        float v2X0X = v2X - v0X, v2Y0Y = v2Y - v0Y, v2Z0Z = v2Z - v0Z;
+        float a = v1Y0Y * v2Z0Z - v2Y0Y * v1Z0Z;
+        float b = v1Z0Z * v2X0X - v2Z0Z * v1X0X;
+        float c = v1X0X * v2Y0Y - v2X0X * v1Y0Y;
+        float invLen = Math.invsqrt(a*a + b*b + c*c);
+        a *= invLen; b *= invLen; c *= invLen;
+        float nd = -(a * v0X + b * v0Y + c * v0Z);
+        min = findClosestPointOnTrianglePlane(aX, aY, aZ, v0X, v0Y, v0Z, v1X, v1Y, v1Z, v2X, v2Y, v2Z, a, b, c, nd, min, lineSegmentResult, triangleResult);
+        return findClosestPointOnTrianglePlane(bX, bY, bZ, v0X, v0Y, v0Z, v1X, v1Y, v1Z, v2X, v2Y, v2Z, a, b, c, nd, min, lineSegmentResult, triangleResult);
+    }
+
+    private static float findClosestPointsLineSegmentTriangleEdges(
+            float aX, float aY, float aZ, float bX, float bY, float bZ,
+            float v0X, float v0Y, float v0Z, float v1X, float v1Y, float v1Z, float v2X, float v2Y, float v2Z,
+            Vector3f lineSegmentResult, Vector3f triangleResult) {
         float min, d;
         float minlsX, minlsY, minlsZ, mintX, mintY, mintZ;
         // AB -> V0V1
@@ -1515,62 +2002,26 @@ public class Intersectionf {
             minlsX = lineSegmentResult.x; minlsY = lineSegmentResult.y; minlsZ = lineSegmentResult.z;
             mintX = triangleResult.x; mintY = triangleResult.y; mintZ = triangleResult.z;
         }
-        // segment endpoint A and plane of triangle (when A projects inside V0V1V2)
-        boolean computed = false;
-        float a = Float.NaN, b = Float.NaN, c = Float.NaN, nd = Float.NaN;
-        if (testPointInTriangle(aX, aY, aZ, v0X, v0Y, v0Z, v1X, v1Y, v1Z, v2X, v2Y, v2Z)) {
-            float v1Y0Y = v1Y - v0Y;
-            float v2Z0Z = v2Z - v0Z;
-            float v2Y0Y = v2Y - v0Y;
-            float v1Z0Z = v1Z - v0Z;
-            float v2X0X = v2X - v0X;
-            float v1X0X = v1X - v0X;
-            a = v1Y0Y * v2Z0Z - v2Y0Y * v1Z0Z;
-            b = v1Z0Z * v2X0X - v2Z0Z * v1X0X;
-            c = v1X0X * v2Y0Y - v2X0X * v1Y0Y;
-            computed = true;
-            float invLen = Math.invsqrt(a*a + b*b + c*c);
-            a *= invLen; b *= invLen; c *= invLen;
-            nd = -(a * v0X + b * v0Y + c * v0Z);
-            d = (a * aX + b * aY + c * aZ + nd);
-            float l = d;
-            d *= d;
-            if (d < min) {
-                min = d;
-                minlsX = aX; minlsY = aY; minlsZ = aZ;
-                mintX = aX - a*l; mintY = aY - b*l; mintZ = aZ - c*l;
-            }
-        }
-        // segment endpoint B and plane of triangle (when B projects inside V0V1V2)
-        if (testPointInTriangle(bX, bY, bZ, v0X, v0Y, v0Z, v1X, v1Y, v1Z, v2X, v2Y, v2Z)) {
-            if (!computed) {
-                float v1Y0Y = v1Y - v0Y;
-                float v2Z0Z = v2Z - v0Z;
-                float v2Y0Y = v2Y - v0Y;
-                float v1Z0Z = v1Z - v0Z;
-                float v2X0X = v2X - v0X;
-                float v1X0X = v1X - v0X;
-                a = v1Y0Y * v2Z0Z - v2Y0Y * v1Z0Z;
-                b = v1Z0Z * v2X0X - v2Z0Z * v1X0X;
-                c = v1X0X * v2Y0Y - v2X0X * v1Y0Y;
-                float invLen = Math.invsqrt(a*a + b*b + c*c);
-                a *= invLen; b *= invLen; c *= invLen;
-                nd = -(a * v0X + b * v0Y + c * v0Z);
-            }
-            d = (a * bX + b * bY + c * bZ + nd);
-            float l = d;
-            d *= d;
-            if (d < min) {
-                min = d;
-                minlsX = bX; minlsY = bY; minlsZ = bZ;
-                mintX = bX - a*l; mintY = bY - b*l; mintZ = bZ - c*l;
-            }
-        }
         lineSegmentResult.set(minlsX, minlsY, minlsZ);
         triangleResult.set(mintX, mintY, mintZ);
         return min;
     }
 
+    private static float findClosestPointOnTrianglePlane(float pX, float pY, float pZ,
+            float v0X, float v0Y, float v0Z, float v1X, float v1Y, float v1Z, float v2X, float v2Y, float v2Z,
+            float a, float b, float c, float nd, float min, Vector3f pointResult, Vector3f triangleResult) {
+        if (!testPointInTriangle(pX, pY, pZ, v0X, v0Y, v0Z, v1X, v1Y, v1Z, v2X, v2Y, v2Z))
+            return min;
+        float l = a * pX + b * pY + c * pZ + nd;
+        float d = l * l;
+        if (d < min) {
+            pointResult.set(pX, pY, pZ);
+            triangleResult.set(pX - a*l, pY - b*l, pZ - c*l);
+            return d;
+        }
+        return min;
+    }
+
     /**
      * Determine the closest point on the triangle with the given vertices <code>(v0X, v0Y, v0Z)</code>, <code>(v1X, v1Y, v1Z)</code>, <code>(v2X, v2Y, v2Z)</code>
      * between that triangle and the given point <code>(pX, pY, pZ)</code> and store that point into the given <code>result</code>.
@@ -1617,11 +2068,34 @@ public class Intersectionf {
             float v2X, float v2Y, float v2Z,
             float pX, float pY, float pZ,
             Vector3f result) {
+        float d1 = dotOfDifferences(v1X, v1Y, v1Z, v0X, v0Y, v0Z, pX, pY, pZ, v0X, v0Y, v0Z);
+        float d2 = dotOfDifferences(v2X, v2Y, v2Z, v0X, v0Y, v0Z, pX, pY, pZ, v0X, v0Y, v0Z);
+        float d3 = dotOfDifferences(v1X, v1Y, v1Z, v0X, v0Y, v0Z, pX, pY, pZ, v1X, v1Y, v1Z);
+        float d4 = dotOfDifferences(v2X, v2Y, v2Z, v0X, v0Y, v0Z, pX, pY, pZ, v1X, v1Y, v1Z);
+        float d5 = dotOfDifferences(v1X, v1Y, v1Z, v0X, v0Y, v0Z, pX, pY, pZ, v2X, v2Y, v2Z);
+        float d6 = dotOfDifferences(v2X, v2Y, v2Z, v0X, v0Y, v0Z, pX, pY, pZ, v2X, v2Y, v2Z);
+        float va = Math.fma(d3, d6, -d5 * d4), vb = Math.fma(d5, d2, -d1 * d6), vc = Math.fma(d1, d4, -d3 * d2);
+        /* points projecting into the face but not lying in the Voronoi region of a vertex or an edge */
+        if (va > 0.0f && vb > 0.0f && vc > 0.0f && (d1 > 0.0f || d2 > 0.0f) && (d3 < 0.0f || d4 > d3) && (d6 < 0.0f || d5 > d6))
+            return findClosestPointOnTriangleFace(v0X, v0Y, v0Z, v1X, v1Y, v1Z, v2X, v2Y, v2Z, va, vb, vc, result);
+        return findClosestPointOnTriangleRegion(v0X, v0Y, v0Z, v1X, v1Y, v1Z, v2X, v2Y, v2Z, pX, pY, pZ, result);
+    }
+
+    /**
+     * The general case of {@link #findClosestPointOnTriangle(float, float, float, float, float, float, float, float, float, float, float, float, Vector3f)},
+     * which tests the Voronoi regions of the vertices, edges and the face one after another.
+     */
+    private static int findClosestPointOnTriangleRegion(
+            float v0X, float v0Y, float v0Z,
+            float v1X, float v1Y, float v1Z,
+            float v2X, float v2Y, float v2Z,
+            float pX, float pY, float pZ,
+            Vector3f result) {
         float abX = v1X - v0X, abY = v1Y - v0Y, abZ = v1Z - v0Z;
         float acX = v2X - v0X, acY = v2Y - v0Y, acZ = v2Z - v0Z;
         float apX = pX - v0X, apY = pY - v0Y, apZ = pZ - v0Z;
-        float d1 = abX * apX + abY * apY + abZ * apZ;
-        float d2 = acX * apX + acY * apY + acZ * apZ;
+        float d1 = Math.fma(abZ, apZ, Math.fma(abX, apX, abY * apY));
+        float d2 = Math.fma(acZ, apZ, Math.fma(acX, apX, acY * apY));
         if (d1 <= 0.0f && d2 <= 0.0f) {
             result.x = v0X;
             result.y = v0Y;
@@ -1629,56 +2103,74 @@ public class Intersectionf {
             return POINT_ON_TRIANGLE_VERTEX_0;
         }
         float bpX = pX - v1X, bpY = pY - v1Y, bpZ = pZ - v1Z;
-        float d3 = abX * bpX + abY * bpY + abZ * bpZ;
-        float d4 = acX * bpX + acY * bpY + acZ * bpZ;
+        float d3 = Math.fma(abZ, bpZ, Math.fma(abX, bpX, abY * bpY));
+        float d4 = Math.fma(acZ, bpZ, Math.fma(acX, bpX, acY * bpY));
         if (d3 >= 0.0f && d4 <= d3) {
             result.x = v1X;
             result.y = v1Y;
             result.z = v1Z;
             return POINT_ON_TRIANGLE_VERTEX_1;
         }
-        float vc = d1 * d4 - d3 * d2;
+        float vc = Math.fma(d1, d4, -d3 * d2);
         if (vc <= 0.0f && d1 >= 0.0f && d3 <= 0.0f) {
             float v = d1 / (d1 - d3);
-            result.x = v0X + v * abX;
-            result.y = v0Y + v * abY;
-            result.z = v0Z + v * abZ;
+            result.x = Math.fma(v, abX, v0X);
+            result.y = Math.fma(v, abY, v0Y);
+            result.z = Math.fma(v, abZ, v0Z);
             return POINT_ON_TRIANGLE_EDGE_01;
         }
         float cpX = pX - v2X, cpY = pY - v2Y, cpZ = pZ - v2Z;
-        float d5 = abX * cpX + abY * cpY + abZ * cpZ;
-        float d6 = acX * cpX + acY * cpY + acZ * cpZ;
+        float d5 = Math.fma(abZ, cpZ, Math.fma(abX, cpX, abY * cpY));
+        float d6 = Math.fma(acZ, cpZ, Math.fma(acX, cpX, acY * cpY));
         if (d6 >= 0.0f && d5 <= d6) {
             result.x = v2X;
             result.y = v2Y;
             result.z = v2Z;
             return POINT_ON_TRIANGLE_VERTEX_2;
         }
-        float vb = d5 * d2 - d1 * d6;
+        float vb = Math.fma(d5, d2, -d1 * d6);
         if (vb <= 0.0f && d2 >= 0.0f && d6 <= 0.0f) {
             float w = d2 / (d2 - d6);
-            result.x = v0X + w * acX;
-            result.y = v0Y + w * acY;
-            result.z = v0Z + w * acZ;
+            result.x = Math.fma(w, acX, v0X);
+            result.y = Math.fma(w, acY, v0Y);
+            result.z = Math.fma(w, acZ, v0Z);
             return POINT_ON_TRIANGLE_EDGE_20;
         }
-        float va = d3 * d6 - d5 * d4;
+        float va = Math.fma(d3, d6, -d5 * d4);
         if (va <= 0.0f && d4 - d3 >= 0.0f && d5 - d6 >= 0.0f) {
             float w = (d4 - d3) / (d4 - d3 + d5 - d6);
-            result.x = v1X + w * (v2X - v1X);
-            result.y = v1Y + w * (v2Y - v1Y);
-            result.z = v1Z + w * (v2Z - v1Z);
+            result.x = Math.fma(w, v2X - v1X, v1X);
+            result.y = Math.fma(w, v2Y - v1Y, v1Y);
+            result.z = Math.fma(w, v2Z - v1Z, v1Z);
             return POINT_ON_TRIANGLE_EDGE_12;
         }
+        return findClosestPointOnTriangleFace(v0X, v0Y, v0Z, v1X, v1Y, v1Z, v2X, v2Y, v2Z, va, vb, vc, result);
+    }
+
+    private static int findClosestPointOnTriangleFace(
+            float v0X, float v0Y, float v0Z,
+            float v1X, float v1Y, float v1Z,
+            float v2X, float v2Y, float v2Z,
+            float va, float vb, float vc,
+            Vector3f result) {
         float denom = 1.0f / (va + vb + vc);
         float v = vb * denom;
         float w = vc * denom;
-        result.x = v0X + abX * v + acX * w;
-        result.y = v0Y + abY * v + acY * w;
-        result.z = v0Z + abZ * v + acZ * w;
+        result.x = Math.fma(v2X - v0X, w, Math.fma(v1X - v0X, v, v0X));
+        result.y = Math.fma(v2Y - v0Y, w, Math.fma(v1Y - v0Y, v, v0Y));
+        result.z = Math.fma(v2Z - v0Z, w, Math.fma(v1Z - v0Z, v, v0Z));
         return POINT_ON_TRIANGLE_FACE;
     }
 
+    /**
+     * Compute <code>(q - o) . (p - r)</code>, rounded exactly like the dot products of the triangle edges and the vectors from the
+     * vertices to the point computed by {@link #findClosestPointOnTriangleRegion(float, float, float, float, float, float, float, float, float, float, float, float, Vector3f)}.
+     */
+    private static float dotOfDifferences(float qX, float qY, float qZ, float oX, float oY, float oZ,
+            float pX, float pY, float pZ, float rX, float rY, float rZ) {
+        return Math.fma(qZ - oZ, pZ - rZ, Math.fma(qX - oX, pX - rX, (qY - oY) * (pY - rY)));
+    }
+
     /**
      * Determine the closest point on the triangle with the vertices <code>v0</code>, <code>v1</code>, <code>v2</code>
      * between that triangle and the given point <code>p</code> and store that point into the given <code>result</code>.
@@ -1708,19 +2200,969 @@ public class Intersectionf {
     }
 
     /**
-     * Find the point on a given rectangle, specified via three of its corners, which is closest to the specified point
-     * <code>(pX, pY, pZ)</code> and store the result into <code>res</code>.
+     * Find the point on the given axis-aligned box which is closest to the point <code>(pX, pY, pZ)</code> and store it into <code>result</code>.
      * <p>
-     * Reference: Book "Real-Time Collision Detection" chapter 5.1.4.2 "Closest Point on 3D Rectangle to Point"
+     * If the point lies inside the box, the point itself is the closest point.
+     * <p>
+     * Reference: Book "Real-Time Collision Detection" chapter 5.1.3 "Closest Point on AABB to Point"
      * 
-     * @param aX
-     *          the x coordinate of the first corner point of the rectangle
-     * @param aY
-     *          the y coordinate of the first corner point of the rectangle
-     * @param aZ
-     *          the z coordinate of the first corner point of the rectangle
-     * @param bX
-     *          the x coordinate of the second corner point of the rectangle 
+     * @param minX
+     *          the x coordinate of the minimum corner of the axis-aligned box
+     * @param minY
+     *          the y coordinate of the minimum corner of the axis-aligned box
+     * @param minZ
+     *          the z coordinate of the minimum corner of the axis-aligned box
+     * @param maxX
+     *          the x coordinate of the maximum corner of the axis-aligned box
+     * @param maxY
+     *          the y coordinate of the maximum corner of the axis-aligned box
+     * @param maxZ
+     *          the z coordinate of the maximum corner of the axis-aligned box
+     * @param pX
+     *          the x coordinate of the point
+     * @param pY
+     *          the y coordinate of the point
+     * @param pZ
+     *          the z coordinate of the point
+     * @param result
+     *          will hold the closest point
+     * @return result
+     */
+    public static Vector3f findClosestPointOnAab(float minX, float minY, float minZ, float maxX, float maxY, float maxZ,
+            float pX, float pY, float pZ, Vector3f result) {
+        result.x = pX < minX ? minX : pX > maxX ? maxX : pX;
+        result.y = pY < minY ? minY : pY > maxY ? maxY : pY;
+        result.z = pZ < minZ ? minZ : pZ > maxZ ? maxZ : pZ;
+        return result;
+    }
+
+    /**
+     * Find the point on the given axis-aligned box which is closest to the point <code>p</code> and store it into <code>result</code>.
+     * 
+     * @see #findClosestPointOnAab(float, float, float, float, float, float, float, float, float, Vector3f)
+     * 
+     * @param aabb
+     *          the axis-aligned box
+     * @param p
+     *          the point
+     * @param result
+     *          will hold the closest point
+     * @return result
+     */
+    public static Vector3f findClosestPointOnAab(AABBfc aabb, Vector3fc p, Vector3f result) {
+        return findClosestPointOnAab(aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ(), p.x(), p.y(), p.z(), result);
+    }
+
+    /**
+     * Compute the squared distance between the point <code>(pX, pY, pZ)</code> and the given axis-aligned box.
+     * <p>
+     * The result is <code>0</code> if the point lies inside the box.
+     * <p>
+     * Reference: Book "Real-Time Collision Detection" chapter 5.1.3.1 "Distance of Point to AABB"
+     * 
+     * @param pX
+     *          the x coordinate of the point
+     * @param pY
+     *          the y coordinate of the point
+     * @param pZ
+     *          the z coordinate of the point
+     * @param minX
+     *          the x coordinate of the minimum corner of the axis-aligned box
+     * @param minY
+     *          the y coordinate of the minimum corner of the axis-aligned box
+     * @param minZ
+     *          the z coordinate of the minimum corner of the axis-aligned box
+     * @param maxX
+     *          the x coordinate of the maximum corner of the axis-aligned box
+     * @param maxY
+     *          the y coordinate of the maximum corner of the axis-aligned box
+     * @param maxZ
+     *          the z coordinate of the maximum corner of the axis-aligned box
+     * @return the squared distance
+     */
+    public static float distanceSquaredPointAab(float pX, float pY, float pZ,
+            float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        float dX = pX < minX ? minX - pX : pX > maxX ? pX - maxX : 0.0f;
+        float dY = pY < minY ? minY - pY : pY > maxY ? pY - maxY : 0.0f;
+        float dZ = pZ < minZ ? minZ - pZ : pZ > maxZ ? pZ - maxZ : 0.0f;
+        return dX * dX + dY * dY + dZ * dZ;
+    }
+
+    /**
+     * Find the closest points on the two given axis-aligned boxes <code>A</code> and <code>B</code>.
+     * <p>
+     * If the boxes overlap, both result points are set to the same point inside of their intersection.
+     * 
+     * @param aMinX
+     *          the x coordinate of the minimum corner of the first axis-aligned box
+     * @param aMinY
+     *          the y coordinate of the minimum corner of the first axis-aligned box
+     * @param aMinZ
+     *          the z coordinate of the minimum corner of the first axis-aligned box
+     * @param aMaxX
+     *          the x coordinate of the maximum corner of the first axis-aligned box
+     * @param aMaxY
+     *          the y coordinate of the maximum corner of the first axis-aligned box
+     * @param aMaxZ
+     *          the z coordinate of the maximum corner of the first axis-aligned box
+     * @param bMinX
+     *          the x coordinate of the minimum corner of the second axis-aligned box
+     * @param bMinY
+     *          the y coordinate of the minimum corner of the second axis-aligned box
+     * @param bMinZ
+     *          the z coordinate of the minimum corner of the second axis-aligned box
+     * @param bMaxX
+     *          the x coordinate of the maximum corner of the second axis-aligned box
+     * @param bMaxY
+     *          the y coordinate of the maximum corner of the second axis-aligned box
+     * @param bMaxZ
+     *          the z coordinate of the maximum corner of the second axis-aligned box
+     * @param resultA
+     *          will hold the closest point on the first box
+     * @param resultB
+     *          will hold the closest point on the second box
+     * @return the squared distance between the two closest points
+     */
+    public static float findClosestPointsAabAab(
+            float aMinX, float aMinY, float aMinZ, float aMaxX, float aMaxY, float aMaxZ,
+            float bMinX, float bMinY, float bMinZ, float bMaxX, float bMaxY, float bMaxZ,
+            Vector3f resultA, Vector3f resultB) {
+        /* the boxes are separable per axis, so the closest points can be determined for each axis independently */
+        if (aMaxX < bMinX) {
+            resultA.x = aMaxX;
+            resultB.x = bMinX;
+        } else if (bMaxX < aMinX) {
+            resultA.x = aMinX;
+            resultB.x = bMaxX;
+        } else {
+            resultA.x = resultB.x = (Math.max(aMinX, bMinX) + Math.min(aMaxX, bMaxX)) * 0.5f;
+        }
+        if (aMaxY < bMinY) {
+            resultA.y = aMaxY;
+            resultB.y = bMinY;
+        } else if (bMaxY < aMinY) {
+            resultA.y = aMinY;
+            resultB.y = bMaxY;
+        } else {
+            resultA.y = resultB.y = (Math.max(aMinY, bMinY) + Math.min(aMaxY, bMaxY)) * 0.5f;
+        }
+        if (aMaxZ < bMinZ) {
+            resultA.z = aMaxZ;
+            resultB.z = bMinZ;
+        } else if (bMaxZ < aMinZ) {
+            resultA.z = aMinZ;
+            resultB.z = bMaxZ;
+        } else {
+            resultA.z = resultB.z = (Math.max(aMinZ, bMinZ) + Math.min(aMaxZ, bMaxZ)) * 0.5f;
+        }
+        float dX = resultB.x - resultA.x, dY = resultB.y - resultA.y, dZ = resultB.z - resultA.z;
+        return dX * dX + dY * dY + dZ * dZ;
+    }
+
+    /**
+     * Find the closest points on the two given axis-aligned boxes <code>a</code> and <code>b</code>.
+     * 
+     * @see #findClosestPointsAabAab(float, float, float, float, float, float, float, float, float, float, float, float, Vector3f, Vector3f)
+     * 
+     * @param a
+     *          the first axis-aligned box
+     * @param b
+     *          the second axis-aligned box
+     * @param resultA
+     *          will hold the closest point on the first box
+     * @param resultB
+     *          will hold the closest point on the second box
+     * @return the squared distance between the two closest points
+     */
+    public static float findClosestPointsAabAab(AABBfc a, AABBfc b, Vector3f resultA, Vector3f resultB) {
+        return findClosestPointsAabAab(a.minX(), a.minY(), a.minZ(), a.maxX(), a.maxY(), a.maxZ(),
+                b.minX(), b.minY(), b.minZ(), b.maxX(), b.maxY(), b.maxZ(), resultA, resultB);
+    }
+
+    /**
+     * Compute the squared distance between the two given axis-aligned boxes <code>A</code> and <code>B</code>.
+     * <p>
+     * The result is <code>0</code> if the boxes overlap.
+     * 
+     * @param aMinX
+     *          the x coordinate of the minimum corner of the first axis-aligned box
+     * @param aMinY
+     *          the y coordinate of the minimum corner of the first axis-aligned box
+     * @param aMinZ
+     *          the z coordinate of the minimum corner of the first axis-aligned box
+     * @param aMaxX
+     *          the x coordinate of the maximum corner of the first axis-aligned box
+     * @param aMaxY
+     *          the y coordinate of the maximum corner of the first axis-aligned box
+     * @param aMaxZ
+     *          the z coordinate of the maximum corner of the first axis-aligned box
+     * @param bMinX
+     *          the x coordinate of the minimum corner of the second axis-aligned box
+     * @param bMinY
+     *          the y coordinate of the minimum corner of the second axis-aligned box
+     * @param bMinZ
+     *          the z coordinate of the minimum corner of the second axis-aligned box
+     * @param bMaxX
+     *          the x coordinate of the maximum corner of the second axis-aligned box
+     * @param bMaxY
+     *          the y coordinate of the maximum corner of the second axis-aligned box
+     * @param bMaxZ
+     *          the z coordinate of the maximum corner of the second axis-aligned box
+     * @return the squared distance
+     */
+    public static float distanceSquaredAabAab(
+            float aMinX, float aMinY, float aMinZ, float aMaxX, float aMaxY, float aMaxZ,
+            float bMinX, float bMinY, float bMinZ, float bMaxX, float bMaxY, float bMaxZ) {
+        float dX = aMaxX < bMinX ? bMinX - aMaxX : bMaxX < aMinX ? aMinX - bMaxX : 0.0f;
+        float dY = aMaxY < bMinY ? bMinY - aMaxY : bMaxY < aMinY ? aMinY - bMaxY : 0.0f;
+        float dZ = aMaxZ < bMinZ ? bMinZ - aMaxZ : bMaxZ < aMinZ ? aMinZ - bMaxZ : 0.0f;
+        return dX * dX + dY * dY + dZ * dZ;
+    }
+
+    /**
+     * Find the closest points on the line segment with the end points <code>(p0X, p0Y, p0Z)</code> and <code>(p1X, p1Y, p1Z)</code>
+     * and the given axis-aligned box.
+     * <p>
+     * If the line segment intersects the box, both result points are set to the first point of the line segment inside the box.
+     * Otherwise, the closest points are attained either at an end point of the line segment or on one of the twelve edges of the box,
+     * which are all tested.
+     * 
+     * @param p0X
+     *          the x coordinate of the line segment's first end point
+     * @param p0Y
+     *          the y coordinate of the line segment's first end point
+     * @param p0Z
+     *          the z coordinate of the line segment's first end point
+     * @param p1X
+     *          the x coordinate of the line segment's second end point
+     * @param p1Y
+     *          the y coordinate of the line segment's second end point
+     * @param p1Z
+     *          the z coordinate of the line segment's second end point
+     * @param minX
+     *          the x coordinate of the minimum corner of the axis-aligned box
+     * @param minY
+     *          the y coordinate of the minimum corner of the axis-aligned box
+     * @param minZ
+     *          the z coordinate of the minimum corner of the axis-aligned box
+     * @param maxX
+     *          the x coordinate of the maximum corner of the axis-aligned box
+     * @param maxY
+     *          the y coordinate of the maximum corner of the axis-aligned box
+     * @param maxZ
+     *          the z coordinate of the maximum corner of the axis-aligned box
+     * @param lineSegmentResult
+     *          will hold the closest point on the line segment
+     * @param aabResult
+     *          will hold the closest point on the axis-aligned box
+     * @return the squared distance between the two closest points
+     */
+    public static float findClosestPointsLineSegmentAab(
+            float p0X, float p0Y, float p0Z, float p1X, float p1Y, float p1Z,
+            float minX, float minY, float minZ, float maxX, float maxY, float maxZ,
+            Vector3f lineSegmentResult, Vector3f aabResult) {
+        float dirX = p1X - p0X, dirY = p1Y - p0Y, dirZ = p1Z - p0Z;
+        /* clip the line segment against the three slabs of the box */
+        float tNear = 0.0f, tFar = 1.0f;
+        for (int axis = 0; axis < 3 && tNear <= tFar; axis++) {
+            float p = axis == 0 ? p0X : axis == 1 ? p0Y : p0Z;
+            float d = axis == 0 ? dirX : axis == 1 ? dirY : dirZ;
+            float min = axis == 0 ? minX : axis == 1 ? minY : minZ;
+            float max = axis == 0 ? maxX : axis == 1 ? maxY : maxZ;
+            if (d == 0.0f) {
+                if (p < min || p > max)
+                    tFar = -1.0f;
+                continue;
+            }
+            float t0 = (min - p) / d, t1 = (max - p) / d;
+            tNear = Math.max(tNear, Math.min(t0, t1));
+            tFar = Math.min(tFar, Math.max(t0, t1));
+        }
+        if (tNear <= tFar) {
+            lineSegmentResult.set(p0X + dirX * tNear, p0Y + dirY * tNear, p0Z + dirZ * tNear);
+            aabResult.set(lineSegmentResult);
+            return 0.0f;
+        }
+        /* the end points of the line segment */
+        float best = distanceSquaredPointAab(p0X, p0Y, p0Z, minX, minY, minZ, maxX, maxY, maxZ);
+        float lsX = p0X, lsY = p0Y, lsZ = p0Z;
+        float d = distanceSquaredPointAab(p1X, p1Y, p1Z, minX, minY, minZ, maxX, maxY, maxZ);
+        if (d < best) {
+            best = d;
+            lsX = p1X;
+            lsY = p1Y;
+            lsZ = p1Z;
+        }
+        findClosestPointOnAab(minX, minY, minZ, maxX, maxY, maxZ, lsX, lsY, lsZ, aabResult);
+        float aX = aabResult.x, aY = aabResult.y, aZ = aabResult.z;
+        /* the twelve edges of the box, four along each axis */
+        for (int i = 0; i < 12; i++) {
+            int axis = i >> 2;
+            boolean u = (i & 1) != 0, v = (i & 2) != 0;
+            float e0X = axis == 0 ? minX : u ? maxX : minX;
+            float e0Y = axis == 1 ? minY : (axis == 0 ? u : v) ? maxY : minY;
+            float e0Z = axis == 2 ? minZ : v ? maxZ : minZ;
+            float e1X = axis == 0 ? maxX : e0X, e1Y = axis == 1 ? maxY : e0Y, e1Z = axis == 2 ? maxZ : e0Z;
+            d = findClosestPointsLineSegments(p0X, p0Y, p0Z, p1X, p1Y, p1Z, e0X, e0Y, e0Z, e1X, e1Y, e1Z, lineSegmentResult, aabResult);
+            if (d < best) {
+                best = d;
+                lsX = lineSegmentResult.x;
+                lsY = lineSegmentResult.y;
+                lsZ = lineSegmentResult.z;
+                aX = aabResult.x;
+                aY = aabResult.y;
+                aZ = aabResult.z;
+            }
+        }
+        lineSegmentResult.set(lsX, lsY, lsZ);
+        aabResult.set(aX, aY, aZ);
+        return best;
+    }
+
+    /**
+     * Find the closest points on the given line segment and the given axis-aligned box.
+     * 
+     * @see #findClosestPointsLineSegmentAab(float, float, float, float, float, float, float, float, float, float, float, float, Vector3f, Vector3f)
+     * 
+     * @param lineSegment
+     *          the line segment
+     * @param aabb
+     *          the axis-aligned box
+     * @param lineSegmentResult
+     *          will hold the closest point on the line segment
+     * @param aabResult
+     *          will hold the closest point on the axis-aligned box
+     * @return the squared distance between the two closest points
+     */
+    public static float findClosestPointsLineSegmentAab(LineSegmentf lineSegment, AABBfc aabb, Vector3f lineSegmentResult, Vector3f aabResult) {
+        return findClosestPointsLineSegmentAab(lineSegment.aX, lineSegment.aY, lineSegment.aZ, lineSegment.bX, lineSegment.bY, lineSegment.bZ,
+                aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ(), lineSegmentResult, aabResult);
+    }
+
+    /**
+     * Find the closest points on the sphere with center <code>(centerX, centerY, centerZ)</code> and the given <code>radius</code>
+     * and the given axis-aligned box, and return the distance between the sphere's surface and the box.
+     * <p>
+     * The returned distance is negative or zero if the sphere and the box intersect. In that case, <code>sphereResult</code> is the
+     * point on the sphere's surface in the direction of the closest point on the box, or the sphere's center if the center lies inside
+     * the box.
+     * 
+     * @param centerX
+     *          the x coordinate of the sphere's center
+     * @param centerY
+     *          the y coordinate of the sphere's center
+     * @param centerZ
+     *          the z coordinate of the sphere's center
+     * @param radius
+     *          the radius of the sphere
+     * @param minX
+     *          the x coordinate of the minimum corner of the axis-aligned box
+     * @param minY
+     *          the y coordinate of the minimum corner of the axis-aligned box
+     * @param minZ
+     *          the z coordinate of the minimum corner of the axis-aligned box
+     * @param maxX
+     *          the x coordinate of the maximum corner of the axis-aligned box
+     * @param maxY
+     *          the y coordinate of the maximum corner of the axis-aligned box
+     * @param maxZ
+     *          the z coordinate of the maximum corner of the axis-aligned box
+     * @param sphereResult
+     *          will hold the closest point on the sphere
+     * @param aabResult
+     *          will hold the closest point on the axis-aligned box
+     * @return the distance between the sphere and the box
+     */
+    public static float findClosestPointsSphereAab(float centerX, float centerY, float centerZ, float radius,
+            float minX, float minY, float minZ, float maxX, float maxY, float maxZ,
+            Vector3f sphereResult, Vector3f aabResult) {
+        findClosestPointOnAab(minX, minY, minZ, maxX, maxY, maxZ, centerX, centerY, centerZ, aabResult);
+        float dX = aabResult.x - centerX, dY = aabResult.y - centerY, dZ = aabResult.z - centerZ;
+        float distSquared = dX * dX + dY * dY + dZ * dZ;
+        if (distSquared == 0.0f) {
+            sphereResult.set(centerX, centerY, centerZ);
+            return -radius;
+        }
+        float dist = Math.sqrt(distSquared);
+        float s = radius / dist;
+        sphereResult.set(centerX + dX * s, centerY + dY * s, centerZ + dZ * s);
+        return dist - radius;
+    }
+
+    /**
+     * Find the closest points on the given sphere and the given axis-aligned box, and return the distance between the sphere's
+     * surface and the box.
+     * 
+     * @see #findClosestPointsSphereAab(float, float, float, float, float, float, float, float, float, float, Vector3f, Vector3f)
+     * 
+     * @param sphere
+     *          the sphere
+     * @param aabb
+     *          the axis-aligned box
+     * @param sphereResult
+     *          will hold the closest point on the sphere
+     * @param aabResult
+     *          will hold the closest point on the axis-aligned box
+     * @return the distance between the sphere and the box
+     */
+    public static float findClosestPointsSphereAab(Spheref sphere, AABBfc aabb, Vector3f sphereResult, Vector3f aabResult) {
+        return findClosestPointsSphereAab(sphere.x, sphere.y, sphere.z, sphere.r,
+                aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ(), sphereResult, aabResult);
+    }
+
+    /**
+     * Find the closest points on the two given triangles <code>A</code> and <code>B</code>.
+     * <p>
+     * If an edge of one triangle intersects the other triangle, both result points are set to the point of intersection. Otherwise,
+     * the closest points of the two triangles are attained either between two edges or between a vertex and the other triangle,
+     * which are all tested.
+     * <p>
+     * Reference: Book "Real-Time Collision Detection" chapter 5.1.10 "Closest Points of a Line Segment and a Triangle"
+     * 
+     * @param a0X
+     *          the x coordinate of the first triangle's first vertex
+     * @param a0Y
+     *          the y coordinate of the first triangle's first vertex
+     * @param a0Z
+     *          the z coordinate of the first triangle's first vertex
+     * @param a1X
+     *          the x coordinate of the first triangle's second vertex
+     * @param a1Y
+     *          the y coordinate of the first triangle's second vertex
+     * @param a1Z
+     *          the z coordinate of the first triangle's second vertex
+     * @param a2X
+     *          the x coordinate of the first triangle's third vertex
+     * @param a2Y
+     *          the y coordinate of the first triangle's third vertex
+     * @param a2Z
+     *          the z coordinate of the first triangle's third vertex
+     * @param b0X
+     *          the x coordinate of the second triangle's first vertex
+     * @param b0Y
+     *          the y coordinate of the second triangle's first vertex
+     * @param b0Z
+     *          the z coordinate of the second triangle's first vertex
+     * @param b1X
+     *          the x coordinate of the second triangle's second vertex
+     * @param b1Y
+     *          the y coordinate of the second triangle's second vertex
+     * @param b1Z
+     *          the z coordinate of the second triangle's second vertex
+     * @param b2X
+     *          the x coordinate of the second triangle's third vertex
+     * @param b2Y
+     *          the y coordinate of the second triangle's third vertex
+     * @param b2Z
+     *          the z coordinate of the second triangle's third vertex
+     * @param resultA
+     *          will hold the closest point on the first triangle
+     * @param resultB
+     *          will hold the closest point on the second triangle
+     * @return the squared distance between the two closest points
+     */
+    public static float findClosestPointsTriangleTriangle(
+            float a0X, float a0Y, float a0Z, float a1X, float a1Y, float a1Z, float a2X, float a2Y, float a2Z,
+            float b0X, float b0Y, float b0Z, float b1X, float b1Y, float b1Z, float b2X, float b2Y, float b2Z,
+            Vector3f resultA, Vector3f resultB) {
+        /* an edge of one triangle piercing the other triangle */
+        for (int i = 0; i < 6; i++) {
+            boolean edgeOfA = i < 3;
+            int e = edgeOfA ? i : i - 3;
+            float p0X, p0Y, p0Z, p1X, p1Y, p1Z;
+            if (edgeOfA) {
+                p0X = e == 0 ? a0X : e == 1 ? a1X : a2X; p0Y = e == 0 ? a0Y : e == 1 ? a1Y : a2Y; p0Z = e == 0 ? a0Z : e == 1 ? a1Z : a2Z;
+                p1X = e == 0 ? a1X : e == 1 ? a2X : a0X; p1Y = e == 0 ? a1Y : e == 1 ? a2Y : a0Y; p1Z = e == 0 ? a1Z : e == 1 ? a2Z : a0Z;
+            } else {
+                p0X = e == 0 ? b0X : e == 1 ? b1X : b2X; p0Y = e == 0 ? b0Y : e == 1 ? b1Y : b2Y; p0Z = e == 0 ? b0Z : e == 1 ? b1Z : b2Z;
+                p1X = e == 0 ? b1X : e == 1 ? b2X : b0X; p1Y = e == 0 ? b1Y : e == 1 ? b2Y : b0Y; p1Z = e == 0 ? b1Z : e == 1 ? b2Z : b0Z;
+            }
+            float dX = p1X - p0X, dY = p1Y - p0Y, dZ = p1Z - p0Z;
+            float t = edgeOfA
+                    ? intersectRayTriangle(p0X, p0Y, p0Z, dX, dY, dZ, b0X, b0Y, b0Z, b1X, b1Y, b1Z, b2X, b2Y, b2Z, 1E-7f)
+                    : intersectRayTriangle(p0X, p0Y, p0Z, dX, dY, dZ, a0X, a0Y, a0Z, a1X, a1Y, a1Z, a2X, a2Y, a2Z, 1E-7f);
+            if (t >= 0.0f && t <= 1.0f) {
+                resultA.set(p0X + dX * t, p0Y + dY * t, p0Z + dZ * t);
+                resultB.set(resultA);
+                return 0.0f;
+            }
+        }
+        float best = Float.POSITIVE_INFINITY;
+        float rAX = 0.0f, rAY = 0.0f, rAZ = 0.0f, rBX = 0.0f, rBY = 0.0f, rBZ = 0.0f;
+        /* the nine pairs of edges */
+        for (int i = 0; i < 9; i++) {
+            int ea = i / 3, eb = i % 3;
+            float d = findClosestPointsLineSegments(
+                    ea == 0 ? a0X : ea == 1 ? a1X : a2X, ea == 0 ? a0Y : ea == 1 ? a1Y : a2Y, ea == 0 ? a0Z : ea == 1 ? a1Z : a2Z,
+                    ea == 0 ? a1X : ea == 1 ? a2X : a0X, ea == 0 ? a1Y : ea == 1 ? a2Y : a0Y, ea == 0 ? a1Z : ea == 1 ? a2Z : a0Z,
+                    eb == 0 ? b0X : eb == 1 ? b1X : b2X, eb == 0 ? b0Y : eb == 1 ? b1Y : b2Y, eb == 0 ? b0Z : eb == 1 ? b1Z : b2Z,
+                    eb == 0 ? b1X : eb == 1 ? b2X : b0X, eb == 0 ? b1Y : eb == 1 ? b2Y : b0Y, eb == 0 ? b1Z : eb == 1 ? b2Z : b0Z,
+                    resultA, resultB);
+            if (d < best) {
+                best = d;
+                rAX = resultA.x; rAY = resultA.y; rAZ = resultA.z;
+                rBX = resultB.x; rBY = resultB.y; rBZ = resultB.z;
+            }
+        }
+        /* the vertices of each triangle against the other triangle */
+        for (int i = 0; i < 6; i++) {
+            boolean vertexOfA = i < 3;
+            int v = vertexOfA ? i : i - 3;
+            float pX, pY, pZ;
+            if (vertexOfA) {
+                pX = v == 0 ? a0X : v == 1 ? a1X : a2X; pY = v == 0 ? a0Y : v == 1 ? a1Y : a2Y; pZ = v == 0 ? a0Z : v == 1 ? a1Z : a2Z;
+                findClosestPointOnTriangle(b0X, b0Y, b0Z, b1X, b1Y, b1Z, b2X, b2Y, b2Z, pX, pY, pZ, resultB);
+            } else {
+                pX = v == 0 ? b0X : v == 1 ? b1X : b2X; pY = v == 0 ? b0Y : v == 1 ? b1Y : b2Y; pZ = v == 0 ? b0Z : v == 1 ? b1Z : b2Z;
+                findClosestPointOnTriangle(a0X, a0Y, a0Z, a1X, a1Y, a1Z, a2X, a2Y, a2Z, pX, pY, pZ, resultB);
+            }
+            float dX = resultB.x - pX, dY = resultB.y - pY, dZ = resultB.z - pZ;
+            float d = dX * dX + dY * dY + dZ * dZ;
+            if (d < best) {
+                best = d;
+                if (vertexOfA) {
+                    rAX = pX; rAY = pY; rAZ = pZ;
+                    rBX = resultB.x; rBY = resultB.y; rBZ = resultB.z;
+                } else {
+                    rAX = resultB.x; rAY = resultB.y; rAZ = resultB.z;
+                    rBX = pX; rBY = pY; rBZ = pZ;
+                }
+            }
+        }
+        resultA.set(rAX, rAY, rAZ);
+        resultB.set(rBX, rBY, rBZ);
+        return best;
+    }
+
+    /**
+     * Find the closest points on the two given triangles <code>(a0, a1, a2)</code> and <code>(b0, b1, b2)</code>.
+     * 
+     * @see #findClosestPointsTriangleTriangle(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, Vector3f, Vector3f)
+     * 
+     * @param a0
+     *          the first vertex of the first triangle
+     * @param a1
+     *          the second vertex of the first triangle
+     * @param a2
+     *          the third vertex of the first triangle
+     * @param b0
+     *          the first vertex of the second triangle
+     * @param b1
+     *          the second vertex of the second triangle
+     * @param b2
+     *          the third vertex of the second triangle
+     * @param resultA
+     *          will hold the closest point on the first triangle
+     * @param resultB
+     *          will hold the closest point on the second triangle
+     * @return the squared distance between the two closest points
+     */
+    public static float findClosestPointsTriangleTriangle(Vector3fc a0, Vector3fc a1, Vector3fc a2, Vector3fc b0, Vector3fc b1, Vector3fc b2,
+            Vector3f resultA, Vector3f resultB) {
+        return findClosestPointsTriangleTriangle(a0.x(), a0.y(), a0.z(), a1.x(), a1.y(), a1.z(), a2.x(), a2.y(), a2.z(),
+                b0.x(), b0.y(), b0.z(), b1.x(), b1.y(), b1.z(), b2.x(), b2.y(), b2.z(), resultA, resultB);
+    }
+
+    /**
+     * Test whether the triangle <code>(a0X, a0Y, a0Z)</code>, <code>(a1X, a1Y, a1Z)</code>, <code>(a2X, a2Y, a2Z)</code> intersects the triangle
+     * <code>(b0X, b0Y, b0Z)</code>, <code>(b1X, b1Y, b1Z)</code>, <code>(b2X, b2Y, b2Z)</code>.
+     * <p>
+     * Triangles that only touch each other intersect.
+     * <p>
+     * Reference: Tomas Möller, "A Fast Triangle-Triangle Intersection Test", Journal of Graphics Tools 2(2), 1997
+     * 
+     * @see #intersectTriangleTriangle(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, Vector3f, Vector3f)
+     * 
+     * @param a0X
+     *          the x coordinate of the first triangle's first vertex
+     * @param a0Y
+     *          the y coordinate of the first triangle's first vertex
+     * @param a0Z
+     *          the z coordinate of the first triangle's first vertex
+     * @param a1X
+     *          the x coordinate of the first triangle's second vertex
+     * @param a1Y
+     *          the y coordinate of the first triangle's second vertex
+     * @param a1Z
+     *          the z coordinate of the first triangle's second vertex
+     * @param a2X
+     *          the x coordinate of the first triangle's third vertex
+     * @param a2Y
+     *          the y coordinate of the first triangle's third vertex
+     * @param a2Z
+     *          the z coordinate of the first triangle's third vertex
+     * @param b0X
+     *          the x coordinate of the second triangle's first vertex
+     * @param b0Y
+     *          the y coordinate of the second triangle's first vertex
+     * @param b0Z
+     *          the z coordinate of the second triangle's first vertex
+     * @param b1X
+     *          the x coordinate of the second triangle's second vertex
+     * @param b1Y
+     *          the y coordinate of the second triangle's second vertex
+     * @param b1Z
+     *          the z coordinate of the second triangle's second vertex
+     * @param b2X
+     *          the x coordinate of the second triangle's third vertex
+     * @param b2Y
+     *          the y coordinate of the second triangle's third vertex
+     * @param b2Z
+     *          the z coordinate of the second triangle's third vertex
+     * @return <code>true</code> iff both triangles intersect; <code>false</code> otherwise
+     */
+    public static boolean testTriangleTriangle(
+            float a0X, float a0Y, float a0Z, float a1X, float a1Y, float a1Z, float a2X, float a2Y, float a2Z,
+            float b0X, float b0Y, float b0Z, float b1X, float b1Y, float b1Z, float b2X, float b2Y, float b2Z) {
+        return triangleTriangle(a0X, a0Y, a0Z, a1X, a1Y, a1Z, a2X, a2Y, a2Z, b0X, b0Y, b0Z, b1X, b1Y, b1Z, b2X, b2Y, b2Z, null, null) != TRIANGLES_DISJOINT;
+    }
+
+    /**
+     * Test whether the triangle <code>(a0, a1, a2)</code> intersects the triangle <code>(b0, b1, b2)</code>.
+     * <p>
+     * Reference: Tomas Möller, "A Fast Triangle-Triangle Intersection Test", Journal of Graphics Tools 2(2), 1997
+     * 
+     * @see #testTriangleTriangle(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float)
+     * 
+     * @param a0
+     *          the first vertex of the first triangle
+     * @param a1
+     *          the second vertex of the first triangle
+     * @param a2
+     *          the third vertex of the first triangle
+     * @param b0
+     *          the first vertex of the second triangle
+     * @param b1
+     *          the second vertex of the second triangle
+     * @param b2
+     *          the third vertex of the second triangle
+     * @return <code>true</code> iff both triangles intersect; <code>false</code> otherwise
+     */
+    public static boolean testTriangleTriangle(Vector3fc a0, Vector3fc a1, Vector3fc a2, Vector3fc b0, Vector3fc b1, Vector3fc b2) {
+        return testTriangleTriangle(a0.x(), a0.y(), a0.z(), a1.x(), a1.y(), a1.z(), a2.x(), a2.y(), a2.z(),
+                b0.x(), b0.y(), b0.z(), b1.x(), b1.y(), b1.z(), b2.x(), b2.y(), b2.z());
+    }
+
+    /**
+     * Determine whether the triangle <code>(a0X, a0Y, a0Z)</code>, <code>(a1X, a1Y, a1Z)</code>, <code>(a2X, a2Y, a2Z)</code> intersects the triangle
+     * <code>(b0X, b0Y, b0Z)</code>, <code>(b1X, b1Y, b1Z)</code>, <code>(b2X, b2Y, b2Z)</code>, and if so, compute the end points of the line segment
+     * in which they intersect.
+     * <p>
+     * Each triangle is first tested against the plane of the other one, which rejects all pairs where one triangle lies completely on one side.
+     * Otherwise, both triangles cross the line in which the two planes intersect, each of them along an interval, and the triangles intersect iff
+     * those intervals overlap. The overlap is the intersection segment. If both triangles lie in the same plane, they are tested for overlap
+     * within that plane, and no segment is computed.
+     * <p>
+     * Triangles that only touch each other intersect. The planes are tested exactly, without any epsilon, so a pair of triangles with a shared
+     * edge or vertex always intersects.
+     * <p>
+     * Reference: Tomas Möller, "A Fast Triangle-Triangle Intersection Test", Journal of Graphics Tools 2(2), 1997
+     * 
+     * @param a0X
+     *          the x coordinate of the first triangle's first vertex
+     * @param a0Y
+     *          the y coordinate of the first triangle's first vertex
+     * @param a0Z
+     *          the z coordinate of the first triangle's first vertex
+     * @param a1X
+     *          the x coordinate of the first triangle's second vertex
+     * @param a1Y
+     *          the y coordinate of the first triangle's second vertex
+     * @param a1Z
+     *          the z coordinate of the first triangle's second vertex
+     * @param a2X
+     *          the x coordinate of the first triangle's third vertex
+     * @param a2Y
+     *          the y coordinate of the first triangle's third vertex
+     * @param a2Z
+     *          the z coordinate of the first triangle's third vertex
+     * @param b0X
+     *          the x coordinate of the second triangle's first vertex
+     * @param b0Y
+     *          the y coordinate of the second triangle's first vertex
+     * @param b0Z
+     *          the z coordinate of the second triangle's first vertex
+     * @param b1X
+     *          the x coordinate of the second triangle's second vertex
+     * @param b1Y
+     *          the y coordinate of the second triangle's second vertex
+     * @param b1Z
+     *          the z coordinate of the second triangle's second vertex
+     * @param b2X
+     *          the x coordinate of the second triangle's third vertex
+     * @param b2Y
+     *          the y coordinate of the second triangle's third vertex
+     * @param b2Z
+     *          the z coordinate of the second triangle's third vertex
+     * @param p0
+     *          will hold the first end point of the intersection segment in case of {@link #TRIANGLES_SEGMENT}
+     * @param p1
+     *          will hold the second end point of the intersection segment in case of {@link #TRIANGLES_SEGMENT}
+     * @return {@link #TRIANGLES_DISJOINT} if the triangles do not intersect; {@link #TRIANGLES_SEGMENT} if they intersect in the segment
+     *         from <code>p0</code> to <code>p1</code>; or {@link #TRIANGLES_COPLANAR} if they lie in the same plane and overlap
+     */
+    public static int intersectTriangleTriangle(
+            float a0X, float a0Y, float a0Z, float a1X, float a1Y, float a1Z, float a2X, float a2Y, float a2Z,
+            float b0X, float b0Y, float b0Z, float b1X, float b1Y, float b1Z, float b2X, float b2Y, float b2Z,
+            Vector3f p0, Vector3f p1) {
+        return triangleTriangle(a0X, a0Y, a0Z, a1X, a1Y, a1Z, a2X, a2Y, a2Z, b0X, b0Y, b0Z, b1X, b1Y, b1Z, b2X, b2Y, b2Z, p0, p1);
+    }
+
+    /**
+     * Determine whether the triangle <code>(a0, a1, a2)</code> intersects the triangle <code>(b0, b1, b2)</code>, and if so, compute the end points
+     * of the line segment in which they intersect.
+     * <p>
+     * Reference: Tomas Möller, "A Fast Triangle-Triangle Intersection Test", Journal of Graphics Tools 2(2), 1997
+     * 
+     * @see #intersectTriangleTriangle(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, Vector3f, Vector3f)
+     * 
+     * @param a0
+     *          the first vertex of the first triangle
+     * @param a1
+     *          the second vertex of the first triangle
+     * @param a2
+     *          the third vertex of the first triangle
+     * @param b0
+     *          the first vertex of the second triangle
+     * @param b1
+     *          the second vertex of the second triangle
+     * @param b2
+     *          the third vertex of the second triangle
+     * @param p0
+     *          will hold the first end point of the intersection segment in case of {@link #TRIANGLES_SEGMENT}
+     * @param p1
+     *          will hold the second end point of the intersection segment in case of {@link #TRIANGLES_SEGMENT}
+     * @return {@link #TRIANGLES_DISJOINT}, {@link #TRIANGLES_SEGMENT} or {@link #TRIANGLES_COPLANAR}
+     */
+    public static int intersectTriangleTriangle(Vector3fc a0, Vector3fc a1, Vector3fc a2, Vector3fc b0, Vector3fc b1, Vector3fc b2,
+            Vector3f p0, Vector3f p1) {
+        return intersectTriangleTriangle(a0.x(), a0.y(), a0.z(), a1.x(), a1.y(), a1.z(), a2.x(), a2.y(), a2.z(),
+                b0.x(), b0.y(), b0.z(), b1.x(), b1.y(), b1.z(), b2.x(), b2.y(), b2.z(), p0, p1);
+    }
+
+    private static int triangleTriangle(
+            float a0X, float a0Y, float a0Z, float a1X, float a1Y, float a1Z, float a2X, float a2Y, float a2Z,
+            float b0X, float b0Y, float b0Z, float b1X, float b1Y, float b1Z, float b2X, float b2Y, float b2Z,
+            Vector3f p0, Vector3f p1) {
+        // signed distances of the vertices of A to the plane of B, scaled by the length of its normal
+        float e0X = b1X - b0X, e0Y = b1Y - b0Y, e0Z = b1Z - b0Z, e1X = b2X - b0X, e1Y = b2Y - b0Y, e1Z = b2Z - b0Z;
+        float nBX = e0Y * e1Z - e0Z * e1Y, nBY = e0Z * e1X - e0X * e1Z, nBZ = e0X * e1Y - e0Y * e1X;
+        float dB = nBX * b0X + nBY * b0Y + nBZ * b0Z;
+        float da0 = nBX * a0X + nBY * a0Y + nBZ * a0Z - dB, da1 = nBX * a1X + nBY * a1Y + nBZ * a1Z - dB, da2 = nBX * a2X + nBY * a2Y + nBZ * a2Z - dB;
+        if (da0 > 0.0f && da1 > 0.0f && da2 > 0.0f || da0 < 0.0f && da1 < 0.0f && da2 < 0.0f)
+            return TRIANGLES_DISJOINT;
+        return triangleTriangleCrossingPlaneB(a0X, a0Y, a0Z, a1X, a1Y, a1Z, a2X, a2Y, a2Z, da0, da1, da2,
+                b0X, b0Y, b0Z, b1X, b1Y, b1Z, b2X, b2Y, b2Z, nBX, nBY, nBZ, p0, p1);
+    }
+
+    private static int triangleTriangleCrossingPlaneB(
+            float a0X, float a0Y, float a0Z, float a1X, float a1Y, float a1Z, float a2X, float a2Y, float a2Z, float da0, float da1, float da2,
+            float b0X, float b0Y, float b0Z, float b1X, float b1Y, float b1Z, float b2X, float b2Y, float b2Z, float nBX, float nBY, float nBZ,
+            Vector3f p0, Vector3f p1) {
+        // signed distances of the vertices of B to the plane of A
+        float e0X = a1X - a0X, e0Y = a1Y - a0Y, e0Z = a1Z - a0Z, e1X = a2X - a0X, e1Y = a2Y - a0Y, e1Z = a2Z - a0Z;
+        float nAX = e0Y * e1Z - e0Z * e1Y, nAY = e0Z * e1X - e0X * e1Z, nAZ = e0X * e1Y - e0Y * e1X;
+        float dA = nAX * a0X + nAY * a0Y + nAZ * a0Z;
+        float db0 = nAX * b0X + nAY * b0Y + nAZ * b0Z - dA, db1 = nAX * b1X + nAY * b1Y + nAZ * b1Z - dA, db2 = nAX * b2X + nAY * b2Y + nAZ * b2Z - dA;
+        if (db0 > 0.0f && db1 > 0.0f && db2 > 0.0f || db0 < 0.0f && db1 < 0.0f && db2 < 0.0f)
+            return TRIANGLES_DISJOINT;
+        if (da0 == 0.0f && da1 == 0.0f && da2 == 0.0f)
+            return coplanarTrianglesOverlap(nAX, nAY, nAZ, a0X, a0Y, a0Z, a1X, a1Y, a1Z, a2X, a2Y, a2Z, b0X, b0Y, b0Z, b1X, b1Y, b1Z, b2X, b2Y, b2Z)
+                    ? TRIANGLES_COPLANAR : TRIANGLES_DISJOINT;
+        return triangleTriangleIntervals(a0X, a0Y, a0Z, a1X, a1Y, a1Z, a2X, a2Y, a2Z, da0, da1, da2,
+                b0X, b0Y, b0Z, b1X, b1Y, b1Z, b2X, b2Y, b2Z, db0, db1, db2,
+                nAY * nBZ - nAZ * nBY, nAZ * nBX - nAX * nBZ, nAX * nBY - nAY * nBX, p0, p1);
+    }
+
+    private static int triangleTriangleIntervals(
+            float a0X, float a0Y, float a0Z, float a1X, float a1Y, float a1Z, float a2X, float a2Y, float a2Z, float da0, float da1, float da2,
+            float b0X, float b0Y, float b0Z, float b1X, float b1Y, float b1Z, float b2X, float b2Y, float b2Z, float db0, float db1, float db2,
+            float dirX, float dirY, float dirZ, Vector3f p0, Vector3f p1) {
+        // the intervals along the line of both planes, from the two edges joining the vertex alone on its side of the other plane
+        int ka = vertexAloneOnPlaneSide(da0, da1, da2), kb = vertexAloneOnPlaneSide(db0, db1, db2);
+        float pa0 = dirX * a0X + dirY * a0Y + dirZ * a0Z, pa1 = dirX * a1X + dirY * a1Y + dirZ * a1Z, pa2 = dirX * a2X + dirY * a2Y + dirZ * a2Z;
+        float pb0 = dirX * b0X + dirY * b0Y + dirZ * b0Z, pb1 = dirX * b1X + dirY * b1Y + dirZ * b1Z, pb2 = dirX * b2X + dirY * b2Y + dirZ * b2Z;
+        float sa = edgePlaneParameter(ka, ka == 2 ? 0 : ka + 1, pa0, pa1, pa2, da0, da1, da2);
+        float ta = edgePlaneParameter(ka, ka == 0 ? 2 : ka - 1, pa0, pa1, pa2, da0, da1, da2);
+        float sb = edgePlaneParameter(kb, kb == 2 ? 0 : kb + 1, pb0, pb1, pb2, db0, db1, db2);
+        float tb = edgePlaneParameter(kb, kb == 0 ? 2 : kb - 1, pb0, pb1, pb2, db0, db1, db2);
+        float start = Math.max(Math.min(sa, ta), Math.min(sb, tb)), end = Math.min(Math.max(sa, ta), Math.max(sb, tb));
+        if (start > end)
+            return TRIANGLES_DISJOINT;
+        if (p0 != null)
+            triangleTriangleSegment(a0X, a0Y, a0Z, a1X, a1Y, a1Z, a2X, a2Y, a2Z, da0, da1, da2, ka, sa, start, end, dirX, dirY, dirZ, p0, p1);
+        return TRIANGLES_SEGMENT;
+    }
+
+    private static void triangleTriangleSegment(
+            float a0X, float a0Y, float a0Z, float a1X, float a1Y, float a1Z, float a2X, float a2Y, float a2Z, float da0, float da1, float da2,
+            int ka, float sa, float start, float end, float dirX, float dirY, float dirZ, Vector3f p0, Vector3f p1) {
+        // the point of the line with parameter sa lies on the edge of A from vertex ka to the next vertex
+        int kn = ka == 2 ? 0 : ka + 1;
+        float vX = ka == 0 ? a0X : ka == 1 ? a1X : a2X, vY = ka == 0 ? a0Y : ka == 1 ? a1Y : a2Y, vZ = ka == 0 ? a0Z : ka == 1 ? a1Z : a2Z;
+        float wX = kn == 0 ? a0X : kn == 1 ? a1X : a2X, wY = kn == 0 ? a0Y : kn == 1 ? a1Y : a2Y, wZ = kn == 0 ? a0Z : kn == 1 ? a1Z : a2Z;
+        float dv = ka == 0 ? da0 : ka == 1 ? da1 : da2, dw = kn == 0 ? da0 : kn == 1 ? da1 : da2;
+        float t = dv / (dv - dw);
+        float qX = vX + (wX - vX) * t, qY = vY + (wY - vY) * t, qZ = vZ + (wZ - vZ) * t;
+        float invLength2 = 1.0f / (dirX * dirX + dirY * dirY + dirZ * dirZ);
+        float s0 = (start - sa) * invLength2, s1 = (end - sa) * invLength2;
+        p0.set(qX + dirX * s0, qY + dirY * s0, qZ + dirZ * s0);
+        p1.set(qX + dirX * s1, qY + dirY * s1, qZ + dirZ * s1);
+    }
+
+    /**
+     * Return the index of the vertex which lies alone on one side of the other triangle's plane, given the signed distances of the three vertices,
+     * which must neither all be zero nor all have the same sign.
+     */
+    private static int vertexAloneOnPlaneSide(float d0, float d1, float d2) {
+        if (d0 * d1 > 0.0f)
+            return 2;
+        if (d0 * d2 > 0.0f)
+            return 1;
+        if (d1 * d2 > 0.0f || d0 != 0.0f)
+            return 0;
+        return d1 != 0.0f ? 1 : 2;
+    }
+
+    /**
+     * Interpolate the line parameters <code>p0</code>, <code>p1</code>, <code>p2</code> of the vertices at the point where the edge from vertex
+     * <code>k</code> to vertex <code>j</code> crosses the plane, given the signed distances <code>d0</code>, <code>d1</code>, <code>d2</code> of the vertices.
+     */
+    private static float edgePlaneParameter(int k, int j, float p0, float p1, float p2, float d0, float d1, float d2) {
+        float pk = k == 0 ? p0 : k == 1 ? p1 : p2, dk = k == 0 ? d0 : k == 1 ? d1 : d2;
+        float pj = j == 0 ? p0 : j == 1 ? p1 : p2, dj = j == 0 ? d0 : j == 1 ? d1 : d2;
+        return pk + (pj - pk) * (dk / (dk - dj));
+    }
+
+    private static boolean coplanarTrianglesOverlap(float nX, float nY, float nZ,
+            float a0X, float a0Y, float a0Z, float a1X, float a1Y, float a1Z, float a2X, float a2Y, float a2Z,
+            float b0X, float b0Y, float b0Z, float b1X, float b1Y, float b1Z, float b2X, float b2Y, float b2Z) {
+        // project onto the coordinate plane in which the triangles have the largest area
+        float absX = Math.abs(nX), absY = Math.abs(nY), absZ = Math.abs(nZ);
+        if (absX >= absY && absX >= absZ)
+            return trianglesOverlap2D(a0Y, a0Z, a1Y, a1Z, a2Y, a2Z, b0Y, b0Z, b1Y, b1Z, b2Y, b2Z);
+        if (absY >= absZ)
+            return trianglesOverlap2D(a0X, a0Z, a1X, a1Z, a2X, a2Z, b0X, b0Z, b1X, b1Z, b2X, b2Z);
+        return trianglesOverlap2D(a0X, a0Y, a1X, a1Y, a2X, a2Y, b0X, b0Y, b1X, b1Y, b2X, b2Y);
+    }
+
+    /**
+     * Separating axis test of two 2D triangles using the normals of their six edges.
+     */
+    private static boolean trianglesOverlap2D(float a0X, float a0Y, float a1X, float a1Y, float a2X, float a2Y,
+            float b0X, float b0Y, float b1X, float b1Y, float b2X, float b2Y) {
+        return !separatedOnAxis2D(a0Y - a1Y, a1X - a0X, a0X, a0Y, a1X, a1Y, a2X, a2Y, b0X, b0Y, b1X, b1Y, b2X, b2Y)
+            && !separatedOnAxis2D(a1Y - a2Y, a2X - a1X, a0X, a0Y, a1X, a1Y, a2X, a2Y, b0X, b0Y, b1X, b1Y, b2X, b2Y)
+            && !separatedOnAxis2D(a2Y - a0Y, a0X - a2X, a0X, a0Y, a1X, a1Y, a2X, a2Y, b0X, b0Y, b1X, b1Y, b2X, b2Y)
+            && !separatedOnAxis2D(b0Y - b1Y, b1X - b0X, a0X, a0Y, a1X, a1Y, a2X, a2Y, b0X, b0Y, b1X, b1Y, b2X, b2Y)
+            && !separatedOnAxis2D(b1Y - b2Y, b2X - b1X, a0X, a0Y, a1X, a1Y, a2X, a2Y, b0X, b0Y, b1X, b1Y, b2X, b2Y)
+            && !separatedOnAxis2D(b2Y - b0Y, b0X - b2X, a0X, a0Y, a1X, a1Y, a2X, a2Y, b0X, b0Y, b1X, b1Y, b2X, b2Y);
+    }
+
+    private static boolean separatedOnAxis2D(float axisX, float axisY, float a0X, float a0Y, float a1X, float a1Y, float a2X, float a2Y,
+            float b0X, float b0Y, float b1X, float b1Y, float b2X, float b2Y) {
+        float pa0 = axisX * a0X + axisY * a0Y, pa1 = axisX * a1X + axisY * a1Y, pa2 = axisX * a2X + axisY * a2Y;
+        float pb0 = axisX * b0X + axisY * b0Y, pb1 = axisX * b1X + axisY * b1Y, pb2 = axisX * b2X + axisY * b2Y;
+        return Math.max(Math.max(pa0, pa1), pa2) < Math.min(Math.min(pb0, pb1), pb2)
+            || Math.max(Math.max(pb0, pb1), pb2) < Math.min(Math.min(pa0, pa1), pa2);
+    }
+
+    /**
+     * Find the point on the given oriented box which is closest to the point <code>(pX, pY, pZ)</code> and store it into <code>result</code>.
+     * <p>
+     * The box is given by its center, its three orthonormal local axes and its half sizes along them. If the point lies inside the box,
+     * the point itself is the closest point.
+     * <p>
+     * Reference: Book "Real-Time Collision Detection" chapter 5.1.4 "Closest Point on OBB to Point"
+     * 
+     * @param centerX
+     *          the x coordinate of the box's center
+     * @param centerY
+     *          the y coordinate of the box's center
+     * @param centerZ
+     *          the z coordinate of the box's center
+     * @param uXx
+     *          the x coordinate of the box's local x axis
+     * @param uXy
+     *          the y coordinate of the box's local x axis
+     * @param uXz
+     *          the z coordinate of the box's local x axis
+     * @param uYx
+     *          the x coordinate of the box's local y axis
+     * @param uYy
+     *          the y coordinate of the box's local y axis
+     * @param uYz
+     *          the z coordinate of the box's local y axis
+     * @param uZx
+     *          the x coordinate of the box's local z axis
+     * @param uZy
+     *          the y coordinate of the box's local z axis
+     * @param uZz
+     *          the z coordinate of the box's local z axis
+     * @param hsX
+     *          the half size of the box along its local x axis
+     * @param hsY
+     *          the half size of the box along its local y axis
+     * @param hsZ
+     *          the half size of the box along its local z axis
+     * @param pX
+     *          the x coordinate of the point
+     * @param pY
+     *          the y coordinate of the point
+     * @param pZ
+     *          the z coordinate of the point
+     * @param result
+     *          will hold the closest point
+     * @return result
+     */
+    public static Vector3f findClosestPointOnOb(float centerX, float centerY, float centerZ,
+            float uXx, float uXy, float uXz, float uYx, float uYy, float uYz, float uZx, float uZy, float uZz,
+            float hsX, float hsY, float hsZ, float pX, float pY, float pZ, Vector3f result) {
+        float dX = pX - centerX, dY = pY - centerY, dZ = pZ - centerZ;
+        float x = dX * uXx + dY * uXy + dZ * uXz;
+        float y = dX * uYx + dY * uYy + dZ * uYz;
+        float z = dX * uZx + dY * uZy + dZ * uZz;
+        x = x < -hsX ? -hsX : x > hsX ? hsX : x;
+        y = y < -hsY ? -hsY : y > hsY ? hsY : y;
+        z = z < -hsZ ? -hsZ : z > hsZ ? hsZ : z;
+        result.x = centerX + uXx * x + uYx * y + uZx * z;
+        result.y = centerY + uXy * x + uYy * y + uZy * z;
+        result.z = centerZ + uXz * x + uYz * y + uZz * z;
+        return result;
+    }
+
+    /**
+     * Find the point on the given oriented box which is closest to the point <code>p</code> and store it into <code>result</code>.
+     * 
+     * @see #findClosestPointOnOb(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, Vector3f)
+     * 
+     * @param ob
+     *          the oriented box
+     * @param p
+     *          the point
+     * @param result
+     *          will hold the closest point
+     * @return result
+     */
+    public static Vector3f findClosestPointOnOb(OrientedBoxf ob, Vector3fc p, Vector3f result) {
+        return findClosestPointOnOb(ob.cX, ob.cY, ob.cZ, ob.uXx, ob.uXy, ob.uXz, ob.uYx, ob.uYy, ob.uYz, ob.uZx, ob.uZy, ob.uZz,
+                ob.hsX, ob.hsY, ob.hsZ, p.x(), p.y(), p.z(), result);
+    }
+
+    /**
+     * Find the point on a given rectangle, specified via three of its corners, which is closest to the specified point
+     * <code>(pX, pY, pZ)</code> and store the result into <code>res</code>.
+     * <p>
+     * Reference: Book "Real-Time Collision Detection" chapter 5.1.4.2 "Closest Point on 3D Rectangle to Point"
+     * 
+     * @param aX
+     *          the x coordinate of the first corner point of the rectangle
+     * @param aY
+     *          the y coordinate of the first corner point of the rectangle
+     * @param aZ
+     *          the z coordinate of the first corner point of the rectangle
+     * @param bX
+     *          the x coordinate of the second corner point of the rectangle 
      * @param bY
      *          the y coordinate of the second corner point of the rectangle
      * @param bZ
@@ -1856,6 +3298,23 @@ public class Intersectionf {
         if (pt0 > maxT)
             return 0;
         float pt1 = (-radius - signedDist) / dot;
+        // the early-outs above reject most triangles; keep the contact computation out of line
+        return intersectSweptSphereTriangleContact(centerX, centerY, centerZ, radius, velX, velY, velZ,
+                v0X, v0Y, v0Z, v1X, v1Y, v1Z, v2X, v2Y, v2Z, v10X, v10Y, v10Z, v20X, v20Y, v20Z,
+                a, b, c, invLen, pt0, pt1, maxT, pointAndTime);
+    }
+
+    /**
+     * Compute the contact of a swept sphere whose movement reaches the triangle plane <code>(a, b, c)</code> at time <code>pt0</code>,
+     * given the edges <code>v1 - v0</code> and <code>v2 - v0</code>.
+     * <p>
+     * This is shared with {@link Trianglef#intersectSweptSphere(float, float, float, float, float, float, float, float, float, Vector4f)}, which passes its precomputed edges and unit normal.
+     */
+    static int intersectSweptSphereTriangleContact(
+            float centerX, float centerY, float centerZ, float radius, float velX, float velY, float velZ,
+            float v0X, float v0Y, float v0Z, float v1X, float v1Y, float v1Z, float v2X, float v2Y, float v2Z,
+            float v10X, float v10Y, float v10Z, float v20X, float v20Y, float v20Z,
+            float a, float b, float c, float invLen, float pt0, float pt1, float maxT, Vector4f pointAndTime) {
         float p0X = centerX - radius * a * invLen + velX * pt0;
         float p0Y = centerY - radius * b * invLen + velY * pt0;
         float p0Z = centerZ - radius * c * invLen + velZ * pt0;
@@ -1979,6 +3438,90 @@ public class Intersectionf {
         return isect;
     }
 
+    /**
+     * Determine the earliest point of intersection between a sphere with the given center <code>(centerX, centerY, centerZ)</code> and <code>radius</code> moving
+     * with the given velocity <code>(velX, velY, velZ)</code> and the indexed triangles <code>firstIndex / 3</code> to <code>firstIndex / 3 + triangleCount - 1</code>.
+     * <p>
+     * Each triangle is given by three consecutive entries in <code>indices</code>, each of which references the <code>(x, y, z)</code> coordinates
+     * at <code>3 * index</code> in <code>positions</code>. The vertices of each triangle must be specified in counter-clockwise winding order.
+     * <p>
+     * Triangles whose axis-aligned bounding box does not intersect the bounding box of the sphere swept until the earliest intersection found so far
+     * are rejected without being tested by {@link #intersectSweptSphereTriangle(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, Vector4f) intersectSweptSphereTriangle}.
+     * <p>
+     * An intersection is only considered if the time of intersection is smaller than the given <code>maxT</code> value.
+     * 
+     * @param centerX
+     *              the x coordinate of the sphere's center
+     * @param centerY
+     *              the y coordinate of the sphere's center
+     * @param centerZ
+     *              the z coordinate of the sphere's center
+     * @param radius
+     *              the radius of the sphere
+     * @param velX
+     *              the x component of the velocity of the sphere
+     * @param velY
+     *              the y component of the velocity of the sphere
+     * @param velZ
+     *              the z component of the velocity of the sphere
+     * @param positions
+     *              the <code>(x, y, z)</code> coordinates of all vertices
+     * @param indices
+     *              the vertex indices of all triangles
+     * @param firstIndex
+     *              the position in <code>indices</code> of the first vertex index of the first triangle to test
+     * @param triangleCount
+     *              the number of triangles to test
+     * @param epsilon
+     *              a small epsilon when testing spheres that move almost parallel to a triangle
+     * @param maxT
+     *              the maximum intersection time
+     * @param pointAndTime
+     *              iff the moving sphere intersects any triangle, this will hold the earliest point of intersection in the <code>(x, y, z)</code> components
+     *              and the time of intersection in the <code>w</code> component
+     * @param hitIndex
+     *              if not <code>null</code> and the moving sphere intersects any triangle, the first element will hold the position in <code>indices</code>
+     *              of the first vertex index of the triangle intersected earliest
+     * @return {@link #POINT_ON_TRIANGLE_FACE} if the earliest intersection point lies on the face of a triangle,
+     *         or {@link #POINT_ON_TRIANGLE_VERTEX_0}, {@link #POINT_ON_TRIANGLE_VERTEX_1} or {@link #POINT_ON_TRIANGLE_VERTEX_2} if it is a vertex,
+     *         or {@link #POINT_ON_TRIANGLE_EDGE_01}, {@link #POINT_ON_TRIANGLE_EDGE_12} or {@link #POINT_ON_TRIANGLE_EDGE_20} if it lies on an edge;
+     *         or <code>0</code> if no intersection
+     */
+    public static int intersectSweptSphereTriangles(float centerX, float centerY, float centerZ, float radius, float velX, float velY, float velZ,
+            float[] positions, int[] indices, int firstIndex, int triangleCount,
+            float epsilon, float maxT, Vector4f pointAndTime, int[] hitIndex) {
+        float endX = centerX + velX * maxT, endY = centerY + velY * maxT, endZ = centerZ + velZ * maxT;
+        float minX = Math.min(centerX, endX) - radius, minY = Math.min(centerY, endY) - radius, minZ = Math.min(centerZ, endZ) - radius;
+        float maxX = Math.max(centerX, endX) + radius, maxY = Math.max(centerY, endY) + radius, maxZ = Math.max(centerZ, endZ) + radius;
+        float nearestT = maxT;
+        int result = 0;
+        for (int i = firstIndex, end = firstIndex + 3 * triangleCount; i < end; i += 3) {
+            int i0 = 3 * indices[i], i1 = 3 * indices[i + 1], i2 = 3 * indices[i + 2];
+            float v0X = positions[i0], v0Y = positions[i0 + 1], v0Z = positions[i0 + 2];
+            float v1X = positions[i1], v1Y = positions[i1 + 1], v1Z = positions[i1 + 2];
+            float v2X = positions[i2], v2Y = positions[i2 + 1], v2Z = positions[i2 + 2];
+            if (Math.max(Math.max(v0X, v1X), v2X) < minX || Math.min(Math.min(v0X, v1X), v2X) > maxX ||
+                Math.max(Math.max(v0Y, v1Y), v2Y) < minY || Math.min(Math.min(v0Y, v1Y), v2Y) > maxY ||
+                Math.max(Math.max(v0Z, v1Z), v2Z) < minZ || Math.min(Math.min(v0Z, v1Z), v2Z) > maxZ)
+                continue;
+            int feature = intersectSweptSphereTriangle(centerX, centerY, centerZ, radius, velX, velY, velZ,
+                    v0X, v0Y, v0Z, v1X, v1Y, v1Z, v2X, v2Y, v2Z, epsilon, nearestT, pointAndTime);
+            if (feature == 0)
+                continue;
+            result = feature;
+            nearestT = pointAndTime.w;
+            if (hitIndex != null)
+                hitIndex[0] = i;
+            // later triangles only need to be tested up to the earliest intersection found so far
+            endX = centerX + velX * nearestT;
+            endY = centerY + velY * nearestT;
+            endZ = centerZ + velZ * nearestT;
+            minX = Math.min(centerX, endX) - radius; minY = Math.min(centerY, endY) - radius; minZ = Math.min(centerZ, endZ) - radius;
+            maxX = Math.max(centerX, endX) + radius; maxY = Math.max(centerY, endY) + radius; maxZ = Math.max(centerZ, endZ) + radius;
+        }
+        return result;
+    }
+
     /**
      * Compute the lowest root for <code>t</code> in the quadratic equation <code>a*t*t + b*t + c = 0</code>.
      * <p>
@@ -2205,17 +3748,29 @@ public class Intersectionf {
      */
     public static boolean testRaySphere(float originX, float originY, float originZ, float dirX, float dirY, float dirZ,
             float centerX, float centerY, float centerZ, float radiusSquared) {
+//#ifdef __INSTRUMENT__
+        HotPathCounters.call(TEST_RAY_SPHERE);
+//#endif
         float Lx = centerX - originX;
         float Ly = centerY - originY;
         float Lz = centerZ - originZ;
         float tca = Lx * dirX + Ly * dirY + Lz * dirZ;
         float d2 = Lx * Lx + Ly * Ly + Lz * Lz - tca * tca;
-        if (d2 > radiusSquared)
+        if (d2 > radiusSquared) {
+//#ifdef __INSTRUMENT__
+            HotPathCounters.earlyOut(TEST_RAY_SPHERE, 0);
+//#endif
             return false;
+        }
         float thc = (float) Math.sqrt(radiusSquared - d2);
         float t0 = tca - thc;
         float t1 = tca + thc;
-        return t0 < t1 && t1 >= 0.0f;
+        boolean hit = t0 < t1 && t1 >= 0.0f;
+//#ifdef __INSTRUMENT__
+        if (hit)
+            HotPathCounters.hit(TEST_RAY_SPHERE);
+//#endif
+        return hit;
     }
 
     /**
@@ -2379,6 +3934,9 @@ public class Intersectionf {
      */
     public static boolean intersectRayAab(float originX, float originY, float originZ, float dirX, float dirY, float dirZ,
             float minX, float minY, float minZ, float maxX, float maxY, float maxZ, Vector2f result) {
+//#ifdef __INSTRUMENT__
+        HotPathCounters.call(INTERSECT_RAY_AAB);
+//#endif
         float invDirX = 1.0f / dirX, invDirY = 1.0f / dirY, invDirZ = 1.0f / dirZ;
         float tNear, tFar, tymin, tymax, tzmin, tzmax;
         if (invDirX >= 0.0f) {
@@ -2395,8 +3953,12 @@ public class Intersectionf {
             tymin = (maxY - originY) * invDirY;
             tymax = (minY - originY) * invDirY;
         }
-        if (tNear > tymax || tymin > tFar)
+        if (tNear > tymax || tymin > tFar) {
+//#ifdef __INSTRUMENT__
+            HotPathCounters.earlyOut(INTERSECT_RAY_AAB, 0);
+//#endif
             return false;
+        }
         if (invDirZ >= 0.0f) {
             tzmin = (minZ - originZ) * invDirZ;
             tzmax = (maxZ - originZ) * invDirZ;
@@ -2404,8 +3966,12 @@ public class Intersectionf {
             tzmin = (maxZ - originZ) * invDirZ;
             tzmax = (minZ - originZ) * invDirZ;
         }
-        if (tNear > tzmax || tzmin > tFar)
+        if (tNear > tzmax || tzmin > tFar) {
+//#ifdef __INSTRUMENT__
+            HotPathCounters.earlyOut(INTERSECT_RAY_AAB, 1);
+//#endif
             return false;
+        }
         tNear = tymin > tNear || Float.isNaN(tNear) ? tymin : tNear;
         tFar = tymax < tFar || Float.isNaN(tFar) ? tymax : tFar;
         tNear = tzmin > tNear ? tzmin : tNear;
@@ -2413,6 +3979,9 @@ public class Intersectionf {
         if (tNear < tFar && tFar >= 0.0f) {
             result.x = tNear;
             result.y = tFar;
+//#ifdef __INSTRUMENT__
+            HotPathCounters.hit(INTERSECT_RAY_AAB);
+//#endif
             return true;
         }
         return false;
@@ -2550,6 +4119,9 @@ public class Intersectionf {
      */
     public static int intersectLineSegmentAab(float p0X, float p0Y, float p0Z, float p1X, float p1Y, float p1Z,
             float minX, float minY, float minZ, float maxX, float maxY, float maxZ, Vector2f result) {
+//#ifdef __INSTRUMENT__
+        HotPathCounters.call(INTERSECT_LINE_SEGMENT_AAB);
+//#endif
         float dirX = p1X - p0X, dirY = p1Y - p0Y, dirZ = p1Z - p0Z;
         float invDirX = 1.0f / dirX, invDirY = 1.0f / dirY, invDirZ = 1.0f / dirZ;
         float tNear, tFar, tymin, tymax, tzmin, tzmax;
@@ -2567,8 +4139,12 @@ public class Intersectionf {
             tymin = (maxY - p0Y) * invDirY;
             tymax = (minY - p0Y) * invDirY;
         }
-        if (tNear > tymax || tymin > tFar)
+        if (tNear > tymax || tymin > tFar) {
+//#ifdef __INSTRUMENT__
+            HotPathCounters.earlyOut(INTERSECT_LINE_SEGMENT_AAB, 0);
+//#endif
             return OUTSIDE;
+        }
         if (invDirZ >= 0.0f) {
             tzmin = (minZ - p0Z) * invDirZ;
             tzmax = (maxZ - p0Z) * invDirZ;
@@ -2576,8 +4152,12 @@ public class Intersectionf {
             tzmin = (maxZ - p0Z) * invDirZ;
             tzmax = (minZ - p0Z) * invDirZ;
         }
-        if (tNear > tzmax || tzmin > tFar)
+        if (tNear > tzmax || tzmin > tFar) {
+//#ifdef __INSTRUMENT__
+            HotPathCounters.earlyOut(INTERSECT_LINE_SEGMENT_AAB, 1);
+//#endif
             return OUTSIDE;
+        }
         tNear = tymin > tNear || Float.isNaN(tNear) ? tymin : tNear;
         tFar = tymax < tFar || Float.isNaN(tFar) ? tymax : tFar;
         tNear = tzmin > tNear ? tzmin : tNear;
@@ -2597,6 +4177,9 @@ public class Intersectionf {
             }
             result.x = tNear;
             result.y = tFar;
+//#ifdef __INSTRUMENT__
+            HotPathCounters.hit(INTERSECT_LINE_SEGMENT_AAB);
+//#endif
         }
         return type;
     }
@@ -2731,6 +4314,9 @@ public class Intersectionf {
      */
     public static boolean testRayAab(float originX, float originY, float originZ, float dirX, float dirY, float dirZ,
             float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+//#ifdef __INSTRUMENT__
+        HotPathCounters.call(TEST_RAY_AAB);
+//#endif
         float invDirX = 1.0f / dirX, invDirY = 1.0f / dirY, invDirZ = 1.0f / dirZ;
         float tNear, tFar, tymin, tymax, tzmin, tzmax;
         if (invDirX >= 0.0f) {
@@ -2747,8 +4333,12 @@ public class Intersectionf {
             tymin = (maxY - originY) * invDirY;
             tymax = (minY - originY) * invDirY;
         }
-        if (tNear > tymax || tymin > tFar)
+        if (tNear > tymax || tymin > tFar) {
+//#ifdef __INSTRUMENT__
+            HotPathCounters.earlyOut(TEST_RAY_AAB, 0);
+//#endif
             return false;
+        }
         if (invDirZ >= 0.0f) {
             tzmin = (minZ - originZ) * invDirZ;
             tzmax = (maxZ - originZ) * invDirZ;
@@ -2756,13 +4346,22 @@ public class Intersectionf {
             tzmin = (maxZ - originZ) * invDirZ;
             tzmax = (minZ - originZ) * invDirZ;
         }
-        if (tNear > tzmax || tzmin > tFar)
+        if (tNear > tzmax || tzmin > tFar) {
+//#ifdef __INSTRUMENT__
+            HotPathCounters.earlyOut(TEST_RAY_AAB, 1);
+//#endif
             return false;
+        }
         tNear = tymin > tNear || Float.isNaN(tNear) ? tymin : tNear;
         tFar = tymax < tFar || Float.isNaN(tFar) ? tymax : tFar;
         tNear = tzmin > tNear ? tzmin : tNear;
         tFar = tzmax < tFar ? tzmax : tFar;
-        return tNear < tFar && tFar >= 0.0f;
+        boolean hit = tNear < tFar && tFar >= 0.0f;
+//#ifdef __INSTRUMENT__
+        if (hit)
+            HotPathCounters.hit(TEST_RAY_AAB);
+//#endif
+        return hit;
     }
 
     /**
@@ -2836,6 +4435,111 @@ public class Intersectionf {
         return testRayAab(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, aabb.minX, aabb.minY, aabb.minZ, aabb.maxX, aabb.maxY, aabb.maxZ);
     }
 
+    /**
+     * Test whether the given ray with the origin <code>(originX, originY, originZ)</code> and direction <code>(dirX, dirY, dirZ)</code>
+     * intersects each of the <code>count</code> axis-aligned boxes stored in <code>aabbs</code>, and store the indices of all
+     * intersected boxes in <code>dest</code>.
+     * <p>
+     * The boxes are stored consecutively starting at <code>offset</code>, each as its minimum corner followed by its maximum corner,
+     * so box <code>i</code> occupies the six elements starting at <code>offset + 6 * i</code>. The reciprocal of the ray direction
+     * is computed once for all boxes.
+     * <p>
+     * This method returns <code>true</code> for a ray whose origin lies inside an axis-aligned box.
+     * <p>
+     * Reference: <a href="https://dl.acm.org/citation.cfm?id=1198748">An Efficient and Robust Ray–Box Intersection</a>
+     * 
+     * @see #testRayAab(float, float, float, float, float, float, float, float, float, float, float, float)
+     * 
+     * @param originX
+     *              the x coordinate of the ray's origin
+     * @param originY
+     *              the y coordinate of the ray's origin
+     * @param originZ
+     *              the z coordinate of the ray's origin
+     * @param dirX
+     *              the x coordinate of the ray's direction
+     * @param dirY
+     *              the y coordinate of the ray's direction
+     * @param dirZ
+     *              the z coordinate of the ray's direction
+     * @param aabbs
+     *              the minimum and maximum corners of the axis-aligned boxes
+     * @param offset
+     *              the index of the first element of the first box in <code>aabbs</code>
+     * @param count
+     *              the number of boxes to test
+     * @param dest
+     *              will hold the indices (between <code>0</code> and <code>count - 1</code>) of all boxes intersected by the ray
+     *              in increasing order; must have room for <code>count</code> indices
+     * @return the number of intersected boxes stored in <code>dest</code>
+     */
+    public static int testRayAabs(float originX, float originY, float originZ, float dirX, float dirY, float dirZ,
+            float[] aabbs, int offset, int count, int[] dest) {
+        Object event = QueryEvents.begin();
+        float invDirX = 1.0f / dirX, invDirY = 1.0f / dirY, invDirZ = 1.0f / dirZ;
+        int n = 0;
+        for (int i = 0, o = offset; i < count; i++, o += 6) {
+            float minX = aabbs[o], minY = aabbs[o + 1], minZ = aabbs[o + 2];
+            float maxX = aabbs[o + 3], maxY = aabbs[o + 4], maxZ = aabbs[o + 5];
+            float tNear, tFar, tymin, tymax, tzmin, tzmax;
+            if (invDirX >= 0.0f) {
+                tNear = (minX - originX) * invDirX;
+                tFar = (maxX - originX) * invDirX;
+            } else {
+                tNear = (maxX - originX) * invDirX;
+                tFar = (minX - originX) * invDirX;
+            }
+            if (invDirY >= 0.0f) {
+                tymin = (minY - originY) * invDirY;
+                tymax = (maxY - originY) * invDirY;
+            } else {
+                tymin = (maxY - originY) * invDirY;
+                tymax = (minY - originY) * invDirY;
+            }
+            if (tNear > tymax || tymin > tFar)
+                continue;
+            if (invDirZ >= 0.0f) {
+                tzmin = (minZ - originZ) * invDirZ;
+                tzmax = (maxZ - originZ) * invDirZ;
+            } else {
+                tzmin = (maxZ - originZ) * invDirZ;
+                tzmax = (minZ - originZ) * invDirZ;
+            }
+            if (tNear > tzmax || tzmin > tFar)
+                continue;
+            tNear = tymin > tNear || Float.isNaN(tNear) ? tymin : tNear;
+            tFar = tymax < tFar || Float.isNaN(tFar) ? tymax : tFar;
+            tNear = tzmin > tNear ? tzmin : tNear;
+            tFar = tzmax < tFar ? tzmax : tFar;
+            if (tNear < tFar && tFar >= 0.0f)
+                dest[n++] = i;
+        }
+        QueryEvents.end(event, "Intersectionf.testRayAabs", count, n);
+        return n;
+    }
+
+    /**
+     * Test whether the given ray intersects each of the <code>count</code> axis-aligned boxes stored in <code>aabbs</code>,
+     * and store the indices of all intersected boxes in <code>dest</code>.
+     * 
+     * @see #testRayAabs(float, float, float, float, float, float, float[], int, int, int[])
+     * 
+     * @param ray
+     *              the ray
+     * @param aabbs
+     *              the minimum and maximum corners of the axis-aligned boxes
+     * @param offset
+     *              the index of the first element of the first box in <code>aabbs</code>
+     * @param count
+     *              the number of boxes to test
+     * @param dest
+     *              will hold the indices of all boxes intersected by the ray in increasing order
+     * @return the number of intersected boxes stored in <code>dest</code>
+     */
+    public static int testRayAabs(Rayf ray, float[] aabbs, int offset, int count, int[] dest) {
+        return testRayAabs(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, aabbs, offset, count, dest);
+    }
+
 
     /**
      * Test whether the given ray with the origin <code>(originX, originY, originZ)</code> and direction <code>(dirX, dirY, dirZ)</code>
@@ -3216,32 +4920,50 @@ public class Intersectionf {
     public static float intersectRayTriangle(float originX, float originY, float originZ, float dirX, float dirY, float dirZ,
             float v0X, float v0Y, float v0Z, float v1X, float v1Y, float v1Z, float v2X, float v2Y, float v2Z,
             float epsilon) {
+//#ifdef __INSTRUMENT__
+        HotPathCounters.call(INTERSECT_RAY_TRIANGLE);
+//#endif
         float edge1X = v1X - v0X;
         float edge1Y = v1Y - v0Y;
         float edge1Z = v1Z - v0Z;
         float edge2X = v2X - v0X;
         float edge2Y = v2Y - v0Y;
         float edge2Z = v2Z - v0Z;
-        float pvecX = dirY * edge2Z - dirZ * edge2Y;
-        float pvecY = dirZ * edge2X - dirX * edge2Z;
-        float pvecZ = dirX * edge2Y - dirY * edge2X;
-        float det = edge1X * pvecX + edge1Y * pvecY + edge1Z * pvecZ;
-        if (det > -epsilon && det < epsilon)
+        float pvecX = Math.fma(dirY, edge2Z, -dirZ * edge2Y);
+        float pvecY = Math.fma(dirZ, edge2X, -dirX * edge2Z);
+        float pvecZ = Math.fma(dirX, edge2Y, -dirY * edge2X);
+        float det = Math.fma(edge1Z, pvecZ, Math.fma(edge1X, pvecX, edge1Y * pvecY));
+        if (det > -epsilon && det < epsilon) {
+//#ifdef __INSTRUMENT__
+            HotPathCounters.earlyOut(INTERSECT_RAY_TRIANGLE, 0);
+//#endif
             return -1.0f;
+        }
         float tvecX = originX - v0X;
         float tvecY = originY - v0Y;
         float tvecZ = originZ - v0Z;
         float invDet = 1.0f / det;
-        float u = (tvecX * pvecX + tvecY * pvecY + tvecZ * pvecZ) * invDet;
-        if (u < 0.0f || u > 1.0f)
+        float u = Math.fma(tvecZ, pvecZ, Math.fma(tvecX, pvecX, tvecY * pvecY)) * invDet;
+        if (u < 0.0f || u > 1.0f) {
+//#ifdef __INSTRUMENT__
+            HotPathCounters.earlyOut(INTERSECT_RAY_TRIANGLE, 1);
+//#endif
             return -1.0f;
-        float qvecX = tvecY * edge1Z - tvecZ * edge1Y;
-        float qvecY = tvecZ * edge1X - tvecX * edge1Z;
-        float qvecZ = tvecX * edge1Y - tvecY * edge1X;
-        float v = (dirX * qvecX + dirY * qvecY + dirZ * qvecZ) * invDet;
-        if (v < 0.0f || u + v > 1.0f)
+        }
+        float qvecX = Math.fma(tvecY, edge1Z, -tvecZ * edge1Y);
+        float qvecY = Math.fma(tvecZ, edge1X, -tvecX * edge1Z);
+        float qvecZ = Math.fma(tvecX, edge1Y, -tvecY * edge1X);
+        float v = Math.fma(dirZ, qvecZ, Math.fma(dirX, qvecX, dirY * qvecY)) * invDet;
+        if (v < 0.0f || u + v > 1.0f) {
+//#ifdef __INSTRUMENT__
+            HotPathCounters.earlyOut(INTERSECT_RAY_TRIANGLE, 2);
+//#endif
             return -1.0f;
-        float t = (edge2X * qvecX + edge2Y * qvecY + edge2Z * qvecZ) * invDet;
+        }
+        float t = Math.fma(edge2Z, qvecZ, Math.fma(edge2X, qvecX, edge2Y * qvecY)) * invDet;
+//#ifdef __INSTRUMENT__
+        HotPathCounters.hit(INTERSECT_RAY_TRIANGLE);
+//#endif
         return t;
     }
 
@@ -3275,6 +4997,339 @@ public class Intersectionf {
         return intersectRayTriangle(origin.x(), origin.y(), origin.z(), dir.x(), dir.y(), dir.z(), v0.x(), v0.y(), v0.z(), v1.x(), v1.y(), v1.z(), v2.x(), v2.y(), v2.z(), epsilon);
     }
 
+    /**
+     * Determine whether the ray with the given origin <code>(originX, originY, originZ)</code> and direction <code>(dirX, dirY, dirZ)</code>
+     * intersects the triangle consisting of the three vertices <code>(v0X, v0Y, v0Z)</code>, <code>(v1X, v1Y, v1Z)</code> and <code>(v2X, v2Y, v2Z)</code>
+     * and return the value of the parameter <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i> of the point of intersection.
+     * <p>
+     * This is an implementation of the <a href="http://jcgt.org/published/0002/01/05/">Watertight Ray/Triangle Intersection</a> method.
+     * It does not need an epsilon and guarantees that a ray hitting an edge or a vertex shared by two or more triangles reports an
+     * intersection with at least one of them. Edge tests that evaluate to exactly zero are recomputed in double precision.
+     * <p>
+     * This test does not take into account the winding order of the triangle, so a ray will intersect a front-facing triangle as well as a back-facing triangle.
+     * 
+     * @see #intersectRayTrianglesWatertight(float, float, float, float, float, float, float[], int[], int, int, float, Vector3f)
+     * 
+     * @param originX
+     *              the x coordinate of the ray's origin
+     * @param originY
+     *              the y coordinate of the ray's origin
+     * @param originZ
+     *              the z coordinate of the ray's origin
+     * @param dirX
+     *              the x coordinate of the ray's direction
+     * @param dirY
+     *              the y coordinate of the ray's direction
+     * @param dirZ
+     *              the z coordinate of the ray's direction
+     * @param v0X
+     *              the x coordinate of the first vertex
+     * @param v0Y
+     *              the y coordinate of the first vertex
+     * @param v0Z
+     *              the z coordinate of the first vertex
+     * @param v1X
+     *              the x coordinate of the second vertex
+     * @param v1Y
+     *              the y coordinate of the second vertex
+     * @param v1Z
+     *              the z coordinate of the second vertex
+     * @param v2X
+     *              the x coordinate of the third vertex
+     * @param v2Y
+     *              the y coordinate of the third vertex
+     * @param v2Z
+     *              the z coordinate of the third vertex
+     * @return the value of the parameter <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i> of the point of intersection
+     *         if the ray intersects the triangle; <code>-1.0</code> otherwise
+     */
+    public static float intersectRayTriangleWatertight(float originX, float originY, float originZ, float dirX, float dirY, float dirZ,
+            float v0X, float v0Y, float v0Z, float v1X, float v1Y, float v1Z, float v2X, float v2Y, float v2Z) {
+        int kz = watertightAxis(dirX, dirY, dirZ);
+        int kx = kz == 2 ? 0 : kz + 1, ky = kx == 2 ? 0 : kx + 1;
+        float dirKz = component(dirX, dirY, dirZ, kz);
+        if (dirKz < 0.0f) {
+            int tmp = kx;
+            kx = ky;
+            ky = tmp;
+        }
+        float sZ = 1.0f / dirKz;
+        float sX = component(dirX, dirY, dirZ, kx) * sZ, sY = component(dirX, dirY, dirZ, ky) * sZ;
+        return intersectRayTriangleWatertight(kx, ky, kz, sX, sY, sZ, originX, originY, originZ,
+                v0X, v0Y, v0Z, v1X, v1Y, v1Z, v2X, v2Y, v2Z, Float.POSITIVE_INFINITY, null);
+    }
+
+    /**
+     * Determine whether the ray with the given <code>origin</code> and the given <code>dir</code> intersects the triangle consisting of the three vertices
+     * <code>v0</code>, <code>v1</code> and <code>v2</code> and return the value of the parameter <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i> of the point of intersection.
+     * <p>
+     * This is an implementation of the <a href="http://jcgt.org/published/0002/01/05/">Watertight Ray/Triangle Intersection</a> method.
+     * <p>
+     * This test does not take into account the winding order of the triangle, so a ray will intersect a front-facing triangle as well as a back-facing triangle.
+     * 
+     * @see #intersectRayTriangleWatertight(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float)
+     * 
+     * @param origin
+     *              the ray's origin
+     * @param dir
+     *              the ray's direction
+     * @param v0
+     *              the position of the first vertex
+     * @param v1
+     *              the position of the second vertex
+     * @param v2
+     *              the position of the third vertex
+     * @return the value of the parameter <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i> of the point of intersection
+     *         if the ray intersects the triangle; <code>-1.0</code> otherwise
+     */
+    public static float intersectRayTriangleWatertight(Vector3fc origin, Vector3fc dir, Vector3fc v0, Vector3fc v1, Vector3fc v2) {
+        return intersectRayTriangleWatertight(origin.x(), origin.y(), origin.z(), dir.x(), dir.y(), dir.z(), v0.x(), v0.y(), v0.z(), v1.x(), v1.y(), v1.z(), v2.x(), v2.y(), v2.z());
+    }
+
+    /**
+     * Test whether the ray with the given origin <code>(originX, originY, originZ)</code> and direction <code>(dirX, dirY, dirZ)</code>
+     * intersects the triangle consisting of the three vertices <code>(v0X, v0Y, v0Z)</code>, <code>(v1X, v1Y, v1Z)</code> and <code>(v2X, v2Y, v2Z)</code>.
+     * <p>
+     * This is an implementation of the <a href="http://jcgt.org/published/0002/01/05/">Watertight Ray/Triangle Intersection</a> method.
+     * <p>
+     * This test does not take into account the winding order of the triangle, so a ray will intersect a front-facing triangle as well as a back-facing triangle.
+     * 
+     * @see #intersectRayTriangleWatertight(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float)
+     * 
+     * @param originX
+     *              the x coordinate of the ray's origin
+     * @param originY
+     *              the y coordinate of the ray's origin
+     * @param originZ
+     *              the z coordinate of the ray's origin
+     * @param dirX
+     *              the x coordinate of the ray's direction
+     * @param dirY
+     *              the y coordinate of the ray's direction
+     * @param dirZ
+     *              the z coordinate of the ray's direction
+     * @param v0X
+     *              the x coordinate of the first vertex
+     * @param v0Y
+     *              the y coordinate of the first vertex
+     * @param v0Z
+     *              the z coordinate of the first vertex
+     * @param v1X
+     *              the x coordinate of the second vertex
+     * @param v1Y
+     *              the y coordinate of the second vertex
+     * @param v1Z
+     *              the z coordinate of the second vertex
+     * @param v2X
+     *              the x coordinate of the third vertex
+     * @param v2Y
+     *              the y coordinate of the third vertex
+     * @param v2Z
+     *              the z coordinate of the third vertex
+     * @return <code>true</code> if the given ray intersects the triangle; <code>false</code> otherwise
+     */
+    public static boolean testRayTriangleWatertight(float originX, float originY, float originZ, float dirX, float dirY, float dirZ,
+            float v0X, float v0Y, float v0Z, float v1X, float v1Y, float v1Z, float v2X, float v2Y, float v2Z) {
+        return intersectRayTriangleWatertight(originX, originY, originZ, dirX, dirY, dirZ, v0X, v0Y, v0Z, v1X, v1Y, v1Z, v2X, v2Y, v2Z) >= 0.0f;
+    }
+
+    /**
+     * Test whether the ray with the given <code>origin</code> and the given <code>dir</code> intersects the triangle consisting of the three vertices
+     * <code>v0</code>, <code>v1</code> and <code>v2</code>.
+     * <p>
+     * This is an implementation of the <a href="http://jcgt.org/published/0002/01/05/">Watertight Ray/Triangle Intersection</a> method.
+     * <p>
+     * This test does not take into account the winding order of the triangle, so a ray will intersect a front-facing triangle as well as a back-facing triangle.
+     * 
+     * @see #intersectRayTriangleWatertight(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float)
+     * 
+     * @param origin
+     *              the ray's origin
+     * @param dir
+     *              the ray's direction
+     * @param v0
+     *              the position of the first vertex
+     * @param v1
+     *              the position of the second vertex
+     * @param v2
+     *              the position of the third vertex
+     * @return <code>true</code> if the given ray intersects the triangle; <code>false</code> otherwise
+     */
+    public static boolean testRayTriangleWatertight(Vector3fc origin, Vector3fc dir, Vector3fc v0, Vector3fc v1, Vector3fc v2) {
+        return intersectRayTriangleWatertight(origin.x(), origin.y(), origin.z(), dir.x(), dir.y(), dir.z(), v0.x(), v0.y(), v0.z(), v1.x(), v1.y(), v1.z(), v2.x(), v2.y(), v2.z()) >= 0.0f;
+    }
+
+    /**
+     * Determine the closest intersection between the ray with the given origin <code>(originX, originY, originZ)</code> and direction <code>(dirX, dirY, dirZ)</code>
+     * and the indexed triangles <code>firstIndex / 3</code> to <code>firstIndex / 3 + triangleCount - 1</code>, and store the value of the parameter <i>t</i> in the ray equation
+     * <i>p(t) = origin + t * dir</i> of the point of intersection into <code>result.x</code> and the barycentric coordinates of the second and third vertex of
+     * the intersected triangle into <code>result.y</code> and <code>result.z</code>.
+     * <p>
+     * Each triangle is given by three consecutive entries in <code>indices</code>, each of which references the <code>(x, y, z)</code> coordinates
+     * at <code>3 * index</code> in <code>positions</code>.
+     * <p>
+     * The ray's shear transformation only depends on the ray direction and is therefore computed once for all triangles.
+     * Only intersections with <i>t</i> in <code>[0, maxT)</code> are considered.
+     * <p>
+     * This is an implementation of the <a href="http://jcgt.org/published/0002/01/05/">Watertight Ray/Triangle Intersection</a> method.
+     * <p>
+     * This test does not take into account the winding order of the triangles, so a ray will intersect a front-facing triangle as well as a back-facing triangle.
+     * 
+     * @see #intersectRayTriangleWatertight(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float)
+     * 
+     * @param originX
+     *              the x coordinate of the ray's origin
+     * @param originY
+     *              the y coordinate of the ray's origin
+     * @param originZ
+     *              the z coordinate of the ray's origin
+     * @param dirX
+     *              the x coordinate of the ray's direction
+     * @param dirY
+     *              the y coordinate of the ray's direction
+     * @param dirZ
+     *              the z coordinate of the ray's direction
+     * @param positions
+     *              the <code>(x, y, z)</code> coordinates of all vertices
+     * @param indices
+     *              the vertex indices of all triangles
+     * @param firstIndex
+     *              the position in <code>indices</code> of the first vertex index of the first triangle to test
+     * @param triangleCount
+     *              the number of triangles to test
+     * @param maxT
+     *              the maximum value of the parameter <i>t</i> in the ray equation
+     * @param result
+     *              will hold the value of the parameter <i>t</i> of the closest point of intersection in the <code>x</code> component and
+     *              the barycentric coordinates of the second and third vertex in the <code>y</code> and <code>z</code> components
+     * @return the position in <code>indices</code> of the first vertex index of the closest intersected triangle; or <code>-1</code> if the ray does not intersect any triangle
+     */
+    public static int intersectRayTrianglesWatertight(float originX, float originY, float originZ, float dirX, float dirY, float dirZ,
+            float[] positions, int[] indices, int firstIndex, int triangleCount, float maxT, Vector3f result) {
+        int kz = watertightAxis(dirX, dirY, dirZ);
+        int kx = kz == 2 ? 0 : kz + 1, ky = kx == 2 ? 0 : kx + 1;
+        float dirKz = component(dirX, dirY, dirZ, kz);
+        if (dirKz < 0.0f) {
+            int tmp = kx;
+            kx = ky;
+            ky = tmp;
+        }
+        float sZ = 1.0f / dirKz;
+        float sX = component(dirX, dirY, dirZ, kx) * sZ, sY = component(dirX, dirY, dirZ, ky) * sZ;
+        int hit = -1;
+        float nearestT = maxT;
+        for (int i = firstIndex, end = firstIndex + 3 * triangleCount; i < end; i += 3) {
+            int i0 = 3 * indices[i], i1 = 3 * indices[i + 1], i2 = 3 * indices[i + 2];
+            float t = intersectRayTriangleWatertight(kx, ky, kz, sX, sY, sZ, originX, originY, originZ,
+                    positions[i0], positions[i0 + 1], positions[i0 + 2],
+                    positions[i1], positions[i1 + 1], positions[i1 + 2],
+                    positions[i2], positions[i2 + 1], positions[i2 + 2], nearestT, result);
+            if (t >= 0.0f) {
+                nearestT = t;
+                hit = i;
+            }
+        }
+        return hit;
+    }
+
+    /**
+     * Test whether the ray with the given origin <code>(originX, originY, originZ)</code> and direction <code>(dirX, dirY, dirZ)</code>
+     * intersects any of the indexed triangles <code>firstIndex / 3</code> to <code>firstIndex / 3 + triangleCount - 1</code>
+     * with a value of the parameter <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i> in <code>[0, maxT)</code>.
+     * <p>
+     * This method returns as soon as any intersection is found, which makes it suitable for shadow or occlusion rays.
+     * 
+     * @see #intersectRayTrianglesWatertight(float, float, float, float, float, float, float[], int[], int, int, float, Vector3f)
+     * 
+     * @param originX
+     *              the x coordinate of the ray's origin
+     * @param originY
+     *              the y coordinate of the ray's origin
+     * @param originZ
+     *              the z coordinate of the ray's origin
+     * @param dirX
+     *              the x coordinate of the ray's direction
+     * @param dirY
+     *              the y coordinate of the ray's direction
+     * @param dirZ
+     *              the z coordinate of the ray's direction
+     * @param positions
+     *              the <code>(x, y, z)</code> coordinates of all vertices
+     * @param indices
+     *              the vertex indices of all triangles
+     * @param firstIndex
+     *              the position in <code>indices</code> of the first vertex index of the first triangle to test
+     * @param triangleCount
+     *              the number of triangles to test
+     * @param maxT
+     *              the maximum value of the parameter <i>t</i> in the ray equation
+     * @return <code>true</code> if the given ray intersects any of the triangles; <code>false</code> otherwise
+     */
+    public static boolean testRayTrianglesWatertight(float originX, float originY, float originZ, float dirX, float dirY, float dirZ,
+            float[] positions, int[] indices, int firstIndex, int triangleCount, float maxT) {
+        int kz = watertightAxis(dirX, dirY, dirZ);
+        int kx = kz == 2 ? 0 : kz + 1, ky = kx == 2 ? 0 : kx + 1;
+        float dirKz = component(dirX, dirY, dirZ, kz);
+        if (dirKz < 0.0f) {
+            int tmp = kx;
+            kx = ky;
+            ky = tmp;
+        }
+        float sZ = 1.0f / dirKz;
+        float sX = component(dirX, dirY, dirZ, kx) * sZ, sY = component(dirX, dirY, dirZ, ky) * sZ;
+        for (int i = firstIndex, end = firstIndex + 3 * triangleCount; i < end; i += 3) {
+            int i0 = 3 * indices[i], i1 = 3 * indices[i + 1], i2 = 3 * indices[i + 2];
+            if (intersectRayTriangleWatertight(kx, ky, kz, sX, sY, sZ, originX, originY, originZ,
+                    positions[i0], positions[i0 + 1], positions[i0 + 2],
+                    positions[i1], positions[i1 + 1], positions[i1 + 2],
+                    positions[i2], positions[i2 + 1], positions[i2 + 2], maxT, null) >= 0.0f)
+                return true;
+        }
+        return false;
+    }
+
+    private static int watertightAxis(float dirX, float dirY, float dirZ) {
+        float absX = Math.abs(dirX), absY = Math.abs(dirY), absZ = Math.abs(dirZ);
+        return absX > absY ? (absX > absZ ? 0 : 2) : (absY > absZ ? 1 : 2);
+    }
+
+    private static float component(float x, float y, float z, int k) {
+        return k == 0 ? x : k == 1 ? y : z;
+    }
+
+    private static float intersectRayTriangleWatertight(int kx, int ky, int kz, float sX, float sY, float sZ,
+            float originX, float originY, float originZ,
+            float v0X, float v0Y, float v0Z, float v1X, float v1Y, float v1Z, float v2X, float v2Y, float v2Z,
+            float maxT, Vector3f result) {
+        float aX = v0X - originX, aY = v0Y - originY, aZ = v0Z - originZ;
+        float bX = v1X - originX, bY = v1Y - originY, bZ = v1Z - originZ;
+        float cX = v2X - originX, cY = v2Y - originY, cZ = v2Z - originZ;
+        float aKz = component(aX, aY, aZ, kz), bKz = component(bX, bY, bZ, kz), cKz = component(cX, cY, cZ, kz);
+        float ax = component(aX, aY, aZ, kx) - sX * aKz, ay = component(aX, aY, aZ, ky) - sY * aKz;
+        float bx = component(bX, bY, bZ, kx) - sX * bKz, by = component(bX, bY, bZ, ky) - sY * bKz;
+        float cx = component(cX, cY, cZ, kx) - sX * cKz, cy = component(cX, cY, cZ, ky) - sY * cKz;
+        float u = cx * by - cy * bx;
+        float v = ax * cy - ay * cx;
+        float w = bx * ay - by * ax;
+        if (u == 0.0f || v == 0.0f || w == 0.0f) {
+            u = (float) ((double) cx * by - (double) cy * bx);
+            v = (float) ((double) ax * cy - (double) ay * cx);
+            w = (float) ((double) bx * ay - (double) by * ax);
+        }
+        if ((u < 0.0f || v < 0.0f || w < 0.0f) && (u > 0.0f || v > 0.0f || w > 0.0f))
+            return -1.0f;
+        float det = u + v + w;
+        if (det == 0.0f)
+            return -1.0f;
+        float invDet = 1.0f / det;
+        float t = (u * aKz + v * bKz + w * cKz) * sZ * invDet;
+        if (!(t >= 0.0f) || !(t < maxT))
+            return -1.0f;
+        if (result != null)
+            result.set(t, v * invDet, w * invDet);
+        return t;
+    }
+
     /**
      * Test whether the line segment with the end points <code>(p0X, p0Y, p0Z)</code> and <code>(p1X, p1Y, p1Z)</code>
      * intersects the triangle consisting of the three vertices <code>(v0X, v0Y, v0Z)</code>, <code>(v1X, v1Y, v1Z)</code> and <code>(v2X, v2Y, v2Z)</code>,
@@ -4225,6 +6280,24 @@ public class Intersectionf {
      *                {@link #POINT_ON_TRIANGLE_FACE}
      */
     public static int findClosestPointOnTriangle(float v0X, float v0Y, float v1X, float v1Y, float v2X, float v2Y, float pX, float pY, Vector2f result) {
+        float d1 = dotOfDifferences(v1X, v1Y, v0X, v0Y, pX, pY, v0X, v0Y);
+        float d2 = dotOfDifferences(v2X, v2Y, v0X, v0Y, pX, pY, v0X, v0Y);
+        float d3 = dotOfDifferences(v1X, v1Y, v0X, v0Y, pX, pY, v1X, v1Y);
+        float d4 = dotOfDifferences(v2X, v2Y, v0X, v0Y, pX, pY, v1X, v1Y);
+        float d5 = dotOfDifferences(v1X, v1Y, v0X, v0Y, pX, pY, v2X, v2Y);
+        float d6 = dotOfDifferences(v2X, v2Y, v0X, v0Y, pX, pY, v2X, v2Y);
+        float va = d3 * d6 - d5 * d4, vb = d5 * d2 - d1 * d6, vc = d1 * d4 - d3 * d2;
+        /* points projecting into the face but not lying in the Voronoi region of a vertex or an edge */
+        if (va > 0.0f && vb > 0.0f && vc > 0.0f && (d1 > 0.0f || d2 > 0.0f) && (d3 < 0.0f || d4 > d3) && (d6 < 0.0f || d5 > d6))
+            return findClosestPointOnTriangleFace(v0X, v0Y, v1X, v1Y, v2X, v2Y, va, vb, vc, result);
+        return findClosestPointOnTriangleRegion(v0X, v0Y, v1X, v1Y, v2X, v2Y, pX, pY, result);
+    }
+
+    /**
+     * The general case of {@link #findClosestPointOnTriangle(float, float, float, float, float, float, float, float, Vector2f)},
+     * which tests the Voronoi regions of the vertices, edges and the face one after another.
+     */
+    private static int findClosestPointOnTriangleRegion(float v0X, float v0Y, float v1X, float v1Y, float v2X, float v2Y, float pX, float pY, Vector2f result) {
         float abX = v1X - v0X, abY = v1Y - v0Y;
         float acX = v2X - v0X, acY = v2Y - v0Y;
         float apX = pX - v0X, apY = pY - v0Y;
@@ -4272,14 +6345,27 @@ public class Intersectionf {
             result.y = v1Y + w * (v2Y - v1Y);
             return POINT_ON_TRIANGLE_EDGE_12;
         }
+        return findClosestPointOnTriangleFace(v0X, v0Y, v1X, v1Y, v2X, v2Y, va, vb, vc, result);
+    }
+
+    private static int findClosestPointOnTriangleFace(float v0X, float v0Y, float v1X, float v1Y, float v2X, float v2Y,
+            float va, float vb, float vc, Vector2f result) {
         float denom = 1.0f / (va + vb + vc);
         float v = vb * denom;
         float w = vc * denom;
-        result.x = v0X + abX * v + acX * w;
-        result.y = v0Y + abY * v + acY * w;
+        result.x = v0X + (v1X - v0X) * v + (v2X - v0X) * w;
+        result.y = v0Y + (v1Y - v0Y) * v + (v2Y - v0Y) * w;
         return POINT_ON_TRIANGLE_FACE;
     }
 
+    /**
+     * Compute <code>(q - o) . (p - r)</code>, rounded exactly like the dot products computed by
+     * {@link #findClosestPointOnTriangleRegion(float, float, float, float, float, float, float, float, Vector2f)}.
+     */
+    private static float dotOfDifferences(float qX, float qY, float oX, float oY, float pX, float pY, float rX, float rY) {
+        return (qX - oX) * (pX - rX) + (qY - oY) * (pY - rY);
+    }
+
     /**
      * Determine the closest point on the triangle with the vertices <code>v0</code>, <code>v1</code>, <code>v2</code>
      * between that triangle and the given point <code>p</code> and store that point into the given <code>result</code>.
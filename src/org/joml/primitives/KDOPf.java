@@ -0,0 +1,691 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+//#ifdef __HAS_NIO__
+import java.nio.FloatBuffer;
+//#endif
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+
+import org.joml.Matrix4fc;
+import org.joml.Options;
+import org.joml.Runtime;
+import org.joml.Vector2f;
+import org.joml.Vector3f;
+
+/**
+ * Represents a discrete oriented polytope (k-DOP) using single-precision floating-point numbers.
+ * <p>
+ * A k-DOP is the intersection of <code>k/2</code> slabs, each bounded by a minimum and maximum value of the dot product
+ * <code>p * direction(i)</code> for all points <code>p</code> of the polytope. The slab directions are fixed, so that two
+ * k-DOPs with the same <code>k</code> can be tested for overlap by simple interval comparisons, like two {@link AABBf}s.
+ * The following values of <code>k</code> are supported:
+ * <ul>
+ * <li><code>14</code> - the three coordinate axes and the four corner diagonals <code>(1, 1, 1)</code>, <code>(1, 1, -1)</code>,
+ * <code>(1, -1, 1)</code> and <code>(-1, 1, 1)</code>
+ * <li><code>18</code> - the three coordinate axes and the six edge diagonals <code>(1, 1, 0)</code>, <code>(1, 0, 1)</code>,
+ * <code>(0, 1, 1)</code>, <code>(1, -1, 0)</code>, <code>(1, 0, -1)</code> and <code>(0, 1, -1)</code>
+ * <li><code>26</code> - the three coordinate axes, the four corner diagonals and the six edge diagonals, in this order
+ * </ul>
+ * The slab directions are not normalized, so the slab values along a diagonal are scaled by its length. The first three slabs
+ * are always the coordinate axes, so they directly hold the axis-aligned bounds of this k-DOP.
+ * <p>
+ * A newly created k-DOP is empty, with all minimum values being <code>+inf</code> and all maximum values being <code>-inf</code>.
+ * <p>
+ * Reference: <a href="https://doi.org/10.1109/2945.675649">Klosowski et al., "Efficient Collision Detection Using Bounding Volume
+ * Hierarchies of k-DOPs"</a>
+ */
+public class KDOPf {
+
+    private static final float[] DIRECTIONS_14 = {
+        1, 0, 0, 0, 1, 0, 0, 0, 1,
+        1, 1, 1, 1, 1, -1, 1, -1, 1, -1, 1, 1
+    };
+    private static final float[] DIRECTIONS_18 = {
+        1, 0, 0, 0, 1, 0, 0, 0, 1,
+        1, 1, 0, 1, 0, 1, 0, 1, 1, 1, -1, 0, 1, 0, -1, 0, 1, -1
+    };
+    private static final float[] DIRECTIONS_26 = {
+        1, 0, 0, 0, 1, 0, 0, 0, 1,
+        1, 1, 1, 1, 1, -1, 1, -1, 1, -1, 1, 1,
+        1, 1, 0, 1, 0, 1, 0, 1, 1, 1, -1, 0, 1, 0, -1, 0, 1, -1
+    };
+
+    private final int k;
+    private final float[] directions;
+    private final float[] min;
+    private final float[] max;
+
+    /**
+     * Create a new empty {@link KDOPf} with the given number <code>k</code> of planes.
+     * 
+     * @param k
+     *          the number of planes, which must be <code>14</code>, <code>18</code> or <code>26</code>
+     * @throws IllegalArgumentException if <code>k</code> is not one of the supported values
+     */
+    public KDOPf(int k) throws IllegalArgumentException {
+        switch (k) {
+        case 14:
+            directions = DIRECTIONS_14;
+            break;
+        case 18:
+            directions = DIRECTIONS_18;
+            break;
+        case 26:
+            directions = DIRECTIONS_26;
+            break;
+        default:
+            throw new IllegalArgumentException();
+        }
+        this.k = k;
+        this.min = new float[k >> 1];
+        this.max = new float[k >> 1];
+        setEmpty();
+    }
+
+    /**
+     * Create a new {@link KDOPf} as a copy of the given <code>source</code>.
+     * 
+     * @param source
+     *          the {@link KDOPf} to copy from
+     */
+    public KDOPf(KDOPf source) {
+        this(source.k);
+        set(source);
+    }
+
+    /**
+     * Return the number of planes of this k-DOP.
+     * 
+     * @return the value of <code>k</code>
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Return the number of slabs of this k-DOP, which is <code>k/2</code>.
+     * 
+     * @return the number of slabs
+     */
+    public int slabCount() {
+        return min.length;
+    }
+
+    /**
+     * Store the (non-normalized) direction of the given slab into <code>dest</code>.
+     * 
+     * @param slab
+     *          the index of the slab in <code>[0..k/2-1]</code>
+     * @param dest
+     *          will hold the direction
+     * @return dest
+     */
+    public Vector3f getDirection(int slab, Vector3f dest) {
+        int i = slab * 3;
+        return dest.set(directions[i], directions[i + 1], directions[i + 2]);
+    }
+
+    /**
+     * Return the minimum value of the dot product between the points of this k-DOP and the direction of the given slab.
+     * 
+     * @param slab
+     *          the index of the slab in <code>[0..k/2-1]</code>
+     * @return the minimum value of the slab
+     */
+    public float getMin(int slab) {
+        return min[slab];
+    }
+
+    /**
+     * Return the maximum value of the dot product between the points of this k-DOP and the direction of the given slab.
+     * 
+     * @param slab
+     *          the index of the slab in <code>[0..k/2-1]</code>
+     * @return the maximum value of the slab
+     */
+    public float getMax(int slab) {
+        return max[slab];
+    }
+
+    /**
+     * Set the interval of the given slab.
+     * 
+     * @param slab
+     *          the index of the slab in <code>[0..k/2-1]</code>
+     * @param min
+     *          the minimum value of the slab
+     * @param max
+     *          the maximum value of the slab
+     * @return this
+     */
+    public KDOPf setSlab(int slab, float min, float max) {
+        this.min[slab] = min;
+        this.max[slab] = max;
+        return this;
+    }
+
+    /**
+     * Set this {@link KDOPf} to be a copy of <code>source</code>.
+     * 
+     * @param source
+     *          the {@link KDOPf} to copy from, which must have the same <code>k</code> as this
+     * @return this
+     * @throws IllegalArgumentException if <code>source</code> has a different <code>k</code>
+     */
+    public KDOPf set(KDOPf source) throws IllegalArgumentException {
+        checkK(source);
+        System.arraycopy(source.min, 0, min, 0, min.length);
+        System.arraycopy(source.max, 0, max, 0, max.length);
+        return this;
+    }
+
+    /**
+     * Set this k-DOP to the smallest k-DOP containing the given axis-aligned box.
+     * 
+     * @param aabb
+     *          the axis-aligned box
+     * @return this
+     */
+    public KDOPf set(AABBfc aabb) {
+        float cX = (aabb.minX() + aabb.maxX()) * 0.5f, cY = (aabb.minY() + aabb.maxY()) * 0.5f, cZ = (aabb.minZ() + aabb.maxZ()) * 0.5f;
+        float eX = (aabb.maxX() - aabb.minX()) * 0.5f, eY = (aabb.maxY() - aabb.minY()) * 0.5f, eZ = (aabb.maxZ() - aabb.minZ()) * 0.5f;
+        for (int i = 0, d = 0; i < min.length; i++, d += 3) {
+            float nX = directions[d], nY = directions[d + 1], nZ = directions[d + 2];
+            float c = nX * cX + nY * cY + nZ * cZ;
+            float e = (nX < 0.0f ? -nX : nX) * eX + (nY < 0.0f ? -nY : nY) * eY + (nZ < 0.0f ? -nZ : nZ) * eZ;
+            min[i] = c - e;
+            max[i] = c + e;
+        }
+        return this;
+    }
+
+    /**
+     * Set this k-DOP to be empty, so that {@link #isValid()} returns <code>false</code> and the union with any point or
+     * other k-DOP is that point or k-DOP.
+     * 
+     * @return this
+     */
+    public KDOPf setEmpty() {
+        for (int i = 0; i < min.length; i++) {
+            min[i] = Float.POSITIVE_INFINITY;
+            max[i] = Float.NEGATIVE_INFINITY;
+        }
+        return this;
+    }
+
+    /**
+     * Set <code>this</code> to the smallest k-DOP containing the <code>count</code> points whose <code>(x, y, z)</code> coordinates
+     * are stored in <code>points</code> starting at <code>offset</code>, with <code>stride</code> array elements between the starts of two
+     * consecutive points.
+     * <p>
+     * If <code>count</code> is <code>0</code>, <code>this</code> will be empty.
+     * 
+     * @param points
+     *          the array containing the point coordinates
+     * @param offset
+     *          the position in <code>points</code> of the x coordinate of the first point
+     * @param stride
+     *          the number of array elements between the x coordinates of two consecutive points, at least <code>3</code>
+     * @param count
+     *          the number of points
+     * @return this
+     */
+    public KDOPf setFromPoints(float[] points, int offset, int stride, int count) {
+        setEmpty();
+        for (int i = 0, j = offset; i < count; i++, j += stride)
+            union(points[j], points[j + 1], points[j + 2]);
+        return this;
+    }
+
+    /**
+     * Set <code>this</code> to the smallest k-DOP containing the <code>count</code> points whose <code>(x, y, z)</code> coordinates
+     * are stored in <code>points</code> starting at <code>offset</code>, after transforming them by the given
+     * {@link Matrix4fc#isAffine() affine} matrix <code>m</code>.
+     * <p>
+     * This is the exact way of updating the k-DOP of transformed geometry, as opposed to {@link #transform(Matrix4fc, KDOPf)}.
+     * 
+     * @param points
+     *          the array containing the point coordinates
+     * @param offset
+     *          the position in <code>points</code> of the x coordinate of the first point
+     * @param stride
+     *          the number of array elements between the x coordinates of two consecutive points, at least <code>3</code>
+     * @param count
+     *          the number of points
+     * @param m
+     *          the affine transformation to apply to every point
+     * @return this
+     */
+    public KDOPf setFromPoints(float[] points, int offset, int stride, int count, Matrix4fc m) {
+        setEmpty();
+        for (int i = 0, j = offset; i < count; i++, j += stride) {
+            float x = points[j], y = points[j + 1], z = points[j + 2];
+            union(m.m00() * x + m.m10() * y + m.m20() * z + m.m30(),
+                  m.m01() * x + m.m11() * y + m.m21() * z + m.m31(),
+                  m.m02() * x + m.m12() * y + m.m22() * z + m.m32());
+        }
+        return this;
+    }
+
+//#ifdef __HAS_NIO__
+    /**
+     * Set <code>this</code> to the smallest k-DOP containing the <code>count</code> points whose <code>(x, y, z)</code> coordinates
+     * are stored in <code>points</code> starting at the absolute buffer position <code>offset</code>, with <code>stride</code> buffer elements
+     * between the starts of two consecutive points.
+     * <p>
+     * This method does not modify the position of the buffer.
+     * 
+     * @see #setFromPoints(float[], int, int, int)
+     * 
+     * @param points
+     *          the buffer containing the point coordinates
+     * @param offset
+     *          the absolute position in <code>points</code> of the x coordinate of the first point
+     * @param stride
+     *          the number of buffer elements between the x coordinates of two consecutive points, at least <code>3</code>
+     * @param count
+     *          the number of points
+     * @return this
+     */
+    public KDOPf setFromPoints(FloatBuffer points, int offset, int stride, int count) {
+        setEmpty();
+        for (int i = 0, j = offset; i < count; i++, j += stride)
+            union(points.get(j), points.get(j + 1), points.get(j + 2));
+        return this;
+    }
+//#endif
+
+    /**
+     * Set <code>this</code> to the union of <code>this</code> and the given point <code>(x, y, z)</code>.
+     * 
+     * @param x
+     *          the x coordinate of the point
+     * @param y
+     *          the y coordinate of the point
+     * @param z
+     *          the z coordinate of the point
+     * @return this
+     */
+    public KDOPf union(float x, float y, float z) {
+        for (int i = 0, d = 0; i < min.length; i++, d += 3) {
+            float v = directions[d] * x + directions[d + 1] * y + directions[d + 2] * z;
+            min[i] = min[i] < v ? min[i] : v;
+            max[i] = max[i] > v ? max[i] : v;
+        }
+        return this;
+    }
+
+    /**
+     * Set <code>this</code> to the union of <code>this</code> and <code>other</code>.
+     * 
+     * @param other
+     *          the other k-DOP, which must have the same <code>k</code> as this
+     * @return this
+     * @throws IllegalArgumentException if <code>other</code> has a different <code>k</code>
+     */
+    public KDOPf union(KDOPf other) throws IllegalArgumentException {
+        return union(other, this);
+    }
+
+    /**
+     * Compute the union of <code>this</code> and <code>other</code> and store the result in <code>dest</code>.
+     * 
+     * @param other
+     *          the other k-DOP, which must have the same <code>k</code> as this
+     * @param dest
+     *          will hold the result, which must have the same <code>k</code> as this
+     * @return dest
+     * @throws IllegalArgumentException if <code>other</code> or <code>dest</code> have a different <code>k</code>
+     */
+    public KDOPf union(KDOPf other, KDOPf dest) throws IllegalArgumentException {
+        checkK(other);
+        checkK(dest);
+        for (int i = 0; i < min.length; i++) {
+            dest.min[i] = min[i] < other.min[i] ? min[i] : other.min[i];
+            dest.max[i] = max[i] > other.max[i] ? max[i] : other.max[i];
+        }
+        return dest;
+    }
+
+    /**
+     * Translate <code>this</code> by the vector <code>(x, y, z)</code>.
+     * 
+     * @param x
+     *          the x coordinate to translate by
+     * @param y
+     *          the y coordinate to translate by
+     * @param z
+     *          the z coordinate to translate by
+     * @return this
+     */
+    public KDOPf translate(float x, float y, float z) {
+        for (int i = 0, d = 0; i < min.length; i++, d += 3) {
+            float v = directions[d] * x + directions[d + 1] * y + directions[d + 2] * z;
+            min[i] += v;
+            max[i] += v;
+        }
+        return this;
+    }
+
+    /**
+     * Apply the given {@link Matrix4fc#isAffine() affine} transformation to this k-DOP and store a k-DOP containing the result
+     * into <code>dest</code>.
+     * <p>
+     * The exact image of a k-DOP under a rotation is in general not a k-DOP with the same slab directions anymore. This method
+     * computes a conservative bound by transforming the axis-aligned bounds given by the first three slabs, so the result may be as
+     * loose as the k-DOP of the transformed {@link AABBf}. When the source geometry is available, use
+     * {@link #setFromPoints(float[], int, int, int, Matrix4fc)} to refit a tight k-DOP instead.
+     * 
+     * @param m
+     *          the affine transformation
+     * @param dest
+     *          will hold the result, which must have the same <code>k</code> as this
+     * @return dest
+     * @throws IllegalArgumentException if <code>dest</code> has a different <code>k</code>
+     */
+    public KDOPf transform(Matrix4fc m, KDOPf dest) throws IllegalArgumentException {
+        checkK(dest);
+        if (!isValid()) {
+            dest.setEmpty();
+            return dest;
+        }
+        float cX = (min[0] + max[0]) * 0.5f, cY = (min[1] + max[1]) * 0.5f, cZ = (min[2] + max[2]) * 0.5f;
+        float eX = (max[0] - min[0]) * 0.5f, eY = (max[1] - min[1]) * 0.5f, eZ = (max[2] - min[2]) * 0.5f;
+        float tX = m.m00() * cX + m.m10() * cY + m.m20() * cZ + m.m30();
+        float tY = m.m01() * cX + m.m11() * cY + m.m21() * cZ + m.m31();
+        float tZ = m.m02() * cX + m.m12() * cY + m.m22() * cZ + m.m32();
+        for (int i = 0, d = 0; i < min.length; i++, d += 3) {
+            float nX = directions[d], nY = directions[d + 1], nZ = directions[d + 2];
+            /* w = transpose(M) * n, so that dot(M * p, n) = dot(p, w) */
+            float wX = m.m00() * nX + m.m01() * nY + m.m02() * nZ;
+            float wY = m.m10() * nX + m.m11() * nY + m.m12() * nZ;
+            float wZ = m.m20() * nX + m.m21() * nY + m.m22() * nZ;
+            float c = nX * tX + nY * tY + nZ * tZ;
+            float e = (wX < 0.0f ? -wX : wX) * eX + (wY < 0.0f ? -wY : wY) * eY + (wZ < 0.0f ? -wZ : wZ) * eZ;
+            dest.min[i] = c - e;
+            dest.max[i] = c + e;
+        }
+        return dest;
+    }
+
+    /**
+     * Store the axis-aligned bounds of this k-DOP into <code>dest</code>.
+     * 
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public AABBf bounds(AABBf dest) {
+        dest.minX = min[0];
+        dest.minY = min[1];
+        dest.minZ = min[2];
+        dest.maxX = max[0];
+        dest.maxY = max[1];
+        dest.maxZ = max[2];
+        return dest;
+    }
+
+    /**
+     * Check whether <code>this</code> k-DOP represents a valid, non-empty polytope, that is, whether every minimum slab value is
+     * less than or equal to the corresponding maximum slab value.
+     * <p>
+     * Note that a k-DOP whose slabs do not have a common point can still be considered valid by this method.
+     * 
+     * @return <code>true</code> if this k-DOP is valid; <code>false</code> otherwise
+     */
+    public boolean isValid() {
+        for (int i = 0; i < min.length; i++)
+            if (!(min[i] <= max[i]))
+                return false;
+        return true;
+    }
+
+    /**
+     * Test whether the given point lies inside or on the boundary of this k-DOP.
+     * 
+     * @param x
+     *          the x coordinate of the point
+     * @param y
+     *          the y coordinate of the point
+     * @param z
+     *          the z coordinate of the point
+     * @return <code>true</code> if the point is contained in this k-DOP; <code>false</code> otherwise
+     */
+    public boolean containsPoint(float x, float y, float z) {
+        for (int i = 0, d = 0; i < min.length; i++, d += 3) {
+            float v = directions[d] * x + directions[d + 1] * y + directions[d + 2] * z;
+            if (v < min[i] || v > max[i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Test whether <code>this</code> and <code>other</code> intersect, by testing whether all of their slab intervals overlap.
+     * <p>
+     * Like for axis-aligned boxes, this test is exact for two k-DOPs with the same slab directions.
+     * 
+     * @param other
+     *          the other k-DOP, which must have the same <code>k</code> as this
+     * @return <code>true</code> iff both k-DOPs intersect; <code>false</code> otherwise
+     * @throws IllegalArgumentException if <code>other</code> has a different <code>k</code>
+     */
+    public boolean intersectsKDOP(KDOPf other) throws IllegalArgumentException {
+        checkK(other);
+        for (int i = 0; i < min.length; i++)
+            if (max[i] < other.min[i] || min[i] > other.max[i])
+                return false;
+        return true;
+    }
+
+    /**
+     * Test whether <code>this</code> k-DOP and the given axis-aligned box intersect.
+     * 
+     * @param aabb
+     *          the axis-aligned box
+     * @return <code>true</code> iff the k-DOP and the box intersect; <code>false</code> otherwise
+     */
+    public boolean intersectsAABB(AABBfc aabb) {
+        float cX = (aabb.minX() + aabb.maxX()) * 0.5f, cY = (aabb.minY() + aabb.maxY()) * 0.5f, cZ = (aabb.minZ() + aabb.maxZ()) * 0.5f;
+        float eX = (aabb.maxX() - aabb.minX()) * 0.5f, eY = (aabb.maxY() - aabb.minY()) * 0.5f, eZ = (aabb.maxZ() - aabb.minZ()) * 0.5f;
+        for (int i = 0, d = 0; i < min.length; i++, d += 3) {
+            float nX = directions[d], nY = directions[d + 1], nZ = directions[d + 2];
+            float c = nX * cX + nY * cY + nZ * cZ;
+            float e = (nX < 0.0f ? -nX : nX) * eX + (nY < 0.0f ? -nY : nY) * eY + (nZ < 0.0f ? -nZ : nZ) * eZ;
+            if (max[i] < c - e || min[i] > c + e)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Test whether the given ray with the origin <code>(originX, originY, originZ)</code> and direction <code>(dirX, dirY, dirZ)</code>
+     * intersects this k-DOP.
+     * 
+     * @param originX
+     *          the x coordinate of the ray's origin
+     * @param originY
+     *          the y coordinate of the ray's origin
+     * @param originZ
+     *          the z coordinate of the ray's origin
+     * @param dirX
+     *          the x coordinate of the ray's direction
+     * @param dirY
+     *          the y coordinate of the ray's direction
+     * @param dirZ
+     *          the z coordinate of the ray's direction
+     * @return <code>true</code> if this k-DOP and the ray intersect; <code>false</code> otherwise
+     */
+    public boolean intersectsRay(float originX, float originY, float originZ, float dirX, float dirY, float dirZ) {
+        return intersectsRay(originX, originY, originZ, dirX, dirY, dirZ, null);
+    }
+
+    /**
+     * Test whether the given ray intersects this k-DOP.
+     * 
+     * @param ray
+     *          the ray
+     * @return <code>true</code> if this k-DOP and the ray intersect; <code>false</code> otherwise
+     */
+    public boolean intersectsRay(Rayf ray) {
+        return intersectsRay(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, null);
+    }
+
+    /**
+     * Determine whether the given ray with the origin <code>(originX, originY, originZ)</code> and direction <code>(dirX, dirY, dirZ)</code>
+     * intersects this k-DOP, and return the values of the parameter <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i> of the
+     * near and far point of intersection.
+     * <p>
+     * This clips the ray against all <code>k/2</code> slabs, like {@link Intersectionf#intersectRayAab(float, float, float, float, float, float, float, float, float, float, float, float, Vector2f)}
+     * does against the three slabs of an axis-aligned box.
+     * 
+     * @param originX
+     *          the x coordinate of the ray's origin
+     * @param originY
+     *          the y coordinate of the ray's origin
+     * @param originZ
+     *          the z coordinate of the ray's origin
+     * @param dirX
+     *          the x coordinate of the ray's direction
+     * @param dirY
+     *          the y coordinate of the ray's direction
+     * @param dirZ
+     *          the z coordinate of the ray's direction
+     * @param result
+     *          a vector which will hold the values of the parameter <i>t</i> of the near and far point of intersection
+     *          iff the ray intersects this k-DOP (may be <code>null</code>)
+     * @return <code>true</code> if this k-DOP and the ray intersect; <code>false</code> otherwise
+     */
+    public boolean intersectsRay(float originX, float originY, float originZ, float dirX, float dirY, float dirZ, Vector2f result) {
+        float tNear = Float.NEGATIVE_INFINITY, tFar = Float.POSITIVE_INFINITY;
+        for (int i = 0, d = 0; i < min.length; i++, d += 3) {
+            float nX = directions[d], nY = directions[d + 1], nZ = directions[d + 2];
+            float o = nX * originX + nY * originY + nZ * originZ;
+            float v = nX * dirX + nY * dirY + nZ * dirZ;
+            if (v == 0.0f) {
+                if (o < min[i] || o > max[i])
+                    return false;
+                continue;
+            }
+            float invV = 1.0f / v;
+            float t0 = (min[i] - o) * invV, t1 = (max[i] - o) * invV;
+            if (invV < 0.0f) {
+                float t = t0;
+                t0 = t1;
+                t1 = t;
+            }
+            tNear = t0 > tNear ? t0 : tNear;
+            tFar = t1 < tFar ? t1 : tFar;
+            if (tNear > tFar || tFar < 0.0f)
+                return false;
+        }
+        if (result != null) {
+            result.x = tNear;
+            result.y = tFar;
+        }
+        return true;
+    }
+
+    /**
+     * Determine whether the given ray intersects this k-DOP, and return the values of the parameter <i>t</i> in the ray equation
+     * <i>p(t) = origin + t * dir</i> of the near and far point of intersection.
+     * 
+     * @see #intersectsRay(float, float, float, float, float, float, Vector2f)
+     * 
+     * @param ray
+     *          the ray
+     * @param result
+     *          a vector which will hold the values of the parameter <i>t</i> of the near and far point of intersection
+     *          iff the ray intersects this k-DOP
+     * @return <code>true</code> if this k-DOP and the ray intersect; <code>false</code> otherwise
+     */
+    public boolean intersectsRay(Rayf ray, Vector2f result) {
+        return intersectsRay(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, result);
+    }
+
+    private void checkK(KDOPf other) throws IllegalArgumentException {
+        if (other.k != k)
+            throw new IllegalArgumentException();
+    }
+
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + k;
+        for (int i = 0; i < min.length; i++) {
+            result = prime * result + Float.floatToIntBits(min[i]);
+            result = prime * result + Float.floatToIntBits(max[i]);
+        }
+        return result;
+    }
+
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        KDOPf other = (KDOPf) obj;
+        if (k != other.k)
+            return false;
+        for (int i = 0; i < min.length; i++) {
+            if (Float.floatToIntBits(min[i]) != Float.floatToIntBits(other.min[i]))
+                return false;
+            if (Float.floatToIntBits(max[i]) != Float.floatToIntBits(other.max[i]))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Return a string representation of this k-DOP.
+     * <p>
+     * This method creates a new {@link DecimalFormat} on every invocation with the format string "<code>0.000E0;-</code>".
+     * 
+     * @return the string representation
+     */
+    public String toString() {
+        return Runtime.formatNumbers(toString(Options.NUMBER_FORMAT));
+    }
+
+    /**
+     * Return a string representation of this k-DOP by formatting the slab intervals with the given {@link NumberFormat}.
+     * 
+     * @param formatter
+     *          the {@link NumberFormat} used to format the slab intervals with
+     * @return the string representation
+     */
+    public String toString(NumberFormat formatter) {
+        StringBuffer sb = new StringBuffer();
+        for (int i = 0; i < min.length; i++) {
+            sb.append(i == 0 ? "(" : " (");
+            sb.append(Runtime.format(min[i], formatter)).append(' ').append(Runtime.format(max[i], formatter)).append(')');
+        }
+        return sb.toString();
+    }
+
+}
@@ -30,8 +30,11 @@ import java.io.ObjectOutput;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 
+import org.joml.Math;
+import org.joml.Matrix4fc;
 import org.joml.Options;
 import org.joml.Runtime;
+import org.joml.Vector3f;
 import org.joml.Vector3fc;
 
 /**
@@ -39,7 +42,7 @@ import org.joml.Vector3fc;
  * 
  * @author Kai Burjack
  */
-public class LineSegmentf implements Externalizable {
+public class LineSegmentf implements Externalizable, SupportFunctionf {
 
     /**
      * The x coordinate of the first point.
@@ -130,6 +133,99 @@ public class LineSegmentf implements Externalizable {
         this.bZ = bZ;
     }
 
+    /**
+     * Compute the point of this line segment that lies farthest in the direction <code>(dirX, dirY, dirZ)</code> and store it into <code>dest</code>.
+     * 
+     * @param dirX
+     *          the x coordinate of the direction
+     * @param dirY
+     *          the y coordinate of the direction
+     * @param dirZ
+     *          the z coordinate of the direction
+     * @param dest
+     *          will hold the support point
+     * @return dest
+     */
+    public Vector3f support(float dirX, float dirY, float dirZ, Vector3f dest) {
+        if (aX * dirX + aY * dirY + aZ * dirZ >= bX * dirX + bY * dirY + bZ * dirZ)
+            return dest.set(aX, aY, aZ);
+        return dest.set(bX, bY, bZ);
+    }
+
+    /**
+     * Transform <code>this</code> line segment by the given {@link Matrix4fc#isAffine() affine} transformation.
+     * 
+     * @see #transform(Matrix4fc, LineSegmentf)
+     * 
+     * @param m
+     *          the affine transformation matrix
+     * @return this
+     */
+    public LineSegmentf transform(Matrix4fc m) {
+        return transform(m, this);
+    }
+
+    /**
+     * Transform both end points of <code>this</code> line segment by the given {@link Matrix4fc#isAffine() affine}
+     * transformation and store the result in <code>dest</code>.
+     * 
+     * @param m
+     *          the affine transformation matrix
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public LineSegmentf transform(Matrix4fc m, LineSegmentf dest) {
+        float m00 = m.m00(), m01 = m.m01(), m02 = m.m02();
+        float m10 = m.m10(), m11 = m.m11(), m12 = m.m12();
+        float m20 = m.m20(), m21 = m.m21(), m22 = m.m22();
+        float m30 = m.m30(), m31 = m.m31(), m32 = m.m32();
+        float aX = this.aX, aY = this.aY, aZ = this.aZ, bX = this.bX, bY = this.bY, bZ = this.bZ;
+        dest.aX = Math.fma(m00, aX, Math.fma(m10, aY, Math.fma(m20, aZ, m30)));
+        dest.aY = Math.fma(m01, aX, Math.fma(m11, aY, Math.fma(m21, aZ, m31)));
+        dest.aZ = Math.fma(m02, aX, Math.fma(m12, aY, Math.fma(m22, aZ, m32)));
+        dest.bX = Math.fma(m00, bX, Math.fma(m10, bY, Math.fma(m20, bZ, m30)));
+        dest.bY = Math.fma(m01, bX, Math.fma(m11, bY, Math.fma(m21, bZ, m31)));
+        dest.bZ = Math.fma(m02, bX, Math.fma(m12, bY, Math.fma(m22, bZ, m32)));
+        return dest;
+    }
+
+    /**
+     * Transform <code>count</code> line segments packed into <code>src</code> by the given {@link Matrix4fc#isAffine() affine}
+     * transformation and store the results into <code>dest</code>.
+     * <p>
+     * Each line segment occupies six consecutive elements in the order <code>aX, aY, aZ, bX, bY, bZ</code>.
+     * <code>src</code> and <code>dest</code> may be the same array with the same offset.
+     * 
+     * @see #transform(Matrix4fc, LineSegmentf)
+     * 
+     * @param m
+     *          the affine transformation matrix
+     * @param src
+     *          the packed source line segments
+     * @param srcOffset
+     *          the index of the first element of the first line segment in <code>src</code>
+     * @param dest
+     *          will hold the packed transformed line segments
+     * @param destOffset
+     *          the index of the first element of the first line segment in <code>dest</code>
+     * @param count
+     *          the number of line segments
+     */
+    public static void transformAll(Matrix4fc m, float[] src, int srcOffset, float[] dest, int destOffset, int count) {
+        float m00 = m.m00(), m01 = m.m01(), m02 = m.m02();
+        float m10 = m.m10(), m11 = m.m11(), m12 = m.m12();
+        float m20 = m.m20(), m21 = m.m21(), m22 = m.m22();
+        float m30 = m.m30(), m31 = m.m31(), m32 = m.m32();
+        // both end points are transformed the same way, so treat the batch as 2 * count positions
+        for (int i = 0, n = count << 1, s = srcOffset, d = destOffset; i < n; i++, s += 3, d += 3) {
+            float x = src[s], y = src[s + 1], z = src[s + 2];
+            dest[d] = Math.fma(m00, x, Math.fma(m10, y, Math.fma(m20, z, m30)));
+            dest[d + 1] = Math.fma(m01, x, Math.fma(m11, y, Math.fma(m21, z, m31)));
+            dest[d + 2] = Math.fma(m02, x, Math.fma(m12, y, Math.fma(m22, z, m32)));
+        }
+    }
+
     public int hashCode() {
         final int prime = 31;
         int result = 1;
@@ -0,0 +1,238 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import org.joml.Math;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+
+/**
+ * Represents a 3D oriented box given by its center, three orthonormal axes and the half sizes along those axes.
+ */
+public class OrientedBoxf implements SupportFunctionf {
+
+    /**
+     * The x coordinate of the box's center.
+     */
+    public float cX;
+    /**
+     * The y coordinate of the box's center.
+     */
+    public float cY;
+    /**
+     * The z coordinate of the box's center.
+     */
+    public float cZ;
+    /**
+     * The x coordinate of the box's local x axis.
+     */
+    public float uXx = 1.0f;
+    /**
+     * The y coordinate of the box's local x axis.
+     */
+    public float uXy;
+    /**
+     * The z coordinate of the box's local x axis.
+     */
+    public float uXz;
+    /**
+     * The x coordinate of the box's local y axis.
+     */
+    public float uYx;
+    /**
+     * The y coordinate of the box's local y axis.
+     */
+    public float uYy = 1.0f;
+    /**
+     * The z coordinate of the box's local y axis.
+     */
+    public float uYz;
+    /**
+     * The x coordinate of the box's local z axis.
+     */
+    public float uZx;
+    /**
+     * The y coordinate of the box's local z axis.
+     */
+    public float uZy;
+    /**
+     * The z coordinate of the box's local z axis.
+     */
+    public float uZz = 1.0f;
+    /**
+     * The half size of the box along its local x axis.
+     */
+    public float hsX;
+    /**
+     * The half size of the box along its local y axis.
+     */
+    public float hsY;
+    /**
+     * The half size of the box along its local z axis.
+     */
+    public float hsZ;
+
+    /**
+     * Create a new {@link OrientedBoxf} centered at <code>(0, 0, 0)</code>, aligned with the coordinate axes and with all half sizes <code>0</code>.
+     */
+    public OrientedBoxf() {
+    }
+
+    /**
+     * Create a new {@link OrientedBoxf} as a copy of the given <code>source</code>.
+     * 
+     * @param source
+     *          the {@link OrientedBoxf} to copy from
+     */
+    public OrientedBoxf(OrientedBoxf source) {
+        set(source);
+    }
+
+    /**
+     * Create a new {@link OrientedBoxf} with the given center, orthonormal axes and half sizes.
+     * 
+     * @param center
+     *          the center of the box
+     * @param uX
+     *          the local x axis of the box
+     * @param uY
+     *          the local y axis of the box
+     * @param uZ
+     *          the local z axis of the box
+     * @param halfSize
+     *          the half sizes of the box along its local axes
+     */
+    public OrientedBoxf(Vector3fc center, Vector3fc uX, Vector3fc uY, Vector3fc uZ, Vector3fc halfSize) {
+        set(center.x(), center.y(), center.z(), uX.x(), uX.y(), uX.z(), uY.x(), uY.y(), uY.z(), uZ.x(), uZ.y(), uZ.z(), halfSize.x(), halfSize.y(), halfSize.z());
+    }
+
+    /**
+     * Set this {@link OrientedBoxf} to be a copy of <code>source</code>.
+     * 
+     * @param source
+     *          the {@link OrientedBoxf} to copy from
+     * @return this
+     */
+    public OrientedBoxf set(OrientedBoxf source) {
+        return set(source.cX, source.cY, source.cZ, source.uXx, source.uXy, source.uXz, source.uYx, source.uYy, source.uYz,
+                source.uZx, source.uZy, source.uZz, source.hsX, source.hsY, source.hsZ);
+    }
+
+    /**
+     * Set the center, orthonormal axes and half sizes of this box.
+     * 
+     * @param cX
+     *          the x coordinate of the center
+     * @param cY
+     *          the y coordinate of the center
+     * @param cZ
+     *          the z coordinate of the center
+     * @param uXx
+     *          the x coordinate of the local x axis
+     * @param uXy
+     *          the y coordinate of the local x axis
+     * @param uXz
+     *          the z coordinate of the local x axis
+     * @param uYx
+     *          the x coordinate of the local y axis
+     * @param uYy
+     *          the y coordinate of the local y axis
+     * @param uYz
+     *          the z coordinate of the local y axis
+     * @param uZx
+     *          the x coordinate of the local z axis
+     * @param uZy
+     *          the y coordinate of the local z axis
+     * @param uZz
+     *          the z coordinate of the local z axis
+     * @param hsX
+     *          the half size along the local x axis
+     * @param hsY
+     *          the half size along the local y axis
+     * @param hsZ
+     *          the half size along the local z axis
+     * @return this
+     */
+    public OrientedBoxf set(float cX, float cY, float cZ, float uXx, float uXy, float uXz, float uYx, float uYy, float uYz,
+            float uZx, float uZy, float uZz, float hsX, float hsY, float hsZ) {
+        this.cX = cX; this.cY = cY; this.cZ = cZ;
+        this.uXx = uXx; this.uXy = uXy; this.uXz = uXz;
+        this.uYx = uYx; this.uYy = uYy; this.uYz = uYz;
+        this.uZx = uZx; this.uZy = uZy; this.uZz = uZz;
+        this.hsX = hsX; this.hsY = hsY; this.hsZ = hsZ;
+        return this;
+    }
+
+    /**
+     * Compute the axis-aligned bounding box of this oriented box and store it into <code>dest</code>.
+     * 
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public AABBf bounds(AABBf dest) {
+        float eX = Math.abs(uXx) * hsX + Math.abs(uYx) * hsY + Math.abs(uZx) * hsZ;
+        float eY = Math.abs(uXy) * hsX + Math.abs(uYy) * hsY + Math.abs(uZy) * hsZ;
+        float eZ = Math.abs(uXz) * hsX + Math.abs(uYz) * hsY + Math.abs(uZz) * hsZ;
+        return dest.setMin(cX - eX, cY - eY, cZ - eZ).setMax(cX + eX, cY + eY, cZ + eZ);
+    }
+
+    /**
+     * Test whether this oriented box and the given <code>other</code> oriented box intersect.
+     * 
+     * @see Intersectionf#testObOb(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float)
+     * 
+     * @param other
+     *          the other oriented box
+     * @return <code>true</code> iff both boxes intersect; <code>false</code> otherwise
+     */
+    public boolean testOb(OrientedBoxf other) {
+        return Intersectionf.testObOb(cX, cY, cZ, uXx, uXy, uXz, uYx, uYy, uYz, uZx, uZy, uZz, hsX, hsY, hsZ,
+                other.cX, other.cY, other.cZ, other.uXx, other.uXy, other.uXz, other.uYx, other.uYy, other.uYz,
+                other.uZx, other.uZy, other.uZz, other.hsX, other.hsY, other.hsZ);
+    }
+
+    /**
+     * Compute the point of this oriented box that lies farthest in the direction <code>(dirX, dirY, dirZ)</code> and store it into <code>dest</code>.
+     * 
+     * @param dirX
+     *          the x coordinate of the direction
+     * @param dirY
+     *          the y coordinate of the direction
+     * @param dirZ
+     *          the z coordinate of the direction
+     * @param dest
+     *          will hold the support point
+     * @return dest
+     */
+    public Vector3f support(float dirX, float dirY, float dirZ, Vector3f dest) {
+        float sX = uXx * dirX + uXy * dirY + uXz * dirZ < 0.0f ? -hsX : hsX;
+        float sY = uYx * dirX + uYy * dirY + uYz * dirZ < 0.0f ? -hsY : hsY;
+        float sZ = uZx * dirX + uZy * dirY + uZz * dirZ < 0.0f ? -hsZ : hsZ;
+        return dest.set(cX + uXx * sX + uYx * sY + uZx * sZ,
+                        cY + uXy * sX + uYy * sY + uZy * sZ,
+                        cZ + uXz * sX + uYz * sY + uZz * sZ);
+    }
+
+}
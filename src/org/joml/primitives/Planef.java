@@ -31,6 +31,7 @@ import java.text.DecimalFormat;
 import java.text.NumberFormat;
 
 import org.joml.Math;
+import org.joml.Matrix4fc;
 import org.joml.Options;
 import org.joml.Runtime;
 import org.joml.Vector3f;
@@ -266,6 +267,161 @@ public class Planef implements Externalizable {
         return dest;
     }
 
+    /**
+     * Transform <code>this</code> plane by the given {@link Matrix4fc#isAffine() affine} transformation.
+     * 
+     * @see #transform(Matrix4fc, Planef)
+     * 
+     * @param m
+     *          the affine transformation matrix
+     * @return this
+     */
+    public Planef transform(Matrix4fc m) {
+        return transform(m, this);
+    }
+
+    /**
+     * Transform <code>this</code> plane by the given {@link Matrix4fc#isAffine() affine} transformation
+     * and store the result in <code>dest</code>.
+     * <p>
+     * A plane transforms by the inverse transpose of <code>m</code>. The inverse of the upper-left 3x3 submatrix is
+     * computed from its cofactors without allocating a temporary matrix. If the inverse transpose is already available,
+     * use {@link #transformInverseTranspose(Matrix4fc, Planef)} instead.
+     * <p>
+     * When <code>m</code> is {@link Matrix4fc#PROPERTY_ORTHONORMAL orthonormal}, its upper-left 3x3 submatrix is used directly.
+     * <p>
+     * The result is not normalized when <code>m</code> contains a non-uniform scaling. The matrix must be invertible.
+     * 
+     * @param m
+     *          the affine transformation matrix
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Planef transform(Matrix4fc m, Planef dest) {
+        if ((m.properties() & Matrix4fc.PROPERTY_ORTHONORMAL) == 0)
+            return transformGeneric(m, dest);
+        // the inverse transpose of an orthonormal matrix is the matrix itself
+        float a = this.a, b = this.b, c = this.c;
+        float na = Math.fma(m.m00(), a, Math.fma(m.m10(), b, m.m20() * c));
+        float nb = Math.fma(m.m01(), a, Math.fma(m.m11(), b, m.m21() * c));
+        float nc = Math.fma(m.m02(), a, Math.fma(m.m12(), b, m.m22() * c));
+        dest.a = na;
+        dest.b = nb;
+        dest.c = nc;
+        dest.d = d - Math.fma(na, m.m30(), Math.fma(nb, m.m31(), nc * m.m32()));
+        return dest;
+    }
+
+    private Planef transformGeneric(Matrix4fc m, Planef dest) {
+        float m00 = m.m00(), m01 = m.m01(), m02 = m.m02();
+        float m10 = m.m10(), m11 = m.m11(), m12 = m.m12();
+        float m20 = m.m20(), m21 = m.m21(), m22 = m.m22();
+        // columns of the inverse transpose are the cross products of the columns of m, divided by the determinant
+        float i00 = m11 * m22 - m12 * m21, i01 = m12 * m20 - m10 * m22, i02 = m10 * m21 - m11 * m20;
+        float i10 = m21 * m02 - m22 * m01, i11 = m22 * m00 - m20 * m02, i12 = m20 * m01 - m21 * m00;
+        float i20 = m01 * m12 - m02 * m11, i21 = m02 * m10 - m00 * m12, i22 = m00 * m11 - m01 * m10;
+        float invDet = 1.0f / Math.fma(m00, i00, Math.fma(m01, i01, m02 * i02));
+        float a = this.a, b = this.b, c = this.c;
+        float na = Math.fma(i00, a, Math.fma(i10, b, i20 * c)) * invDet;
+        float nb = Math.fma(i01, a, Math.fma(i11, b, i21 * c)) * invDet;
+        float nc = Math.fma(i02, a, Math.fma(i12, b, i22 * c)) * invDet;
+        dest.a = na;
+        dest.b = nb;
+        dest.c = nc;
+        dest.d = d - Math.fma(na, m.m30(), Math.fma(nb, m.m31(), nc * m.m32()));
+        return dest;
+    }
+
+    /**
+     * Transform <code>this</code> plane by the transformation whose inverse transpose is <code>m</code>.
+     * 
+     * @see #transformInverseTranspose(Matrix4fc, Planef)
+     * 
+     * @param m
+     *          the inverse transpose of the transformation matrix
+     * @return this
+     */
+    public Planef transformInverseTranspose(Matrix4fc m) {
+        return transformInverseTranspose(m, this);
+    }
+
+    /**
+     * Transform <code>this</code> plane by the transformation whose inverse transpose is <code>m</code>
+     * and store the result in <code>dest</code>.
+     * <p>
+     * This multiplies the plane coefficients <code>(a, b, c, d)</code> by <code>m</code>, which avoids inverting
+     * the matrix when the same transformation is applied to many planes. Unlike {@link #transform(Matrix4fc, Planef)}
+     * the matrix does not need to be affine.
+     * 
+     * @param m
+     *          the inverse transpose of the transformation matrix
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Planef transformInverseTranspose(Matrix4fc m, Planef dest) {
+        float a = this.a, b = this.b, c = this.c, d = this.d;
+        dest.a = Math.fma(m.m00(), a, Math.fma(m.m10(), b, Math.fma(m.m20(), c, m.m30() * d)));
+        dest.b = Math.fma(m.m01(), a, Math.fma(m.m11(), b, Math.fma(m.m21(), c, m.m31() * d)));
+        dest.c = Math.fma(m.m02(), a, Math.fma(m.m12(), b, Math.fma(m.m22(), c, m.m32() * d)));
+        dest.d = Math.fma(m.m03(), a, Math.fma(m.m13(), b, Math.fma(m.m23(), c, m.m33() * d)));
+        return dest;
+    }
+
+    /**
+     * Transform <code>count</code> planes packed into <code>src</code> by the given {@link Matrix4fc#isAffine() affine}
+     * transformation and store the results into <code>dest</code>.
+     * <p>
+     * Each plane occupies four consecutive elements in the order <code>a, b, c, d</code>.
+     * The inverse transpose of <code>m</code> is computed only once for the whole batch.
+     * <code>src</code> and <code>dest</code> may be the same array with the same offset.
+     * 
+     * @see #transform(Matrix4fc, Planef)
+     * 
+     * @param m
+     *          the affine transformation matrix
+     * @param src
+     *          the packed source planes
+     * @param srcOffset
+     *          the index of the first element of the first plane in <code>src</code>
+     * @param dest
+     *          will hold the packed transformed planes
+     * @param destOffset
+     *          the index of the first element of the first plane in <code>dest</code>
+     * @param count
+     *          the number of planes
+     */
+    public static void transformAll(Matrix4fc m, float[] src, int srcOffset, float[] dest, int destOffset, int count) {
+        float m00 = m.m00(), m01 = m.m01(), m02 = m.m02();
+        float m10 = m.m10(), m11 = m.m11(), m12 = m.m12();
+        float m20 = m.m20(), m21 = m.m21(), m22 = m.m22();
+        float m30 = m.m30(), m31 = m.m31(), m32 = m.m32();
+        float i00 = m11 * m22 - m12 * m21, i01 = m12 * m20 - m10 * m22, i02 = m10 * m21 - m11 * m20;
+        float i10 = m21 * m02 - m22 * m01, i11 = m22 * m00 - m20 * m02, i12 = m20 * m01 - m21 * m00;
+        float i20 = m01 * m12 - m02 * m11, i21 = m02 * m10 - m00 * m12, i22 = m00 * m11 - m01 * m10;
+        float invDet = 1.0f / Math.fma(m00, i00, Math.fma(m01, i01, m02 * i02));
+        i00 *= invDet;
+        i01 *= invDet;
+        i02 *= invDet;
+        i10 *= invDet;
+        i11 *= invDet;
+        i12 *= invDet;
+        i20 *= invDet;
+        i21 *= invDet;
+        i22 *= invDet;
+        for (int i = 0, s = srcOffset, d = destOffset; i < count; i++, s += 4, d += 4) {
+            float a = src[s], b = src[s + 1], c = src[s + 2], pd = src[s + 3];
+            float na = Math.fma(i00, a, Math.fma(i10, b, i20 * c));
+            float nb = Math.fma(i01, a, Math.fma(i11, b, i21 * c));
+            float nc = Math.fma(i02, a, Math.fma(i12, b, i22 * c));
+            dest[d] = na;
+            dest[d + 1] = nb;
+            dest[d + 2] = nc;
+            dest[d + 3] = pd - Math.fma(na, m30, Math.fma(nb, m31, nc * m32));
+        }
+    }
+
     public int hashCode() {
         final int prime = 31;
         int result = 1;
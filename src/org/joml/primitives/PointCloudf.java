@@ -0,0 +1,140 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import org.joml.Vector3f;
+
+/**
+ * Represents the convex hull of a set of 3D points stored as consecutive <code>(x, y, z)</code> coordinates in a <code>float[]</code>.
+ * <p>
+ * The hull is never built explicitly. Its support function simply returns the point with the largest projection onto
+ * the given direction, which makes this class suitable for the {@link GJKf} solver without any preprocessing.
+ * <p>
+ * The array is referenced and not copied, so changes to it are reflected by this point cloud.
+ */
+public class PointCloudf implements SupportFunctionf {
+
+    /**
+     * The <code>(x, y, z)</code> coordinates of the points.
+     */
+    public float[] points;
+    /**
+     * The position in {@link #points} of the x coordinate of the first point.
+     */
+    public int offset;
+    /**
+     * The number of points.
+     */
+    public int count;
+
+    /**
+     * Create a new empty {@link PointCloudf}.
+     */
+    public PointCloudf() {
+    }
+
+    /**
+     * Create a new {@link PointCloudf} referencing all points in the given array.
+     * 
+     * @param points
+     *          the <code>(x, y, z)</code> coordinates of the points
+     */
+    public PointCloudf(float[] points) {
+        this(points, 0, points.length / 3);
+    }
+
+    /**
+     * Create a new {@link PointCloudf} referencing <code>count</code> points in the given array starting at <code>offset</code>.
+     * 
+     * @param points
+     *          the <code>(x, y, z)</code> coordinates of the points
+     * @param offset
+     *          the position in <code>points</code> of the x coordinate of the first point
+     * @param count
+     *          the number of points
+     */
+    public PointCloudf(float[] points, int offset, int count) {
+        set(points, offset, count);
+    }
+
+    /**
+     * Reference <code>count</code> points in the given array starting at <code>offset</code>.
+     * 
+     * @param points
+     *          the <code>(x, y, z)</code> coordinates of the points
+     * @param offset
+     *          the position in <code>points</code> of the x coordinate of the first point
+     * @param count
+     *          the number of points
+     * @return this
+     */
+    public PointCloudf set(float[] points, int offset, int count) {
+        this.points = points;
+        this.offset = offset;
+        this.count = count;
+        return this;
+    }
+
+    /**
+     * Compute the axis-aligned bounding box of all points and store it into <code>dest</code>.
+     * 
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public AABBf bounds(AABBf dest) {
+        dest.setMin(Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY);
+        dest.setMax(Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY);
+        for (int i = offset, end = offset + 3 * count; i < end; i += 3)
+            dest.union(points[i], points[i + 1], points[i + 2]);
+        return dest;
+    }
+
+    /**
+     * Compute the point of this point cloud that lies farthest in the direction <code>(dirX, dirY, dirZ)</code> and store it into <code>dest</code>.
+     * 
+     * @param dirX
+     *          the x coordinate of the direction
+     * @param dirY
+     *          the y coordinate of the direction
+     * @param dirZ
+     *          the z coordinate of the direction
+     * @param dest
+     *          will hold the support point
+     * @return dest
+     */
+    public Vector3f support(float dirX, float dirY, float dirZ, Vector3f dest) {
+        int best = offset;
+        float bestDot = Float.NEGATIVE_INFINITY;
+        for (int i = offset, end = offset + 3 * count; i < end; i += 3) {
+            float dot = points[i] * dirX + points[i + 1] * dirY + points[i + 2] * dirZ;
+            if (dot > bestDot) {
+                bestDot = dot;
+                best = i;
+            }
+        }
+        return dest.set(points[best], points[best + 1], points[best + 2]);
+    }
+
+}
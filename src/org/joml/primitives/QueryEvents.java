@@ -0,0 +1,65 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+/**
+ * Reports the work done by batch queries, such as {@link Intersectionf#testRayAabs(float, float, float, float, float, float, float[], int, int, int[]) testRayAabs},
+ * {@link Frustumf#testAabs(float[], int, int, int[]) Frustumf.testAabs} or {@link AABBf#transformAll(org.joml.Matrix4fc, float[], int, float[], int, int) AABBf.transformAll}.
+ * <p>
+ * This implementation does nothing. On Java 11 and later, the multi-release jar replaces this class with one that emits a Java Flight Recorder
+ * event holding the name of the operation, the number of candidates, the number of hits and the duration of each batch.
+ * Both implementations must therefore declare the same members.
+ * <p>
+ * A batch query calls {@link #begin()} before its work and passes the returned token to {@link #end(Object, String, int, int)} afterwards.
+ */
+final class QueryEvents {
+
+    private QueryEvents() {
+    }
+
+    /**
+     * Start timing a batch query.
+     * 
+     * @return a token to pass to {@link #end(Object, String, int, int)}; or <code>null</code> if no event will be recorded
+     */
+    static Object begin() {
+        return null;
+    }
+
+    /**
+     * Finish timing the batch query started by {@link #begin()} and record its result.
+     * 
+     * @param event
+     *          the token returned by {@link #begin()}
+     * @param operation
+     *          the name of the batch query
+     * @param candidates
+     *          the number of primitives the query considered
+     * @param hits
+     *          the number of primitives the query reported
+     */
+    static void end(Object event, String operation, int candidates, int hits) {
+    }
+
+}
@@ -0,0 +1,567 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import org.joml.Vector2f;
+
+/**
+ * Casts batches of rays against a shared set of triangles or axis-aligned boxes on several threads.
+ * <p>
+ * The rays are given as separate arrays of their origin and direction components. Each call first builds a bounding volume hierarchy
+ * over the primitives on the calling thread: the primitives are split recursively at the center of the bounds of their centroids along
+ * the longest axis, until at most four remain in a leaf, and the nodes are stored in flat arrays in depth-first order together with the
+ * coordinates of the primitives packed in the order of the leaves. Every ray then descends into the nearer child first and skips all
+ * nodes it enters behind the nearest hit found so far, so that a ray usually tests only a few primitives instead of all of them.
+ * <p>
+ * Before casting, the rays are ordered by the octant of their direction, that is, by the signs of its three components, using a counting
+ * sort, so that consecutive rays take the same branches in the slab tests and visit the children of a node in the same order. The batch is
+ * split into a number of chunks which the threads claim one after another, and all chunks share the hierarchy read-only. The results are
+ * stored at the original index of each ray, so the caller never sees the reordering.
+ * <p>
+ * The triangles and boxes are only read, so the same arrays may be shared by several {@link RayCasterf} instances. Since they may change
+ * between calls, the hierarchy is rebuilt by every call, reusing its arrays. The threads are created once by the
+ * constructor and must be stopped by {@link #dispose()}. An instance must not be used by several threads concurrently.
+ */
+public class RayCasterf {
+
+    private static final int CHUNKS_PER_THREAD = 8;
+    private static final int MAX_LEAF_PRIMITIVES = 4;
+
+    private final WorkerPool pool;
+    private final int chunks;
+    private final Cast cast = new Cast();
+
+    /* the rays ordered by the octant of their direction */
+    private int[] order = new int[0];
+    private final int[] octantStarts = new int[9];
+    /* the traversal state of each chunk */
+    private final Traversal[] traversals;
+
+    /* the hierarchy in depth-first order: per node its bounds, the index of its right child (or -1 for a leaf) and its primitive range */
+    private int nodeCount;
+    private int depth;
+    private float[] nodeBounds = new float[0];
+    private int[] nodeRight = new int[0];
+    private int[] nodeFirst = new int[0];
+    private int[] nodeSize = new int[0];
+    /* the primitive indices in the order of the leaves, the bounds of each primitive and the packed primitives in the order of the leaves */
+    private int[] primitiveOrder = new int[0];
+    private float[] primitiveBounds = new float[0];
+    private float[] packed = new float[0];
+
+    /* the arguments of the current call */
+    private float[] originX, originY, originZ, dirX, dirY, dirZ;
+    private int rayCount;
+    private float[] primitives;
+    private int[] indices;
+    private int primitiveOffset;
+    private int primitiveCount;
+    private float epsilon;
+    private boolean triangles;
+    private boolean anyHit;
+    private int[] hits;
+    private float[] ts;
+    private final int[] chunkHitCounts;
+
+    private final class Cast implements WorkerPool.Task {
+        public void run(int chunk) {
+            int start = (int) ((long) rayCount * chunk / chunks), end = (int) ((long) rayCount * (chunk + 1) / chunks);
+            chunkHitCounts[chunk] = traversals[chunk].castChunk(start, end);
+        }
+    }
+
+    /**
+     * Create a new {@link RayCasterf} that uses the calling thread and <code>threads - 1</code> additional worker threads.
+     * <p>
+     * The worker threads are started by this constructor and stay idle between batches until {@link #dispose()} stops them.
+     * They are daemon threads, so they do not keep the JVM alive, but a ray caster that is no longer needed should be disposed to release them.
+     * 
+     * @param threads
+     *          the total number of threads, usually the number of available processors
+     */
+    public RayCasterf(int threads) {
+        pool = new WorkerPool(threads);
+        chunks = threads == 1 ? 1 : threads * CHUNKS_PER_THREAD;
+        chunkHitCounts = new int[chunks];
+        traversals = new Traversal[chunks];
+        for (int c = 0; c < chunks; c++)
+            traversals[c] = new Traversal();
+    }
+
+    /**
+     * Cast the <code>rayCount</code> rays with origins <code>(originX[i], originY[i], originZ[i])</code> and directions <code>(dirX[i], dirY[i], dirZ[i])</code>
+     * against the indexed triangles <code>0</code> to <code>triangleCount - 1</code>, using
+     * {@link Intersectionf#intersectRayTriangle(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float) intersectRayTriangle}.
+     * <p>
+     * Triangle <code>j</code> consists of the vertices whose <code>(x, y, z)</code> coordinates start at the positions <code>3 * indices[3 * j]</code>,
+     * <code>3 * indices[3 * j + 1]</code> and <code>3 * indices[3 * j + 2]</code> of <code>positions</code>.
+     * For each ray <code>i</code>, the index of the nearest triangle hit by the ray is stored in <code>hits[i]</code> and the value of the parameter <i>t</i>
+     * in the ray equation <i>p(t) = origin + t * dir</i> of the hit point in <code>ts[i]</code>; if the ray hits no triangle, <code>-1</code> is stored in both.
+     * 
+     * @param originX
+     *          the x coordinates of the ray origins
+     * @param originY
+     *          the y coordinates of the ray origins
+     * @param originZ
+     *          the z coordinates of the ray origins
+     * @param dirX
+     *          the x coordinates of the ray directions
+     * @param dirY
+     *          the y coordinates of the ray directions
+     * @param dirZ
+     *          the z coordinates of the ray directions
+     * @param rayCount
+     *          the number of rays
+     * @param positions
+     *          the vertex positions
+     * @param indices
+     *          the vertex indices of the triangles
+     * @param triangleCount
+     *          the number of triangles
+     * @param epsilon
+     *          a small epsilon when testing rays that are almost parallel to a triangle
+     * @param anyHit
+     *          whether to stop at the first triangle hit by a ray instead of searching the nearest one, as suitable for shadow or line-of-sight rays
+     * @param hits
+     *          will hold the index of the triangle hit by each ray, or <code>-1</code>
+     * @param ts
+     *          will hold the value of the parameter <i>t</i> of the hit point of each ray, or <code>-1</code>
+     * @return the number of rays that hit a triangle
+     */
+    public int castTriangles(float[] originX, float[] originY, float[] originZ, float[] dirX, float[] dirY, float[] dirZ, int rayCount,
+            float[] positions, int[] indices, int triangleCount, float epsilon, boolean anyHit, int[] hits, float[] ts) {
+        this.indices = indices;
+        this.epsilon = epsilon;
+        return cast(originX, originY, originZ, dirX, dirY, dirZ, rayCount, positions, 0, triangleCount, true, anyHit, hits, ts);
+    }
+
+    /**
+     * Cast the <code>rayCount</code> rays with origins <code>(originX[i], originY[i], originZ[i])</code> and directions <code>(dirX[i], dirY[i], dirZ[i])</code>
+     * against the <code>aabbCount</code> axis-aligned boxes stored in <code>aabbs</code>, using
+     * {@link Intersectionf#intersectRayAab(float, float, float, float, float, float, float, float, float, float, float, float, Vector2f) intersectRayAab}.
+     * <p>
+     * The boxes are stored consecutively starting at <code>offset</code>, each as its minimum corner followed by its maximum corner,
+     * so box <code>j</code> occupies the six elements starting at <code>offset + 6 * j</code>. For each ray <code>i</code>, the index of the nearest box hit
+     * by the ray is stored in <code>hits[i]</code> and the value of the parameter <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i> where the ray
+     * enters that box in <code>ts[i]</code>, which is <code>0</code> if the origin lies inside the box; if the ray hits no box, <code>-1</code> is stored in both.
+     * 
+     * @param originX
+     *          the x coordinates of the ray origins
+     * @param originY
+     *          the y coordinates of the ray origins
+     * @param originZ
+     *          the z coordinates of the ray origins
+     * @param dirX
+     *          the x coordinates of the ray directions
+     * @param dirY
+     *          the y coordinates of the ray directions
+     * @param dirZ
+     *          the z coordinates of the ray directions
+     * @param rayCount
+     *          the number of rays
+     * @param aabbs
+     *          the minimum and maximum corners of the axis-aligned boxes
+     * @param offset
+     *          the index of the first element of the first box in <code>aabbs</code>
+     * @param aabbCount
+     *          the number of boxes
+     * @param anyHit
+     *          whether to stop at the first box hit by a ray instead of searching the nearest one
+     * @param hits
+     *          will hold the index of the box hit by each ray, or <code>-1</code>
+     * @param ts
+     *          will hold the value of the parameter <i>t</i> where each ray enters the box it hits, or <code>-1</code>
+     * @return the number of rays that hit a box
+     */
+    public int castAabs(float[] originX, float[] originY, float[] originZ, float[] dirX, float[] dirY, float[] dirZ, int rayCount,
+            float[] aabbs, int offset, int aabbCount, boolean anyHit, int[] hits, float[] ts) {
+        return cast(originX, originY, originZ, dirX, dirY, dirZ, rayCount, aabbs, offset, aabbCount, false, anyHit, hits, ts);
+    }
+
+    /**
+     * Stop the worker threads. This instance must not be used afterwards.
+     */
+    public void dispose() {
+        pool.shutdown();
+    }
+
+    private int cast(float[] originX, float[] originY, float[] originZ, float[] dirX, float[] dirY, float[] dirZ, int rayCount,
+            float[] primitives, int primitiveOffset, int primitiveCount, boolean triangles, boolean anyHit, int[] hits, float[] ts) {
+        Object event = QueryEvents.begin();
+        this.originX = originX;
+        this.originY = originY;
+        this.originZ = originZ;
+        this.dirX = dirX;
+        this.dirY = dirY;
+        this.dirZ = dirZ;
+        this.rayCount = rayCount;
+        this.primitives = primitives;
+        this.primitiveOffset = primitiveOffset;
+        this.primitiveCount = primitiveCount;
+        this.triangles = triangles;
+        this.anyHit = anyHit;
+        this.hits = hits;
+        this.ts = ts;
+        sortByOctant();
+        build();
+        pool.run(cast, chunks);
+        int hitCount = 0;
+        for (int c = 0; c < chunks; c++)
+            hitCount += chunkHitCounts[c];
+        this.originX = this.originY = this.originZ = this.dirX = this.dirY = this.dirZ = null;
+        this.primitives = null;
+        this.indices = null;
+        this.hits = null;
+        this.ts = null;
+        QueryEvents.end(event, triangles ? "RayCasterf.castTriangles" : "RayCasterf.castAabs", rayCount, hitCount);
+        return hitCount;
+    }
+
+    private int octant(int i) {
+        return (dirX[i] < 0.0f ? 1 : 0) | (dirY[i] < 0.0f ? 2 : 0) | (dirZ[i] < 0.0f ? 4 : 0);
+    }
+
+    private void sortByOctant() {
+        if (order.length < rayCount)
+            order = new int[rayCount];
+        int[] starts = octantStarts;
+        for (int o = 0; o < 9; o++)
+            starts[o] = 0;
+        for (int i = 0; i < rayCount; i++)
+            starts[octant(i) + 1]++;
+        for (int o = 1; o < 9; o++)
+            starts[o] += starts[o - 1];
+        for (int i = 0; i < rayCount; i++)
+            order[starts[octant(i)]++] = i;
+    }
+
+    private void build() {
+        int n = primitiveCount;
+        if (primitiveOrder.length < n) {
+            primitiveOrder = new int[n];
+            primitiveBounds = new float[6 * n];
+            packed = new float[9 * n];
+            /* a binary tree whose leaves hold at least one primitive has at most 2 * n - 1 nodes */
+            nodeBounds = new float[6 * (2 * n - 1)];
+            nodeRight = new int[2 * n - 1];
+            nodeFirst = new int[2 * n - 1];
+            nodeSize = new int[2 * n - 1];
+        }
+        for (int j = 0; j < n; j++) {
+            primitiveOrder[j] = j;
+            if (triangles)
+                triangleBounds(j);
+            else
+                System.arraycopy(primitives, primitiveOffset + 6 * j, primitiveBounds, 6 * j, 6);
+        }
+        nodeCount = 0;
+        depth = 0;
+        if (n > 0)
+            buildNodes(n);
+        for (int node = nodeCount - 1; node >= 0; node--) {
+            if (nodeRight[node] < 0)
+                fitLeaf(node);
+            else
+                fitInner(node, node + 1, nodeRight[node]);
+        }
+        pack();
+        for (int c = 0; c < chunks; c++)
+            traversals[c].ensureStackCapacity(depth + 1);
+    }
+
+    private void triangleBounds(int j) {
+        float[] positions = primitives;
+        int i0 = 3 * indices[3 * j], i1 = 3 * indices[3 * j + 1], i2 = 3 * indices[3 * j + 2], b = 6 * j;
+        for (int c = 0; c < 3; c++) {
+            float v0 = positions[i0 + c], v1 = positions[i1 + c], v2 = positions[i2 + c];
+            primitiveBounds[b + c] = Math.min(v0, Math.min(v1, v2));
+            primitiveBounds[b + c + 3] = Math.max(v0, Math.max(v1, v2));
+        }
+    }
+
+    private void buildNodes(int n) {
+        /* pending subtrees as (first primitive, primitive count, parent node, depth) quadruples, where the left subtree is processed first */
+        int[] stack = new int[4 * 64];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = n;
+        stack[top++] = -1;
+        stack[top++] = 0;
+        while (top > 0) {
+            int level = stack[--top], parent = stack[--top], size = stack[--top], start = stack[--top];
+            int node = nodeCount++;
+            if (parent >= 0)
+                nodeRight[parent] = node;
+            nodeFirst[node] = start;
+            nodeSize[node] = size;
+            nodeRight[node] = -1;
+            depth = Math.max(depth, level);
+            if (size <= MAX_LEAF_PRIMITIVES)
+                continue;
+            int mid = split(start, size);
+            if (top + 8 > stack.length) {
+                int[] newStack = new int[stack.length << 1];
+                System.arraycopy(stack, 0, newStack, 0, top);
+                stack = newStack;
+            }
+            /* the right child is linked to its parent when it is popped */
+            stack[top++] = mid;
+            stack[top++] = start + size - mid;
+            stack[top++] = node;
+            stack[top++] = level + 1;
+            stack[top++] = start;
+            stack[top++] = mid - start;
+            stack[top++] = -1;
+            stack[top++] = level + 1;
+        }
+    }
+
+    /* partition primitiveOrder[start..start+n) at the center of the bounds of their centroids along the longest axis and return the start of the second half */
+    private int split(int start, int n) {
+        float[] bounds = primitiveBounds;
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+        /* the sums of the minimum and maximum coordinates are twice the centroids, which does not change the split */
+        for (int i = start; i < start + n; i++) {
+            int b = 6 * primitiveOrder[i];
+            float cX = bounds[b] + bounds[b + 3], cY = bounds[b + 1] + bounds[b + 4], cZ = bounds[b + 2] + bounds[b + 5];
+            minX = Math.min(minX, cX);
+            minY = Math.min(minY, cY);
+            minZ = Math.min(minZ, cZ);
+            maxX = Math.max(maxX, cX);
+            maxY = Math.max(maxY, cY);
+            maxZ = Math.max(maxZ, cZ);
+        }
+        float eX = maxX - minX, eY = maxY - minY, eZ = maxZ - minZ;
+        int axis = eX >= eY && eX >= eZ ? 0 : eY >= eZ ? 1 : 2;
+        float center = axis == 0 ? (minX + maxX) * 0.5f : axis == 1 ? (minY + maxY) * 0.5f : (minZ + maxZ) * 0.5f;
+        int i = start, j = start + n - 1;
+        while (i <= j) {
+            int b = 6 * primitiveOrder[i] + axis;
+            if (bounds[b] + bounds[b + 3] < center) {
+                i++;
+            } else {
+                int t = primitiveOrder[i];
+                primitiveOrder[i] = primitiveOrder[j];
+                primitiveOrder[j--] = t;
+            }
+        }
+        /* all centroids on one side happens for coincident centroids: split the range in halves instead */
+        if (i == start || i == start + n)
+            i = start + (n >> 1);
+        return i;
+    }
+
+    private void fitLeaf(int node) {
+        int b = 6 * node;
+        for (int c = 0; c < 3; c++) {
+            nodeBounds[b + c] = Float.POSITIVE_INFINITY;
+            nodeBounds[b + c + 3] = Float.NEGATIVE_INFINITY;
+        }
+        for (int i = nodeFirst[node], end = i + nodeSize[node]; i < end; i++) {
+            int p = 6 * primitiveOrder[i];
+            for (int c = 0; c < 3; c++) {
+                nodeBounds[b + c] = Math.min(nodeBounds[b + c], primitiveBounds[p + c]);
+                nodeBounds[b + c + 3] = Math.max(nodeBounds[b + c + 3], primitiveBounds[p + c + 3]);
+            }
+        }
+        /* widen the bounds slightly, so that rounding in the slab test never culls a hit found by the exact primitive test */
+        for (int c = 0; c < 3; c++) {
+            float pad = (Math.abs(nodeBounds[b + c]) + Math.abs(nodeBounds[b + c + 3])) * 1E-6f;
+            nodeBounds[b + c] -= pad;
+            nodeBounds[b + c + 3] += pad;
+        }
+    }
+
+    /* set the bounds of node to the union of the bounds of a and b */
+    private void fitInner(int node, int a, int b) {
+        int n = 6 * node, ba = 6 * a, bb = 6 * b;
+        for (int c = 0; c < 3; c++) {
+            nodeBounds[n + c] = Math.min(nodeBounds[ba + c], nodeBounds[bb + c]);
+            nodeBounds[n + c + 3] = Math.max(nodeBounds[ba + c + 3], nodeBounds[bb + c + 3]);
+        }
+    }
+
+    /* copy the coordinates of the primitives into packed in the order of the leaves, nine per triangle or six per box */
+    private void pack() {
+        for (int i = 0; i < primitiveCount; i++) {
+            int j = primitiveOrder[i];
+            if (triangles) {
+                for (int v = 0; v < 3; v++)
+                    System.arraycopy(primitives, 3 * indices[3 * j + v], packed, 9 * i + 3 * v, 3);
+            } else {
+                System.arraycopy(primitiveBounds, 6 * j, packed, 6 * i, 6);
+            }
+        }
+    }
+
+    /* the state of one chunk while it casts its rays through the hierarchy */
+    private final class Traversal {
+        private final Vector2f nearFar = new Vector2f();
+        /* the far children still to be visited and the parameters where the ray enters them */
+        private int[] stack = new int[0];
+        private float[] stackEntries = new float[0];
+        private float oX, oY, oZ, dX, dY, dZ, invX, invY, invZ;
+        /* per axis, the offset of the bound in nodeBounds that the ray crosses first: 0 for the minimum or 3 for the maximum */
+        private int nearX, nearY, nearZ;
+        private int hit;
+        private float nearestT;
+
+        void ensureStackCapacity(int capacity) {
+            if (stack.length >= capacity)
+                return;
+            stack = new int[capacity];
+            stackEntries = new float[capacity];
+        }
+
+        int castChunk(int start, int end) {
+            int hitCount = 0;
+            for (int k = start; k < end; k++) {
+                int r = order[k];
+                oX = originX[r];
+                oY = originY[r];
+                oZ = originZ[r];
+                dX = dirX[r];
+                dY = dirY[r];
+                dZ = dirZ[r];
+                invX = 1.0f / dX;
+                invY = 1.0f / dY;
+                invZ = 1.0f / dZ;
+                nearX = invX >= 0.0f ? 0 : 3;
+                nearY = invY >= 0.0f ? 0 : 3;
+                nearZ = invZ >= 0.0f ? 0 : 3;
+                hit = -1;
+                nearestT = Float.POSITIVE_INFINITY;
+                if (nodeCount > 0 && entry(0) >= 0.0f)
+                    traverse();
+                hits[r] = hit;
+                if (hit >= 0) {
+                    ts[r] = nearestT;
+                    hitCount++;
+                } else {
+                    ts[r] = -1.0f;
+                }
+            }
+            return hitCount;
+        }
+
+        private void traverse() {
+            int node = 0, top = 0;
+            for (;;) {
+                int right = nodeRight[node];
+                if (right < 0) {
+                    if (triangles)
+                        testTriangles(nodeFirst[node], nodeSize[node]);
+                    else
+                        testAabs(nodeFirst[node], nodeSize[node]);
+                    if (anyHit && hit >= 0)
+                        return;
+                } else {
+                    int near = node + 1, far = right;
+                    float tNear = entry(near), tFar = entry(far);
+                    if (tFar >= 0.0f && (tNear < 0.0f || tFar < tNear)) {
+                        near = right;
+                        far = node + 1;
+                        float t = tNear;
+                        tNear = tFar;
+                        tFar = t;
+                    }
+                    if (tNear >= 0.0f) {
+                        if (tFar >= 0.0f) {
+                            stack[top] = far;
+                            stackEntries[top++] = tFar;
+                        }
+                        node = near;
+                        continue;
+                    }
+                }
+                /* resume with the nearest pending node that the ray enters before the nearest hit */
+                do {
+                    if (top == 0)
+                        return;
+                } while (stackEntries[--top] > nearestT);
+                node = stack[top];
+            }
+        }
+
+        /* return where the ray enters the bounds of node between 0 and the nearest hit, or -1 if it misses them there */
+        private float entry(int node) {
+            int b = 6 * node;
+            float tNear = 0.0f, tFar = nearestT;
+            /* comparisons with NaN, from an origin on a slab boundary of a parallel ray, are false and ignore that slab */
+            float tMin = (nodeBounds[b + nearX] - oX) * invX;
+            float tMax = (nodeBounds[b + 3 - nearX] - oX) * invX;
+            if (tMin > tNear)
+                tNear = tMin;
+            if (tMax < tFar)
+                tFar = tMax;
+            tMin = (nodeBounds[b + 1 + nearY] - oY) * invY;
+            tMax = (nodeBounds[b + 4 - nearY] - oY) * invY;
+            if (tMin > tNear)
+                tNear = tMin;
+            if (tMax < tFar)
+                tFar = tMax;
+            tMin = (nodeBounds[b + 2 + nearZ] - oZ) * invZ;
+            tMax = (nodeBounds[b + 5 - nearZ] - oZ) * invZ;
+            if (tMin > tNear)
+                tNear = tMin;
+            if (tMax < tFar)
+                tFar = tMax;
+            return tNear <= tFar ? tNear : -1.0f;
+        }
+
+        private void testTriangles(int first, int count) {
+            float[] p = packed;
+            for (int i = first, o = 9 * first; i < first + count; i++, o += 9) {
+                float t = Intersectionf.intersectRayTriangle(oX, oY, oZ, dX, dY, dZ,
+                        p[o], p[o + 1], p[o + 2], p[o + 3], p[o + 4], p[o + 5], p[o + 6], p[o + 7], p[o + 8], epsilon);
+                /* on equal parameters, prefer the lowest index, as a linear scan over all triangles would */
+                int j = primitiveOrder[i];
+                if (t >= 0.0f && (t < nearestT || t == nearestT && j < hit)) {
+                    nearestT = t;
+                    hit = j;
+                    if (anyHit)
+                        return;
+                }
+            }
+        }
+
+        private void testAabs(int first, int count) {
+            float[] p = packed;
+            for (int i = first, o = 6 * first; i < first + count; i++, o += 6) {
+                if (!Intersectionf.intersectRayAab(oX, oY, oZ, dX, dY, dZ, p[o], p[o + 1], p[o + 2], p[o + 3], p[o + 4], p[o + 5], nearFar))
+                    continue;
+                float t = nearFar.x < 0.0f ? 0.0f : nearFar.x;
+                int j = primitiveOrder[i];
+                if (t < nearestT || t == nearestT && j < hit) {
+                    nearestT = t;
+                    hit = j;
+                    if (anyHit)
+                        return;
+                }
+            }
+        }
+    }
+
+}
@@ -30,6 +30,8 @@ import java.io.ObjectOutput;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 
+import org.joml.Math;
+import org.joml.Matrix4dc;
 import org.joml.Options;
 import org.joml.Runtime;
 import org.joml.Vector3dc;
@@ -129,6 +131,84 @@ public class Rayd implements Externalizable {
         this.dZ = dZ;
     }
 
+    /**
+     * Transform <code>this</code> ray by the given {@link Matrix4dc#isAffine() affine} transformation.
+     * 
+     * @see #transform(Matrix4dc, Rayd)
+     * 
+     * @param m
+     *          the affine transformation matrix
+     * @return this
+     */
+    public Rayd transform(Matrix4dc m) {
+        return transform(m, this);
+    }
+
+    /**
+     * Transform <code>this</code> ray by the given {@link Matrix4dc#isAffine() affine} transformation
+     * and store the result in <code>dest</code>.
+     * <p>
+     * The origin is transformed as a position and the direction as a direction. The direction is not normalized,
+     * so ray parameters computed against the transformed ray equal those computed against the original one.
+     * 
+     * @param m
+     *          the affine transformation matrix
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Rayd transform(Matrix4dc m, Rayd dest) {
+        double m00 = m.m00(), m01 = m.m01(), m02 = m.m02();
+        double m10 = m.m10(), m11 = m.m11(), m12 = m.m12();
+        double m20 = m.m20(), m21 = m.m21(), m22 = m.m22();
+        double oX = this.oX, oY = this.oY, oZ = this.oZ, dX = this.dX, dY = this.dY, dZ = this.dZ;
+        dest.oX = Math.fma(m00, oX, Math.fma(m10, oY, Math.fma(m20, oZ, m.m30())));
+        dest.oY = Math.fma(m01, oX, Math.fma(m11, oY, Math.fma(m21, oZ, m.m31())));
+        dest.oZ = Math.fma(m02, oX, Math.fma(m12, oY, Math.fma(m22, oZ, m.m32())));
+        dest.dX = Math.fma(m00, dX, Math.fma(m10, dY, m20 * dZ));
+        dest.dY = Math.fma(m01, dX, Math.fma(m11, dY, m21 * dZ));
+        dest.dZ = Math.fma(m02, dX, Math.fma(m12, dY, m22 * dZ));
+        return dest;
+    }
+
+    /**
+     * Transform <code>count</code> rays packed into <code>src</code> by the given {@link Matrix4dc#isAffine() affine}
+     * transformation and store the results into <code>dest</code>.
+     * <p>
+     * Each ray occupies six consecutive elements in the order <code>oX, oY, oZ, dX, dY, dZ</code>.
+     * <code>src</code> and <code>dest</code> may be the same array with the same offset.
+     * 
+     * @see #transform(Matrix4dc, Rayd)
+     * 
+     * @param m
+     *          the affine transformation matrix
+     * @param src
+     *          the packed source rays
+     * @param srcOffset
+     *          the index of the first element of the first ray in <code>src</code>
+     * @param dest
+     *          will hold the packed transformed rays
+     * @param destOffset
+     *          the index of the first element of the first ray in <code>dest</code>
+     * @param count
+     *          the number of rays
+     */
+    public static void transformAll(Matrix4dc m, double[] src, int srcOffset, double[] dest, int destOffset, int count) {
+        double m00 = m.m00(), m01 = m.m01(), m02 = m.m02();
+        double m10 = m.m10(), m11 = m.m11(), m12 = m.m12();
+        double m20 = m.m20(), m21 = m.m21(), m22 = m.m22();
+        double m30 = m.m30(), m31 = m.m31(), m32 = m.m32();
+        for (int i = 0, s = srcOffset, d = destOffset; i < count; i++, s += 6, d += 6) {
+            double oX = src[s], oY = src[s + 1], oZ = src[s + 2], dX = src[s + 3], dY = src[s + 4], dZ = src[s + 5];
+            dest[d] = Math.fma(m00, oX, Math.fma(m10, oY, Math.fma(m20, oZ, m30)));
+            dest[d + 1] = Math.fma(m01, oX, Math.fma(m11, oY, Math.fma(m21, oZ, m31)));
+            dest[d + 2] = Math.fma(m02, oX, Math.fma(m12, oY, Math.fma(m22, oZ, m32)));
+            dest[d + 3] = Math.fma(m00, dX, Math.fma(m10, dY, m20 * dZ));
+            dest[d + 4] = Math.fma(m01, dX, Math.fma(m11, dY, m21 * dZ));
+            dest[d + 5] = Math.fma(m02, dX, Math.fma(m12, dY, m22 * dZ));
+        }
+    }
+
     public int hashCode() {
         final int prime = 31;
         int result = 1;
@@ -31,6 +31,7 @@ import java.text.DecimalFormat;
 import java.text.NumberFormat;
 
 import org.joml.Math;
+import org.joml.Matrix3x2fc;
 import org.joml.Options;
 import org.joml.Runtime;
 import org.joml.Vector2f;
@@ -753,6 +754,104 @@ public class Rectanglef implements Externalizable {
         return scale(sx, sy, anchor.x(), anchor.y(), dest);
     }
 
+    /**
+     * Transform <code>this</code> rectangle by the given affine 2D transformation.
+     * 
+     * @see #transform(Matrix3x2fc, Rectanglef)
+     * 
+     * @param m
+     *          the 2D affine transformation matrix
+     * @return this
+     */
+    public Rectanglef transform(Matrix3x2fc m) {
+        return transform(m, this);
+    }
+
+    /**
+     * Transform <code>this</code> rectangle by the given affine 2D transformation and store the axis-aligned
+     * rectangle enclosing the result in <code>dest</code>.
+     * <p>
+     * Rather than transforming all four corners, this transforms the center of the rectangle by <code>m</code>
+     * and its half-extents by the component-wise absolute value of the 2x2 linear part of <code>m</code>.
+     * <p>
+     * If this rectangle is empty, i.e. any of its minimum coordinates is greater than the corresponding maximum coordinate,
+     * it is copied unchanged into <code>dest</code>.
+     * 
+     * @param m
+     *          the 2D affine transformation matrix
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Rectanglef transform(Matrix3x2fc m, Rectanglef dest) {
+        if (minX > maxX || minY > maxY) {
+            dest.minX = minX;
+            dest.minY = minY;
+            dest.maxX = maxX;
+            dest.maxY = maxY;
+            return dest;
+        }
+        float m00 = m.m00(), m01 = m.m01(), m10 = m.m10(), m11 = m.m11();
+        float cx = (minX + maxX) * 0.5f, cy = (minY + maxY) * 0.5f;
+        float ex = (maxX - minX) * 0.5f, ey = (maxY - minY) * 0.5f;
+        float ncx = Math.fma(m00, cx, Math.fma(m10, cy, m.m20()));
+        float ncy = Math.fma(m01, cx, Math.fma(m11, cy, m.m21()));
+        float nex = Math.fma(Math.abs(m00), ex, Math.abs(m10) * ey);
+        float ney = Math.fma(Math.abs(m01), ex, Math.abs(m11) * ey);
+        dest.minX = ncx - nex;
+        dest.minY = ncy - ney;
+        dest.maxX = ncx + nex;
+        dest.maxY = ncy + ney;
+        return dest;
+    }
+
+    /**
+     * Transform <code>count</code> rectangles packed into <code>src</code> by the given affine 2D transformation
+     * and store the enclosing rectangles into <code>dest</code>.
+     * <p>
+     * Each rectangle occupies four consecutive elements in the order <code>minX, minY, maxX, maxY</code>.
+     * <code>src</code> and <code>dest</code> may be the same array with the same offset. Empty rectangles are copied unchanged.
+     * 
+     * @see #transform(Matrix3x2fc, Rectanglef)
+     * 
+     * @param m
+     *          the 2D affine transformation matrix
+     * @param src
+     *          the packed source rectangles
+     * @param srcOffset
+     *          the index of the first element of the first rectangle in <code>src</code>
+     * @param dest
+     *          will hold the packed transformed rectangles
+     * @param destOffset
+     *          the index of the first element of the first rectangle in <code>dest</code>
+     * @param count
+     *          the number of rectangles
+     */
+    public static void transformAll(Matrix3x2fc m, float[] src, int srcOffset, float[] dest, int destOffset, int count) {
+        float m00 = m.m00(), m01 = m.m01(), m10 = m.m10(), m11 = m.m11(), m20 = m.m20(), m21 = m.m21();
+        float a00 = Math.abs(m00), a01 = Math.abs(m01), a10 = Math.abs(m10), a11 = Math.abs(m11);
+        for (int i = 0, s = srcOffset, d = destOffset; i < count; i++, s += 4, d += 4) {
+            float minX = src[s], minY = src[s + 1], maxX = src[s + 2], maxY = src[s + 3];
+            if (minX > maxX || minY > maxY) {
+                dest[d] = minX;
+                dest[d + 1] = minY;
+                dest[d + 2] = maxX;
+                dest[d + 3] = maxY;
+                continue;
+            }
+            float cx = (minX + maxX) * 0.5f, cy = (minY + maxY) * 0.5f;
+            float ex = (maxX - minX) * 0.5f, ey = (maxY - minY) * 0.5f;
+            float ncx = Math.fma(m00, cx, Math.fma(m10, cy, m20));
+            float ncy = Math.fma(m01, cx, Math.fma(m11, cy, m21));
+            float nex = Math.fma(a00, ex, a10 * ey);
+            float ney = Math.fma(a01, ex, a11 * ey);
+            dest[d] = ncx - nex;
+            dest[d + 1] = ncy - ney;
+            dest[d + 2] = ncx + nex;
+            dest[d + 3] = ncy + ney;
+        }
+    }
+
     public int hashCode() {
         final int prime = 31;
         int result = 1;
@@ -0,0 +1,423 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import org.joml.Math;
+import org.joml.Vector2f;
+
+/**
+ * Remembers the separating axis found by the last separating axis test of a pair of shapes and tests that axis first on the
+ * next call, falling back to the full test only if it no longer separates the shapes.
+ * <p>
+ * Between successive frames, the separating axis of two separated shapes rarely changes. For mostly separated pairs, this turns for
+ * example the 15-axis test of two oriented boxes into a single-axis test most of the time. The results are always identical to those of
+ * {@link Intersectionf#testObOb(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float) Intersectionf.testObOb},
+ * {@link Intersectionf#testPolygonPolygon(Vector2f[], Vector2f[]) Intersectionf.testPolygonPolygon} and
+ * {@link ConvexPolygonf#testPolygon(ConvexPolygonf)}.
+ * <p>
+ * One instance should be kept for each pair of shapes, for example in the broadphase's pair structure, and always be used with the shapes in the same order.
+ * An instance also holds intermediate values of the oriented box test, so it must not be used by several threads at the same time.
+ */
+public class SeparatingAxisCachef {
+
+    private static final float EPSILON = 1E-5f;
+
+    private int axis = -1;
+    /* oriented box test state: the rotation of the second box in the first box's frame, its absolute values and the translation */
+    private float rm00, rm01, rm02, rm10, rm11, rm12, rm20, rm21, rm22;
+    private float arm00, arm01, arm02, arm10, arm11, arm12, arm20, arm21, arm22;
+    private float tax, tay, taz;
+    private float b0hsX, b0hsY, b0hsZ, b1hsX, b1hsY, b1hsZ;
+
+    /**
+     * Return the index of the axis that separated the shapes in the last test.
+     * <p>
+     * For oriented boxes, the indices <code>0</code> to <code>2</code> denote the axes of the first box, <code>3</code> to <code>5</code> the axes of the second box
+     * and <code>6</code> to <code>14</code> the cross products of both. For polygons, the indices <code>0</code> to <code>n - 1</code> denote the edge normals of the
+     * first polygon with <code>n</code> vertices, and the following indices the edge normals of the second polygon.
+     * 
+     * @return the index of the separating axis; or <code>-1</code> if the shapes intersected in the last test or no test was performed yet
+     */
+    public int axis() {
+        return axis;
+    }
+
+    /**
+     * Forget the cached separating axis.
+     * 
+     * @return this
+     */
+    public SeparatingAxisCachef reset() {
+        axis = -1;
+        return this;
+    }
+
+    /**
+     * Test whether two oriented boxes given via their center position, orientation and half-size, intersect, testing the cached separating axis first.
+     * 
+     * @see Intersectionf#testObOb(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float)
+     * 
+     * @param b0cX
+     *          the x coordinate of the center of the first box
+     * @param b0cY
+     *          the y coordinate of the center of the first box
+     * @param b0cZ
+     *          the z coordinate of the center of the first box
+     * @param b0uXx
+     *          the x coordinate of the local X unit vector of the first box
+     * @param b0uXy
+     *          the y coordinate of the local X unit vector of the first box
+     * @param b0uXz
+     *          the z coordinate of the local X unit vector of the first box
+     * @param b0uYx
+     *          the x coordinate of the local Y unit vector of the first box
+     * @param b0uYy
+     *          the y coordinate of the local Y unit vector of the first box
+     * @param b0uYz
+     *          the z coordinate of the local Y unit vector of the first box
+     * @param b0uZx
+     *          the x coordinate of the local Z unit vector of the first box
+     * @param b0uZy
+     *          the y coordinate of the local Z unit vector of the first box
+     * @param b0uZz
+     *          the z coordinate of the local Z unit vector of the first box
+     * @param b0hsX
+     *          the half-size of the first box in the local X direction
+     * @param b0hsY
+     *          the half-size of the first box in the local Y direction
+     * @param b0hsZ
+     *          the half-size of the first box in the local Z direction
+     * @param b1cX
+     *          the x coordinate of the center of the second box
+     * @param b1cY
+     *          the y coordinate of the center of the second box
+     * @param b1cZ
+     *          the z coordinate of the center of the second box
+     * @param b1uXx
+     *          the x coordinate of the local X unit vector of the second box
+     * @param b1uXy
+     *          the y coordinate of the local X unit vector of the second box
+     * @param b1uXz
+     *          the z coordinate of the local X unit vector of the second box
+     * @param b1uYx
+     *          the x coordinate of the local Y unit vector of the second box
+     * @param b1uYy
+     *          the y coordinate of the local Y unit vector of the second box
+     * @param b1uYz
+     *          the z coordinate of the local Y unit vector of the second box
+     * @param b1uZx
+     *          the x coordinate of the local Z unit vector of the second box
+     * @param b1uZy
+     *          the y coordinate of the local Z unit vector of the second box
+     * @param b1uZz
+     *          the z coordinate of the local Z unit vector of the second box
+     * @param b1hsX
+     *          the half-size of the second box in the local X direction
+     * @param b1hsY
+     *          the half-size of the second box in the local Y direction
+     * @param b1hsZ
+     *          the half-size of the second box in the local Z direction
+     * @return <code>true</code> if both boxes intersect; <code>false</code> otherwise
+     */
+    public boolean testObOb(
+            float b0cX, float b0cY, float b0cZ, float b0uXx, float b0uXy, float b0uXz, float b0uYx, float b0uYy, float b0uYz, float b0uZx, float b0uZy, float b0uZz, float b0hsX, float b0hsY, float b0hsZ,
+            float b1cX, float b1cY, float b1cZ, float b1uXx, float b1uXy, float b1uXz, float b1uYx, float b1uYy, float b1uYz, float b1uZx, float b1uZy, float b1uZz, float b1hsX, float b1hsY, float b1hsZ) {
+        int cached = axis;
+        if (cached >= 0 && cached < 15 && separatedByAxis(cached, b0cX, b0cY, b0cZ, b0uXx, b0uXy, b0uXz, b0uYx, b0uYy, b0uYz, b0uZx, b0uZy, b0uZz, b0hsX, b0hsY, b0hsZ,
+                b1cX, b1cY, b1cZ, b1uXx, b1uXy, b1uXz, b1uYx, b1uYy, b1uYz, b1uZx, b1uZy, b1uZz, b1hsX, b1hsY, b1hsZ))
+            return false;
+        return testObObAllAxes(cached, b0cX, b0cY, b0cZ, b0uXx, b0uXy, b0uXz, b0uYx, b0uYy, b0uYz, b0uZx, b0uZy, b0uZz, b0hsX, b0hsY, b0hsZ,
+                b1cX, b1cY, b1cZ, b1uXx, b1uXy, b1uXz, b1uYx, b1uYy, b1uYz, b1uZx, b1uZy, b1uZz, b1hsX, b1hsY, b1hsZ);
+    }
+
+    /**
+     * Test all axes other than the <code>cached</code> one, which already failed to separate the boxes, and remember the separating axis.
+     */
+    private boolean testObObAllAxes(int cached,
+            float b0cX, float b0cY, float b0cZ, float b0uXx, float b0uXy, float b0uXz, float b0uYx, float b0uYy, float b0uYz, float b0uZx, float b0uZy, float b0uZz, float b0hsX, float b0hsY, float b0hsZ,
+            float b1cX, float b1cY, float b1cZ, float b1uXx, float b1uXy, float b1uXz, float b1uYx, float b1uYy, float b1uYz, float b1uZx, float b1uZy, float b1uZz, float b1hsX, float b1hsY, float b1hsZ) {
+        rm00 = b0uXx * b1uXx + b0uYx * b1uYx + b0uZx * b1uZx;
+        rm10 = b0uXx * b1uXy + b0uYx * b1uYy + b0uZx * b1uZy;
+        rm20 = b0uXx * b1uXz + b0uYx * b1uYz + b0uZx * b1uZz;
+        rm01 = b0uXy * b1uXx + b0uYy * b1uYx + b0uZy * b1uZx;
+        rm11 = b0uXy * b1uXy + b0uYy * b1uYy + b0uZy * b1uZy;
+        rm21 = b0uXy * b1uXz + b0uYy * b1uYz + b0uZy * b1uZz;
+        rm02 = b0uXz * b1uXx + b0uYz * b1uYx + b0uZz * b1uZx;
+        rm12 = b0uXz * b1uXy + b0uYz * b1uYy + b0uZz * b1uZy;
+        rm22 = b0uXz * b1uXz + b0uYz * b1uYz + b0uZz * b1uZz;
+        arm00 = Math.abs(rm00) + EPSILON;
+        arm01 = Math.abs(rm01) + EPSILON;
+        arm02 = Math.abs(rm02) + EPSILON;
+        arm10 = Math.abs(rm10) + EPSILON;
+        arm11 = Math.abs(rm11) + EPSILON;
+        arm12 = Math.abs(rm12) + EPSILON;
+        arm20 = Math.abs(rm20) + EPSILON;
+        arm21 = Math.abs(rm21) + EPSILON;
+        arm22 = Math.abs(rm22) + EPSILON;
+        float tx = b1cX - b0cX, ty = b1cY - b0cY, tz = b1cZ - b0cZ;
+        tax = tx * b0uXx + ty * b0uXy + tz * b0uXz;
+        tay = tx * b0uYx + ty * b0uYy + tz * b0uYz;
+        taz = tx * b0uZx + ty * b0uZy + tz * b0uZz;
+        this.b0hsX = b0hsX;
+        this.b0hsY = b0hsY;
+        this.b0hsZ = b0hsZ;
+        this.b1hsX = b1hsX;
+        this.b1hsY = b1hsY;
+        this.b1hsZ = b1hsZ;
+        for (int i = 0; i < 15; i++) {
+            if (i != cached && obObSeparatedBy(i)) {
+                axis = i;
+                return false;
+            }
+        }
+        axis = -1;
+        return true;
+    }
+
+    /**
+     * Test whether the given axis separates the boxes, computing only the entries of the rotation matrix and the translation the axis needs.
+     * The results are identical to those of {@link #obObSeparatedBy(int)} after computing all entries.
+     */
+    private static boolean separatedByAxis(int axis, float b0cX, float b0cY, float b0cZ, float b0uXx, float b0uXy, float b0uXz, float b0uYx, float b0uYy, float b0uYz, float b0uZx, float b0uZy, float b0uZz, float b0hsX, float b0hsY, float b0hsZ,
+            float b1cX, float b1cY, float b1cZ, float b1uXx, float b1uXy, float b1uXz, float b1uYx, float b1uYy, float b1uYz, float b1uZx, float b1uZy, float b1uZz, float b1hsX, float b1hsY, float b1hsZ) {
+        float tx = b1cX - b0cX, ty = b1cY - b0cY, tz = b1cZ - b0cZ;
+        if (axis < 3)
+            return separatedByAxisOfFirst(axis, tx, ty, tz, b0uXx, b0uXy, b0uXz, b0uYx, b0uYy, b0uYz, b0uZx, b0uZy, b0uZz, b0hsX, b0hsY, b0hsZ,
+                b1uXx, b1uXy, b1uXz, b1uYx, b1uYy, b1uYz, b1uZx, b1uZy, b1uZz, b1hsX, b1hsY, b1hsZ);
+        if (axis < 6)
+            return separatedByAxisOfSecond(axis - 3, tx, ty, tz, b0uXx, b0uXy, b0uXz, b0uYx, b0uYy, b0uYz, b0uZx, b0uZy, b0uZz, b0hsX, b0hsY, b0hsZ,
+                b1uXx, b1uXy, b1uXz, b1uYx, b1uYy, b1uYz, b1uZx, b1uZy, b1uZz, b1hsX, b1hsY, b1hsZ);
+        return separatedByCrossProduct((axis - 6) / 3, (axis - 6) % 3, tx, ty, tz, b0uXx, b0uXy, b0uXz, b0uYx, b0uYy, b0uYz, b0uZx, b0uZy, b0uZz, b0hsX, b0hsY, b0hsZ,
+                b1uXx, b1uXy, b1uXz, b1uYx, b1uYy, b1uYz, b1uZx, b1uZy, b1uZz, b1hsX, b1hsY, b1hsZ);
+    }
+
+    /**
+     * L = Ai
+     */
+    private static boolean separatedByAxisOfFirst(int i, float tx, float ty, float tz, float b0uXx, float b0uXy, float b0uXz, float b0uYx, float b0uYy, float b0uYz, float b0uZx, float b0uZy, float b0uZz, float b0hsX, float b0hsY, float b0hsZ,
+            float b1uXx, float b1uXy, float b1uXz, float b1uYx, float b1uYy, float b1uYz, float b1uZx, float b1uZy, float b1uZz, float b1hsX, float b1hsY, float b1hsZ) {
+        float qX = select(b1uXx, b1uXy, b1uXz, i), qY = select(b1uYx, b1uYy, b1uYz, i), qZ = select(b1uZx, b1uZy, b1uZz, i);
+        float rb = b1hsX * (Math.abs(b0uXx * qX + b0uYx * qY + b0uZx * qZ) + EPSILON)
+                 + b1hsY * (Math.abs(b0uXy * qX + b0uYy * qY + b0uZy * qZ) + EPSILON)
+                 + b1hsZ * (Math.abs(b0uXz * qX + b0uYz * qY + b0uZz * qZ) + EPSILON);
+        float d = translation(i, tx, ty, tz, b0uXx, b0uXy, b0uXz, b0uYx, b0uYy, b0uYz, b0uZx, b0uZy, b0uZz);
+        return Math.abs(d) > select(b0hsX, b0hsY, b0hsZ, i) + rb;
+    }
+
+    /**
+     * L = Bj
+     */
+    private static boolean separatedByAxisOfSecond(int j, float tx, float ty, float tz, float b0uXx, float b0uXy, float b0uXz, float b0uYx, float b0uYy, float b0uYz, float b0uZx, float b0uZy, float b0uZz, float b0hsX, float b0hsY, float b0hsZ,
+            float b1uXx, float b1uXy, float b1uXz, float b1uYx, float b1uYy, float b1uYz, float b1uZx, float b1uZy, float b1uZz, float b1hsX, float b1hsY, float b1hsZ) {
+        float pX = select(b0uXx, b0uXy, b0uXz, j), pY = select(b0uYx, b0uYy, b0uYz, j), pZ = select(b0uZx, b0uZy, b0uZz, j);
+        float r0 = pX * b1uXx + pY * b1uYx + pZ * b1uZx;
+        float r1 = pX * b1uXy + pY * b1uYy + pZ * b1uZy;
+        float r2 = pX * b1uXz + pY * b1uYz + pZ * b1uZz;
+        float ra = b0hsX * (Math.abs(r0) + EPSILON) + b0hsY * (Math.abs(r1) + EPSILON) + b0hsZ * (Math.abs(r2) + EPSILON);
+        float d = (tx * b0uXx + ty * b0uXy + tz * b0uXz) * r0 + (tx * b0uYx + ty * b0uYy + tz * b0uYz) * r1 + (tx * b0uZx + ty * b0uZy + tz * b0uZz) * r2;
+        return Math.abs(d) > ra + select(b1hsX, b1hsY, b1hsZ, j);
+    }
+
+    /**
+     * L = Ai x Bj
+     */
+    private static boolean separatedByCrossProduct(int i, int j, float tx, float ty, float tz, float b0uXx, float b0uXy, float b0uXz, float b0uYx, float b0uYy, float b0uYz, float b0uZx, float b0uZy, float b0uZz, float b0hsX, float b0hsY, float b0hsZ,
+            float b1uXx, float b1uXy, float b1uXz, float b1uYx, float b1uYy, float b1uYz, float b1uZx, float b1uZy, float b1uZz, float b1hsX, float b1hsY, float b1hsZ) {
+        int i1 = i == 2 ? 0 : i + 1, i2 = i == 0 ? 2 : i - 1, j1 = j == 2 ? 0 : j + 1, j2 = j == 0 ? 2 : j - 1;
+        return separatedByCrossProduct(i1, i2, j1, j2,
+                rotation(i1, j, b0uXx, b0uXy, b0uXz, b0uYx, b0uYy, b0uYz, b0uZx, b0uZy, b0uZz, b1uXx, b1uXy, b1uXz, b1uYx, b1uYy, b1uYz, b1uZx, b1uZy, b1uZz),
+                rotation(i2, j, b0uXx, b0uXy, b0uXz, b0uYx, b0uYy, b0uYz, b0uZx, b0uZy, b0uZz, b1uXx, b1uXy, b1uXz, b1uYx, b1uYy, b1uYz, b1uZx, b1uZy, b1uZz),
+                rotation(i, j1, b0uXx, b0uXy, b0uXz, b0uYx, b0uYy, b0uYz, b0uZx, b0uZy, b0uZz, b1uXx, b1uXy, b1uXz, b1uYx, b1uYy, b1uYz, b1uZx, b1uZy, b1uZz),
+                rotation(i, j2, b0uXx, b0uXy, b0uXz, b0uYx, b0uYy, b0uYz, b0uZx, b0uZy, b0uZz, b1uXx, b1uXy, b1uXz, b1uYx, b1uYy, b1uYz, b1uZx, b1uZy, b1uZz),
+                translation(i1, tx, ty, tz, b0uXx, b0uXy, b0uXz, b0uYx, b0uYy, b0uYz, b0uZx, b0uZy, b0uZz),
+                translation(i2, tx, ty, tz, b0uXx, b0uXy, b0uXz, b0uYx, b0uYy, b0uYz, b0uZx, b0uZy, b0uZz),
+                b0hsX, b0hsY, b0hsZ, b1hsX, b1hsY, b1hsZ);
+    }
+
+    private static boolean separatedByCrossProduct(int i1, int i2, int j1, int j2, float ri1j, float ri2j, float rij1, float rij2, float ti1, float ti2,
+            float b0hsX, float b0hsY, float b0hsZ, float b1hsX, float b1hsY, float b1hsZ) {
+        float ra = select(b0hsX, b0hsY, b0hsZ, i1) * (Math.abs(ri2j) + EPSILON) + select(b0hsX, b0hsY, b0hsZ, i2) * (Math.abs(ri1j) + EPSILON);
+        float rb = select(b1hsX, b1hsY, b1hsZ, j1) * (Math.abs(rij2) + EPSILON) + select(b1hsX, b1hsY, b1hsZ, j2) * (Math.abs(rij1) + EPSILON);
+        float d = ti2 * ri1j - ti1 * ri2j;
+        return Math.abs(d) > ra + rb;
+    }
+
+    /**
+     * The entry <code>(i, j)</code> of the rotation of the second box in the first box's frame.
+     */
+    private static float rotation(int i, int j, float b0uXx, float b0uXy, float b0uXz, float b0uYx, float b0uYy, float b0uYz, float b0uZx, float b0uZy, float b0uZz,
+            float b1uXx, float b1uXy, float b1uXz, float b1uYx, float b1uYy, float b1uYz, float b1uZx, float b1uZy, float b1uZz) {
+        return select(b0uXx, b0uXy, b0uXz, j) * select(b1uXx, b1uXy, b1uXz, i)
+             + select(b0uYx, b0uYy, b0uYz, j) * select(b1uYx, b1uYy, b1uYz, i)
+             + select(b0uZx, b0uZy, b0uZz, j) * select(b1uZx, b1uZy, b1uZz, i);
+    }
+
+    /**
+     * The component <code>i</code> of the translation <code>(tx, ty, tz)</code> in the first box's frame.
+     */
+    private static float translation(int i, float tx, float ty, float tz,
+            float b0uXx, float b0uXy, float b0uXz, float b0uYx, float b0uYy, float b0uYz, float b0uZx, float b0uZy, float b0uZz) {
+        return tx * select(b0uXx, b0uYx, b0uZx, i) + ty * select(b0uXy, b0uYy, b0uZy, i) + tz * select(b0uXz, b0uYz, b0uZz, i);
+    }
+
+    private static float select(float x, float y, float z, int i) {
+        return i == 0 ? x : i == 1 ? y : z;
+    }
+
+    /**
+     * Test whether the two given oriented boxes intersect, testing the cached separating axis first.
+     * 
+     * @see #testObOb(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float)
+     * 
+     * @param b0
+     *          the first box
+     * @param b1
+     *          the second box
+     * @return <code>true</code> if both boxes intersect; <code>false</code> otherwise
+     */
+    public boolean testObOb(OrientedBoxf b0, OrientedBoxf b1) {
+        return testObOb(b0.cX, b0.cY, b0.cZ, b0.uXx, b0.uXy, b0.uXz, b0.uYx, b0.uYy, b0.uYz, b0.uZx, b0.uZy, b0.uZz, b0.hsX, b0.hsY, b0.hsZ,
+                b1.cX, b1.cY, b1.cZ, b1.uXx, b1.uXy, b1.uXz, b1.uYx, b1.uYy, b1.uYz, b1.uZx, b1.uZy, b1.uZz, b1.hsX, b1.hsY, b1.hsZ);
+    }
+
+    /**
+     * Reference: Book "Real-Time Collision Detection" chapter 4.4.1 "OBB-OBB Intersection"
+     */
+    private boolean obObSeparatedBy(int axis) {
+        float ra, rb, d;
+        switch (axis) {
+        case 0: // L = A0
+            ra = b0hsX; rb = b1hsX * arm00 + b1hsY * arm01 + b1hsZ * arm02; d = tax; break;
+        case 1: // L = A1
+            ra = b0hsY; rb = b1hsX * arm10 + b1hsY * arm11 + b1hsZ * arm12; d = tay; break;
+        case 2: // L = A2
+            ra = b0hsZ; rb = b1hsX * arm20 + b1hsY * arm21 + b1hsZ * arm22; d = taz; break;
+        case 3: // L = B0
+            ra = b0hsX * arm00 + b0hsY * arm10 + b0hsZ * arm20; rb = b1hsX; d = tax * rm00 + tay * rm10 + taz * rm20; break;
+        case 4: // L = B1
+            ra = b0hsX * arm01 + b0hsY * arm11 + b0hsZ * arm21; rb = b1hsY; d = tax * rm01 + tay * rm11 + taz * rm21; break;
+        case 5: // L = B2
+            ra = b0hsX * arm02 + b0hsY * arm12 + b0hsZ * arm22; rb = b1hsZ; d = tax * rm02 + tay * rm12 + taz * rm22; break;
+        case 6: // L = A0 x B0
+            ra = b0hsY * arm20 + b0hsZ * arm10; rb = b1hsY * arm02 + b1hsZ * arm01; d = taz * rm10 - tay * rm20; break;
+        case 7: // L = A0 x B1
+            ra = b0hsY * arm21 + b0hsZ * arm11; rb = b1hsX * arm02 + b1hsZ * arm00; d = taz * rm11 - tay * rm21; break;
+        case 8: // L = A0 x B2
+            ra = b0hsY * arm22 + b0hsZ * arm12; rb = b1hsX * arm01 + b1hsY * arm00; d = taz * rm12 - tay * rm22; break;
+        case 9: // L = A1 x B0
+            ra = b0hsX * arm20 + b0hsZ * arm00; rb = b1hsY * arm12 + b1hsZ * arm11; d = tax * rm20 - taz * rm00; break;
+        case 10: // L = A1 x B1
+            ra = b0hsX * arm21 + b0hsZ * arm01; rb = b1hsX * arm12 + b1hsZ * arm10; d = tax * rm21 - taz * rm01; break;
+        case 11: // L = A1 x B2
+            ra = b0hsX * arm22 + b0hsZ * arm02; rb = b1hsX * arm11 + b1hsY * arm10; d = tax * rm22 - taz * rm02; break;
+        case 12: // L = A2 x B0
+            ra = b0hsX * arm10 + b0hsY * arm00; rb = b1hsY * arm22 + b1hsZ * arm21; d = tay * rm00 - tax * rm10; break;
+        case 13: // L = A2 x B1
+            ra = b0hsX * arm11 + b0hsY * arm01; rb = b1hsX * arm22 + b1hsZ * arm20; d = tay * rm01 - tax * rm11; break;
+        default: // L = A2 x B2
+            ra = b0hsX * arm12 + b0hsY * arm02; rb = b1hsX * arm21 + b1hsY * arm20; d = tay * rm02 - tax * rm12; break;
+        }
+        return Math.abs(d) > ra + rb;
+    }
+
+    /**
+     * Test whether the two convex polygons with the given vertices intersect, testing the cached separating axis first.
+     * 
+     * @see Intersectionf#testPolygonPolygon(Vector2f[], Vector2f[])
+     * 
+     * @param v1s
+     *          the vertices of the first convex polygon
+     * @param v2s
+     *          the vertices of the second convex polygon
+     * @return <code>true</code> if both polygons intersect; <code>false</code> otherwise
+     */
+    public boolean testPolygonPolygon(Vector2f[] v1s, Vector2f[] v2s) {
+        int cached = axis, n = v1s.length + v2s.length;
+        if (cached >= 0 && cached < n && polygonsSeparatedBy(v1s, v2s, cached))
+            return false;
+        for (int i = 0; i < n; i++) {
+            if (i != cached && polygonsSeparatedBy(v1s, v2s, i)) {
+                axis = i;
+                return false;
+            }
+        }
+        axis = -1;
+        return true;
+    }
+
+    private static boolean polygonsSeparatedBy(Vector2f[] v1s, Vector2f[] v2s, int axis) {
+        Vector2f[] vs = axis < v1s.length ? v1s : v2s;
+        int i = axis < v1s.length ? axis : axis - v1s.length;
+        Vector2f s = vs[i], t = vs[i == 0 ? vs.length - 1 : i - 1];
+        float aX = s.y - t.y, aY = t.x - s.x;
+        float minA = Float.POSITIVE_INFINITY, maxA = Float.NEGATIVE_INFINITY;
+        for (int k = 0; k < v1s.length; k++) {
+            float d = v1s[k].x * aX + v1s[k].y * aY;
+            minA = Math.min(minA, d);
+            maxA = Math.max(maxA, d);
+        }
+        float minB = Float.POSITIVE_INFINITY, maxB = Float.NEGATIVE_INFINITY;
+        for (int k = 0; k < v2s.length; k++) {
+            float d = v2s[k].x * aX + v2s[k].y * aY;
+            /* Early-out if overlap found */
+            if (d >= minA && d <= maxA)
+                return false;
+            minB = Math.min(minB, d);
+            maxB = Math.max(maxB, d);
+        }
+        return maxB < minA || minB > maxA;
+    }
+
+    /**
+     * Test whether the two given convex polygons intersect, testing the cached separating axis first.
+     * 
+     * @see ConvexPolygonf#testPolygon(ConvexPolygonf)
+     * 
+     * @param a
+     *          the first convex polygon
+     * @param b
+     *          the second convex polygon
+     * @return <code>true</code> if both polygons intersect; <code>false</code> otherwise
+     */
+    public boolean testPolygon(ConvexPolygonf a, ConvexPolygonf b) {
+        if (!a.testBounds(b))
+            return false;
+        int cached = axis, countA = a.vertexCount(), n = countA + b.vertexCount();
+        if (cached >= 0 && cached < n && convexPolygonsSeparatedBy(a, b, countA, cached))
+            return false;
+        for (int i = 0; i < n; i++) {
+            if (i != cached && convexPolygonsSeparatedBy(a, b, countA, i)) {
+                axis = i;
+                return false;
+            }
+        }
+        axis = -1;
+        return true;
+    }
+
+    private static boolean convexPolygonsSeparatedBy(ConvexPolygonf a, ConvexPolygonf b, int countA, int axis) {
+        return axis < countA ? ConvexPolygonf.separation(a, b, axis) > 0.0f : ConvexPolygonf.separation(b, a, axis - countA) > 0.0f;
+    }
+
+}
@@ -0,0 +1,537 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import org.joml.Math;
+
+/**
+ * A grid of axis-aligned boxes that is updated by a single writer thread and read by any number of threads through immutable {@link Snapshot snapshots}.
+ * <p>
+ * Like {@link SpatialHashf}, space is divided into cubic cells that are mapped by a hash function to a fixed number of buckets, and every entry is
+ * identified by an <code>int</code> between <code>0</code> and the capacity chosen by the caller. Unlike {@link SpatialHashf}, readers never observe
+ * a partially applied update: the writer applies any number of {@link #insert(int, float, float, float, float, float, float) insertions},
+ * {@link #move(int, float, float, float, float, float, float) moves} and {@link #remove(int) removals} to its working copy and then
+ * {@link #publish() publishes} it as a new snapshot with a single volatile write. A reader obtains the latest snapshot via {@link #snapshot()} and
+ * can query it for as long as it likes, without locks and without ever being blocked by the writer.
+ * <p>
+ * The buckets and the per-entry data are stored in pages of {@value #PAGE_SIZE} elements. The first change to a page after a publish
+ * copies that page, so a new snapshot shares all pages that were not modified with the previous one, and publishing costs only
+ * the copies of the modified pages and of the two small page tables.
+ * <p>
+ * All methods except {@link #snapshot()} must be called by the writer thread only.
+ */
+public class SnapshotGridf {
+
+    /**
+     * The number of buckets or entries per page.
+     */
+    public static final int PAGE_SIZE = 64;
+
+    private static final int PAGE_BITS = 6;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    /* per entry: minimum and maximum cell coordinates and whether the entry is present */
+    private static final int CELL_INTS = 7;
+    private static final int[] EMPTY = new int[0];
+
+    /**
+     * An immutable state of a {@link SnapshotGridf}, which can be queried by any number of threads.
+     */
+    public static final class Snapshot {
+        private final float invCellSize;
+        private final int bucketMask;
+        /* per bucket page and bucket: packed (entry, cellX, cellY, cellZ) tuples */
+        private final int[][][] buckets;
+        /* per entry page: minimum and maximum corner of the box of each entry */
+        private final float[][] bounds;
+        private final int[][] cells;
+        private final int size;
+        private final long version;
+
+        Snapshot(float invCellSize, int bucketMask, int[][][] buckets, float[][] bounds, int[][] cells, int size, long version) {
+            this.invCellSize = invCellSize;
+            this.bucketMask = bucketMask;
+            this.buckets = buckets;
+            this.bounds = bounds;
+            this.cells = cells;
+            this.size = size;
+            this.version = version;
+        }
+
+        /**
+         * @return the number of entries in this snapshot
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @return the number of publishes that produced this snapshot, starting with <code>0</code> for the initial empty snapshot
+         */
+        public long version() {
+            return version;
+        }
+
+        /**
+         * Determine whether the entry <code>id</code> is in this snapshot.
+         * 
+         * @param id
+         *          the entry
+         * @return <code>true</code> if the entry is in this snapshot; <code>false</code> otherwise
+         */
+        public boolean contains(int id) {
+            return cells[id >>> PAGE_BITS][(id & PAGE_MASK) * CELL_INTS + 6] != 0;
+        }
+
+        /**
+         * Store the box of the entry <code>id</code> in this snapshot in <code>dest</code>.
+         * 
+         * @param id
+         *          the entry
+         * @param dest
+         *          will hold the box of the entry
+         * @return dest
+         */
+        public AABBf getBounds(int id, AABBf dest) {
+            float[] page = bounds[id >>> PAGE_BITS];
+            int e = (id & PAGE_MASK) * 6;
+            return dest.setMin(page[e], page[e + 1], page[e + 2]).setMax(page[e + 3], page[e + 4], page[e + 5]);
+        }
+
+        /**
+         * Find all entries of this snapshot whose box intersects the box given as its minimum corner <code>(minX, minY, minZ)</code>
+         * and maximum corner <code>(maxX, maxY, maxZ)</code>, and store them in <code>dest</code>.
+         * 
+         * @param minX
+         *          the x coordinate of the minimum corner
+         * @param minY
+         *          the y coordinate of the minimum corner
+         * @param minZ
+         *          the z coordinate of the minimum corner
+         * @param maxX
+         *          the x coordinate of the maximum corner
+         * @param maxY
+         *          the y coordinate of the maximum corner
+         * @param maxZ
+         *          the z coordinate of the maximum corner
+         * @param dest
+         *          will hold the found entries; the search stops when it is full
+         * @return the number of entries stored in <code>dest</code>
+         */
+        public int query(float minX, float minY, float minZ, float maxX, float maxY, float maxZ, int[] dest) {
+            int x0 = cell(invCellSize, minX), y0 = cell(invCellSize, minY), z0 = cell(invCellSize, minZ);
+            int x1 = cell(invCellSize, maxX), y1 = cell(invCellSize, maxY), z1 = cell(invCellSize, maxZ);
+            int n = 0;
+            for (int z = z0; z <= z1; z++)
+                for (int y = y0; y <= y1; y++)
+                    for (int x = x0; x <= x1; x++) {
+                        int b = hash(x, y, z) & bucketMask;
+                        int[] bucket = buckets[b >>> PAGE_BITS][b & PAGE_MASK];
+                        for (int i = 0; i < bucket.length; i += 4) {
+                            if (bucket[i + 1] != x || bucket[i + 2] != y || bucket[i + 3] != z)
+                                continue;
+                            int id = bucket[i];
+                            int[] c = cells[id >>> PAGE_BITS];
+                            int ce = (id & PAGE_MASK) * CELL_INTS;
+                            /* report the entry only in the first cell it shares with the query box */
+                            if (x != Math.max(c[ce], x0) || y != Math.max(c[ce + 1], y0) || z != Math.max(c[ce + 2], z0))
+                                continue;
+                            float[] bo = bounds[id >>> PAGE_BITS];
+                            int be = (id & PAGE_MASK) * 6;
+                            if (bo[be] > maxX || bo[be + 1] > maxY || bo[be + 2] > maxZ ||
+                                bo[be + 3] < minX || bo[be + 4] < minY || bo[be + 5] < minZ)
+                                continue;
+                            if (n == dest.length)
+                                return n;
+                            dest[n++] = id;
+                        }
+                    }
+            return n;
+        }
+
+        /**
+         * Find all entries of this snapshot whose box intersects the given box, and store them in <code>dest</code>.
+         * 
+         * @see #query(float, float, float, float, float, float, int[])
+         * 
+         * @param aabb
+         *          the query box
+         * @param dest
+         *          will hold the found entries; the search stops when it is full
+         * @return the number of entries stored in <code>dest</code>
+         */
+        public int query(AABBfc aabb, int[] dest) {
+            return query(aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ(), dest);
+        }
+    }
+
+    private final float invCellSize;
+    private final int bucketMask;
+    private final int capacity;
+
+    /* the working copy of the writer, sharing all pages not modified since the last publish with the published snapshot */
+    private int[][][] buckets;
+    private float[][] bounds;
+    private int[][] cells;
+    private int size;
+    /* the publish count at which the page tables and each page were last copied; pages copied since the last publish are modified in place */
+    private long version;
+    private long tablesVersion;
+    private final long[] bucketPageVersions;
+    private final long[] entryPageVersions;
+    private boolean modified;
+
+    private volatile Snapshot published;
+
+    /**
+     * Create a new empty {@link SnapshotGridf} with the given cell size, number of buckets and capacity.
+     * 
+     * @param cellSize
+     *          the edge length of the cubic cells
+     * @param bucketCount
+     *          the number of buckets, which is rounded up to the next power of two of at least {@value #PAGE_SIZE}
+     * @param capacity
+     *          the number of entries, which are identified by the indices <code>0</code> to <code>capacity - 1</code>
+     */
+    public SnapshotGridf(float cellSize, int bucketCount, int capacity) {
+        if (!(cellSize > 0.0f) || bucketCount < 1 || capacity < 0)
+            throw new IllegalArgumentException();
+        int n = PAGE_SIZE;
+        while (n < bucketCount)
+            n <<= 1;
+        this.invCellSize = 1.0f / cellSize;
+        this.bucketMask = n - 1;
+        this.capacity = capacity;
+        int bucketPages = n >>> PAGE_BITS;
+        int entryPages = (capacity + PAGE_MASK) >>> PAGE_BITS;
+        buckets = new int[bucketPages][][];
+        int[][] emptyBucketPage = new int[PAGE_SIZE][];
+        for (int i = 0; i < PAGE_SIZE; i++)
+            emptyBucketPage[i] = EMPTY;
+        for (int p = 0; p < bucketPages; p++)
+            buckets[p] = emptyBucketPage;
+        bounds = new float[entryPages][];
+        cells = new int[entryPages][];
+        float[] emptyBoundsPage = new float[PAGE_SIZE * 6];
+        int[] emptyCellsPage = new int[PAGE_SIZE * CELL_INTS];
+        for (int p = 0; p < entryPages; p++) {
+            bounds[p] = emptyBoundsPage;
+            cells[p] = emptyCellsPage;
+        }
+        bucketPageVersions = new long[bucketPages];
+        entryPageVersions = new long[entryPages];
+        /* all pages are shared with the initial snapshot */
+        tablesVersion = -1L;
+        for (int p = 0; p < bucketPages; p++)
+            bucketPageVersions[p] = -1L;
+        for (int p = 0; p < entryPages; p++)
+            entryPageVersions[p] = -1L;
+        published = new Snapshot(invCellSize, bucketMask, buckets, bounds, cells, 0, 0L);
+    }
+
+    /**
+     * Return the most recently published snapshot.
+     * <p>
+     * This method may be called by any thread.
+     * 
+     * @return the latest snapshot
+     */
+    public Snapshot snapshot() {
+        return published;
+    }
+
+    /**
+     * Publish all changes made since the last publish as a new snapshot.
+     * 
+     * @return the new snapshot; or the previous one if nothing changed
+     */
+    public Snapshot publish() {
+        if (!modified)
+            return published;
+        version++;
+        Snapshot s = new Snapshot(invCellSize, bucketMask, buckets, bounds, cells, size, version);
+        modified = false;
+        published = s;
+        return s;
+    }
+
+    /**
+     * @return the number of entries this grid can hold
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Determine whether the entry <code>id</code> is in the working copy of the writer.
+     * 
+     * @param id
+     *          the entry
+     * @return <code>true</code> if the entry was inserted and not removed since; <code>false</code> otherwise
+     */
+    public boolean contains(int id) {
+        return cells[id >>> PAGE_BITS][(id & PAGE_MASK) * CELL_INTS + 6] != 0;
+    }
+
+    /**
+     * Insert the entry <code>id</code> with the box given as its minimum corner <code>(minX, minY, minZ)</code> and maximum corner <code>(maxX, maxY, maxZ)</code>.
+     * <p>
+     * The entry becomes visible to readers with the next {@link #publish()}.
+     * 
+     * @param id
+     *          the entry, between <code>0</code> and <code>capacity() - 1</code>
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     * @throws IllegalArgumentException
+     *          if the entry is already present
+     */
+    public void insert(int id, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        if (contains(id))
+            throw new IllegalArgumentException("Entry already present: " + id);
+        int x0 = cell(invCellSize, minX), y0 = cell(invCellSize, minY), z0 = cell(invCellSize, minZ);
+        int x1 = cell(invCellSize, maxX), y1 = cell(invCellSize, maxY), z1 = cell(invCellSize, maxZ);
+        setEntry(id, minX, minY, minZ, maxX, maxY, maxZ, x0, y0, z0, x1, y1, z1, 1);
+        for (int z = z0; z <= z1; z++)
+            for (int y = y0; y <= y1; y++)
+                for (int x = x0; x <= x1; x++)
+                    add(id, x, y, z);
+        size++;
+    }
+
+    /**
+     * Insert the entry <code>id</code> with the given box.
+     * 
+     * @see #insert(int, float, float, float, float, float, float)
+     * 
+     * @param id
+     *          the entry, between <code>0</code> and <code>capacity() - 1</code>
+     * @param aabb
+     *          the box of the entry
+     */
+    public void insert(int id, AABBfc aabb) {
+        insert(id, aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ());
+    }
+
+    /**
+     * Move the entry <code>id</code> to the box given as its minimum corner <code>(minX, minY, minZ)</code> and maximum corner <code>(maxX, maxY, maxZ)</code>.
+     * <p>
+     * Only the buckets of the cells the entry leaves or enters are changed. The new box becomes visible to readers with the next {@link #publish()}.
+     * 
+     * @param id
+     *          the entry
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     * @throws IllegalArgumentException
+     *          if the entry is not present
+     */
+    public void move(int id, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        if (!contains(id))
+            throw new IllegalArgumentException("Entry not present: " + id);
+        int[] c = cells[id >>> PAGE_BITS];
+        int ce = (id & PAGE_MASK) * CELL_INTS;
+        int ox0 = c[ce], oy0 = c[ce + 1], oz0 = c[ce + 2], ox1 = c[ce + 3], oy1 = c[ce + 4], oz1 = c[ce + 5];
+        int x0 = cell(invCellSize, minX), y0 = cell(invCellSize, minY), z0 = cell(invCellSize, minZ);
+        int x1 = cell(invCellSize, maxX), y1 = cell(invCellSize, maxY), z1 = cell(invCellSize, maxZ);
+        setEntry(id, minX, minY, minZ, maxX, maxY, maxZ, x0, y0, z0, x1, y1, z1, 1);
+        if (x0 == ox0 && y0 == oy0 && z0 == oz0 && x1 == ox1 && y1 == oy1 && z1 == oz1)
+            return;
+        for (int z = oz0; z <= oz1; z++)
+            for (int y = oy0; y <= oy1; y++)
+                for (int x = ox0; x <= ox1; x++)
+                    if (x < x0 || y < y0 || z < z0 || x > x1 || y > y1 || z > z1)
+                        remove(id, x, y, z);
+        for (int z = z0; z <= z1; z++)
+            for (int y = y0; y <= y1; y++)
+                for (int x = x0; x <= x1; x++)
+                    if (x < ox0 || y < oy0 || z < oz0 || x > ox1 || y > oy1 || z > oz1)
+                        add(id, x, y, z);
+    }
+
+    /**
+     * Move the entry <code>id</code> to the given box.
+     * 
+     * @see #move(int, float, float, float, float, float, float)
+     * 
+     * @param id
+     *          the entry
+     * @param aabb
+     *          the new box of the entry
+     */
+    public void move(int id, AABBfc aabb) {
+        move(id, aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ());
+    }
+
+    /**
+     * Remove the entry <code>id</code>.
+     * <p>
+     * The entry disappears for readers with the next {@link #publish()}.
+     * 
+     * @param id
+     *          the entry
+     * @return <code>true</code> if the entry was present; <code>false</code> otherwise
+     */
+    public boolean remove(int id) {
+        if (!contains(id))
+            return false;
+        int[] c = cells[id >>> PAGE_BITS];
+        int ce = (id & PAGE_MASK) * CELL_INTS;
+        int x0 = c[ce], y0 = c[ce + 1], z0 = c[ce + 2], x1 = c[ce + 3], y1 = c[ce + 4], z1 = c[ce + 5];
+        for (int z = z0; z <= z1; z++)
+            for (int y = y0; y <= y1; y++)
+                for (int x = x0; x <= x1; x++)
+                    remove(id, x, y, z);
+        writableCells(id)[ce + 6] = 0;
+        size--;
+        return true;
+    }
+
+    private static int cell(float invCellSize, float v) {
+        return (int) Math.floor(v * invCellSize);
+    }
+
+    private static int hash(int x, int y, int z) {
+        return x * 73856093 ^ y * 19349663 ^ z * 83492791;
+    }
+
+    private void writableTables() {
+        modified = true;
+        if (tablesVersion == version)
+            return;
+        int[][][] newBuckets = new int[buckets.length][][];
+        System.arraycopy(buckets, 0, newBuckets, 0, buckets.length);
+        buckets = newBuckets;
+        float[][] newBounds = new float[bounds.length][];
+        System.arraycopy(bounds, 0, newBounds, 0, bounds.length);
+        bounds = newBounds;
+        int[][] newCells = new int[cells.length][];
+        System.arraycopy(cells, 0, newCells, 0, cells.length);
+        cells = newCells;
+        tablesVersion = version;
+    }
+
+    private int[][] writableBucketPage(int b) {
+        writableTables();
+        int p = b >>> PAGE_BITS;
+        if (bucketPageVersions[p] != version) {
+            int[][] page = new int[buckets[p].length][];
+            System.arraycopy(buckets[p], 0, page, 0, page.length);
+            buckets[p] = page;
+            bucketPageVersions[p] = version;
+        }
+        return buckets[p];
+    }
+
+    private void writableEntryPage(int id) {
+        writableTables();
+        int p = id >>> PAGE_BITS;
+        if (entryPageVersions[p] != version) {
+            float[] boundsPage = new float[bounds[p].length];
+            System.arraycopy(bounds[p], 0, boundsPage, 0, boundsPage.length);
+            bounds[p] = boundsPage;
+            int[] cellsPage = new int[cells[p].length];
+            System.arraycopy(cells[p], 0, cellsPage, 0, cellsPage.length);
+            cells[p] = cellsPage;
+            entryPageVersions[p] = version;
+        }
+    }
+
+    private int[] writableCells(int id) {
+        writableEntryPage(id);
+        return cells[id >>> PAGE_BITS];
+    }
+
+    private void setEntry(int id, float minX, float minY, float minZ, float maxX, float maxY, float maxZ,
+            int x0, int y0, int z0, int x1, int y1, int z1, int present) {
+        writableEntryPage(id);
+        float[] bo = bounds[id >>> PAGE_BITS];
+        int be = (id & PAGE_MASK) * 6;
+        bo[be] = minX;
+        bo[be + 1] = minY;
+        bo[be + 2] = minZ;
+        bo[be + 3] = maxX;
+        bo[be + 4] = maxY;
+        bo[be + 5] = maxZ;
+        int[] c = cells[id >>> PAGE_BITS];
+        int ce = (id & PAGE_MASK) * CELL_INTS;
+        c[ce] = x0;
+        c[ce + 1] = y0;
+        c[ce + 2] = z0;
+        c[ce + 3] = x1;
+        c[ce + 4] = y1;
+        c[ce + 5] = z1;
+        c[ce + 6] = present;
+    }
+
+    private void add(int id, int x, int y, int z) {
+        int b = hash(x, y, z) & bucketMask;
+        int[][] page = writableBucketPage(b);
+        int[] bucket = page[b & PAGE_MASK];
+        int n = bucket.length;
+        int[] newBucket = new int[n + 4];
+        System.arraycopy(bucket, 0, newBucket, 0, n);
+        newBucket[n] = id;
+        newBucket[n + 1] = x;
+        newBucket[n + 2] = y;
+        newBucket[n + 3] = z;
+        page[b & PAGE_MASK] = newBucket;
+    }
+
+    private void remove(int id, int x, int y, int z) {
+        int b = hash(x, y, z) & bucketMask;
+        int[] bucket = buckets[b >>> PAGE_BITS][b & PAGE_MASK];
+        int n = bucket.length;
+        for (int i = 0; i < n; i += 4) {
+            if (bucket[i] == id && bucket[i + 1] == x && bucket[i + 2] == y && bucket[i + 3] == z) {
+                int[] newBucket = EMPTY;
+                if (n > 4) {
+                    newBucket = new int[n - 4];
+                    System.arraycopy(bucket, 0, newBucket, 0, i);
+                    System.arraycopy(bucket, i + 4, newBucket, i, n - i - 4);
+                }
+                writableBucketPage(b)[b & PAGE_MASK] = newBucket;
+                return;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,458 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import org.joml.Math;
+
+/**
+ * A spatial hash grid over axis-aligned boxes that can be updated and queried by many threads at the same time.
+ * <p>
+ * Space is divided into cubic cells of a fixed size, and every cell is mapped by a hash function to one of a fixed number of buckets.
+ * Every entry is identified by an <code>int</code> between <code>0</code> and the {@link #capacity() capacity} chosen by the caller, and is
+ * registered in the bucket of each cell its box overlaps. Each bucket is a packed <code>int</code> array of <code>(entry, cellX, cellY, cellZ)</code>
+ * tuples, which is never modified in place: {@link #insert(int, float, float, float, float, float, float) insert},
+ * {@link #remove(int) remove} and {@link #move(int, float, float, float, float, float, float) move} build a new array while holding
+ * the lock of the bucket's stripe and then publish it through a volatile field, so that threads updating entries in different cells rarely
+ * block each other. Likewise, the box of each entry and the range of cells it overlaps are kept in an immutable object that is replaced as a
+ * whole and published through a volatile field. Moving an entry within the cells it already overlaps only publishes its new box and takes no
+ * lock at all.
+ * <p>
+ * The {@link #query(float, float, float, float, float, float, int[]) queries} take no locks and do not allocate; they only read the published
+ * bucket arrays and entry boxes, and therefore always see a consistent box for each entry. A query running concurrently with an update of an
+ * entry may or may not report that entry, and may report it twice if it moves to other cells during the query, but always reports every
+ * entry that overlaps the query box and is not being updated at the same time exactly once, namely in the first cell it shares with the
+ * query box.
+ * <p>
+ * Different entries may be updated concurrently, but updates of the same entry must not overlap: for example, each entry may be
+ * owned by a single worker thread at a time.
+ */
+public class SpatialHashf {
+
+    private static final int STRIPES = 64;
+    private static final int[] EMPTY = new int[0];
+
+    private final float cellSize;
+    private final float invCellSize;
+    private final int bucketMask;
+    private final Bucket[] buckets;
+    private final Object[] locks;
+    private final Entry[] entries;
+
+    private static final class Bucket {
+        /* packed (entry, cellX, cellY, cellZ) tuples, replaced as a whole under the lock of the bucket's stripe */
+        volatile int[] tuples = EMPTY;
+    }
+
+    private static final class Entry {
+        /* the current box, or null if the entry is not present */
+        volatile Box box;
+    }
+
+    private static final class Box {
+        final float minX, minY, minZ, maxX, maxY, maxZ;
+        /* minimum and maximum cell coordinates of the box */
+        final int x0, y0, z0, x1, y1, z1;
+
+        Box(float minX, float minY, float minZ, float maxX, float maxY, float maxZ, int x0, int y0, int z0, int x1, int y1, int z1) {
+            this.minX = minX;
+            this.minY = minY;
+            this.minZ = minZ;
+            this.maxX = maxX;
+            this.maxY = maxY;
+            this.maxZ = maxZ;
+            this.x0 = x0;
+            this.y0 = y0;
+            this.z0 = z0;
+            this.x1 = x1;
+            this.y1 = y1;
+            this.z1 = z1;
+        }
+    }
+
+    /**
+     * Create a new empty {@link SpatialHashf} with the given cell size, number of buckets and capacity.
+     * <p>
+     * The cell size should be about the size of a typical entry, so that most entries overlap only a few cells.
+     * 
+     * @param cellSize
+     *          the edge length of the cubic cells
+     * @param bucketCount
+     *          the number of buckets, which is rounded up to the next power of two
+     * @param capacity
+     *          the number of entries, which are identified by the indices <code>0</code> to <code>capacity - 1</code>
+     */
+    public SpatialHashf(float cellSize, int bucketCount, int capacity) {
+        if (!(cellSize > 0.0f) || bucketCount < 1 || capacity < 0)
+            throw new IllegalArgumentException();
+        int n = 1;
+        while (n < bucketCount)
+            n <<= 1;
+        this.cellSize = cellSize;
+        this.invCellSize = 1.0f / cellSize;
+        this.bucketMask = n - 1;
+        this.buckets = new Bucket[n];
+        for (int i = 0; i < n; i++)
+            buckets[i] = new Bucket();
+        this.locks = new Object[STRIPES];
+        for (int i = 0; i < STRIPES; i++)
+            locks[i] = new Object();
+        this.entries = new Entry[capacity];
+        for (int i = 0; i < capacity; i++)
+            entries[i] = new Entry();
+    }
+
+    /**
+     * @return the edge length of the cells
+     */
+    public float cellSize() {
+        return cellSize;
+    }
+
+    /**
+     * @return the number of entries this spatial hash can hold
+     */
+    public int capacity() {
+        return entries.length;
+    }
+
+    /**
+     * Determine whether the entry <code>id</code> is currently in the spatial hash.
+     * 
+     * @param id
+     *          the entry
+     * @return <code>true</code> if the entry was inserted and not removed since; <code>false</code> otherwise
+     */
+    public boolean contains(int id) {
+        return entries[id].box != null;
+    }
+
+    /**
+     * Store the current box of the entry <code>id</code> in <code>dest</code>.
+     * 
+     * @param id
+     *          the entry
+     * @param dest
+     *          will hold the box of the entry
+     * @return dest
+     * @throws IllegalArgumentException
+     *          if the entry is not in the spatial hash
+     */
+    public AABBf getBounds(int id, AABBf dest) {
+        Box box = entries[id].box;
+        if (box == null)
+            throw new IllegalArgumentException("Entry not present: " + id);
+        return dest.setMin(box.minX, box.minY, box.minZ).setMax(box.maxX, box.maxY, box.maxZ);
+    }
+
+    /**
+     * Insert the entry <code>id</code> with the box given as its minimum corner <code>(minX, minY, minZ)</code> and maximum corner <code>(maxX, maxY, maxZ)</code>.
+     * 
+     * @param id
+     *          the entry, between <code>0</code> and <code>capacity() - 1</code>
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     * @throws IllegalArgumentException
+     *          if the entry is already in the spatial hash
+     */
+    public void insert(int id, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        Entry entry = entries[id];
+        if (entry.box != null)
+            throw new IllegalArgumentException("Entry already present: " + id);
+        int x0 = cell(minX), y0 = cell(minY), z0 = cell(minZ), x1 = cell(maxX), y1 = cell(maxY), z1 = cell(maxZ);
+        /* publish the box before the bucket tuples, so that queries finding a tuple also find the box */
+        entry.box = new Box(minX, minY, minZ, maxX, maxY, maxZ, x0, y0, z0, x1, y1, z1);
+        for (int z = z0; z <= z1; z++)
+            for (int y = y0; y <= y1; y++)
+                for (int x = x0; x <= x1; x++)
+                    add(id, x, y, z);
+    }
+
+    /**
+     * Insert the entry <code>id</code> with the given box.
+     * 
+     * @see #insert(int, float, float, float, float, float, float)
+     * 
+     * @param id
+     *          the entry, between <code>0</code> and <code>capacity() - 1</code>
+     * @param aabb
+     *          the box of the entry
+     */
+    public void insert(int id, AABBfc aabb) {
+        insert(id, aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ());
+    }
+
+    /**
+     * Insert the entry <code>id</code> with the given box.
+     * 
+     * @see #insert(int, float, float, float, float, float, float)
+     * 
+     * @param id
+     *          the entry, between <code>0</code> and <code>capacity() - 1</code>
+     * @param aabb
+     *          the box of the entry
+     */
+    public void insert(int id, AABBic aabb) {
+        insert(id, aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ());
+    }
+
+    /**
+     * Move the entry <code>id</code> to the box given as its minimum corner <code>(minX, minY, minZ)</code> and maximum corner <code>(maxX, maxY, maxZ)</code>.
+     * <p>
+     * Only the buckets of the cells the entry leaves or enters are updated. If the new box overlaps the same cells as the old one, no lock is taken.
+     * 
+     * @param id
+     *          the entry
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     * @throws IllegalArgumentException
+     *          if the entry is not in the spatial hash
+     */
+    public void move(int id, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        Entry entry = entries[id];
+        Box old = entry.box;
+        if (old == null)
+            throw new IllegalArgumentException("Entry not present: " + id);
+        int ox0 = old.x0, oy0 = old.y0, oz0 = old.z0, ox1 = old.x1, oy1 = old.y1, oz1 = old.z1;
+        int x0 = cell(minX), y0 = cell(minY), z0 = cell(minZ), x1 = cell(maxX), y1 = cell(maxY), z1 = cell(maxZ);
+        Box box = new Box(minX, minY, minZ, maxX, maxY, maxZ, x0, y0, z0, x1, y1, z1);
+        if (x0 == ox0 && y0 == oy0 && z0 == oz0 && x1 == ox1 && y1 == oy1 && z1 == oz1) {
+            entry.box = box;
+            return;
+        }
+        /* enter the new cells before leaving the old ones, so that concurrent queries keep finding the entry */
+        for (int z = z0; z <= z1; z++)
+            for (int y = y0; y <= y1; y++)
+                for (int x = x0; x <= x1; x++)
+                    if (!inRange(x, y, z, ox0, oy0, oz0, ox1, oy1, oz1))
+                        add(id, x, y, z);
+        entry.box = box;
+        for (int z = oz0; z <= oz1; z++)
+            for (int y = oy0; y <= oy1; y++)
+                for (int x = ox0; x <= ox1; x++)
+                    if (!inRange(x, y, z, x0, y0, z0, x1, y1, z1))
+                        remove(id, x, y, z);
+    }
+
+    /**
+     * Move the entry <code>id</code> to the given box.
+     * 
+     * @see #move(int, float, float, float, float, float, float)
+     * 
+     * @param id
+     *          the entry
+     * @param aabb
+     *          the new box of the entry
+     */
+    public void move(int id, AABBfc aabb) {
+        move(id, aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ());
+    }
+
+    /**
+     * Move the entry <code>id</code> to the given box.
+     * 
+     * @see #move(int, float, float, float, float, float, float)
+     * 
+     * @param id
+     *          the entry
+     * @param aabb
+     *          the new box of the entry
+     */
+    public void move(int id, AABBic aabb) {
+        move(id, aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ());
+    }
+
+    /**
+     * Remove the entry <code>id</code> from the spatial hash.
+     * 
+     * @param id
+     *          the entry
+     * @return <code>true</code> if the entry was in the spatial hash; <code>false</code> otherwise
+     */
+    public boolean remove(int id) {
+        Entry entry = entries[id];
+        Box box = entry.box;
+        if (box == null)
+            return false;
+        for (int z = box.z0; z <= box.z1; z++)
+            for (int y = box.y0; y <= box.y1; y++)
+                for (int x = box.x0; x <= box.x1; x++)
+                    remove(id, x, y, z);
+        entry.box = null;
+        return true;
+    }
+
+    /**
+     * Find all entries whose box intersects the box given as its minimum corner <code>(minX, minY, minZ)</code>
+     * and maximum corner <code>(maxX, maxY, maxZ)</code>, and store them in <code>dest</code>.
+     * <p>
+     * This method takes no locks and may be called by any number of threads, also while other threads update the spatial hash.
+     * <p>
+     * If <code>dest</code> is full, the search stops and the remaining entries are not reported. A return value equal to
+     * <code>dest.length</code> therefore means that the result may be truncated; an array of {@link #capacity()} elements always suffices
+     * while no entry is moved concurrently.
+     * 
+     * @param minX
+     *          the x coordinate of the minimum corner
+     * @param minY
+     *          the y coordinate of the minimum corner
+     * @param minZ
+     *          the z coordinate of the minimum corner
+     * @param maxX
+     *          the x coordinate of the maximum corner
+     * @param maxY
+     *          the y coordinate of the maximum corner
+     * @param maxZ
+     *          the z coordinate of the maximum corner
+     * @param dest
+     *          will hold the found entries; the search stops when it is full
+     * @return the number of entries stored in <code>dest</code>
+     */
+    public int query(float minX, float minY, float minZ, float maxX, float maxY, float maxZ, int[] dest) {
+        int x0 = cell(minX), y0 = cell(minY), z0 = cell(minZ), x1 = cell(maxX), y1 = cell(maxY), z1 = cell(maxZ);
+        Entry[] entries = this.entries;
+        int n = 0;
+        for (int z = z0; z <= z1; z++)
+            for (int y = y0; y <= y1; y++)
+                for (int x = x0; x <= x1; x++) {
+                    int[] bucket = buckets[hash(x, y, z)].tuples;
+                    for (int i = 0; i < bucket.length; i += 4) {
+                        if (bucket[i + 1] != x || bucket[i + 2] != y || bucket[i + 3] != z)
+                            continue;
+                        int id = bucket[i];
+                        Box box = entries[id].box;
+                        /* report the entry only in the first cell it shares with the query box */
+                        if (box == null || x != Math.max(box.x0, x0) || y != Math.max(box.y0, y0) || z != Math.max(box.z0, z0))
+                            continue;
+                        if (box.minX > maxX || box.minY > maxY || box.minZ > maxZ ||
+                            box.maxX < minX || box.maxY < minY || box.maxZ < minZ)
+                            continue;
+                        if (n == dest.length)
+                            return n;
+                        dest[n++] = id;
+                    }
+                }
+        return n;
+    }
+
+    /**
+     * Find all entries whose box intersects the given box, and store them in <code>dest</code>.
+     * 
+     * @see #query(float, float, float, float, float, float, int[])
+     * 
+     * @param aabb
+     *          the query box
+     * @param dest
+     *          will hold the found entries; the search stops when it is full
+     * @return the number of entries stored in <code>dest</code>
+     */
+    public int query(AABBfc aabb, int[] dest) {
+        return query(aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ(), dest);
+    }
+
+    /**
+     * Find all entries whose box intersects the given box, and store them in <code>dest</code>.
+     * 
+     * @see #query(float, float, float, float, float, float, int[])
+     * 
+     * @param aabb
+     *          the query box
+     * @param dest
+     *          will hold the found entries; the search stops when it is full
+     * @return the number of entries stored in <code>dest</code>
+     */
+    public int query(AABBic aabb, int[] dest) {
+        return query(aabb.minX(), aabb.minY(), aabb.minZ(), aabb.maxX(), aabb.maxY(), aabb.maxZ(), dest);
+    }
+
+    private int cell(float v) {
+        return (int) Math.floor(v * invCellSize);
+    }
+
+    private int hash(int x, int y, int z) {
+        return (x * 73856093 ^ y * 19349663 ^ z * 83492791) & bucketMask;
+    }
+
+    private static boolean inRange(int x, int y, int z, int x0, int y0, int z0, int x1, int y1, int z1) {
+        return x >= x0 && y >= y0 && z >= z0 && x <= x1 && y <= y1 && z <= z1;
+    }
+
+    private void add(int id, int x, int y, int z) {
+        int b = hash(x, y, z);
+        synchronized (locks[b & (STRIPES - 1)]) {
+            Bucket holder = buckets[b];
+            int[] bucket = holder.tuples;
+            int n = bucket.length;
+            int[] newBucket = new int[n + 4];
+            System.arraycopy(bucket, 0, newBucket, 0, n);
+            newBucket[n] = id;
+            newBucket[n + 1] = x;
+            newBucket[n + 2] = y;
+            newBucket[n + 3] = z;
+            holder.tuples = newBucket;
+        }
+    }
+
+    private void remove(int id, int x, int y, int z) {
+        int b = hash(x, y, z);
+        synchronized (locks[b & (STRIPES - 1)]) {
+            Bucket holder = buckets[b];
+            int[] bucket = holder.tuples;
+            int n = bucket.length;
+            for (int i = 0; i < n; i += 4) {
+                if (bucket[i] == id && bucket[i + 1] == x && bucket[i + 2] == y && bucket[i + 3] == z) {
+                    if (n == 4) {
+                        holder.tuples = EMPTY;
+                    } else {
+                        int[] newBucket = new int[n - 4];
+                        System.arraycopy(bucket, 0, newBucket, 0, i);
+                        System.arraycopy(bucket, i + 4, newBucket, i, n - i - 4);
+                        holder.tuples = newBucket;
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,514 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import org.joml.Math;
+
+/**
+ * A bounding sphere hierarchy over a set of points, such as the vertices of a skinned or otherwise deforming mesh.
+ * <p>
+ * The hierarchy is built top-down by recursively splitting the points at the center of their bounds along the longest axis,
+ * until at most a given number of points remain in a leaf. Unlike the topology, which is fixed at build time, the spheres can be
+ * {@link #refit(float[], int, int) refitted} to moved points in a single bottom-up pass: every leaf sphere is recomputed from its
+ * points and every inner sphere is set to the smallest sphere enclosing the spheres of its two children. Since spheres are invariant
+ * under rotation, this refit keeps the hierarchy tight under articulated motion where the clusters of points mostly rotate and
+ * translate rigidly.
+ * <p>
+ * The nodes are stored in flat arrays in depth-first order, together with the index of the node following each subtree, so that the
+ * query methods traverse the hierarchy without a stack and without allocating. Queries may be run concurrently by several threads,
+ * as long as no thread builds or refits the hierarchy at the same time.
+ */
+public class SphereTreef {
+
+    private int nodeCount;
+    /* per node: center and radius, the index of the right child (or -1 for a leaf), the index following the subtree and the point range */
+    private float[] spheres = new float[0];
+    private int[] right = new int[0];
+    private int[] skip = new int[0];
+    private int[] first = new int[0];
+    private int[] count = new int[0];
+    /* the point indices ordered such that the points of every node are contiguous */
+    private int[] indices = new int[0];
+    private int pointCount;
+
+    /**
+     * Create a new empty {@link SphereTreef}.
+     */
+    public SphereTreef() {
+    }
+
+    /**
+     * Build the hierarchy over the <code>count</code> points whose <code>(x, y, z)</code> coordinates are stored in <code>points</code>
+     * starting at <code>offset</code>, with <code>stride</code> array elements between the starts of two consecutive points.
+     * <p>
+     * Any previous hierarchy is discarded, but the internal arrays are only reallocated if they are too small.
+     * 
+     * @param points
+     *          the array containing the point coordinates
+     * @param offset
+     *          the position in <code>points</code> of the x coordinate of the first point
+     * @param stride
+     *          the number of array elements between the x coordinates of two consecutive points, at least <code>3</code>
+     * @param count
+     *          the number of points
+     * @param maxLeafPoints
+     *          the maximum number of points in a leaf, at least <code>1</code>
+     * @return this
+     */
+    public SphereTreef build(float[] points, int offset, int stride, int count, int maxLeafPoints) {
+        if (maxLeafPoints < 1)
+            maxLeafPoints = 1;
+        if (indices.length < count)
+            indices = new int[count];
+        for (int i = 0; i < count; i++)
+            indices[i] = i;
+        pointCount = count;
+        nodeCount = 0;
+        if (count == 0)
+            return this;
+        /* a binary tree whose leaves hold between 1 and maxLeafPoints points has at most 2 * count - 1 nodes */
+        ensureNodeCapacity(2 * count - 1);
+        /* pending subtrees as (first point, point count, parent node) triples, where the left subtree is processed first */
+        int[] stack = new int[3 * 64];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = count;
+        stack[top++] = -1;
+        while (top > 0) {
+            int parent = stack[--top], n = stack[--top], start = stack[--top];
+            int node = nodeCount++;
+            if (parent >= 0)
+                right[parent] = node;
+            first[node] = start;
+            this.count[node] = n;
+            right[node] = -1;
+            if (n <= maxLeafPoints)
+                continue;
+            int mid = split(points, offset, stride, start, n);
+            if (top + 6 > stack.length) {
+                int[] newStack = new int[stack.length << 1];
+                System.arraycopy(stack, 0, newStack, 0, top);
+                stack = newStack;
+            }
+            /* the right child is linked to its parent when it is popped */
+            stack[top++] = mid;
+            stack[top++] = start + n - mid;
+            stack[top++] = node;
+            stack[top++] = start;
+            stack[top++] = mid - start;
+            stack[top++] = -1;
+        }
+        for (int i = nodeCount - 1; i >= 0; i--)
+            skip[i] = right[i] < 0 ? i + 1 : skip[right[i]];
+        return refit(points, offset, stride);
+    }
+
+    private void ensureNodeCapacity(int capacity) {
+        if (right.length >= capacity)
+            return;
+        spheres = new float[4 * capacity];
+        right = new int[capacity];
+        skip = new int[capacity];
+        first = new int[capacity];
+        count = new int[capacity];
+    }
+
+    /* partition indices[start..start+n) at the center of their bounds along the longest axis and return the start of the second half */
+    private int split(float[] points, int offset, int stride, int start, int n) {
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+        for (int i = start; i < start + n; i++) {
+            int j = offset + indices[i] * stride;
+            minX = Math.min(minX, points[j]);
+            minY = Math.min(minY, points[j + 1]);
+            minZ = Math.min(minZ, points[j + 2]);
+            maxX = Math.max(maxX, points[j]);
+            maxY = Math.max(maxY, points[j + 1]);
+            maxZ = Math.max(maxZ, points[j + 2]);
+        }
+        float eX = maxX - minX, eY = maxY - minY, eZ = maxZ - minZ;
+        int axis = eX >= eY && eX >= eZ ? 0 : eY >= eZ ? 1 : 2;
+        float center = axis == 0 ? (minX + maxX) * 0.5f : axis == 1 ? (minY + maxY) * 0.5f : (minZ + maxZ) * 0.5f;
+        int i = start, j = start + n - 1;
+        while (i <= j) {
+            if (points[offset + indices[i] * stride + axis] < center) {
+                i++;
+            } else {
+                int t = indices[i];
+                indices[i] = indices[j];
+                indices[j--] = t;
+            }
+        }
+        /* all points on one side happens for coincident points: split the range in halves instead */
+        if (i == start || i == start + n)
+            i = start + (n >> 1);
+        return i;
+    }
+
+    /**
+     * Recompute all spheres of the hierarchy from the current coordinates of the points it was {@link #build(float[], int, int, int, int) built}
+     * over, keeping the topology.
+     * <p>
+     * The points must be given in the same order and number as when building the hierarchy, but may be stored in a different array
+     * and with a different layout.
+     * 
+     * @param points
+     *          the array containing the point coordinates
+     * @param offset
+     *          the position in <code>points</code> of the x coordinate of the first point
+     * @param stride
+     *          the number of array elements between the x coordinates of two consecutive points, at least <code>3</code>
+     * @return this
+     */
+    public SphereTreef refit(float[] points, int offset, int stride) {
+        /* children always follow their parent, so a reverse pass visits them first */
+        for (int node = nodeCount - 1; node >= 0; node--) {
+            if (right[node] < 0)
+                fitLeaf(points, offset, stride, node);
+            else
+                fitInner(node, node + 1, right[node]);
+        }
+        return this;
+    }
+
+    private void fitLeaf(float[] points, int offset, int stride, int node) {
+        int start = first[node], end = start + count[node];
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+        for (int i = start; i < end; i++) {
+            int j = offset + indices[i] * stride;
+            minX = Math.min(minX, points[j]);
+            minY = Math.min(minY, points[j + 1]);
+            minZ = Math.min(minZ, points[j + 2]);
+            maxX = Math.max(maxX, points[j]);
+            maxY = Math.max(maxY, points[j + 1]);
+            maxZ = Math.max(maxZ, points[j + 2]);
+        }
+        float cX = (minX + maxX) * 0.5f, cY = (minY + maxY) * 0.5f, cZ = (minZ + maxZ) * 0.5f;
+        float maxD2 = 0.0f;
+        for (int i = start; i < end; i++) {
+            int j = offset + indices[i] * stride;
+            float dX = points[j] - cX, dY = points[j + 1] - cY, dZ = points[j + 2] - cZ;
+            maxD2 = Math.max(maxD2, dX * dX + dY * dY + dZ * dZ);
+        }
+        int s = node << 2;
+        spheres[s] = cX;
+        spheres[s + 1] = cY;
+        spheres[s + 2] = cZ;
+        spheres[s + 3] = Math.sqrt(maxD2);
+    }
+
+    /* set the sphere of node to the smallest sphere enclosing the spheres of a and b */
+    private void fitInner(int node, int a, int b) {
+        int s = node << 2, sa = a << 2, sb = b << 2;
+        float dX = spheres[sb] - spheres[sa], dY = spheres[sb + 1] - spheres[sa + 1], dZ = spheres[sb + 2] - spheres[sa + 2];
+        float rA = spheres[sa + 3], rB = spheres[sb + 3];
+        float d = Math.sqrt(dX * dX + dY * dY + dZ * dZ);
+        if (d + rB <= rA) {
+            System.arraycopy(spheres, sa, spheres, s, 4);
+        } else if (d + rA <= rB) {
+            System.arraycopy(spheres, sb, spheres, s, 4);
+        } else {
+            float r = (d + rA + rB) * 0.5f;
+            float k = (r - rA) / d;
+            spheres[s] = spheres[sa] + dX * k;
+            spheres[s + 1] = spheres[sa + 1] + dY * k;
+            spheres[s + 2] = spheres[sa + 2] + dZ * k;
+            spheres[s + 3] = r;
+        }
+    }
+
+    /**
+     * Return the number of nodes of the hierarchy. The root node has index <code>0</code>.
+     * 
+     * @return the number of nodes
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Store the bounding sphere of the given node into <code>dest</code>.
+     * 
+     * @param node
+     *          the index of the node in <code>[0..nodeCount()-1]</code>
+     * @param dest
+     *          will hold the sphere of the node
+     * @return dest
+     */
+    public Spheref getSphere(int node, Spheref dest) {
+        int s = node << 2;
+        dest.x = spheres[s];
+        dest.y = spheres[s + 1];
+        dest.z = spheres[s + 2];
+        dest.r = spheres[s + 3];
+        return dest;
+    }
+
+    /**
+     * Return whether the given node is a leaf.
+     * 
+     * @param node
+     *          the index of the node in <code>[0..nodeCount()-1]</code>
+     * @return <code>true</code> if the node is a leaf; <code>false</code> otherwise
+     */
+    public boolean isLeaf(int node) {
+        return right[node] < 0;
+    }
+
+    /**
+     * Store the indices of all points contained in the subtree of the given node into <code>dest</code>.
+     * 
+     * @param node
+     *          the index of the node in <code>[0..nodeCount()-1]</code>
+     * @param dest
+     *          will hold the point indices and must be large enough
+     * @return the number of point indices stored into <code>dest</code>
+     */
+    public int getPoints(int node, int[] dest) {
+        System.arraycopy(indices, first[node], dest, 0, count[node]);
+        return count[node];
+    }
+
+    /**
+     * Test whether any leaf sphere of the hierarchy intersects the sphere with center <code>(centerX, centerY, centerZ)</code>
+     * and the given <code>radius</code>.
+     * 
+     * @param centerX
+     *          the x coordinate of the sphere's center
+     * @param centerY
+     *          the y coordinate of the sphere's center
+     * @param centerZ
+     *          the z coordinate of the sphere's center
+     * @param radius
+     *          the sphere's radius
+     * @return <code>true</code> if a leaf sphere intersects the given sphere; <code>false</code> otherwise
+     */
+    public boolean testSphere(float centerX, float centerY, float centerZ, float radius) {
+        return querySphere(centerX, centerY, centerZ, radius, null) > 0;
+    }
+
+    /**
+     * Test whether any leaf sphere of the hierarchy intersects the given sphere.
+     * 
+     * @param sphere
+     *          the sphere
+     * @return <code>true</code> if a leaf sphere intersects the given sphere; <code>false</code> otherwise
+     */
+    public boolean testSphere(Spheref sphere) {
+        return querySphere(sphere.x, sphere.y, sphere.z, sphere.r, null) > 0;
+    }
+
+    /**
+     * Determine the leaves whose spheres intersect the sphere with center <code>(centerX, centerY, centerZ)</code> and the given
+     * <code>radius</code>, and store their node indices into <code>dest</code>.
+     * <p>
+     * If <code>dest</code> is <code>null</code>, the traversal stops at the first intersecting leaf. Otherwise, at most
+     * <code>dest.length</code> leaves are reported.
+     * 
+     * @param centerX
+     *          the x coordinate of the sphere's center
+     * @param centerY
+     *          the y coordinate of the sphere's center
+     * @param centerZ
+     *          the z coordinate of the sphere's center
+     * @param radius
+     *          the sphere's radius
+     * @param dest
+     *          will hold the node indices of the intersecting leaves (may be <code>null</code>)
+     * @return the number of intersecting leaves found
+     */
+    public int querySphere(float centerX, float centerY, float centerZ, float radius, int[] dest) {
+        int found = 0, limit = dest == null ? 1 : dest.length;
+        for (int node = 0; node < nodeCount && found < limit;) {
+            int s = node << 2;
+            float dX = spheres[s] - centerX, dY = spheres[s + 1] - centerY, dZ = spheres[s + 2] - centerZ;
+            float r = spheres[s + 3] + radius;
+            if (dX * dX + dY * dY + dZ * dZ > r * r) {
+                node = skip[node];
+                continue;
+            }
+            if (right[node] < 0) {
+                if (dest != null)
+                    dest[found] = node;
+                found++;
+            }
+            node++;
+        }
+        return found;
+    }
+
+    /**
+     * Test whether any leaf sphere of the hierarchy intersects the ray with the given origin and normalized direction.
+     * 
+     * @param originX
+     *          the x coordinate of the ray's origin
+     * @param originY
+     *          the y coordinate of the ray's origin
+     * @param originZ
+     *          the z coordinate of the ray's origin
+     * @param dirX
+     *          the x coordinate of the ray's normalized direction
+     * @param dirY
+     *          the y coordinate of the ray's normalized direction
+     * @param dirZ
+     *          the z coordinate of the ray's normalized direction
+     * @return <code>true</code> if a leaf sphere intersects the ray; <code>false</code> otherwise
+     */
+    public boolean testRay(float originX, float originY, float originZ, float dirX, float dirY, float dirZ) {
+        return queryRay(originX, originY, originZ, dirX, dirY, dirZ, null) > 0;
+    }
+
+    /**
+     * Test whether any leaf sphere of the hierarchy intersects the given ray, whose direction must be normalized.
+     * 
+     * @param ray
+     *          the ray
+     * @return <code>true</code> if a leaf sphere intersects the ray; <code>false</code> otherwise
+     */
+    public boolean testRay(Rayf ray) {
+        return queryRay(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, null) > 0;
+    }
+
+    /**
+     * Determine the leaves whose spheres intersect the ray with the given origin and normalized direction, and store their node
+     * indices into <code>dest</code>.
+     * <p>
+     * If <code>dest</code> is <code>null</code>, the traversal stops at the first intersecting leaf. Otherwise, at most
+     * <code>dest.length</code> leaves are reported.
+     * 
+     * @see Intersectionf#testRaySphere(float, float, float, float, float, float, float, float, float, float)
+     * 
+     * @param originX
+     *          the x coordinate of the ray's origin
+     * @param originY
+     *          the y coordinate of the ray's origin
+     * @param originZ
+     *          the z coordinate of the ray's origin
+     * @param dirX
+     *          the x coordinate of the ray's normalized direction
+     * @param dirY
+     *          the y coordinate of the ray's normalized direction
+     * @param dirZ
+     *          the z coordinate of the ray's normalized direction
+     * @param dest
+     *          will hold the node indices of the intersecting leaves (may be <code>null</code>)
+     * @return the number of intersecting leaves found
+     */
+    public int queryRay(float originX, float originY, float originZ, float dirX, float dirY, float dirZ, int[] dest) {
+        int found = 0, limit = dest == null ? 1 : dest.length;
+        for (int node = 0; node < nodeCount && found < limit;) {
+            int s = node << 2;
+            float r = spheres[s + 3];
+            if (!Intersectionf.testRaySphere(originX, originY, originZ, dirX, dirY, dirZ, spheres[s], spheres[s + 1], spheres[s + 2], r * r)) {
+                node = skip[node];
+                continue;
+            }
+            if (right[node] < 0) {
+                if (dest != null)
+                    dest[found] = node;
+                found++;
+            }
+            node++;
+        }
+        return found;
+    }
+
+    /**
+     * Test whether any leaf sphere of the hierarchy intersects the axis-aligned box given as its minimum and maximum corner.
+     * 
+     * @param minX
+     *          the x coordinate of the minimum corner of the axis-aligned box
+     * @param minY
+     *          the y coordinate of the minimum corner of the axis-aligned box
+     * @param minZ
+     *          the z coordinate of the minimum corner of the axis-aligned box
+     * @param maxX
+     *          the x coordinate of the maximum corner of the axis-aligned box
+     * @param maxY
+     *          the y coordinate of the maximum corner of the axis-aligned box
+     * @param maxZ
+     *          the z coordinate of the maximum corner of the axis-aligned box
+     * @return <code>true</code> if a leaf sphere intersects the box; <code>false</code> otherwise
+     */
+    public boolean testAab(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        return queryAab(minX, minY, minZ, maxX, maxY, maxZ, null) > 0;
+    }
+
+    /**
+     * Test whether any leaf sphere of the hierarchy intersects the given axis-aligned box.
+     * 
+     * @param aabb
+     *          the axis-aligned box
+     * @return <code>true</code> if a leaf sphere intersects the box; <code>false</code> otherwise
+     */
+    public boolean testAab(AABBf aabb) {
+        return queryAab(aabb.minX, aabb.minY, aabb.minZ, aabb.maxX, aabb.maxY, aabb.maxZ, null) > 0;
+    }
+
+    /**
+     * Determine the leaves whose spheres intersect the axis-aligned box given as its minimum and maximum corner, and store their
+     * node indices into <code>dest</code>.
+     * <p>
+     * If <code>dest</code> is <code>null</code>, the traversal stops at the first intersecting leaf. Otherwise, at most
+     * <code>dest.length</code> leaves are reported.
+     * 
+     * @see Intersectionf#testAabSphere(float, float, float, float, float, float, float, float, float, float)
+     * 
+     * @param minX
+     *          the x coordinate of the minimum corner of the axis-aligned box
+     * @param minY
+     *          the y coordinate of the minimum corner of the axis-aligned box
+     * @param minZ
+     *          the z coordinate of the minimum corner of the axis-aligned box
+     * @param maxX
+     *          the x coordinate of the maximum corner of the axis-aligned box
+     * @param maxY
+     *          the y coordinate of the maximum corner of the axis-aligned box
+     * @param maxZ
+     *          the z coordinate of the maximum corner of the axis-aligned box
+     * @param dest
+     *          will hold the node indices of the intersecting leaves (may be <code>null</code>)
+     * @return the number of intersecting leaves found
+     */
+    public int queryAab(float minX, float minY, float minZ, float maxX, float maxY, float maxZ, int[] dest) {
+        int found = 0, limit = dest == null ? 1 : dest.length;
+        for (int node = 0; node < nodeCount && found < limit;) {
+            int s = node << 2;
+            float r = spheres[s + 3];
+            if (!Intersectionf.testAabSphere(minX, minY, minZ, maxX, maxY, maxZ, spheres[s], spheres[s + 1], spheres[s + 2], r * r)) {
+                node = skip[node];
+                continue;
+            }
+            if (right[node] < 0) {
+                if (dest != null)
+                    dest[found] = node;
+                found++;
+            }
+            node++;
+        }
+        return found;
+    }
+
+}
@@ -27,9 +27,14 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+//#ifdef __HAS_NIO__
+import java.nio.DoubleBuffer;
+//#endif
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 
+import org.joml.Math;
+import org.joml.Matrix4dc;
 import org.joml.Options;
 import org.joml.Runtime;
 import org.joml.Vector3dc;
@@ -42,6 +47,9 @@ import org.joml.Vector3fc;
  */
 public class Sphered implements Externalizable {
 
+    /* the shuffled point offsets of the last setFromPointsWelzl() call of the current thread, reused by the next call */
+    private static final ThreadLocal welzlOrder = new ThreadLocal();
+
     /**
      * The x coordinate of the sphere's center.
      */
@@ -210,6 +218,437 @@ public class Sphered implements Externalizable {
         return dest;
     }
 
+    /**
+     * Set <code>this</code> to an approximate bounding sphere of the <code>count</code> points whose <code>(x, y, z)</code> coordinates
+     * are stored in <code>points</code> starting at <code>offset</code>, with <code>stride</code> array elements between the starts of two
+     * consecutive points.
+     * <p>
+     * This uses Ritter's algorithm: the initial sphere spans the most distant pair among the points with minimum and maximum x, y and z
+     * coordinates, and is then grown to include every point lying outside of it. The result contains all points and is typically
+     * within 5% to 20% of the radius of the minimal bounding sphere. It is computed in two passes over the array.
+     * <p>
+     * If <code>count</code> is <code>0</code>, <code>this</code> will be set to a sphere of radius <code>0</code> at the origin.
+     * <p>
+     * Reference: <a href="https://en.wikipedia.org/wiki/Bounding_sphere#Ritter's_bounding_sphere">Ritter's bounding sphere</a>
+     * 
+     * @see #setFromPointsWelzl(double[], int, int, int)
+     * 
+     * @param points
+     *          the array containing the point coordinates
+     * @param offset
+     *          the position in <code>points</code> of the x coordinate of the first point
+     * @param stride
+     *          the number of array elements between the x coordinates of two consecutive points, at least <code>3</code>
+     * @param count
+     *          the number of points
+     * @return this
+     */
+    public Sphered setFromPointsRitter(double[] points, int offset, int stride, int count) {
+        if (count <= 0) {
+            x = y = z = r = 0.0;
+            return this;
+        }
+        int minX = offset, maxX = offset, minY = offset, maxY = offset, minZ = offset, maxZ = offset;
+        for (int i = 1, j = offset + stride; i < count; i++, j += stride) {
+            if (points[j] < points[minX])
+                minX = j;
+            if (points[j] > points[maxX])
+                maxX = j;
+            if (points[j + 1] < points[minY + 1])
+                minY = j;
+            if (points[j + 1] > points[maxY + 1])
+                maxY = j;
+            if (points[j + 2] < points[minZ + 2])
+                minZ = j;
+            if (points[j + 2] > points[maxZ + 2])
+                maxZ = j;
+        }
+        int a = minX, b = maxX;
+        double best = distanceSquared(points, minX, maxX);
+        double d2 = distanceSquared(points, minY, maxY);
+        if (d2 > best) {
+            best = d2;
+            a = minY;
+            b = maxY;
+        }
+        if (distanceSquared(points, minZ, maxZ) > best) {
+            a = minZ;
+            b = maxZ;
+        }
+        double cX = (points[a] + points[b]) * 0.5, cY = (points[a + 1] + points[b + 1]) * 0.5, cZ = (points[a + 2] + points[b + 2]) * 0.5;
+        double dX = points[b] - cX, dY = points[b + 1] - cY, dZ = points[b + 2] - cZ;
+        double radius = Math.sqrt(dX * dX + dY * dY + dZ * dZ);
+        for (int i = 0, j = offset; i < count; i++, j += stride) {
+            dX = points[j] - cX;
+            dY = points[j + 1] - cY;
+            dZ = points[j + 2] - cZ;
+            d2 = dX * dX + dY * dY + dZ * dZ;
+            if (d2 > radius * radius) {
+                double d = Math.sqrt(d2);
+                double newRadius = (radius + d) * 0.5;
+                double k = (newRadius - radius) / d;
+                radius = newRadius;
+                cX += dX * k;
+                cY += dY * k;
+                cZ += dZ * k;
+            }
+        }
+        this.x = cX;
+        this.y = cY;
+        this.z = cZ;
+        this.r = radius;
+        return this;
+    }
+
+    private static double distanceSquared(double[] points, int a, int b) {
+        double dX = points[b] - points[a], dY = points[b + 1] - points[a + 1], dZ = points[b + 2] - points[a + 2];
+        return dX * dX + dY * dY + dZ * dZ;
+    }
+
+//#ifdef __HAS_NIO__
+    /**
+     * Set <code>this</code> to an approximate bounding sphere of the <code>count</code> points whose <code>(x, y, z)</code> coordinates
+     * are stored in <code>points</code> starting at the absolute buffer position <code>offset</code>, with <code>stride</code> buffer elements
+     * between the starts of two consecutive points.
+     * <p>
+     * This method does not modify the position of the buffer.
+     * 
+     * @see #setFromPointsRitter(double[], int, int, int)
+     * 
+     * @param points
+     *          the buffer containing the point coordinates
+     * @param offset
+     *          the absolute position in <code>points</code> of the x coordinate of the first point
+     * @param stride
+     *          the number of buffer elements between the x coordinates of two consecutive points, at least <code>3</code>
+     * @param count
+     *          the number of points
+     * @return this
+     */
+    public Sphered setFromPointsRitter(DoubleBuffer points, int offset, int stride, int count) {
+        if (count <= 0) {
+            x = y = z = r = 0.0;
+            return this;
+        }
+        int minX = offset, maxX = offset, minY = offset, maxY = offset, minZ = offset, maxZ = offset;
+        for (int i = 1, j = offset + stride; i < count; i++, j += stride) {
+            if (points.get(j) < points.get(minX))
+                minX = j;
+            if (points.get(j) > points.get(maxX))
+                maxX = j;
+            if (points.get(j + 1) < points.get(minY + 1))
+                minY = j;
+            if (points.get(j + 1) > points.get(maxY + 1))
+                maxY = j;
+            if (points.get(j + 2) < points.get(minZ + 2))
+                minZ = j;
+            if (points.get(j + 2) > points.get(maxZ + 2))
+                maxZ = j;
+        }
+        int a = minX, b = maxX;
+        double best = distanceSquared(points, minX, maxX);
+        double d2 = distanceSquared(points, minY, maxY);
+        if (d2 > best) {
+            best = d2;
+            a = minY;
+            b = maxY;
+        }
+        if (distanceSquared(points, minZ, maxZ) > best) {
+            a = minZ;
+            b = maxZ;
+        }
+        double cX = (points.get(a) + points.get(b)) * 0.5;
+        double cY = (points.get(a + 1) + points.get(b + 1)) * 0.5;
+        double cZ = (points.get(a + 2) + points.get(b + 2)) * 0.5;
+        double dX = points.get(b) - cX, dY = points.get(b + 1) - cY, dZ = points.get(b + 2) - cZ;
+        double radius = Math.sqrt(dX * dX + dY * dY + dZ * dZ);
+        for (int i = 0, j = offset; i < count; i++, j += stride) {
+            dX = points.get(j) - cX;
+            dY = points.get(j + 1) - cY;
+            dZ = points.get(j + 2) - cZ;
+            d2 = dX * dX + dY * dY + dZ * dZ;
+            if (d2 > radius * radius) {
+                double d = Math.sqrt(d2);
+                double newRadius = (radius + d) * 0.5;
+                double k = (newRadius - radius) / d;
+                radius = newRadius;
+                cX += dX * k;
+                cY += dY * k;
+                cZ += dZ * k;
+            }
+        }
+        this.x = cX;
+        this.y = cY;
+        this.z = cZ;
+        this.r = radius;
+        return this;
+    }
+
+    private static double distanceSquared(DoubleBuffer points, int a, int b) {
+        double dX = points.get(b) - points.get(a), dY = points.get(b + 1) - points.get(a + 1), dZ = points.get(b + 2) - points.get(a + 2);
+        return dX * dX + dY * dY + dZ * dZ;
+    }
+//#endif
+
+    /**
+     * Set <code>this</code> to the minimal bounding sphere of the <code>count</code> points whose <code>(x, y, z)</code> coordinates
+     * are stored in <code>points</code> starting at <code>offset</code>, with <code>stride</code> array elements between the starts of two
+     * consecutive points.
+     * <p>
+     * This uses the iterative form of Welzl's randomized incremental algorithm, which runs in expected linear time. The points are
+     * visited in an order shuffled by a Fisher-Yates shuffle with a fixed seed, so that results are reproducible and sorted inputs such
+     * as grid vertices do not run into the quadratic worst case. The <code>points</code> array is not modified, and the array holding the
+     * shuffled order is kept per thread and reused by later calls.
+     * <p>
+     * When four or three of the support points are (nearly) coplanar or collinear, respectively, the sphere is grown to include the
+     * offending point instead, so that the result is guaranteed to contain all points but may be slightly larger than the minimal sphere
+     * for such degenerate inputs.
+     * <p>
+     * If <code>count</code> is <code>0</code>, <code>this</code> will be set to a sphere of radius <code>0</code> at the origin.
+     * <p>
+     * Reference: <a href="https://en.wikipedia.org/wiki/Smallest-circle_problem#Welzl's_algorithm">Welzl's algorithm</a>
+     * 
+     * @see #setFromPointsRitter(double[], int, int, int)
+     * 
+     * @param points
+     *          the array containing the point coordinates
+     * @param offset
+     *          the position in <code>points</code> of the x coordinate of the first point
+     * @param stride
+     *          the number of array elements between the x coordinates of two consecutive points, at least <code>3</code>
+     * @param count
+     *          the number of points
+     * @return this
+     */
+    public Sphered setFromPointsWelzl(double[] points, int offset, int stride, int count) {
+        if (count <= 0) {
+            x = y = z = r = 0.0;
+            return this;
+        }
+        int[] order = shuffledOffsets(offset, stride, count);
+        int a0 = order[0];
+        x = points[a0];
+        y = points[a0 + 1];
+        z = points[a0 + 2];
+        r = 0.0;
+        for (int i = 1; i < count; i++) {
+            int a = order[i];
+            if (!isOutside(points, a))
+                continue;
+            x = points[a];
+            y = points[a + 1];
+            z = points[a + 2];
+            r = 0.0;
+            for (int j = 0; j < i; j++) {
+                int b = order[j];
+                if (!isOutside(points, b))
+                    continue;
+                setSphere(points, a, b);
+                for (int k = 0; k < j; k++) {
+                    int c = order[k];
+                    if (!isOutside(points, c))
+                        continue;
+                    setSphere(points, a, b, c);
+                    for (int l = 0; l < k; l++) {
+                        int d = order[l];
+                        if (!isOutside(points, d))
+                            continue;
+                        setSphere(points, a, b, c, d);
+                    }
+                }
+            }
+        }
+        /* Account for the tolerance of isOutside() so that every point is contained */
+        double maxD2 = r * r;
+        for (int i = 0, j = offset; i < count; i++, j += stride) {
+            double dX = points[j] - x, dY = points[j + 1] - y, dZ = points[j + 2] - z;
+            double d2 = dX * dX + dY * dY + dZ * dZ;
+            maxD2 = maxD2 > d2 ? maxD2 : d2;
+        }
+        r = Math.sqrt(maxD2);
+        return this;
+    }
+
+    private static int[] shuffledOffsets(int offset, int stride, int count) {
+        int[] order = (int[]) welzlOrder.get();
+        if (order == null || order.length < count) {
+            order = new int[count];
+            welzlOrder.set(order);
+        }
+        for (int i = 0, a = offset; i < count; i++, a += stride)
+            order[i] = a;
+        /* Fisher-Yates shuffle driven by a linear congruential generator with a fixed seed */
+        long seed = 0x2545F4914F6CDD1DL;
+        for (int i = count - 1; i > 0; i--) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            int j = (int) (((seed >>> 32) * (i + 1)) >>> 32);
+            int t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+        }
+        return order;
+    }
+
+    private boolean isOutside(double[] points, int a) {
+        double dX = points[a] - x, dY = points[a + 1] - y, dZ = points[a + 2] - z;
+        return dX * dX + dY * dY + dZ * dZ > r * r * (1.0 + 1E-5);
+    }
+
+    private void setSphere(double[] points, int a, int b) {
+        x = (points[a] + points[b]) * 0.5;
+        y = (points[a + 1] + points[b + 1]) * 0.5;
+        z = (points[a + 2] + points[b + 2]) * 0.5;
+        r = Math.sqrt(distanceSquared(points, a, b)) * 0.5;
+    }
+
+    private void setSphere(double[] points, int a, int b, int c) {
+        double abX = points[b] - points[a], abY = points[b + 1] - points[a + 1], abZ = points[b + 2] - points[a + 2];
+        double acX = points[c] - points[a], acY = points[c + 1] - points[a + 1], acZ = points[c + 2] - points[a + 2];
+        double nX = abY * acZ - abZ * acY, nY = abZ * acX - abX * acZ, nZ = abX * acY - abY * acX;
+        double nn = nX * nX + nY * nY + nZ * nZ;
+        double ab2 = abX * abX + abY * abY + abZ * abZ, ac2 = acX * acX + acY * acY + acZ * acZ;
+        if (nn <= 1E-6 * ab2 * ac2) {
+            /* Collinear: the sphere through a and b must grow to include c */
+            grow(points, c);
+            return;
+        }
+        /* Circumcenter = a + (|ac|^2 * (n x ab) + |ab|^2 * (ac x n)) / (2 * |n|^2) */
+        double s = 0.5 / nn;
+        double oX = (ac2 * (nY * abZ - nZ * abY) + ab2 * (acY * nZ - acZ * nY)) * s;
+        double oY = (ac2 * (nZ * abX - nX * abZ) + ab2 * (acZ * nX - acX * nZ)) * s;
+        double oZ = (ac2 * (nX * abY - nY * abX) + ab2 * (acX * nY - acY * nX)) * s;
+        x = points[a] + oX;
+        y = points[a + 1] + oY;
+        z = points[a + 2] + oZ;
+        r = Math.sqrt(oX * oX + oY * oY + oZ * oZ);
+    }
+
+    private void setSphere(double[] points, int a, int b, int c, int d) {
+        double abX = points[b] - points[a], abY = points[b + 1] - points[a + 1], abZ = points[b + 2] - points[a + 2];
+        double acX = points[c] - points[a], acY = points[c + 1] - points[a + 1], acZ = points[c + 2] - points[a + 2];
+        double adX = points[d] - points[a], adY = points[d + 1] - points[a + 1], adZ = points[d + 2] - points[a + 2];
+        double ab2 = abX * abX + abY * abY + abZ * abZ;
+        double ac2 = acX * acX + acY * acY + acZ * acZ;
+        double ad2 = adX * adX + adY * adY + adZ * adZ;
+        /* Cross products of the edge pairs */
+        double cdX = acY * adZ - acZ * adY, cdY = acZ * adX - acX * adZ, cdZ = acX * adY - acY * adX;
+        double dbX = adY * abZ - adZ * abY, dbY = adZ * abX - adX * abZ, dbZ = adX * abY - adY * abX;
+        double bcX = abY * acZ - abZ * acY, bcY = abZ * acX - abX * acZ, bcZ = abX * acY - abY * acX;
+        double det = abX * cdX + abY * cdY + abZ * cdZ;
+        double scale = ab2 * ac2 * ad2;
+        if (det * det <= 1E-8 * scale) {
+            /* Coplanar: the sphere through a, b and c must grow to include d */
+            grow(points, d);
+            return;
+        }
+        /* Circumcenter = a + (|ab|^2 * (ac x ad) + |ac|^2 * (ad x ab) + |ad|^2 * (ab x ac)) / (2 * det) */
+        double s = 0.5 / det;
+        double oX = (ab2 * cdX + ac2 * dbX + ad2 * bcX) * s;
+        double oY = (ab2 * cdY + ac2 * dbY + ad2 * bcY) * s;
+        double oZ = (ab2 * cdZ + ac2 * dbZ + ad2 * bcZ) * s;
+        x = points[a] + oX;
+        y = points[a + 1] + oY;
+        z = points[a + 2] + oZ;
+        r = Math.sqrt(oX * oX + oY * oY + oZ * oZ);
+    }
+
+    private void grow(double[] points, int a) {
+        double dX = points[a] - x, dY = points[a + 1] - y, dZ = points[a + 2] - z;
+        double d = Math.sqrt(dX * dX + dY * dY + dZ * dZ);
+        if (d <= r)
+            return;
+        double newR = (r + d) * 0.5;
+        double k = (newR - r) / d;
+        x += dX * k;
+        y += dY * k;
+        z += dZ * k;
+        r = newR;
+    }
+
+    /**
+     * Transform <code>this</code> sphere by the given {@link Matrix4dc#isAffine() affine} transformation.
+     * 
+     * @see #transform(Matrix4dc, Sphered)
+     * 
+     * @param m
+     *          the affine transformation matrix
+     * @return this
+     */
+    public Sphered transform(Matrix4dc m) {
+        return transform(m, this);
+    }
+
+    /**
+     * Transform <code>this</code> sphere by the given {@link Matrix4dc#isAffine() affine} transformation
+     * and store the result in <code>dest</code>.
+     * <p>
+     * The center is transformed as a position. Because a non-uniform scaling does not map a sphere onto a sphere,
+     * the radius is multiplied by the length of the longest of the first three columns of <code>m</code>,
+     * so that <code>dest</code> always encloses the transformed sphere.
+     * 
+     * @param m
+     *          the affine transformation matrix
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Sphered transform(Matrix4dc m, Sphered dest) {
+        double m00 = m.m00(), m01 = m.m01(), m02 = m.m02();
+        double m10 = m.m10(), m11 = m.m11(), m12 = m.m12();
+        double m20 = m.m20(), m21 = m.m21(), m22 = m.m22();
+        double x = this.x, y = this.y, z = this.z;
+        dest.x = Math.fma(m00, x, Math.fma(m10, y, Math.fma(m20, z, m.m30())));
+        dest.y = Math.fma(m01, x, Math.fma(m11, y, Math.fma(m21, z, m.m31())));
+        dest.z = Math.fma(m02, x, Math.fma(m12, y, Math.fma(m22, z, m.m32())));
+        dest.r = r * maxScale(m00, m01, m02, m10, m11, m12, m20, m21, m22);
+        return dest;
+    }
+
+    private static double maxScale(double m00, double m01, double m02, double m10, double m11, double m12, double m20, double m21, double m22) {
+        double sx = Math.fma(m00, m00, Math.fma(m01, m01, m02 * m02));
+        double sy = Math.fma(m10, m10, Math.fma(m11, m11, m12 * m12));
+        double sz = Math.fma(m20, m20, Math.fma(m21, m21, m22 * m22));
+        return Math.sqrt(Math.max(sx, Math.max(sy, sz)));
+    }
+
+    /**
+     * Transform <code>count</code> spheres packed into <code>src</code> by the given {@link Matrix4dc#isAffine() affine}
+     * transformation and store the results into <code>dest</code>.
+     * <p>
+     * Each sphere occupies four consecutive elements in the order <code>x, y, z, r</code>.
+     * The matrix elements and the radius scale are computed only once for the whole batch.
+     * <code>src</code> and <code>dest</code> may be the same array with the same offset.
+     * 
+     * @see #transform(Matrix4dc, Sphered)
+     * 
+     * @param m
+     *          the affine transformation matrix
+     * @param src
+     *          the packed source spheres
+     * @param srcOffset
+     *          the index of the first element of the first sphere in <code>src</code>
+     * @param dest
+     *          will hold the packed transformed spheres
+     * @param destOffset
+     *          the index of the first element of the first sphere in <code>dest</code>
+     * @param count
+     *          the number of spheres
+     */
+    public static void transformAll(Matrix4dc m, double[] src, int srcOffset, double[] dest, int destOffset, int count) {
+        double m00 = m.m00(), m01 = m.m01(), m02 = m.m02();
+        double m10 = m.m10(), m11 = m.m11(), m12 = m.m12();
+        double m20 = m.m20(), m21 = m.m21(), m22 = m.m22();
+        double m30 = m.m30(), m31 = m.m31(), m32 = m.m32();
+        double scale = maxScale(m00, m01, m02, m10, m11, m12, m20, m21, m22);
+        for (int i = 0, s = srcOffset, d = destOffset; i < count; i++, s += 4, d += 4) {
+            double x = src[s], y = src[s + 1], z = src[s + 2], r = src[s + 3];
+            dest[d] = Math.fma(m00, x, Math.fma(m10, y, Math.fma(m20, z, m30)));
+            dest[d + 1] = Math.fma(m01, x, Math.fma(m11, y, Math.fma(m21, z, m31)));
+            dest[d + 2] = Math.fma(m02, x, Math.fma(m12, y, Math.fma(m22, z, m32)));
+            dest[d + 3] = r * scale;
+        }
+    }
+
     public int hashCode() {
         final int prime = 31;
         int result = 1;
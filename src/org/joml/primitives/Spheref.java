@@ -27,11 +27,17 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+//#ifdef __HAS_NIO__
+import java.nio.FloatBuffer;
+//#endif
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 
+import org.joml.Math;
+import org.joml.Matrix4fc;
 import org.joml.Options;
 import org.joml.Runtime;
+import org.joml.Vector3f;
 import org.joml.Vector3fc;
 
 /**
@@ -39,7 +45,10 @@ import org.joml.Vector3fc;
  * 
  * @author Kai Burjack
  */
-public class Spheref implements Externalizable {
+public class Spheref implements Externalizable, SupportFunctionf {
+
+    /* the shuffled point offsets of the last setFromPointsWelzl() call of the current thread, reused by the next call */
+    private static final ThreadLocal welzlOrder = new ThreadLocal();
 
     /**
      * The x coordinate of the sphere's center.
@@ -170,6 +179,458 @@ public class Spheref implements Externalizable {
         return dest;
     }
 
+    /**
+     * Set <code>this</code> to an approximate bounding sphere of the <code>count</code> points whose <code>(x, y, z)</code> coordinates
+     * are stored in <code>points</code> starting at <code>offset</code>, with <code>stride</code> array elements between the starts of two
+     * consecutive points.
+     * <p>
+     * This uses Ritter's algorithm: the initial sphere spans the most distant pair among the points with minimum and maximum x, y and z
+     * coordinates, and is then grown to include every point lying outside of it. The result contains all points and is typically
+     * within 5% to 20% of the radius of the minimal bounding sphere. It is computed in two passes over the array.
+     * <p>
+     * If <code>count</code> is <code>0</code>, <code>this</code> will be set to a sphere of radius <code>0</code> at the origin.
+     * <p>
+     * Reference: <a href="https://en.wikipedia.org/wiki/Bounding_sphere#Ritter's_bounding_sphere">Ritter's bounding sphere</a>
+     * 
+     * @see #setFromPointsWelzl(float[], int, int, int)
+     * 
+     * @param points
+     *          the array containing the point coordinates
+     * @param offset
+     *          the position in <code>points</code> of the x coordinate of the first point
+     * @param stride
+     *          the number of array elements between the x coordinates of two consecutive points, at least <code>3</code>
+     * @param count
+     *          the number of points
+     * @return this
+     */
+    public Spheref setFromPointsRitter(float[] points, int offset, int stride, int count) {
+        if (count <= 0) {
+            x = y = z = r = 0.0f;
+            return this;
+        }
+        int minX = offset, maxX = offset, minY = offset, maxY = offset, minZ = offset, maxZ = offset;
+        for (int i = 1, j = offset + stride; i < count; i++, j += stride) {
+            if (points[j] < points[minX])
+                minX = j;
+            if (points[j] > points[maxX])
+                maxX = j;
+            if (points[j + 1] < points[minY + 1])
+                minY = j;
+            if (points[j + 1] > points[maxY + 1])
+                maxY = j;
+            if (points[j + 2] < points[minZ + 2])
+                minZ = j;
+            if (points[j + 2] > points[maxZ + 2])
+                maxZ = j;
+        }
+        int a = minX, b = maxX;
+        float best = distanceSquared(points, minX, maxX);
+        float d2 = distanceSquared(points, minY, maxY);
+        if (d2 > best) {
+            best = d2;
+            a = minY;
+            b = maxY;
+        }
+        if (distanceSquared(points, minZ, maxZ) > best) {
+            a = minZ;
+            b = maxZ;
+        }
+        float cX = (points[a] + points[b]) * 0.5f, cY = (points[a + 1] + points[b + 1]) * 0.5f, cZ = (points[a + 2] + points[b + 2]) * 0.5f;
+        float dX = points[b] - cX, dY = points[b + 1] - cY, dZ = points[b + 2] - cZ;
+        float radius = Math.sqrt(dX * dX + dY * dY + dZ * dZ);
+        for (int i = 0, j = offset; i < count; i++, j += stride) {
+            dX = points[j] - cX;
+            dY = points[j + 1] - cY;
+            dZ = points[j + 2] - cZ;
+            d2 = dX * dX + dY * dY + dZ * dZ;
+            if (d2 > radius * radius) {
+                float d = Math.sqrt(d2);
+                float newRadius = (radius + d) * 0.5f;
+                float k = (newRadius - radius) / d;
+                radius = newRadius;
+                cX += dX * k;
+                cY += dY * k;
+                cZ += dZ * k;
+            }
+        }
+        this.x = cX;
+        this.y = cY;
+        this.z = cZ;
+        this.r = radius;
+        return this;
+    }
+
+    private static float distanceSquared(float[] points, int a, int b) {
+        float dX = points[b] - points[a], dY = points[b + 1] - points[a + 1], dZ = points[b + 2] - points[a + 2];
+        return dX * dX + dY * dY + dZ * dZ;
+    }
+
+//#ifdef __HAS_NIO__
+    /**
+     * Set <code>this</code> to an approximate bounding sphere of the <code>count</code> points whose <code>(x, y, z)</code> coordinates
+     * are stored in <code>points</code> starting at the absolute buffer position <code>offset</code>, with <code>stride</code> buffer elements
+     * between the starts of two consecutive points.
+     * <p>
+     * This method does not modify the position of the buffer.
+     * 
+     * @see #setFromPointsRitter(float[], int, int, int)
+     * 
+     * @param points
+     *          the buffer containing the point coordinates
+     * @param offset
+     *          the absolute position in <code>points</code> of the x coordinate of the first point
+     * @param stride
+     *          the number of buffer elements between the x coordinates of two consecutive points, at least <code>3</code>
+     * @param count
+     *          the number of points
+     * @return this
+     */
+    public Spheref setFromPointsRitter(FloatBuffer points, int offset, int stride, int count) {
+        if (count <= 0) {
+            x = y = z = r = 0.0f;
+            return this;
+        }
+        int minX = offset, maxX = offset, minY = offset, maxY = offset, minZ = offset, maxZ = offset;
+        for (int i = 1, j = offset + stride; i < count; i++, j += stride) {
+            if (points.get(j) < points.get(minX))
+                minX = j;
+            if (points.get(j) > points.get(maxX))
+                maxX = j;
+            if (points.get(j + 1) < points.get(minY + 1))
+                minY = j;
+            if (points.get(j + 1) > points.get(maxY + 1))
+                maxY = j;
+            if (points.get(j + 2) < points.get(minZ + 2))
+                minZ = j;
+            if (points.get(j + 2) > points.get(maxZ + 2))
+                maxZ = j;
+        }
+        int a = minX, b = maxX;
+        float best = distanceSquared(points, minX, maxX);
+        float d2 = distanceSquared(points, minY, maxY);
+        if (d2 > best) {
+            best = d2;
+            a = minY;
+            b = maxY;
+        }
+        if (distanceSquared(points, minZ, maxZ) > best) {
+            a = minZ;
+            b = maxZ;
+        }
+        float cX = (points.get(a) + points.get(b)) * 0.5f;
+        float cY = (points.get(a + 1) + points.get(b + 1)) * 0.5f;
+        float cZ = (points.get(a + 2) + points.get(b + 2)) * 0.5f;
+        float dX = points.get(b) - cX, dY = points.get(b + 1) - cY, dZ = points.get(b + 2) - cZ;
+        float radius = Math.sqrt(dX * dX + dY * dY + dZ * dZ);
+        for (int i = 0, j = offset; i < count; i++, j += stride) {
+            dX = points.get(j) - cX;
+            dY = points.get(j + 1) - cY;
+            dZ = points.get(j + 2) - cZ;
+            d2 = dX * dX + dY * dY + dZ * dZ;
+            if (d2 > radius * radius) {
+                float d = Math.sqrt(d2);
+                float newRadius = (radius + d) * 0.5f;
+                float k = (newRadius - radius) / d;
+                radius = newRadius;
+                cX += dX * k;
+                cY += dY * k;
+                cZ += dZ * k;
+            }
+        }
+        this.x = cX;
+        this.y = cY;
+        this.z = cZ;
+        this.r = radius;
+        return this;
+    }
+
+    private static float distanceSquared(FloatBuffer points, int a, int b) {
+        float dX = points.get(b) - points.get(a), dY = points.get(b + 1) - points.get(a + 1), dZ = points.get(b + 2) - points.get(a + 2);
+        return dX * dX + dY * dY + dZ * dZ;
+    }
+//#endif
+
+    /**
+     * Set <code>this</code> to the minimal bounding sphere of the <code>count</code> points whose <code>(x, y, z)</code> coordinates
+     * are stored in <code>points</code> starting at <code>offset</code>, with <code>stride</code> array elements between the starts of two
+     * consecutive points.
+     * <p>
+     * This uses the iterative form of Welzl's randomized incremental algorithm, which runs in expected linear time. The points are
+     * visited in an order shuffled by a Fisher-Yates shuffle with a fixed seed, so that results are reproducible and sorted inputs such
+     * as grid vertices do not run into the quadratic worst case. The <code>points</code> array is not modified, and the array holding the
+     * shuffled order is kept per thread and reused by later calls.
+     * <p>
+     * When four or three of the support points are (nearly) coplanar or collinear, respectively, the sphere is grown to include the
+     * offending point instead, so that the result is guaranteed to contain all points but may be slightly larger than the minimal sphere
+     * for such degenerate inputs.
+     * <p>
+     * If <code>count</code> is <code>0</code>, <code>this</code> will be set to a sphere of radius <code>0</code> at the origin.
+     * <p>
+     * Reference: <a href="https://en.wikipedia.org/wiki/Smallest-circle_problem#Welzl's_algorithm">Welzl's algorithm</a>
+     * 
+     * @see #setFromPointsRitter(float[], int, int, int)
+     * 
+     * @param points
+     *          the array containing the point coordinates
+     * @param offset
+     *          the position in <code>points</code> of the x coordinate of the first point
+     * @param stride
+     *          the number of array elements between the x coordinates of two consecutive points, at least <code>3</code>
+     * @param count
+     *          the number of points
+     * @return this
+     */
+    public Spheref setFromPointsWelzl(float[] points, int offset, int stride, int count) {
+        if (count <= 0) {
+            x = y = z = r = 0.0f;
+            return this;
+        }
+        int[] order = shuffledOffsets(offset, stride, count);
+        int a0 = order[0];
+        x = points[a0];
+        y = points[a0 + 1];
+        z = points[a0 + 2];
+        r = 0.0f;
+        for (int i = 1; i < count; i++) {
+            int a = order[i];
+            if (!isOutside(points, a))
+                continue;
+            x = points[a];
+            y = points[a + 1];
+            z = points[a + 2];
+            r = 0.0f;
+            for (int j = 0; j < i; j++) {
+                int b = order[j];
+                if (!isOutside(points, b))
+                    continue;
+                setSphere(points, a, b);
+                for (int k = 0; k < j; k++) {
+                    int c = order[k];
+                    if (!isOutside(points, c))
+                        continue;
+                    setSphere(points, a, b, c);
+                    for (int l = 0; l < k; l++) {
+                        int d = order[l];
+                        if (!isOutside(points, d))
+                            continue;
+                        setSphere(points, a, b, c, d);
+                    }
+                }
+            }
+        }
+        /* Account for the tolerance of isOutside() so that every point is contained */
+        float maxD2 = r * r;
+        for (int i = 0, j = offset; i < count; i++, j += stride) {
+            float dX = points[j] - x, dY = points[j + 1] - y, dZ = points[j + 2] - z;
+            float d2 = dX * dX + dY * dY + dZ * dZ;
+            maxD2 = maxD2 > d2 ? maxD2 : d2;
+        }
+        r = Math.sqrt(maxD2);
+        return this;
+    }
+
+    private static int[] shuffledOffsets(int offset, int stride, int count) {
+        int[] order = (int[]) welzlOrder.get();
+        if (order == null || order.length < count) {
+            order = new int[count];
+            welzlOrder.set(order);
+        }
+        for (int i = 0, a = offset; i < count; i++, a += stride)
+            order[i] = a;
+        /* Fisher-Yates shuffle driven by a linear congruential generator with a fixed seed */
+        long seed = 0x2545F4914F6CDD1DL;
+        for (int i = count - 1; i > 0; i--) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            int j = (int) (((seed >>> 32) * (i + 1)) >>> 32);
+            int t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+        }
+        return order;
+    }
+
+    private boolean isOutside(float[] points, int a) {
+        float dX = points[a] - x, dY = points[a + 1] - y, dZ = points[a + 2] - z;
+        return dX * dX + dY * dY + dZ * dZ > r * r * (1.0f + 1E-5f);
+    }
+
+    private void setSphere(float[] points, int a, int b) {
+        x = (points[a] + points[b]) * 0.5f;
+        y = (points[a + 1] + points[b + 1]) * 0.5f;
+        z = (points[a + 2] + points[b + 2]) * 0.5f;
+        r = Math.sqrt(distanceSquared(points, a, b)) * 0.5f;
+    }
+
+    private void setSphere(float[] points, int a, int b, int c) {
+        float abX = points[b] - points[a], abY = points[b + 1] - points[a + 1], abZ = points[b + 2] - points[a + 2];
+        float acX = points[c] - points[a], acY = points[c + 1] - points[a + 1], acZ = points[c + 2] - points[a + 2];
+        float nX = abY * acZ - abZ * acY, nY = abZ * acX - abX * acZ, nZ = abX * acY - abY * acX;
+        float nn = nX * nX + nY * nY + nZ * nZ;
+        float ab2 = abX * abX + abY * abY + abZ * abZ, ac2 = acX * acX + acY * acY + acZ * acZ;
+        if (nn <= 1E-6f * ab2 * ac2) {
+            /* Collinear: the sphere through a and b must grow to include c */
+            grow(points, c);
+            return;
+        }
+        /* Circumcenter = a + (|ac|^2 * (n x ab) + |ab|^2 * (ac x n)) / (2 * |n|^2) */
+        float s = 0.5f / nn;
+        float oX = (ac2 * (nY * abZ - nZ * abY) + ab2 * (acY * nZ - acZ * nY)) * s;
+        float oY = (ac2 * (nZ * abX - nX * abZ) + ab2 * (acZ * nX - acX * nZ)) * s;
+        float oZ = (ac2 * (nX * abY - nY * abX) + ab2 * (acX * nY - acY * nX)) * s;
+        x = points[a] + oX;
+        y = points[a + 1] + oY;
+        z = points[a + 2] + oZ;
+        r = Math.sqrt(oX * oX + oY * oY + oZ * oZ);
+    }
+
+    private void setSphere(float[] points, int a, int b, int c, int d) {
+        float abX = points[b] - points[a], abY = points[b + 1] - points[a + 1], abZ = points[b + 2] - points[a + 2];
+        float acX = points[c] - points[a], acY = points[c + 1] - points[a + 1], acZ = points[c + 2] - points[a + 2];
+        float adX = points[d] - points[a], adY = points[d + 1] - points[a + 1], adZ = points[d + 2] - points[a + 2];
+        float ab2 = abX * abX + abY * abY + abZ * abZ;
+        float ac2 = acX * acX + acY * acY + acZ * acZ;
+        float ad2 = adX * adX + adY * adY + adZ * adZ;
+        /* Cross products of the edge pairs */
+        float cdX = acY * adZ - acZ * adY, cdY = acZ * adX - acX * adZ, cdZ = acX * adY - acY * adX;
+        float dbX = adY * abZ - adZ * abY, dbY = adZ * abX - adX * abZ, dbZ = adX * abY - adY * abX;
+        float bcX = abY * acZ - abZ * acY, bcY = abZ * acX - abX * acZ, bcZ = abX * acY - abY * acX;
+        float det = abX * cdX + abY * cdY + abZ * cdZ;
+        float scale = ab2 * ac2 * ad2;
+        if (det * det <= 1E-8f * scale) {
+            /* Coplanar: the sphere through a, b and c must grow to include d */
+            grow(points, d);
+            return;
+        }
+        /* Circumcenter = a + (|ab|^2 * (ac x ad) + |ac|^2 * (ad x ab) + |ad|^2 * (ab x ac)) / (2 * det) */
+        float s = 0.5f / det;
+        float oX = (ab2 * cdX + ac2 * dbX + ad2 * bcX) * s;
+        float oY = (ab2 * cdY + ac2 * dbY + ad2 * bcY) * s;
+        float oZ = (ab2 * cdZ + ac2 * dbZ + ad2 * bcZ) * s;
+        x = points[a] + oX;
+        y = points[a + 1] + oY;
+        z = points[a + 2] + oZ;
+        r = Math.sqrt(oX * oX + oY * oY + oZ * oZ);
+    }
+
+    private void grow(float[] points, int a) {
+        float dX = points[a] - x, dY = points[a + 1] - y, dZ = points[a + 2] - z;
+        float d = Math.sqrt(dX * dX + dY * dY + dZ * dZ);
+        if (d <= r)
+            return;
+        float newR = (r + d) * 0.5f;
+        float k = (newR - r) / d;
+        x += dX * k;
+        y += dY * k;
+        z += dZ * k;
+        r = newR;
+    }
+
+    /**
+     * Compute the point of this sphere that lies farthest in the direction <code>(dirX, dirY, dirZ)</code> and store it into <code>dest</code>.
+     * 
+     * @param dirX
+     *          the x coordinate of the direction
+     * @param dirY
+     *          the y coordinate of the direction
+     * @param dirZ
+     *          the z coordinate of the direction
+     * @param dest
+     *          will hold the support point
+     * @return dest
+     */
+    public Vector3f support(float dirX, float dirY, float dirZ, Vector3f dest) {
+        float lenSquared = dirX * dirX + dirY * dirY + dirZ * dirZ;
+        if (lenSquared == 0.0f)
+            return dest.set(x, y, z);
+        float s = r * Math.invsqrt(lenSquared);
+        return dest.set(x + dirX * s, y + dirY * s, z + dirZ * s);
+    }
+
+    /**
+     * Transform <code>this</code> sphere by the given {@link Matrix4fc#isAffine() affine} transformation.
+     * 
+     * @see #transform(Matrix4fc, Spheref)
+     * 
+     * @param m
+     *          the affine transformation matrix
+     * @return this
+     */
+    public Spheref transform(Matrix4fc m) {
+        return transform(m, this);
+    }
+
+    /**
+     * Transform <code>this</code> sphere by the given {@link Matrix4fc#isAffine() affine} transformation
+     * and store the result in <code>dest</code>.
+     * <p>
+     * The center is transformed as a position. Because a non-uniform scaling does not map a sphere onto a sphere,
+     * the radius is multiplied by the length of the longest of the first three columns of <code>m</code>,
+     * so that <code>dest</code> always encloses the transformed sphere.
+     * 
+     * @param m
+     *          the affine transformation matrix
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Spheref transform(Matrix4fc m, Spheref dest) {
+        float m00 = m.m00(), m01 = m.m01(), m02 = m.m02();
+        float m10 = m.m10(), m11 = m.m11(), m12 = m.m12();
+        float m20 = m.m20(), m21 = m.m21(), m22 = m.m22();
+        float x = this.x, y = this.y, z = this.z;
+        dest.x = Math.fma(m00, x, Math.fma(m10, y, Math.fma(m20, z, m.m30())));
+        dest.y = Math.fma(m01, x, Math.fma(m11, y, Math.fma(m21, z, m.m31())));
+        dest.z = Math.fma(m02, x, Math.fma(m12, y, Math.fma(m22, z, m.m32())));
+        dest.r = r * maxScale(m00, m01, m02, m10, m11, m12, m20, m21, m22);
+        return dest;
+    }
+
+    private static float maxScale(float m00, float m01, float m02, float m10, float m11, float m12, float m20, float m21, float m22) {
+        float sx = Math.fma(m00, m00, Math.fma(m01, m01, m02 * m02));
+        float sy = Math.fma(m10, m10, Math.fma(m11, m11, m12 * m12));
+        float sz = Math.fma(m20, m20, Math.fma(m21, m21, m22 * m22));
+        return Math.sqrt(Math.max(sx, Math.max(sy, sz)));
+    }
+
+    /**
+     * Transform <code>count</code> spheres packed into <code>src</code> by the given {@link Matrix4fc#isAffine() affine}
+     * transformation and store the results into <code>dest</code>.
+     * <p>
+     * Each sphere occupies four consecutive elements in the order <code>x, y, z, r</code>.
+     * The matrix elements and the radius scale are computed only once for the whole batch.
+     * <code>src</code> and <code>dest</code> may be the same array with the same offset.
+     * 
+     * @see #transform(Matrix4fc, Spheref)
+     * 
+     * @param m
+     *          the affine transformation matrix
+     * @param src
+     *          the packed source spheres
+     * @param srcOffset
+     *          the index of the first element of the first sphere in <code>src</code>
+     * @param dest
+     *          will hold the packed transformed spheres
+     * @param destOffset
+     *          the index of the first element of the first sphere in <code>dest</code>
+     * @param count
+     *          the number of spheres
+     */
+    public static void transformAll(Matrix4fc m, float[] src, int srcOffset, float[] dest, int destOffset, int count) {
+        float m00 = m.m00(), m01 = m.m01(), m02 = m.m02();
+        float m10 = m.m10(), m11 = m.m11(), m12 = m.m12();
+        float m20 = m.m20(), m21 = m.m21(), m22 = m.m22();
+        float m30 = m.m30(), m31 = m.m31(), m32 = m.m32();
+        float scale = maxScale(m00, m01, m02, m10, m11, m12, m20, m21, m22);
+        for (int i = 0, s = srcOffset, d = destOffset; i < count; i++, s += 4, d += 4) {
+            float x = src[s], y = src[s + 1], z = src[s + 2], r = src[s + 3];
+            dest[d] = Math.fma(m00, x, Math.fma(m10, y, Math.fma(m20, z, m30)));
+            dest[d + 1] = Math.fma(m01, x, Math.fma(m11, y, Math.fma(m21, z, m31)));
+            dest[d + 2] = Math.fma(m02, x, Math.fma(m12, y, Math.fma(m22, z, m32)));
+            dest[d + 3] = r * scale;
+        }
+    }
+
     public int hashCode() {
         final int prime = 31;
         int result = 1;
@@ -0,0 +1,327 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import java.util.Arrays;
+
+/**
+ * Finds all pairs of overlapping axis-aligned boxes in a packed array using a sweep along one axis that is distributed over several threads.
+ * <p>
+ * The boxes are sorted by the coordinate of their minimum corner along the sweep axis, which is the axis along which the boxes spread the most.
+ * Every box is then compared only with the boxes following it in that order whose minimum coordinate along that axis does not exceed its own maximum.
+ * The sorted range is split into a number of chunks which the threads claim one after another; each chunk collects its pairs in its own
+ * <code>int</code> buffer, and the buffers are concatenated into {@link #pairs()} in chunk order, so the result does not depend on the number of threads.
+ * <p>
+ * The sorted order is kept between calls. When {@link #findPairs(float[], int, int)} is called again for the same number of boxes,
+ * as is usual for a broadphase running every frame, the previous order is repaired by an insertion sort, which is linear for
+ * boxes that moved only a little relative to each other. Only when too many boxes changed their order is a full sort performed.
+ * <p>
+ * The threads are created once by the constructor and must be stopped by {@link #dispose()}. An instance must not be used by several
+ * threads concurrently.
+ */
+public class SweepAndPrunef {
+
+    private static final int CHUNKS_PER_THREAD = 8;
+
+    private final WorkerPool pool;
+    private final int chunks;
+    private final Phase gather = new Phase(0);
+    private final Phase sweep = new Phase(1);
+    private final Phase merge = new Phase(2);
+
+    /* the input of the current call */
+    private float[] aabbs;
+    private int offset;
+    private int count;
+
+    /* the sweep axis, the box indices sorted along it, and the box coordinates in that order with the sweep axis stored as x */
+    private int axis;
+    private int[] order = new int[0];
+    private int orderCount = -1;
+    /* the sort keys of a full sort, kept between calls */
+    private long[] keys = new long[0];
+    private float[] minX = new float[0], minY = new float[0], minZ = new float[0];
+    private float[] maxX = new float[0], maxY = new float[0], maxZ = new float[0];
+
+    /* the pairs found by each chunk, and their concatenation */
+    private final int[][] chunkPairs;
+    private final int[] chunkPairCounts;
+    private final int[] chunkPairOffsets;
+    private int[] pairs = new int[0];
+    private int pairCount;
+
+    private final class Phase implements WorkerPool.Task {
+        private final int kind;
+
+        Phase(int kind) {
+            this.kind = kind;
+        }
+
+        public void run(int chunk) {
+            int start = (int) ((long) count * chunk / chunks), end = (int) ((long) count * (chunk + 1) / chunks);
+            if (kind == 0)
+                gatherChunk(start, end);
+            else if (kind == 1)
+                sweepChunk(chunk, start, end);
+            else
+                System.arraycopy(chunkPairs[chunk], 0, pairs, chunkPairOffsets[chunk], chunkPairCounts[chunk] << 1);
+        }
+    }
+
+    /**
+     * Create a new {@link SweepAndPrunef} that uses the calling thread and <code>threads - 1</code> additional worker threads.
+     * <p>
+     * The worker threads are started by this constructor and then wait for the next call of {@link #findPairs}, until {@link #dispose()} stops them.
+     * They are daemon threads, so they do not keep the JVM alive, but an instance that is no longer needed should be disposed to release them.
+     * 
+     * @param threads
+     *          the total number of threads, usually the number of available processors
+     */
+    public SweepAndPrunef(int threads) {
+        this(new WorkerPool(threads));
+    }
+
+    /**
+     * Create a new {@link SweepAndPrunef} that runs on the given <code>pool</code>, which may be shared with other users that run their jobs
+     * on the same threads between the calls to {@link #findPairs(float[], int, int)}.
+     * 
+     * @param pool
+     *          the threads to use
+     */
+    SweepAndPrunef(WorkerPool pool) {
+        this.pool = pool;
+        int threads = pool.threads();
+        chunks = threads == 1 ? 1 : threads * CHUNKS_PER_THREAD;
+        chunkPairs = new int[chunks][];
+        for (int i = 0; i < chunks; i++)
+            chunkPairs[i] = new int[64];
+        chunkPairCounts = new int[chunks];
+        chunkPairOffsets = new int[chunks];
+    }
+
+    /**
+     * Find all pairs of intersecting boxes among the <code>count</code> axis-aligned boxes stored in <code>aabbs</code>.
+     * <p>
+     * The boxes are stored consecutively starting at <code>offset</code>, each as its minimum corner followed by its maximum corner,
+     * so box <code>i</code> occupies the six elements starting at <code>offset + 6 * i</code>. Two boxes intersect under the same
+     * conditions as in {@link Intersectionf#testAabAab(float, float, float, float, float, float, float, float, float, float, float, float)},
+     * that is, touching boxes intersect.
+     * 
+     * @param aabbs
+     *          the minimum and maximum corners of the axis-aligned boxes
+     * @param offset
+     *          the index of the first element of the first box in <code>aabbs</code>
+     * @param count
+     *          the number of boxes
+     * @return the number of intersecting pairs, which are available via {@link #pairs()}
+     */
+    public int findPairs(float[] aabbs, int offset, int count) {
+        Object event = QueryEvents.begin();
+        this.aabbs = aabbs;
+        this.offset = offset;
+        this.count = count;
+        if (minX.length < count) {
+            minX = new float[count];
+            minY = new float[count];
+            minZ = new float[count];
+            maxX = new float[count];
+            maxY = new float[count];
+            maxZ = new float[count];
+        }
+        if (orderCount != count)
+            sortFully();
+        pool.run(gather, chunks);
+        if (!repairOrder(4L * count + 1024L)) {
+            sortFully();
+            pool.run(gather, chunks);
+            repairOrder(Long.MAX_VALUE);
+        }
+        pool.run(sweep, chunks);
+        int total = 0;
+        for (int c = 0; c < chunks; c++) {
+            chunkPairOffsets[c] = total << 1;
+            total += chunkPairCounts[c];
+        }
+        if (pairs.length < total << 1)
+            pairs = new int[total << 1];
+        pairCount = total;
+        pool.run(merge, chunks);
+        this.aabbs = null;
+        QueryEvents.end(event, "SweepAndPrunef.findPairs", count, total);
+        return total;
+    }
+
+    /**
+     * Return the pairs found by the last call to {@link #findPairs(float[], int, int)}.
+     * <p>
+     * Pair <code>i</code> consists of the box indices stored at <code>2 * i</code> and <code>2 * i + 1</code>, the smaller index first.
+     * The array is reused by the next call and may be longer than <code>2 * pairCount()</code>.
+     * 
+     * @return the array holding the pairs
+     */
+    public int[] pairs() {
+        return pairs;
+    }
+
+    /**
+     * @return the number of pairs found by the last call to {@link #findPairs(float[], int, int)}
+     */
+    public int pairCount() {
+        return pairCount;
+    }
+
+    /**
+     * Stop the worker threads. This instance must not be used afterwards.
+     */
+    public void dispose() {
+        pool.shutdown();
+    }
+
+    private static int sortKey(float v) {
+        int bits = Float.floatToIntBits(v);
+        return bits ^ (bits >> 31 & 0x7FFFFFFF);
+    }
+
+    private void sortFully() {
+        axis = sweepAxis();
+        if (keys.length < count)
+            keys = new long[count];
+        long[] keys = this.keys;
+        for (int i = 0, o = offset + axis; i < count; i++, o += 6)
+            keys[i] = (long) sortKey(aabbs[o]) << 32 | i;
+        Arrays.sort(keys, 0, count);
+        if (order.length < count)
+            order = new int[count];
+        for (int i = 0; i < count; i++)
+            order[i] = (int) keys[i];
+        orderCount = count;
+    }
+
+    /**
+     * Choose the axis along which the minimum corners of the boxes spread the most, so that the sweep compares as few boxes as possible.
+     */
+    private int sweepAxis() {
+        double sumX = 0.0, sumY = 0.0, sumZ = 0.0;
+        double sumSquaresX = 0.0, sumSquaresY = 0.0, sumSquaresZ = 0.0;
+        for (int i = 0, o = offset; i < count; i++, o += 6) {
+            double x = aabbs[o], y = aabbs[o + 1], z = aabbs[o + 2];
+            sumX += x;
+            sumY += y;
+            sumZ += z;
+            sumSquaresX += x * x;
+            sumSquaresY += y * y;
+            sumSquaresZ += z * z;
+        }
+        double varianceX = sumSquaresX - sumX * sumX / count;
+        double varianceY = sumSquaresY - sumY * sumY / count;
+        double varianceZ = sumSquaresZ - sumZ * sumZ / count;
+        int best = 0;
+        double bestVariance = varianceX;
+        if (varianceY > bestVariance) {
+            bestVariance = varianceY;
+            best = 1;
+        }
+        if (varianceZ > bestVariance)
+            best = 2;
+        return best;
+    }
+
+    private void gatherChunk(int start, int end) {
+        float[] aabbs = this.aabbs;
+        int[] order = this.order;
+        int a0 = axis, a1 = (axis + 1) % 3, a2 = (axis + 2) % 3;
+        for (int k = start; k < end; k++) {
+            int o = offset + order[k] * 6;
+            minX[k] = aabbs[o + a0];
+            minY[k] = aabbs[o + a1];
+            minZ[k] = aabbs[o + a2];
+            maxX[k] = aabbs[o + 3 + a0];
+            maxY[k] = aabbs[o + 3 + a1];
+            maxZ[k] = aabbs[o + 3 + a2];
+        }
+    }
+
+    /**
+     * Sort the gathered boxes by insertion sort, giving up after <code>maxShifts</code> element moves.
+     */
+    private boolean repairOrder(long maxShifts) {
+        long shifts = 0L;
+        for (int k = 1; k < count; k++) {
+            float key = minX[k];
+            if (!(key < minX[k - 1]))
+                continue;
+            int id = order[k];
+            float y0 = minY[k], z0 = minZ[k], x1 = maxX[k], y1 = maxY[k], z1 = maxZ[k];
+            int j = k - 1;
+            do {
+                order[j + 1] = order[j];
+                minX[j + 1] = minX[j];
+                minY[j + 1] = minY[j];
+                minZ[j + 1] = minZ[j];
+                maxX[j + 1] = maxX[j];
+                maxY[j + 1] = maxY[j];
+                maxZ[j + 1] = maxZ[j];
+                j--;
+            } while (j >= 0 && key < minX[j]);
+            order[j + 1] = id;
+            minX[j + 1] = key;
+            minY[j + 1] = y0;
+            minZ[j + 1] = z0;
+            maxX[j + 1] = x1;
+            maxY[j + 1] = y1;
+            maxZ[j + 1] = z1;
+            shifts += k - j - 1;
+            if (shifts > maxShifts)
+                return false;
+        }
+        return true;
+    }
+
+    private void sweepChunk(int chunk, int start, int end) {
+        float[] minX = this.minX, minY = this.minY, minZ = this.minZ;
+        float[] maxX = this.maxX, maxY = this.maxY, maxZ = this.maxZ;
+        int[] order = this.order;
+        int[] out = chunkPairs[chunk];
+        int count = this.count, n = 0;
+        for (int i = start; i < end; i++) {
+            float x1 = maxX[i], y0 = minY[i], z0 = minZ[i], y1 = maxY[i], z1 = maxZ[i];
+            for (int j = i + 1; j < count && minX[j] <= x1; j++) {
+                if (minY[j] > y1 || maxY[j] < y0 || minZ[j] > z1 || maxZ[j] < z0)
+                    continue;
+                if (n == out.length) {
+                    int[] grown = new int[out.length << 1];
+                    System.arraycopy(out, 0, grown, 0, n);
+                    out = grown;
+                    chunkPairs[chunk] = out;
+                }
+                int a = order[i], b = order[j];
+                out[n] = a < b ? a : b;
+                out[n + 1] = a < b ? b : a;
+                n += 2;
+            }
+        }
+        chunkPairCounts[chunk] = n >> 1;
+    }
+
+}
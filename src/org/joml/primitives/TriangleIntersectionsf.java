@@ -0,0 +1,357 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+/**
+ * Finds all pairs of intersecting triangles within one indexed triangle mesh or between two meshes, distributed over several threads.
+ * <p>
+ * The axis-aligned bounding box of every triangle is computed first, and {@link SweepAndPrunef} finds all pairs of overlapping boxes.
+ * Only those candidate pairs are then tested exactly using
+ * {@link Intersectionf#testTriangleTriangle(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float, float) testTriangleTriangle},
+ * so that the cost grows with the number of triangles and the number of nearby triangle pairs rather than with the square of the number
+ * of triangles. The candidates are split into a number of chunks which the threads claim one after another, and the intersecting pairs
+ * are reported in the order of the candidates, so the result does not depend on the number of threads.
+ * <p>
+ * Triangles that only touch each other intersect. When checking a single mesh, neighboring triangles always touch, so pairs of triangles that
+ * share a vertex index are only reported when they also intersect away from their shared vertex or edge, for example when a triangle pierces
+ * its neighbor or two neighbors fold over each other; the mesh should be welded so that neighboring triangles share their vertex indices.
+ * <p>
+ * The threads are created once by the constructor and must be stopped by {@link #dispose()}. An instance must not be used by several
+ * threads concurrently.
+ */
+public class TriangleIntersectionsf {
+
+    private static final int CHUNKS_PER_THREAD = 8;
+
+    private final WorkerPool pool;
+    private final int chunks;
+    private final SweepAndPrunef broadphase;
+    private final Phase bounds = new Phase(0);
+    private final Phase test = new Phase(1);
+    private final Phase merge = new Phase(2);
+
+    /* the meshes of the current call; in a self check, mesh B is absent */
+    private float[] positionsA, positionsB;
+    private int[] indicesA, indicesB;
+    private int countA, countB;
+    private boolean self;
+
+    /* the bounding boxes of the triangles of A followed by those of B, and the candidate pairs */
+    private float[] aabbs = new float[0];
+    private int[] candidates;
+    private int candidateCount;
+
+    /* the intersecting pairs found by each chunk, compacted at the start of its candidate range, and their concatenation */
+    private final int[] chunkPairCounts;
+    private final int[] chunkPairOffsets;
+    private int[] pairs = new int[0];
+    private int pairCount;
+
+    private final class Phase implements WorkerPool.Task {
+        private final int kind;
+
+        Phase(int kind) {
+            this.kind = kind;
+        }
+
+        public void run(int chunk) {
+            int count = kind == 0 ? countA + countB : candidateCount;
+            int start = (int) ((long) count * chunk / chunks), end = (int) ((long) count * (chunk + 1) / chunks);
+            if (kind == 0)
+                boundsChunk(start, end);
+            else if (kind == 1)
+                testChunk(chunk, start, end);
+            else
+                System.arraycopy(candidates, start << 1, pairs, chunkPairOffsets[chunk], chunkPairCounts[chunk] << 1);
+        }
+    }
+
+    /**
+     * Create a new {@link TriangleIntersectionsf} that uses the calling thread and <code>threads - 1</code> additional worker threads.
+     * <p>
+     * The worker threads are started by this constructor and are shared by the broad phase and the triangle tests of every call. They stay
+     * idle between calls until {@link #dispose()} stops them. They are daemon threads, so they do not keep the JVM alive, but an instance
+     * that is no longer needed should be disposed to release them.
+     * 
+     * @param threads
+     *          the total number of threads, usually the number of available processors
+     */
+    public TriangleIntersectionsf(int threads) {
+        pool = new WorkerPool(threads);
+        chunks = threads == 1 ? 1 : threads * CHUNKS_PER_THREAD;
+        broadphase = new SweepAndPrunef(pool);
+        chunkPairCounts = new int[chunks];
+        chunkPairOffsets = new int[chunks];
+    }
+
+    /**
+     * Find all pairs of intersecting triangles among the indexed triangles <code>0</code> to <code>triangleCount - 1</code> of a single mesh,
+     * ignoring the shared vertex or edge of pairs of triangles that share vertex indices.
+     * <p>
+     * Triangle <code>j</code> consists of the vertices whose <code>(x, y, z)</code> coordinates start at the positions <code>3 * indices[3 * j]</code>,
+     * <code>3 * indices[3 * j + 1]</code> and <code>3 * indices[3 * j + 2]</code> of <code>positions</code>.
+     * 
+     * @param positions
+     *          the vertex positions
+     * @param indices
+     *          the vertex indices of the triangles
+     * @param triangleCount
+     *          the number of triangles
+     * @return the number of intersecting pairs, which are available via {@link #pairs()} with the smaller triangle index first
+     */
+    public int findSelfIntersections(float[] positions, int[] indices, int triangleCount) {
+        return find(positions, indices, triangleCount, null, null, 0, true);
+    }
+
+    /**
+     * Find all pairs of a triangle of mesh A and a triangle of mesh B which intersect.
+     * <p>
+     * The triangles of both meshes are indexed as described in {@link #findSelfIntersections(float[], int[], int)}.
+     * 
+     * @param positionsA
+     *          the vertex positions of mesh A
+     * @param indicesA
+     *          the vertex indices of the triangles of mesh A
+     * @param triangleCountA
+     *          the number of triangles of mesh A
+     * @param positionsB
+     *          the vertex positions of mesh B
+     * @param indicesB
+     *          the vertex indices of the triangles of mesh B
+     * @param triangleCountB
+     *          the number of triangles of mesh B
+     * @return the number of intersecting pairs, which are available via {@link #pairs()} with the index of the triangle of mesh A first
+     */
+    public int findIntersections(float[] positionsA, int[] indicesA, int triangleCountA, float[] positionsB, int[] indicesB, int triangleCountB) {
+        return find(positionsA, indicesA, triangleCountA, positionsB, indicesB, triangleCountB, false);
+    }
+
+    /**
+     * Return the pairs found by the last call to {@link #findSelfIntersections(float[], int[], int)} or
+     * {@link #findIntersections(float[], int[], int, float[], int[], int)}.
+     * <p>
+     * Pair <code>i</code> consists of the triangle indices stored at <code>2 * i</code> and <code>2 * i + 1</code>.
+     * The array is reused by the next call and may be longer than <code>2 * pairCount()</code>.
+     * 
+     * @return the array holding the pairs
+     */
+    public int[] pairs() {
+        return pairs;
+    }
+
+    /**
+     * @return the number of pairs found by the last call to {@link #findSelfIntersections(float[], int[], int)} or
+     *         {@link #findIntersections(float[], int[], int, float[], int[], int)}
+     */
+    public int pairCount() {
+        return pairCount;
+    }
+
+    /**
+     * Stop the worker threads. This instance must not be used afterwards.
+     */
+    public void dispose() {
+        pool.shutdown();
+    }
+
+    private int find(float[] positionsA, int[] indicesA, int countA, float[] positionsB, int[] indicesB, int countB, boolean self) {
+        Object event = QueryEvents.begin();
+        this.positionsA = positionsA;
+        this.indicesA = indicesA;
+        this.countA = countA;
+        this.positionsB = positionsB;
+        this.indicesB = indicesB;
+        this.countB = countB;
+        this.self = self;
+        int count = countA + countB;
+        if (aabbs.length < count * 6)
+            aabbs = new float[count * 6];
+        pool.run(bounds, chunks);
+        candidateCount = broadphase.findPairs(aabbs, 0, count);
+        candidates = broadphase.pairs();
+        pool.run(test, chunks);
+        int total = 0;
+        for (int c = 0; c < chunks; c++) {
+            chunkPairOffsets[c] = total << 1;
+            total += chunkPairCounts[c];
+        }
+        if (pairs.length < total << 1)
+            pairs = new int[total << 1];
+        pairCount = total;
+        pool.run(merge, chunks);
+        this.positionsA = this.positionsB = null;
+        this.indicesA = this.indicesB = null;
+        this.candidates = null;
+        QueryEvents.end(event, self ? "TriangleIntersectionsf.findSelfIntersections" : "TriangleIntersectionsf.findIntersections",
+                candidateCount, total);
+        return total;
+    }
+
+    private void boundsChunk(int start, int end) {
+        float[] aabbs = this.aabbs;
+        for (int t = start, o = start * 6; t < end; t++, o += 6) {
+            boolean inA = t < countA;
+            float[] positions = inA ? positionsA : positionsB;
+            int[] indices = inA ? indicesA : indicesB;
+            int i = (inA ? t : t - countA) * 3;
+            int i0 = 3 * indices[i], i1 = 3 * indices[i + 1], i2 = 3 * indices[i + 2];
+            for (int c = 0; c < 3; c++) {
+                float v0 = positions[i0 + c], v1 = positions[i1 + c], v2 = positions[i2 + c];
+                aabbs[o + c] = v0 < v1 ? (v0 < v2 ? v0 : v2) : (v1 < v2 ? v1 : v2);
+                aabbs[o + 3 + c] = v0 > v1 ? (v0 > v2 ? v0 : v2) : (v1 > v2 ? v1 : v2);
+            }
+        }
+    }
+
+    private void testChunk(int chunk, int start, int end) {
+        int[] candidates = this.candidates;
+        float[] pa = positionsA, pb = self ? positionsA : positionsB;
+        int[] ia = indicesA, ib = self ? indicesA : indicesB;
+        int offsetB = self ? 0 : countA;
+        int n = start << 1;
+        for (int k = start << 1, kEnd = end << 1; k < kEnd; k += 2) {
+            int a = candidates[k], b = candidates[k + 1];
+            // the broadphase also reports pairs within mesh A and within mesh B, of which only a self check needs any
+            if (!self && (a >= countA || b < countA))
+                continue;
+            int ja = a * 3, jb = (b - offsetB) * 3;
+            int a0 = ia[ja], a1 = ia[ja + 1], a2 = ia[ja + 2];
+            int b0 = ib[jb], b1 = ib[jb + 1], b2 = ib[jb + 2];
+            boolean intersect;
+            if (self && (a0 == b0 || a0 == b1 || a0 == b2 || a1 == b0 || a1 == b1 || a1 == b2 || a2 == b0 || a2 == b1 || a2 == b2)) {
+                intersect = testAdjacent(pa, a0, a1, a2, b0, b1, b2);
+            } else {
+                a0 *= 3; a1 *= 3; a2 *= 3; b0 *= 3; b1 *= 3; b2 *= 3;
+                intersect = Intersectionf.testTriangleTriangle(
+                        pa[a0], pa[a0 + 1], pa[a0 + 2], pa[a1], pa[a1 + 1], pa[a1 + 2], pa[a2], pa[a2 + 1], pa[a2 + 2],
+                        pb[b0], pb[b0 + 1], pb[b0 + 2], pb[b1], pb[b1 + 1], pb[b1 + 2], pb[b2], pb[b2 + 1], pb[b2 + 2]);
+            }
+            if (intersect) {
+                candidates[n] = a;
+                candidates[n + 1] = b - offsetB;
+                n += 2;
+            }
+        }
+        chunkPairCounts[chunk] = (n >> 1) - start;
+    }
+
+    /**
+     * Test whether the triangles <code>(a0, a1, a2)</code> and <code>(b0, b1, b2)</code> of a single mesh, which share one or more vertex
+     * indices, intersect anywhere other than in their shared vertex or edge. Triangles sharing all three vertices never do.
+     */
+    private static boolean testAdjacent(float[] p, int a0, int a1, int a2, int b0, int b1, int b2) {
+        boolean in0 = a0 == b0 || a0 == b1 || a0 == b2, in1 = a1 == b0 || a1 == b1 || a1 == b2, in2 = a2 == b0 || a2 == b1 || a2 == b2;
+        if (in0 && in1 && in2)
+            return false;
+        /* rotate both triangles so that a0 == b0 and, when an edge is shared, a1 is its other vertex */
+        while (!in0 || in2 && !in1) {
+            int t = a0;
+            a0 = a1;
+            a1 = a2;
+            a2 = t;
+            boolean u = in0;
+            in0 = in1;
+            in1 = in2;
+            in2 = u;
+        }
+        while (b0 != a0) {
+            int t = b0;
+            b0 = b1;
+            b1 = b2;
+            b2 = t;
+        }
+        if (in1)
+            return testSharedEdge(p, 3 * a0, 3 * a1, 3 * a2, 3 * (b1 == a1 ? b2 : b1));
+        return testSharedVertex(p, 3 * a0, 3 * a1, 3 * a2, 3 * b1, 3 * b2);
+    }
+
+    /**
+     * Triangles <code>(s0, s1, a)</code> and <code>(s0, s1, b)</code> sharing an edge only intersect elsewhere when they fold over each other,
+     * that is when they lie in one plane on the same side of the edge.
+     */
+    private static boolean testSharedEdge(float[] p, int s0, int s1, int a, int b) {
+        float eX = p[s1] - p[s0], eY = p[s1 + 1] - p[s0 + 1], eZ = p[s1 + 2] - p[s0 + 2];
+        float aX = p[a] - p[s0], aY = p[a + 1] - p[s0 + 1], aZ = p[a + 2] - p[s0 + 2];
+        float bX = p[b] - p[s0], bY = p[b + 1] - p[s0 + 1], bZ = p[b + 2] - p[s0 + 2];
+        float nX = eY * aZ - eZ * aY, nY = eZ * aX - eX * aZ, nZ = eX * aY - eY * aX;
+        float mX = eY * bZ - eZ * bY, mY = eZ * bX - eX * bZ, mZ = eX * bY - eY * bX;
+        return coplanar(nX, nY, nZ, mX, mY, mZ) && nX * mX + nY * mY + nZ * mZ > 0.0f;
+    }
+
+    /**
+     * Triangles <code>(s, a1, a2)</code> and <code>(s, b1, b2)</code> sharing a vertex intersect elsewhere exactly when the edge opposite to
+     * <code>s</code> of one of them crosses the other triangle. When both lie in one plane, this is the case when the angles they span at
+     * <code>s</code> overlap.
+     */
+    private static boolean testSharedVertex(float[] p, int s, int a1, int a2, int b1, int b2) {
+        float u1X = p[a1] - p[s], u1Y = p[a1 + 1] - p[s + 1], u1Z = p[a1 + 2] - p[s + 2];
+        float u2X = p[a2] - p[s], u2Y = p[a2 + 1] - p[s + 1], u2Z = p[a2 + 2] - p[s + 2];
+        float v1X = p[b1] - p[s], v1Y = p[b1 + 1] - p[s + 1], v1Z = p[b1 + 2] - p[s + 2];
+        float v2X = p[b2] - p[s], v2Y = p[b2 + 1] - p[s + 1], v2Z = p[b2 + 2] - p[s + 2];
+        float nX = u1Y * u2Z - u1Z * u2Y, nY = u1Z * u2X - u1X * u2Z, nZ = u1X * u2Y - u1Y * u2X;
+        float mX = v1Y * v2Z - v1Z * v2Y, mY = v1Z * v2X - v1X * v2Z, mZ = v1X * v2Y - v1Y * v2X;
+        if (!coplanar(nX, nY, nZ, mX, mY, mZ))
+            return testOppositeEdges(p, s, a1, a2, b1, b2);
+        return testOverlappingAngles(nX, nY, nZ, u1X, u1Y, u1Z, u2X, u2Y, u2Z, mX, mY, mZ, v1X, v1Y, v1Z, v2X, v2Y, v2Z);
+    }
+
+    private static boolean testOppositeEdges(float[] p, int s, int a1, int a2, int b1, int b2) {
+        return Intersectionf.testLineSegmentTriangle(p[a1], p[a1 + 1], p[a1 + 2], p[a2], p[a2 + 1], p[a2 + 2],
+                    p[s], p[s + 1], p[s + 2], p[b1], p[b1 + 1], p[b1 + 2], p[b2], p[b2 + 1], p[b2 + 2], 0.0f)
+            || Intersectionf.testLineSegmentTriangle(p[b1], p[b1 + 1], p[b1 + 2], p[b2], p[b2 + 1], p[b2 + 2],
+                    p[s], p[s + 1], p[s + 2], p[a1], p[a1 + 1], p[a1 + 2], p[a2], p[a2 + 1], p[a2 + 2], 0.0f);
+    }
+
+    /**
+     * Test whether the angles from <code>u1</code> to <code>u2</code> and from <code>v1</code> to <code>v2</code>, which lie in one plane,
+     * are smaller than 180 degrees and are counter-clockwise around <code>n = u1 x u2</code> and <code>m = v1 x v2</code>, respectively,
+     * overlap. Unless they are equal, one of them then contains a side of the other.
+     */
+    private static boolean testOverlappingAngles(float nX, float nY, float nZ, float u1X, float u1Y, float u1Z, float u2X, float u2Y, float u2Z,
+            float mX, float mY, float mZ, float v1X, float v1Y, float v1Z, float v2X, float v2Y, float v2Z) {
+        return inside(nX, nY, nZ, u1X, u1Y, u1Z, u2X, u2Y, u2Z, v1X, v1Y, v1Z)
+            || inside(nX, nY, nZ, u1X, u1Y, u1Z, u2X, u2Y, u2Z, v2X, v2Y, v2Z)
+            || inside(mX, mY, mZ, v1X, v1Y, v1Z, v2X, v2Y, v2Z, u1X, u1Y, u1Z)
+            || inside(mX, mY, mZ, v1X, v1Y, v1Z, v2X, v2Y, v2Z, u2X, u2Y, u2Z)
+            || inside(mX, mY, mZ, v1X, v1Y, v1Z, v2X, v2Y, v2Z, u1X + u2X, u1Y + u2Y, u1Z + u2Z);
+    }
+
+    /**
+     * Whether <code>w</code> lies strictly within the angle from <code>u1</code> to <code>u2</code>, counter-clockwise around <code>n</code>.
+     */
+    private static boolean inside(float nX, float nY, float nZ, float u1X, float u1Y, float u1Z, float u2X, float u2Y, float u2Z,
+            float wX, float wY, float wZ) {
+        return (u1Y * wZ - u1Z * wY) * nX + (u1Z * wX - u1X * wZ) * nY + (u1X * wY - u1Y * wX) * nZ > 0.0f
+            && (wY * u2Z - wZ * u2Y) * nX + (wZ * u2X - wX * u2Z) * nY + (wX * u2Y - wY * u2X) * nZ > 0.0f;
+    }
+
+    /**
+     * Whether the planes with the normals <code>n</code> and <code>m</code> are parallel up to an angle of about <code>1E-5</code> radians.
+     */
+    private static boolean coplanar(float nX, float nY, float nZ, float mX, float mY, float mZ) {
+        float cX = nY * mZ - nZ * mY, cY = nZ * mX - nX * mZ, cZ = nX * mY - nY * mX;
+        return cX * cX + cY * cY + cZ * cZ <= 1E-10f * (nX * nX + nY * nY + nZ * nZ) * (mX * mX + mY * mY + mZ * mZ);
+    }
+
+}
@@ -0,0 +1,784 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+
+import org.joml.Math;
+import org.joml.Options;
+import org.joml.Runtime;
+import org.joml.Vector3d;
+import org.joml.Vector3dc;
+import org.joml.Vector4d;
+
+/**
+ * Represents a 3D triangle using double-precision floating-point numbers, together with data precomputed from its vertices
+ * to speed up repeated queries against the same triangle.
+ * <p>
+ * Whenever the vertices are set, this class computes the two edges <code>v1 - v0</code> and <code>v2 - v0</code>, the unit normal
+ * and the plane constant, as well as the affine transformation that maps the triangle onto the unit triangle
+ * <code>(0, 0, 0)</code>, <code>(1, 0, 0)</code>, <code>(0, 1, 0)</code> and its normal onto the z axis. Using that transformation,
+ * a ray test only needs to transform the ray origin and direction instead of computing edges, cross products and the determinant
+ * on every call.
+ * <p>
+ * The vertices cannot be modified directly, because the precomputed data would then be stale. Use one of the <code>set()</code>
+ * methods instead.
+ * <p>
+ * Reference: <a href="http://jcgt.org/published/0005/03/03/">Fast Ray-Triangle Intersections by Coordinate Transformation</a>
+ */
+public class Triangled implements Externalizable {
+
+    private double v0X, v0Y, v0Z;
+    private double v1X, v1Y, v1Z;
+    private double v2X, v2Y, v2Z;
+    /* the edges v1 - v0 and v2 - v0 */
+    private double e1X, e1Y, e1Z;
+    private double e2X, e2Y, e2Z;
+    /* the unit normal and the plane constant */
+    private double nX, nY, nZ, d;
+    /*
+     * rows of the affine transformation into the unit triangle space, with the third row scaled by |n|^2 so that
+     * it yields the same determinant as Intersectiond.intersectRayTriangle
+     */
+    private double m00, m01, m02, m03;
+    private double m10, m11, m12, m13;
+    private double m20, m21, m22, m23;
+
+    /**
+     * Create a new {@link Triangled} with all vertices at <code>(0, 0, 0)</code>.
+     */
+    public Triangled() {
+    }
+
+    /**
+     * Create a new {@link Triangled} as a copy of the given <code>source</code>.
+     * 
+     * @param source
+     *          the {@link Triangled} to copy from
+     */
+    public Triangled(Triangled source) {
+        set(source);
+    }
+
+    /**
+     * Create a new {@link Triangled} with the given vertices.
+     * 
+     * @param v0
+     *          the first vertex
+     * @param v1
+     *          the second vertex
+     * @param v2
+     *          the third vertex
+     */
+    public Triangled(Vector3dc v0, Vector3dc v1, Vector3dc v2) {
+        set(v0.x(), v0.y(), v0.z(), v1.x(), v1.y(), v1.z(), v2.x(), v2.y(), v2.z());
+    }
+
+    /**
+     * Create a new {@link Triangled} with the given vertices.
+     * 
+     * @param v0X
+     *          the x coordinate of the first vertex
+     * @param v0Y
+     *          the y coordinate of the first vertex
+     * @param v0Z
+     *          the z coordinate of the first vertex
+     * @param v1X
+     *          the x coordinate of the second vertex
+     * @param v1Y
+     *          the y coordinate of the second vertex
+     * @param v1Z
+     *          the z coordinate of the second vertex
+     * @param v2X
+     *          the x coordinate of the third vertex
+     * @param v2Y
+     *          the y coordinate of the third vertex
+     * @param v2Z
+     *          the z coordinate of the third vertex
+     */
+    public Triangled(double v0X, double v0Y, double v0Z, double v1X, double v1Y, double v1Z, double v2X, double v2Y, double v2Z) {
+        set(v0X, v0Y, v0Z, v1X, v1Y, v1Z, v2X, v2Y, v2Z);
+    }
+
+    /**
+     * Set this {@link Triangled} to be a copy of <code>source</code>.
+     * 
+     * @param source
+     *          the {@link Triangled} to copy from
+     * @return this
+     */
+    public Triangled set(Triangled source) {
+        v0X = source.v0X; v0Y = source.v0Y; v0Z = source.v0Z;
+        v1X = source.v1X; v1Y = source.v1Y; v1Z = source.v1Z;
+        v2X = source.v2X; v2Y = source.v2Y; v2Z = source.v2Z;
+        e1X = source.e1X; e1Y = source.e1Y; e1Z = source.e1Z;
+        e2X = source.e2X; e2Y = source.e2Y; e2Z = source.e2Z;
+        nX = source.nX; nY = source.nY; nZ = source.nZ; d = source.d;
+        m00 = source.m00; m01 = source.m01; m02 = source.m02; m03 = source.m03;
+        m10 = source.m10; m11 = source.m11; m12 = source.m12; m13 = source.m13;
+        m20 = source.m20; m21 = source.m21; m22 = source.m22; m23 = source.m23;
+        return this;
+    }
+
+    /**
+     * Set the vertices of this triangle and precompute the edges, normal and unit triangle transformation.
+     * 
+     * @param v0
+     *          the first vertex
+     * @param v1
+     *          the second vertex
+     * @param v2
+     *          the third vertex
+     * @return this
+     */
+    public Triangled set(Vector3dc v0, Vector3dc v1, Vector3dc v2) {
+        return set(v0.x(), v0.y(), v0.z(), v1.x(), v1.y(), v1.z(), v2.x(), v2.y(), v2.z());
+    }
+
+    /**
+     * Set the vertices of this triangle and precompute the edges, normal and unit triangle transformation.
+     * <p>
+     * For a degenerate triangle, whose vertices are collinear, all ray and line segment tests report no intersection.
+     * 
+     * @param v0X
+     *          the x coordinate of the first vertex
+     * @param v0Y
+     *          the y coordinate of the first vertex
+     * @param v0Z
+     *          the z coordinate of the first vertex
+     * @param v1X
+     *          the x coordinate of the second vertex
+     * @param v1Y
+     *          the y coordinate of the second vertex
+     * @param v1Z
+     *          the z coordinate of the second vertex
+     * @param v2X
+     *          the x coordinate of the third vertex
+     * @param v2Y
+     *          the y coordinate of the third vertex
+     * @param v2Z
+     *          the z coordinate of the third vertex
+     * @return this
+     */
+    public Triangled set(double v0X, double v0Y, double v0Z, double v1X, double v1Y, double v1Z, double v2X, double v2Y, double v2Z) {
+        this.v0X = v0X; this.v0Y = v0Y; this.v0Z = v0Z;
+        this.v1X = v1X; this.v1Y = v1Y; this.v1Z = v1Z;
+        this.v2X = v2X; this.v2Y = v2Y; this.v2Z = v2Z;
+        double e1X = v1X - v0X, e1Y = v1Y - v0Y, e1Z = v1Z - v0Z;
+        double e2X = v2X - v0X, e2Y = v2Y - v0Y, e2Z = v2Z - v0Z;
+        this.e1X = e1X; this.e1Y = e1Y; this.e1Z = e1Z;
+        this.e2X = e2X; this.e2Y = e2Y; this.e2Z = e2Z;
+        double nX = e1Y * e2Z - e1Z * e2Y, nY = e1Z * e2X - e1X * e2Z, nZ = e1X * e2Y - e1Y * e2X;
+        double lenSquared = nX * nX + nY * nY + nZ * nZ;
+        double invLen = Math.invsqrt(lenSquared);
+        this.nX = nX * invLen;
+        this.nY = nY * invLen;
+        this.nZ = nZ * invLen;
+        this.d = -(this.nX * v0X + this.nY * v0Y + this.nZ * v0Z);
+        // The inverse of the matrix with the columns (e1, e2, n) has the rows (e2 x n, n x e1, n) / |n|^2;
+        // the third row is kept unscaled, which scales the distance to the plane without changing its sign or the ray parameter
+        double invLenSquared = 1.0 / lenSquared;
+        m00 = (e2Y * nZ - e2Z * nY) * invLenSquared;
+        m01 = (e2Z * nX - e2X * nZ) * invLenSquared;
+        m02 = (e2X * nY - e2Y * nX) * invLenSquared;
+        m03 = -(m00 * v0X + m01 * v0Y + m02 * v0Z);
+        m10 = (nY * e1Z - nZ * e1Y) * invLenSquared;
+        m11 = (nZ * e1X - nX * e1Z) * invLenSquared;
+        m12 = (nX * e1Y - nY * e1X) * invLenSquared;
+        m13 = -(m10 * v0X + m11 * v0Y + m12 * v0Z);
+        m20 = nX;
+        m21 = nY;
+        m22 = nZ;
+        m23 = -(m20 * v0X + m21 * v0Y + m22 * v0Z);
+        return this;
+    }
+
+    /**
+     * Get the first vertex of this triangle and store it into <code>dest</code>.
+     * 
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Vector3d v0(Vector3d dest) {
+        return dest.set(v0X, v0Y, v0Z);
+    }
+
+    /**
+     * Get the second vertex of this triangle and store it into <code>dest</code>.
+     * 
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Vector3d v1(Vector3d dest) {
+        return dest.set(v1X, v1Y, v1Z);
+    }
+
+    /**
+     * Get the third vertex of this triangle and store it into <code>dest</code>.
+     * 
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Vector3d v2(Vector3d dest) {
+        return dest.set(v2X, v2Y, v2Z);
+    }
+
+    /**
+     * Get the unit normal of this triangle and store it into <code>dest</code>.
+     * <p>
+     * The normal points towards the side from which the vertices appear in counter-clockwise order.
+     * 
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Vector3d normal(Vector3d dest) {
+        return dest.set(nX, nY, nZ);
+    }
+
+    /**
+     * Get the plane of this triangle and store it into <code>dest</code>.
+     * <p>
+     * The plane is normalized and its normal is the {@link #normal(Vector3d) normal} of this triangle.
+     * 
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public Planed plane(Planed dest) {
+        return dest.set(nX, nY, nZ, d);
+    }
+
+    /**
+     * Compute the axis-aligned bounding box of this triangle and store it into <code>dest</code>.
+     * 
+     * @param dest
+     *          will hold the result
+     * @return dest
+     */
+    public AABBd bounds(AABBd dest) {
+        dest.minX = Math.min(Math.min(v0X, v1X), v2X);
+        dest.minY = Math.min(Math.min(v0Y, v1Y), v2Y);
+        dest.minZ = Math.min(Math.min(v0Z, v1Z), v2Z);
+        dest.maxX = Math.max(Math.max(v0X, v1X), v2X);
+        dest.maxY = Math.max(Math.max(v0Y, v1Y), v2Y);
+        dest.maxZ = Math.max(Math.max(v0Z, v1Z), v2Z);
+        return dest;
+    }
+
+    /**
+     * Compute the signed distance between the plane of this triangle and the given point <code>(x, y, z)</code>.
+     * <p>
+     * The distance is positive if the point lies on the side the {@link #normal(Vector3d) normal} points to.
+     * 
+     * @param x
+     *          the x coordinate of the point
+     * @param y
+     *          the y coordinate of the point
+     * @param z
+     *          the z coordinate of the point
+     * @return the signed distance between the plane of this triangle and the point
+     */
+    public double distancePlane(double x, double y, double z) {
+        return nX * x + nY * y + nZ * z + d;
+    }
+
+    /**
+     * Determine whether the ray with the origin <code>(originX, originY, originZ)</code> and direction <code>(dirX, dirY, dirZ)</code>
+     * intersects this triangle and return the value of the parameter <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i>
+     * of the point of intersection.
+     * <p>
+     * This test does not take into account the winding order of the triangle, so a ray will intersect a front-facing triangle as well as a back-facing triangle.
+     * 
+     * @param originX
+     *              the x coordinate of the ray's origin
+     * @param originY
+     *              the y coordinate of the ray's origin
+     * @param originZ
+     *              the z coordinate of the ray's origin
+     * @param dirX
+     *              the x coordinate of the ray's direction
+     * @param dirY
+     *              the y coordinate of the ray's direction
+     * @param dirZ
+     *              the z coordinate of the ray's direction
+     * @param epsilon
+     *              a small epsilon when testing rays that are almost parallel to the triangle; it is compared against the same
+     *              determinant as in {@link Intersectiond#intersectRayTriangle(double, double, double, double, double, double, double, double, double, double, double, double, double, double, double, double)}
+     * @return the value of the parameter <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i> of the point of intersection
+     *         if the ray intersects the triangle; <code>-1.0</code> otherwise
+     */
+    public double intersectRay(double originX, double originY, double originZ, double dirX, double dirY, double dirZ, double epsilon) {
+        double oz = m20 * originX + m21 * originY + m22 * originZ + m23;
+        double dz = m20 * dirX + m21 * dirY + m22 * dirZ;
+        if (dz > -epsilon && dz < epsilon)
+            return -1.0;
+        double t = -oz / dz;
+        if (!(t >= 0.0))
+            return -1.0;
+        double hX = originX + t * dirX, hY = originY + t * dirY, hZ = originZ + t * dirZ;
+        double u = m00 * hX + m01 * hY + m02 * hZ + m03;
+        double v = m10 * hX + m11 * hY + m12 * hZ + m13;
+        if (u >= 0.0 && v >= 0.0 && u + v <= 1.0)
+            return t;
+        return -1.0;
+    }
+
+    /**
+     * Determine whether the given ray intersects this triangle and return the value of the parameter <i>t</i> in the ray equation
+     * <i>p(t) = origin + t * dir</i> of the point of intersection.
+     * 
+     * @see #intersectRay(double, double, double, double, double, double, double)
+     * 
+     * @param ray
+     *              the ray
+     * @param epsilon
+     *              a small epsilon when testing rays that are almost parallel to the triangle
+     * @return the value of the parameter <i>t</i> in the ray equation <i>p(t) = origin + t * dir</i> of the point of intersection
+     *         if the ray intersects the triangle; <code>-1.0</code> otherwise
+     */
+    public double intersectRay(Rayd ray, double epsilon) {
+        return intersectRay(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, epsilon);
+    }
+
+    /**
+     * Test whether the ray with the origin <code>(originX, originY, originZ)</code> and direction <code>(dirX, dirY, dirZ)</code>
+     * intersects this triangle.
+     * 
+     * @see #intersectRay(double, double, double, double, double, double, double)
+     * 
+     * @param originX
+     *              the x coordinate of the ray's origin
+     * @param originY
+     *              the y coordinate of the ray's origin
+     * @param originZ
+     *              the z coordinate of the ray's origin
+     * @param dirX
+     *              the x coordinate of the ray's direction
+     * @param dirY
+     *              the y coordinate of the ray's direction
+     * @param dirZ
+     *              the z coordinate of the ray's direction
+     * @param epsilon
+     *              a small epsilon when testing rays that are almost parallel to the triangle
+     * @return <code>true</code> if the given ray intersects this triangle; <code>false</code> otherwise
+     */
+    public boolean testRay(double originX, double originY, double originZ, double dirX, double dirY, double dirZ, double epsilon) {
+        return intersectRay(originX, originY, originZ, dirX, dirY, dirZ, epsilon) >= 0.0;
+    }
+
+    /**
+     * Test whether the given ray intersects this triangle.
+     * 
+     * @see #intersectRay(double, double, double, double, double, double, double)
+     * 
+     * @param ray
+     *              the ray
+     * @param epsilon
+     *              a small epsilon when testing rays that are almost parallel to the triangle
+     * @return <code>true</code> if the given ray intersects this triangle; <code>false</code> otherwise
+     */
+    public boolean testRay(Rayd ray, double epsilon) {
+        return intersectRay(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ, epsilon) >= 0.0;
+    }
+
+    /**
+     * Determine whether the line segment with the end points <code>(p0X, p0Y, p0Z)</code> and <code>(p1X, p1Y, p1Z)</code>
+     * intersects this triangle, regardless of the winding order of the triangle or the direction of the line segment, and
+     * store the point of intersection into <code>intersectionPoint</code>.
+     * 
+     * @param p0X
+     *              the x coordinate of the line segment's first end point
+     * @param p0Y
+     *              the y coordinate of the line segment's first end point
+     * @param p0Z
+     *              the z coordinate of the line segment's first end point
+     * @param p1X
+     *              the x coordinate of the line segment's second end point
+     * @param p1Y
+     *              the y coordinate of the line segment's second end point
+     * @param p1Z
+     *              the z coordinate of the line segment's second end point
+     * @param epsilon
+     *              a small epsilon when testing line segments that are almost parallel to the triangle
+     * @param intersectionPoint
+     *              the point of intersection
+     * @return <code>true</code> if the given line segment intersects this triangle; <code>false</code> otherwise
+     */
+    public boolean intersectLineSegment(double p0X, double p0Y, double p0Z, double p1X, double p1Y, double p1Z, double epsilon, Vector3d intersectionPoint) {
+        double dirX = p1X - p0X, dirY = p1Y - p0Y, dirZ = p1Z - p0Z;
+        double t = intersectRay(p0X, p0Y, p0Z, dirX, dirY, dirZ, epsilon);
+        if (t >= 0.0 && t <= 1.0) {
+            intersectionPoint.x = p0X + dirX * t;
+            intersectionPoint.y = p0Y + dirY * t;
+            intersectionPoint.z = p0Z + dirZ * t;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Determine whether the given line segment intersects this triangle, and store the point of intersection into
+     * <code>intersectionPoint</code>.
+     * 
+     * @see #intersectLineSegment(double, double, double, double, double, double, double, Vector3d)
+     * 
+     * @param lineSegment
+     *              the line segment
+     * @param epsilon
+     *              a small epsilon when testing line segments that are almost parallel to the triangle
+     * @param intersectionPoint
+     *              the point of intersection
+     * @return <code>true</code> if the given line segment intersects this triangle; <code>false</code> otherwise
+     */
+    public boolean intersectLineSegment(LineSegmentd lineSegment, double epsilon, Vector3d intersectionPoint) {
+        return intersectLineSegment(lineSegment.aX, lineSegment.aY, lineSegment.aZ, lineSegment.bX, lineSegment.bY, lineSegment.bZ, epsilon, intersectionPoint);
+    }
+
+    /**
+     * Test whether the line segment with the end points <code>(p0X, p0Y, p0Z)</code> and <code>(p1X, p1Y, p1Z)</code>
+     * intersects this triangle, regardless of the winding order of the triangle or the direction of the line segment.
+     * 
+     * @param p0X
+     *              the x coordinate of the line segment's first end point
+     * @param p0Y
+     *              the y coordinate of the line segment's first end point
+     * @param p0Z
+     *              the z coordinate of the line segment's first end point
+     * @param p1X
+     *              the x coordinate of the line segment's second end point
+     * @param p1Y
+     *              the y coordinate of the line segment's second end point
+     * @param p1Z
+     *              the z coordinate of the line segment's second end point
+     * @param epsilon
+     *              a small epsilon when testing line segments that are almost parallel to the triangle
+     * @return <code>true</code> if the given line segment intersects this triangle; <code>false</code> otherwise
+     */
+    public boolean testLineSegment(double p0X, double p0Y, double p0Z, double p1X, double p1Y, double p1Z, double epsilon) {
+        double t = intersectRay(p0X, p0Y, p0Z, p1X - p0X, p1Y - p0Y, p1Z - p0Z, epsilon);
+        return t >= 0.0 && t <= 1.0;
+    }
+
+    /**
+     * Determine the point on this triangle which is closest to the given point <code>(pX, pY, pZ)</code> and store it
+     * into <code>result</code>.
+     * <p>
+     * Reference: Book "Real-Time Collision Detection" chapter 5.1.5 "Closest Point on Triangle to Point"
+     * 
+     * @param pX
+     *          the x coordinate of the point
+     * @param pY
+     *          the y coordinate of the point
+     * @param pZ
+     *          the z coordinate of the point
+     * @param result
+     *          will hold the closest point
+     * @return one of {@link Intersectiond#POINT_ON_TRIANGLE_VERTEX_0}, {@link Intersectiond#POINT_ON_TRIANGLE_VERTEX_1}, {@link Intersectiond#POINT_ON_TRIANGLE_VERTEX_2},
+     *                {@link Intersectiond#POINT_ON_TRIANGLE_EDGE_01}, {@link Intersectiond#POINT_ON_TRIANGLE_EDGE_12}, {@link Intersectiond#POINT_ON_TRIANGLE_EDGE_20} or
+     *                {@link Intersectiond#POINT_ON_TRIANGLE_FACE}
+     */
+    public int findClosestPoint(double pX, double pY, double pZ, Vector3d result) {
+        /* the barycentric coordinates of the projection of the point onto the plane, from the transformation into the unit triangle */
+        double u = m00 * pX + m01 * pY + m02 * pZ + m03;
+        double v = m10 * pX + m11 * pY + m12 * pZ + m13;
+        if (!(u > 0.0 && v > 0.0 && u + v < 1.0))
+            return findClosestPointInRegion(pX, pY, pZ, result);
+        double dist = nX * pX + nY * pY + nZ * pZ + d;
+        result.set(pX - dist * nX, pY - dist * nY, pZ - dist * nZ);
+        return Intersectiond.POINT_ON_TRIANGLE_FACE;
+    }
+
+    /**
+     * The general case of {@link #findClosestPoint(double, double, double, Vector3d)} for points not projecting strictly into this triangle,
+     * which tests the Voronoi regions of the vertices, edges and the face one after another.
+     */
+    private int findClosestPointInRegion(double pX, double pY, double pZ, Vector3d result) {
+        double apX = pX - v0X, apY = pY - v0Y, apZ = pZ - v0Z;
+        double d1 = e1X * apX + e1Y * apY + e1Z * apZ;
+        double d2 = e2X * apX + e2Y * apY + e2Z * apZ;
+        if (d1 <= 0.0 && d2 <= 0.0) {
+            result.set(v0X, v0Y, v0Z);
+            return Intersectiond.POINT_ON_TRIANGLE_VERTEX_0;
+        }
+        double bpX = pX - v1X, bpY = pY - v1Y, bpZ = pZ - v1Z;
+        double d3 = e1X * bpX + e1Y * bpY + e1Z * bpZ;
+        double d4 = e2X * bpX + e2Y * bpY + e2Z * bpZ;
+        if (d3 >= 0.0 && d4 <= d3) {
+            result.set(v1X, v1Y, v1Z);
+            return Intersectiond.POINT_ON_TRIANGLE_VERTEX_1;
+        }
+        double vc = d1 * d4 - d3 * d2;
+        if (vc <= 0.0 && d1 >= 0.0 && d3 <= 0.0) {
+            double v = d1 / (d1 - d3);
+            result.set(v0X + v * e1X, v0Y + v * e1Y, v0Z + v * e1Z);
+            return Intersectiond.POINT_ON_TRIANGLE_EDGE_01;
+        }
+        double cpX = pX - v2X, cpY = pY - v2Y, cpZ = pZ - v2Z;
+        double d5 = e1X * cpX + e1Y * cpY + e1Z * cpZ;
+        double d6 = e2X * cpX + e2Y * cpY + e2Z * cpZ;
+        if (d6 >= 0.0 && d5 <= d6) {
+            result.set(v2X, v2Y, v2Z);
+            return Intersectiond.POINT_ON_TRIANGLE_VERTEX_2;
+        }
+        double vb = d5 * d2 - d1 * d6;
+        if (vb <= 0.0 && d2 >= 0.0 && d6 <= 0.0) {
+            double w = d2 / (d2 - d6);
+            result.set(v0X + w * e2X, v0Y + w * e2Y, v0Z + w * e2Z);
+            return Intersectiond.POINT_ON_TRIANGLE_EDGE_20;
+        }
+        double va = d3 * d6 - d5 * d4;
+        if (va <= 0.0 && d4 - d3 >= 0.0 && d5 - d6 >= 0.0) {
+            double w = (d4 - d3) / (d4 - d3 + d5 - d6);
+            result.set(v1X + w * (v2X - v1X), v1Y + w * (v2Y - v1Y), v1Z + w * (v2Z - v1Z));
+            return Intersectiond.POINT_ON_TRIANGLE_EDGE_12;
+        }
+        // the point projects onto the face, so project it onto the plane directly
+        double dist = nX * pX + nY * pY + nZ * pZ + d;
+        result.set(pX - dist * nX, pY - dist * nY, pZ - dist * nZ);
+        return Intersectiond.POINT_ON_TRIANGLE_FACE;
+    }
+
+    /**
+     * Determine the point on this triangle which is closest to the given point <code>p</code> and store it
+     * into <code>result</code>.
+     * 
+     * @see #findClosestPoint(double, double, double, Vector3d)
+     * 
+     * @param p
+     *          the point
+     * @param result
+     *          will hold the closest point
+     * @return one of {@link Intersectiond#POINT_ON_TRIANGLE_VERTEX_0}, {@link Intersectiond#POINT_ON_TRIANGLE_VERTEX_1}, {@link Intersectiond#POINT_ON_TRIANGLE_VERTEX_2},
+     *                {@link Intersectiond#POINT_ON_TRIANGLE_EDGE_01}, {@link Intersectiond#POINT_ON_TRIANGLE_EDGE_12}, {@link Intersectiond#POINT_ON_TRIANGLE_EDGE_20} or
+     *                {@link Intersectiond#POINT_ON_TRIANGLE_FACE}
+     */
+    public int findClosestPoint(Vector3dc p, Vector3d result) {
+        return findClosestPoint(p.x(), p.y(), p.z(), result);
+    }
+
+    /**
+     * Determine whether the sphere with the given center <code>(sX, sY, sZ)</code> and radius <code>sR</code> intersects this triangle,
+     * and store the point on this triangle closest to the sphere's center into <code>result</code>.
+     * 
+     * @param sX
+     *          the x coordinate of the sphere's center
+     * @param sY
+     *          the y coordinate of the sphere's center
+     * @param sZ
+     *          the z coordinate of the sphere's center
+     * @param sR
+     *          the sphere's radius
+     * @param result
+     *          will hold the point of intersection
+     * @return one of {@link Intersectiond#POINT_ON_TRIANGLE_VERTEX_0}, {@link Intersectiond#POINT_ON_TRIANGLE_VERTEX_1}, {@link Intersectiond#POINT_ON_TRIANGLE_VERTEX_2},
+     *                {@link Intersectiond#POINT_ON_TRIANGLE_EDGE_01}, {@link Intersectiond#POINT_ON_TRIANGLE_EDGE_12}, {@link Intersectiond#POINT_ON_TRIANGLE_EDGE_20} or
+     *                {@link Intersectiond#POINT_ON_TRIANGLE_FACE} or <code>0</code>
+     */
+    public int intersectSphere(double sX, double sY, double sZ, double sR, Vector3d result) {
+        double dist = nX * sX + nY * sY + nZ * sZ + d;
+        if (dist > sR || dist < -sR)
+            return 0;
+        int closest = findClosestPoint(sX, sY, sZ, result);
+        double vX = result.x - sX, vY = result.y - sY, vZ = result.z - sZ;
+        if (vX * vX + vY * vY + vZ * vZ <= sR * sR)
+            return closest;
+        return 0;
+    }
+
+    /**
+     * Determine whether the given sphere intersects this triangle, and store the point on this triangle closest to the
+     * sphere's center into <code>result</code>.
+     * 
+     * @see #intersectSphere(double, double, double, double, Vector3d)
+     * 
+     * @param sphere
+     *          the sphere
+     * @param result
+     *          will hold the point of intersection
+     * @return one of {@link Intersectiond#POINT_ON_TRIANGLE_VERTEX_0}, {@link Intersectiond#POINT_ON_TRIANGLE_VERTEX_1}, {@link Intersectiond#POINT_ON_TRIANGLE_VERTEX_2},
+     *                {@link Intersectiond#POINT_ON_TRIANGLE_EDGE_01}, {@link Intersectiond#POINT_ON_TRIANGLE_EDGE_12}, {@link Intersectiond#POINT_ON_TRIANGLE_EDGE_20} or
+     *                {@link Intersectiond#POINT_ON_TRIANGLE_FACE} or <code>0</code>
+     */
+    public int intersectSphere(Sphered sphere, Vector3d result) {
+        return intersectSphere(sphere.x, sphere.y, sphere.z, sphere.r, result);
+    }
+
+    /**
+     * Determine the point of intersection between a sphere with the given center <code>(centerX, centerY, centerZ)</code> and <code>radius</code> moving
+     * with the given velocity <code>(velX, velY, velZ)</code> and this triangle.
+     * <p>
+     * The vertices of this triangle must be in counter-clockwise winding order as seen from the moving sphere.
+     * <p>
+     * An intersection is only considered if the time of intersection is smaller than the given <code>maxT</code> value.
+     * <p>
+     * This gives the same results as {@link Intersectiond#intersectSweptSphereTriangle(double, double, double, double, double, double, double, double, double, double, double, double, double, double, double, double, double, double, Vector4d)}, but reuses the
+     * precomputed edges and plane of this triangle instead of recomputing them.
+     * 
+     * @param centerX
+     *              the x coordinate of the sphere's center
+     * @param centerY
+     *              the y coordinate of the sphere's center
+     * @param centerZ
+     *              the z coordinate of the sphere's center
+     * @param radius
+     *              the radius of the sphere
+     * @param velX
+     *              the x component of the velocity of the sphere
+     * @param velY
+     *              the y component of the velocity of the sphere
+     * @param velZ
+     *              the z component of the velocity of the sphere
+     * @param epsilon
+     *              a small epsilon when testing spheres that move almost parallel to the triangle
+     * @param maxT
+     *              the maximum intersection time
+     * @param pointAndTime
+     *              iff the moving sphere and the triangle intersect, this will hold the point of intersection in the <code>(x, y, z)</code> components
+     *              and the time of intersection in the <code>w</code> component
+     * @return {@link Intersectiond#POINT_ON_TRIANGLE_FACE} if the intersection point lies on the triangle's face,
+     *         or {@link Intersectiond#POINT_ON_TRIANGLE_VERTEX_0}, {@link Intersectiond#POINT_ON_TRIANGLE_VERTEX_1} or {@link Intersectiond#POINT_ON_TRIANGLE_VERTEX_2} if the intersection point is a vertex,
+     *         or {@link Intersectiond#POINT_ON_TRIANGLE_EDGE_01}, {@link Intersectiond#POINT_ON_TRIANGLE_EDGE_12} or {@link Intersectiond#POINT_ON_TRIANGLE_EDGE_20} if the intersection point lies on an edge;
+     *         or <code>0</code> if no intersection
+     */
+    public int intersectSweptSphere(double centerX, double centerY, double centerZ, double radius, double velX, double velY, double velZ,
+            double epsilon, double maxT, Vector4d pointAndTime) {
+        double signedDist = nX * centerX + nY * centerY + nZ * centerZ + d;
+        double dot = nX * velX + nY * velY + nZ * velZ;
+        if (dot < epsilon && dot > -epsilon)
+            return 0;
+        double pt0 = (radius - signedDist) / dot;
+        if (pt0 > maxT)
+            return 0;
+        double pt1 = (-radius - signedDist) / dot;
+        return Intersectiond.intersectSweptSphereTriangleContact(centerX, centerY, centerZ, radius, velX, velY, velZ,
+                v0X, v0Y, v0Z, v1X, v1Y, v1Z, v2X, v2Y, v2Z, e1X, e1Y, e1Z, e2X, e2Y, e2Z,
+                nX, nY, nZ, 1.0, pt0, pt1, maxT, pointAndTime);
+    }
+
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        long temp;
+        temp = Double.doubleToLongBits(v0X);
+        result = prime * result + (int) (temp ^ (temp >>> 32));
+        temp = Double.doubleToLongBits(v0Y);
+        result = prime * result + (int) (temp ^ (temp >>> 32));
+        temp = Double.doubleToLongBits(v0Z);
+        result = prime * result + (int) (temp ^ (temp >>> 32));
+        temp = Double.doubleToLongBits(v1X);
+        result = prime * result + (int) (temp ^ (temp >>> 32));
+        temp = Double.doubleToLongBits(v1Y);
+        result = prime * result + (int) (temp ^ (temp >>> 32));
+        temp = Double.doubleToLongBits(v1Z);
+        result = prime * result + (int) (temp ^ (temp >>> 32));
+        temp = Double.doubleToLongBits(v2X);
+        result = prime * result + (int) (temp ^ (temp >>> 32));
+        temp = Double.doubleToLongBits(v2Y);
+        result = prime * result + (int) (temp ^ (temp >>> 32));
+        temp = Double.doubleToLongBits(v2Z);
+        result = prime * result + (int) (temp ^ (temp >>> 32));
+        return result;
+    }
+
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        Triangled other = (Triangled) obj;
+        if (Double.doubleToLongBits(v0X) != Double.doubleToLongBits(other.v0X))
+            return false;
+        if (Double.doubleToLongBits(v0Y) != Double.doubleToLongBits(other.v0Y))
+            return false;
+        if (Double.doubleToLongBits(v0Z) != Double.doubleToLongBits(other.v0Z))
+            return false;
+        if (Double.doubleToLongBits(v1X) != Double.doubleToLongBits(other.v1X))
+            return false;
+        if (Double.doubleToLongBits(v1Y) != Double.doubleToLongBits(other.v1Y))
+            return false;
+        if (Double.doubleToLongBits(v1Z) != Double.doubleToLongBits(other.v1Z))
+            return false;
+        if (Double.doubleToLongBits(v2X) != Double.doubleToLongBits(other.v2X))
+            return false;
+        if (Double.doubleToLongBits(v2Y) != Double.doubleToLongBits(other.v2Y))
+            return false;
+        if (Double.doubleToLongBits(v2Z) != Double.doubleToLongBits(other.v2Z))
+            return false;
+        return true;
+    }
+
+    /**
+     * Return a string representation of this triangle.
+     * <p>
+     * This method creates a new {@link DecimalFormat} on every invocation with the format string "<code>0.000E0;-</code>".
+     * 
+     * @return the string representation
+     */
+    public String toString() {
+        return Runtime.formatNumbers(toString(Options.NUMBER_FORMAT));
+    }
+
+    /**
+     * Return a string representation of this triangle by formatting the vertex components with the given {@link NumberFormat}.
+     * 
+     * @param formatter
+     *          the {@link NumberFormat} used to format the vertex components with
+     * @return the string representation
+     */
+    public String toString(NumberFormat formatter) {
+        return "(" + Runtime.format(v0X, formatter) + " " + Runtime.format(v0Y, formatter) + " " + Runtime.format(v0Z, formatter) + ") - "
+             + "(" + Runtime.format(v1X, formatter) + " " + Runtime.format(v1Y, formatter) + " " + Runtime.format(v1Z, formatter) + ") - "
+             + "(" + Runtime.format(v2X, formatter) + " " + Runtime.format(v2Y, formatter) + " " + Runtime.format(v2Z, formatter) + ")";
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeDouble(v0X);
+        out.writeDouble(v0Y);
+        out.writeDouble(v0Z);
+        out.writeDouble(v1X);
+        out.writeDouble(v1Y);
+        out.writeDouble(v1Z);
+        out.writeDouble(v2X);
+        out.writeDouble(v2Y);
+        out.writeDouble(v2Z);
+    }
+
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        set(in.readDouble(), in.readDouble(), in.readDouble(),
+            in.readDouble(), in.readDouble(), in.readDouble(),
+            in.readDouble(), in.readDouble(), in.readDouble());
+    }
+
+}
@@ -0,0 +1,254 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import org.joml.Math;
+
+/**
+ * Conservatively voxelizes indexed triangle meshes into a grid of bits bounded by an {@link AABBi}.
+ * <p>
+ * The voxel with the integer coordinates <code>(x, y, z)</code> is the axis-aligned box from <code>(x, y, z) * voxelSize</code>
+ * to <code>(x + 1, y + 1, z + 1) * voxelSize</code>. The grid holds the voxels with <code>bounds.minX &lt;= x &lt; bounds.maxX</code>,
+ * and likewise for y and z. A voxel is set when at least one triangle intersects or touches it, as determined by
+ * {@link Intersectionf#testAabTriangle(float, float, float, float, float, float, float, float, float, float, float, float, float, float, float) testAabTriangle}.
+ * Only the voxels within the bounds of each triangle are tested, and voxels which are already set are skipped.
+ * <p>
+ * Each row of voxels along the x axis starts at a new <code>long</code> word, so that the grid can be split into slabs of
+ * consecutive z layers which never share a word. With more than one thread, the slabs are voxelized in parallel, each
+ * slab testing every triangle that overlaps it. The threads are created once by the constructor and must be stopped by
+ * {@link #dispose()}. An instance must not be used by several threads concurrently.
+ */
+public class Voxelizerf {
+
+    private static final int SLABS_PER_THREAD = 4;
+
+    private final WorkerPool pool;
+    private final int slabs;
+    private final Rasterize rasterize = new Rasterize();
+    private final int[] slabCounts;
+
+    private final int minX, minY, minZ;
+    private final int sizeX, sizeY, sizeZ;
+    private final int rowWords;
+    private final float voxelSize;
+    private final float invVoxelSize;
+    private final long[] bits;
+
+    /* the arguments of the current call */
+    private float[] positions;
+    private int[] indices;
+    private int triangleCount;
+
+    private final class Rasterize implements WorkerPool.Task {
+        public void run(int slab) {
+            slabCounts[slab] = rasterize(sizeZ * slab / slabs, sizeZ * (slab + 1) / slabs);
+        }
+    }
+
+    /**
+     * Create a new empty {@link Voxelizerf} whose grid covers the voxels within the given <code>bounds</code> and which
+     * uses the calling thread and <code>threads - 1</code> additional worker threads.
+     * <p>
+     * The worker threads are started by this constructor and stay idle between calls of {@link #voxelize(float[], int[], int)} until
+     * {@link #dispose()} stops them. They are daemon threads, so they do not keep the JVM alive, but an instance that is no longer needed
+     * should be disposed to release them.
+     * 
+     * @param bounds
+     *          the minimum (inclusive) and maximum (exclusive) voxel coordinates of the grid
+     * @param voxelSize
+     *          the edge length of the cubic voxels
+     * @param threads
+     *          the total number of threads, usually the number of available processors, or <code>1</code> to voxelize on the calling thread only
+     */
+    public Voxelizerf(AABBic bounds, float voxelSize, int threads) {
+        if (!bounds.isValid() || !(voxelSize > 0.0f))
+            throw new IllegalArgumentException();
+        this.minX = bounds.minX();
+        this.minY = bounds.minY();
+        this.minZ = bounds.minZ();
+        this.sizeX = bounds.maxX() - minX;
+        this.sizeY = bounds.maxY() - minY;
+        this.sizeZ = bounds.maxZ() - minZ;
+        this.rowWords = (sizeX + 63) >>> 6;
+        this.voxelSize = voxelSize;
+        this.invVoxelSize = 1.0f / voxelSize;
+        this.bits = new long[rowWords * sizeY * sizeZ];
+        this.pool = new WorkerPool(threads);
+        this.slabs = threads == 1 ? 1 : Math.min(threads * SLABS_PER_THREAD, sizeZ);
+        this.slabCounts = new int[slabs];
+    }
+
+    /**
+     * Get the voxel coordinates covered by the grid.
+     * 
+     * @param dest
+     *          will hold the minimum (inclusive) and maximum (exclusive) voxel coordinates
+     * @return dest
+     */
+    public AABBi bounds(AABBi dest) {
+        return dest.setMin(minX, minY, minZ).setMax(minX + sizeX, minY + sizeY, minZ + sizeZ);
+    }
+
+    /**
+     * @return the edge length of the voxels
+     */
+    public float voxelSize() {
+        return voxelSize;
+    }
+
+    /**
+     * Set all voxels which intersect at least one of the indexed triangles <code>0</code> to <code>triangleCount - 1</code>.
+     * <p>
+     * Triangle <code>j</code> consists of the vertices whose <code>(x, y, z)</code> coordinates start at the positions <code>3 * indices[3 * j]</code>,
+     * <code>3 * indices[3 * j + 1]</code> and <code>3 * indices[3 * j + 2]</code> of <code>positions</code>.
+     * Voxels which have been set before stay set, so several meshes can be voxelized into the same grid. Parts of the triangles
+     * outside of the grid are ignored.
+     * 
+     * @param positions
+     *          the vertex positions
+     * @param indices
+     *          the vertex indices of the triangles
+     * @param triangleCount
+     *          the number of triangles
+     * @return the number of voxels that were newly set
+     */
+    public int voxelize(float[] positions, int[] indices, int triangleCount) {
+        Object event = QueryEvents.begin();
+        this.positions = positions;
+        this.indices = indices;
+        this.triangleCount = triangleCount;
+        pool.run(rasterize, slabs);
+        this.positions = null;
+        this.indices = null;
+        int count = 0;
+        for (int s = 0; s < slabs; s++)
+            count += slabCounts[s];
+        QueryEvents.end(event, "Voxelizerf.voxelize", triangleCount, count);
+        return count;
+    }
+
+    /**
+     * Determine whether the voxel with the given coordinates is set.
+     * 
+     * @param x
+     *          the x coordinate of the voxel
+     * @param y
+     *          the y coordinate of the voxel
+     * @param z
+     *          the z coordinate of the voxel
+     * @return <code>true</code> iff the voxel lies within the grid and is set; <code>false</code> otherwise
+     */
+    public boolean isSet(int x, int y, int z) {
+        x -= minX;
+        y -= minY;
+        z -= minZ;
+        if (x < 0 || y < 0 || z < 0 || x >= sizeX || y >= sizeY || z >= sizeZ)
+            return false;
+        return (bits[(z * sizeY + y) * rowWords + (x >>> 6)] & 1L << x) != 0L;
+    }
+
+    /**
+     * @return the number of voxels that are set
+     */
+    public int count() {
+        int count = 0;
+        for (int i = 0; i < bits.length; i++) {
+            // population count of one word, see "Hacker's Delight", section 5-1
+            long w = bits[i];
+            w = w - (w >>> 1 & 0x5555555555555555L);
+            w = (w & 0x3333333333333333L) + (w >>> 2 & 0x3333333333333333L);
+            w = w + (w >>> 4) & 0x0F0F0F0F0F0F0F0FL;
+            count += (int) (w * 0x0101010101010101L >>> 56);
+        }
+        return count;
+    }
+
+    /**
+     * Unset all voxels.
+     */
+    public void clear() {
+        for (int i = 0; i < bits.length; i++)
+            bits[i] = 0L;
+    }
+
+    /**
+     * Stop the worker threads. This instance must not be used afterwards.
+     */
+    public void dispose() {
+        pool.shutdown();
+    }
+
+    private int rasterize(int zBegin, int zEnd) {
+        float[] positions = this.positions;
+        int[] indices = this.indices;
+        float s = voxelSize, inv = invVoxelSize;
+        int count = 0;
+        for (int i = 0, n = triangleCount * 3; i < n; i += 3) {
+            int i0 = 3 * indices[i], i1 = 3 * indices[i + 1], i2 = 3 * indices[i + 2];
+            float v0X = positions[i0], v0Y = positions[i0 + 1], v0Z = positions[i0 + 2];
+            float v1X = positions[i1], v1Y = positions[i1 + 1], v1Z = positions[i1 + 2];
+            float v2X = positions[i2], v2Y = positions[i2 + 1], v2Z = positions[i2 + 2];
+            // the voxels touched by the bounds of the triangle, relative to the grid and clamped to the slab
+            int z0 = Math.max(firstVoxel(Math.min(Math.min(v0Z, v1Z), v2Z) * inv) - minZ, zBegin);
+            int z1 = Math.min(lastVoxel(Math.max(Math.max(v0Z, v1Z), v2Z) * inv) - minZ, zEnd - 1);
+            if (z0 > z1)
+                continue;
+            int y0 = Math.max(firstVoxel(Math.min(Math.min(v0Y, v1Y), v2Y) * inv) - minY, 0);
+            int y1 = Math.min(lastVoxel(Math.max(Math.max(v0Y, v1Y), v2Y) * inv) - minY, sizeY - 1);
+            int x0 = Math.max(firstVoxel(Math.min(Math.min(v0X, v1X), v2X) * inv) - minX, 0);
+            int x1 = Math.min(lastVoxel(Math.max(Math.max(v0X, v1X), v2X) * inv) - minX, sizeX - 1);
+            for (int z = z0; z <= z1; z++) {
+                float bMinZ = (z + minZ) * s;
+                for (int y = y0; y <= y1; y++) {
+                    float bMinY = (y + minY) * s;
+                    int row = (z * sizeY + y) * rowWords;
+                    for (int x = x0; x <= x1; x++) {
+                        int w = row + (x >>> 6);
+                        long bit = 1L << x;
+                        if ((bits[w] & bit) != 0L)
+                            continue;
+                        float bMinX = (x + minX) * s;
+                        if (Intersectionf.testAabTriangle(bMinX, bMinY, bMinZ, bMinX + s, bMinY + s, bMinZ + s,
+                                v0X, v0Y, v0Z, v1X, v1Y, v1Z, v2X, v2Y, v2Z)) {
+                            bits[w] |= bit;
+                            count++;
+                        }
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /* the smallest voxel coordinate whose voxel touches the given coordinate, in units of voxels */
+    private static int firstVoxel(float v) {
+        return (int) Math.ceil(v) - 1;
+    }
+
+    /* the largest voxel coordinate whose voxel touches the given coordinate, in units of voxels */
+    private static int lastVoxel(float v) {
+        return (int) Math.floor(v);
+    }
+
+}
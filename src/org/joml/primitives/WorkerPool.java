@@ -0,0 +1,197 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+/**
+ * A fixed set of daemon worker threads that run the chunks of a data-parallel job together with the calling thread.
+ * <p>
+ * A job is split into a number of chunks, usually a few per thread, which the threads claim one after another so that chunks
+ * of unequal cost are balanced automatically. {@link #run(Task, int)} returns once all chunks have completed.
+ * <p>
+ * The pool serves one job at a time. Starting a job while another one is running, either from another thread or from within a chunk of
+ * the running job, is rejected with an {@link IllegalStateException} instead of corrupting the running job; callers sharing a pool
+ * must therefore serialize their jobs. Jobs with at most one chunk, and all jobs of a pool without worker threads, run directly on the
+ * calling thread and are not checked.
+ * <p>
+ * The worker threads are started by the constructor and wait for jobs until {@link #shutdown()} is called.
+ */
+final class WorkerPool {
+
+    /**
+     * One chunked job.
+     */
+    interface Task {
+        /**
+         * Process the chunk with the given index.
+         * 
+         * @param chunk
+         *          the index of the chunk, between <code>0</code> and the number of chunks minus one
+         */
+        void run(int chunk);
+    }
+
+    private final Thread[] workers;
+    private Task task;
+    private int chunks;
+    private int next;
+    private int done;
+    private long generation;
+    private boolean shutdown;
+    private Throwable failure;
+
+    /**
+     * Create a new {@link WorkerPool} using the calling thread and <code>threads - 1</code> worker threads.
+     * 
+     * @param threads
+     *          the total number of threads working on a job, at least <code>1</code>
+     */
+    WorkerPool(int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException();
+        workers = new Thread[threads - 1];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Thread("joml-worker-" + i) {
+                public void run() {
+                    loop();
+                }
+            };
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+    }
+
+    /**
+     * @return the total number of threads working on a job, including the calling thread
+     */
+    int threads() {
+        return workers.length + 1;
+    }
+
+    /**
+     * Run all <code>chunks</code> chunks of the given job and wait for their completion.
+     * <p>
+     * If any chunk throws, the remaining chunks still run and the first exception is rethrown.
+     * 
+     * @param task
+     *          the job
+     * @param chunks
+     *          the number of chunks
+     * @throws IllegalStateException
+     *          if the pool was shut down or is already running a job
+     */
+    void run(Task task, int chunks) {
+        if (workers.length == 0 || chunks <= 1) {
+            for (int c = 0; c < chunks; c++)
+                task.run(c);
+            return;
+        }
+        synchronized (this) {
+            if (shutdown)
+                throw new IllegalStateException("Pool was shut down");
+            if (this.task != null)
+                throw new IllegalStateException("Pool is already running a job");
+            this.task = task;
+            this.chunks = chunks;
+            next = 0;
+            done = 0;
+            failure = null;
+            generation++;
+            notifyAll();
+        }
+        work();
+        boolean interrupted = false;
+        Throwable t;
+        synchronized (this) {
+            while (done < chunks) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            this.task = null;
+            t = failure;
+            failure = null;
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+        if (t instanceof RuntimeException)
+            throw (RuntimeException) t;
+        if (t instanceof Error)
+            throw (Error) t;
+    }
+
+    /**
+     * Stop all worker threads once they finished their current job.
+     */
+    synchronized void shutdown() {
+        shutdown = true;
+        notifyAll();
+    }
+
+    private void work() {
+        while (true) {
+            Task t;
+            int c;
+            synchronized (this) {
+                if (task == null || next >= chunks)
+                    return;
+                t = task;
+                c = next++;
+            }
+            try {
+                t.run(c);
+            } catch (Throwable e) {
+                synchronized (this) {
+                    if (failure == null)
+                        failure = e;
+                }
+            }
+            synchronized (this) {
+                if (++done == chunks)
+                    notifyAll();
+            }
+        }
+    }
+
+    private void loop() {
+        long seen = 0L;
+        while (true) {
+            synchronized (this) {
+                while (generation == seen && !shutdown) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        /* keep waiting for work until shut down */
+                    }
+                }
+                if (shutdown)
+                    return;
+                seen = generation;
+            }
+            work();
+        }
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.joml.Matrix3f;
+import org.joml.Matrix4f;
+import org.joml.Matrix4x3f;
+import org.joml.Vector3f;
+
+/**
+ * Tests for the {@link AABBf} class.
+ */
+public class AABBfTest extends TestCase {
+    private static AABBf transformCorners(AABBf box, Matrix4f m) {
+        AABBf result = new AABBf();
+        Vector3f p = new Vector3f();
+        for (int i = 0; i < 8; i++) {
+            p.set((i & 1) == 0 ? box.minX : box.maxX, (i & 2) == 0 ? box.minY : box.maxY, (i & 4) == 0 ? box.minZ : box.maxZ);
+            m.transformPosition(p);
+            result.union(p);
+        }
+        return result;
+    }
+
+    private static void assertBoxEquals(AABBf expected, AABBf actual, float delta) {
+        assertEquals(expected.minX, actual.minX, delta);
+        assertEquals(expected.minY, actual.minY, delta);
+        assertEquals(expected.minZ, actual.minZ, delta);
+        assertEquals(expected.maxX, actual.maxX, delta);
+        assertEquals(expected.maxY, actual.maxY, delta);
+        assertEquals(expected.maxZ, actual.maxZ, delta);
+    }
+
+    public static void testTransformMatchesCorners() {
+        Random rnd = new Random(12345L);
+        for (int i = 0; i < 100; i++) {
+            Matrix4f m = new Matrix4f()
+                    .translate(rnd.nextFloat() * 20 - 10, rnd.nextFloat() * 20 - 10, rnd.nextFloat() * 20 - 10)
+                    .rotateXYZ(rnd.nextFloat() * 7, rnd.nextFloat() * 7, rnd.nextFloat() * 7)
+                    .scale(rnd.nextFloat() * 4 - 2, rnd.nextFloat() * 3 + 0.1f, rnd.nextFloat() * 2 + 0.5f);
+            AABBf box = new AABBf(rnd.nextFloat() * 10 - 5, rnd.nextFloat() * 10 - 5, rnd.nextFloat() * 10 - 5,
+                    rnd.nextFloat() * 10 + 5, rnd.nextFloat() * 10 + 5, rnd.nextFloat() * 10 + 5);
+            assertBoxEquals(transformCorners(box, m), box.transform(m, new AABBf()), 1E-4f);
+        }
+    }
+
+    public static void testTransformFlatBox() {
+        AABBf box = new AABBf(-1, -1, 0, 1, 1, 0);
+        AABBf result = box.transform(new Matrix4f().rotateX((float) Math.PI * 0.5f), new AABBf());
+        assertEquals(-1, result.minX, 1E-6f);
+        assertEquals(1, result.maxX, 1E-6f);
+        assertEquals(0, result.minY, 1E-6f);
+        assertEquals(0, result.maxY, 1E-6f);
+        assertEquals(-1, result.minZ, 1E-6f);
+        assertEquals(1, result.maxZ, 1E-6f);
+    }
+
+    public static void testTransformEmptyBox() {
+        AABBf result = new AABBf().transform(new Matrix4f().rotateY(1).translate(1, 2, 3), new AABBf());
+        assertEquals(new AABBf(), result);
+    }
+
+    public static void testTransformOverloadsAgree() {
+        Matrix4f m = new Matrix4f().translate(3, -2, 5).rotateXYZ(0.3f, -1.2f, 2.1f).scale(2, 0.5f, 1.5f);
+        Matrix4x3f m43 = new Matrix4x3f().set(m);
+        Matrix3f m3 = new Matrix3f().set(m);
+        AABBf box = new AABBf(-1, 0, 2, 3, 4, 5);
+        AABBf expected = box.transform(m, new AABBf());
+        assertBoxEquals(expected, box.transform(m43, new AABBf()), 0);
+        assertBoxEquals(expected, box.transform(m3, m.m30(), m.m31(), m.m32(), new AABBf()), 0);
+        assertBoxEquals(expected, new AABBf(box).transform(m), 0);
+    }
+
+    public static void testTransformAll() {
+        Random rnd = new Random(7L);
+        Matrix4f m = new Matrix4f().translate(1, 2, 3).rotateXYZ(0.7f, 0.2f, -0.4f).scale(1.5f);
+        int count = 17;
+        float[] boxes = new float[1 + count * 6];
+        for (int i = 0; i < count; i++) {
+            int o = 1 + i * 6;
+            boxes[o] = rnd.nextFloat() * 10 - 10;
+            boxes[o + 1] = rnd.nextFloat() * 10 - 10;
+            boxes[o + 2] = rnd.nextFloat() * 10 - 10;
+            boxes[o + 3] = rnd.nextFloat() * 10;
+            boxes[o + 4] = rnd.nextFloat() * 10;
+            boxes[o + 5] = rnd.nextFloat() * 10;
+        }
+        float[] dest = new float[2 + count * 6];
+        AABBf.transformAll(m, boxes, 1, dest, 2, count);
+        for (int i = 0; i < count; i++) {
+            int s = 1 + i * 6, d = 2 + i * 6;
+            AABBf expected = new AABBf(boxes[s], boxes[s + 1], boxes[s + 2], boxes[s + 3], boxes[s + 4], boxes[s + 5]).transform(m);
+            assertBoxEquals(expected, new AABBf(dest[d], dest[d + 1], dest[d + 2], dest[d + 3], dest[d + 4], dest[d + 5]), 0);
+        }
+        // in place
+        AABBf.transformAll(m, boxes, 1, boxes, 1, count);
+        for (int i = 0; i < count * 6; i++)
+            assertEquals(dest[2 + i], boxes[1 + i], 0);
+    }
+}
@@ -26,6 +26,9 @@ package org.joml.primitives;
 import junit.framework.Assert;
 import junit.framework.TestCase;
 
+import org.joml.Matrix4f;
+import org.joml.Matrix4x3f;
+
 public class AABBiTest extends TestCase {
     public void testAABBiEdgeIntersection() {
         AABBi center = new AABBi(0, 0, 0, 1, 1,1);
@@ -123,4 +126,13 @@ public class AABBiTest extends TestCase {
 
 
     }
+
+    public void testTransformRoundsOutwards() {
+        AABBi box = new AABBi(0, 0, 0, 2, 2, 2);
+        AABBi result = box.transform(new Matrix4f().translate(0.5f, 0, 0).rotateZ((float) Math.PI * 0.25f), new AABBi());
+        // rotated square spans [-sqrt(2), sqrt(2)] in x and [0, 2 sqrt(2)] in y before translating
+        Assert.assertEquals(new AABBi(-1, 0, 0, 2, 3, 2), result);
+        Assert.assertEquals(result, box.transform(new Matrix4x3f().translate(0.5f, 0, 0).rotateZ((float) Math.PI * 0.25f), new AABBi()));
+        Assert.assertEquals(new AABBi(), new AABBi().transform(new Matrix4f().rotateZ(1)));
+    }
 }
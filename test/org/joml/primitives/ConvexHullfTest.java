@@ -0,0 +1,159 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.joml.Vector2f;
+
+/**
+ * Tests for the {@link ConvexHullf} class.
+ */
+public class ConvexHullfTest extends TestCase {
+
+    public static void testHull2DSquare() {
+        float[] points = { 1, 1, 0, 0, 2, 0, 2, 2, 0, 2, 1, 0, 0.5f, 1.5f, 1, 2 };
+        int[] hull = new int[8];
+        int n = new ConvexHullf().computeHull2D(points, 0, 2, 8, hull);
+        assertEquals(4, n);
+        assertEquals(1, hull[0]);
+        assertEquals(2, hull[1]);
+        assertEquals(3, hull[2]);
+        assertEquals(4, hull[3]);
+    }
+
+    public static void testHull2DPolygon() {
+        Random rnd = new Random(5);
+        float[] points = new float[200 * 3];
+        for (int i = 0; i < points.length; i++)
+            points[i] = rnd.nextFloat() * 10.0f;
+        ConvexPolygonf polygon = new ConvexHullf().computeHull2D(points, 1, 3, 200, new ConvexPolygonf());
+        assertTrue(polygon.vertexCount() >= 3);
+        Vector2f a = new Vector2f(), b = new Vector2f();
+        for (int i = 0; i < polygon.vertexCount(); i++) {
+            polygon.vertex(i, a);
+            polygon.vertex((i + 1) % polygon.vertexCount(), b);
+            for (int j = 0; j < 200; j++) {
+                float pX = points[1 + j * 3], pY = points[2 + j * 3];
+                assertTrue((b.x - a.x) * (pY - a.y) - (b.y - a.y) * (pX - a.x) >= -1E-4f);
+            }
+        }
+    }
+
+    public static void testHull3DCube() {
+        float[] points = new float[(8 + 27) * 3];
+        for (int i = 0; i < 8; i++) {
+            points[i * 3] = (i & 1) != 0 ? 1 : -1;
+            points[i * 3 + 1] = (i & 2) != 0 ? 1 : -1;
+            points[i * 3 + 2] = (i & 4) != 0 ? 1 : -1;
+        }
+        /* a grid of points inside and on the faces of the cube */
+        for (int i = 0; i < 27; i++) {
+            points[24 + i * 3] = i % 3 - 1;
+            points[25 + i * 3] = i / 3 % 3 - 1;
+            points[26 + i * 3] = i / 9 - 1;
+        }
+        ConvexHullf hull = new ConvexHullf();
+        assertEquals(12, hull.computeHull3D(points, 0, 3, 35));
+        int[] vertices = new int[35];
+        assertEquals(8, hull.getVertices(vertices));
+        for (int i = 0; i < 8; i++) {
+            int v = vertices[i];
+            assertEquals(1.0f, Math.abs(points[v * 3]), 0.0f);
+            assertEquals(1.0f, Math.abs(points[v * 3 + 1]), 0.0f);
+            assertEquals(1.0f, Math.abs(points[v * 3 + 2]), 0.0f);
+        }
+    }
+
+    public static void testHull3DRandom() {
+        Random rnd = new Random(11);
+        ConvexHullf hull = new ConvexHullf();
+        for (int n = 5; n < 3000; n = n * 3 + 1) {
+            float[] points = new float[n * 4];
+            for (int i = 0; i < points.length; i++)
+                points[i] = rnd.nextFloat() * 2.0f - 1.0f;
+            int faceCount = hull.computeHull3D(points, 1, 4, n - 1);
+            int[] faces = new int[faceCount * 3];
+            assertEquals(faceCount, hull.getFaces(faces));
+            int vertexCount = hull.getVertices(new int[n]);
+            assertEquals(2 * vertexCount - 4, faceCount);
+            for (int f = 0; f < faceCount; f++) {
+                int a = 1 + faces[f * 3] * 4, b = 1 + faces[f * 3 + 1] * 4, c = 1 + faces[f * 3 + 2] * 4;
+                float abX = points[b] - points[a], abY = points[b + 1] - points[a + 1], abZ = points[b + 2] - points[a + 2];
+                float acX = points[c] - points[a], acY = points[c + 1] - points[a + 1], acZ = points[c + 2] - points[a + 2];
+                float nX = abY * acZ - abZ * acY, nY = abZ * acX - abX * acZ, nZ = abX * acY - abY * acX;
+                for (int i = 0; i < n - 1; i++) {
+                    int p = 1 + i * 4;
+                    float d = nX * (points[p] - points[a]) + nY * (points[p + 1] - points[a + 1]) + nZ * (points[p + 2] - points[a + 2]);
+                    assertTrue(d <= 1E-5f);
+                }
+            }
+        }
+    }
+
+    public static void testHull3DFarFromOrigin() {
+        /* points on a unit sphere far from the origin, where an absolute tolerance once produced inward facing faces */
+        Random rnd = new Random(3);
+        int n = 2000;
+        float[] points = new float[n * 3];
+        for (int i = 0; i < n; i++) {
+            double x, y, z, len;
+            do {
+                x = rnd.nextGaussian();
+                y = rnd.nextGaussian();
+                z = rnd.nextGaussian();
+                len = Math.sqrt(x * x + y * y + z * z);
+            } while (len < 1E-3);
+            points[i * 3] = (float) (1000.0 + x / len);
+            points[i * 3 + 1] = (float) (y / len);
+            points[i * 3 + 2] = (float) (z / len);
+        }
+        ConvexHullf hull = new ConvexHullf();
+        int faceCount = hull.computeHull3D(points, 0, 3, n);
+        assertTrue(faceCount > 0);
+        int[] faces = new int[faceCount * 3];
+        hull.getFaces(faces);
+        for (int f = 0; f < faceCount; f++) {
+            int a = faces[f * 3] * 3, b = faces[f * 3 + 1] * 3, c = faces[f * 3 + 2] * 3;
+            float abX = points[b] - points[a], abY = points[b + 1] - points[a + 1], abZ = points[b + 2] - points[a + 2];
+            float acX = points[c] - points[a], acY = points[c + 1] - points[a + 1], acZ = points[c + 2] - points[a + 2];
+            float nX = abY * acZ - abZ * acY, nY = abZ * acX - abX * acZ, nZ = abX * acY - abY * acX;
+            float invLen = 1.0f / (float) Math.sqrt(nX * nX + nY * nY + nZ * nZ);
+            for (int i = 0; i < n; i++) {
+                int p = i * 3;
+                float d = nX * (points[p] - points[a]) + nY * (points[p + 1] - points[a + 1]) + nZ * (points[p + 2] - points[a + 2]);
+                assertTrue(d * invLen <= 1E-5f);
+            }
+        }
+    }
+
+    public static void testHull3DDegenerate() {
+        float[] planar = { 0, 0, 0, 1, 0, 0, 0, 1, 0, 1, 1, 0, 0.5f, 0.5f, 0 };
+        assertEquals(0, new ConvexHullf().computeHull3D(planar, 0, 3, 5));
+        assertEquals(0, new ConvexHullf().computeHull3D(planar, 0, 3, 3));
+    }
+
+}
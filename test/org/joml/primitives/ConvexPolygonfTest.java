@@ -0,0 +1,107 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import junit.framework.TestCase;
+
+import org.joml.Vector2f;
+
+/**
+ * Tests for the {@link ConvexPolygonf} class.
+ */
+public class ConvexPolygonfTest extends TestCase {
+
+    private static final float[] SQUARE = { 0, 0, 2, 0, 2, 2, 0, 2 };
+    private static final float[] DIAMOND = { 0, -1, 1, 0, 0, 1, -1, 0 };
+
+    public static void testWindingOrder() {
+        ConvexPolygonf ccw = new ConvexPolygonf(SQUARE);
+        ConvexPolygonf cw = new ConvexPolygonf(new float[] { 0, 0, 0, 2, 2, 2, 2, 0 });
+        Vector2f n = new Vector2f();
+        TestUtil.assertVector2fEquals(new Vector2f(0, -1), ccw.normal(0, n), 1E-6f);
+        TestUtil.assertVector2fEquals(new Vector2f(-1, 0), cw.normal(0, n), 1E-6f);
+        assertTrue(ccw.testPoint(1, 1));
+        assertTrue(cw.testPoint(1, 1));
+        assertFalse(cw.testPoint(3, 1));
+    }
+
+    public static void testPolygonPolygon() {
+        ConvexPolygonf square = new ConvexPolygonf(SQUARE);
+        ConvexPolygonf diamond = new ConvexPolygonf(DIAMOND).translate(2.75f, 1);
+        Vector2f mtv = new Vector2f();
+        assertTrue(square.intersectPolygon(diamond, mtv));
+        TestUtil.assertVector2fEquals(new Vector2f(-0.25f, 0), mtv, 1E-6f);
+        assertEquals(Intersectionf.testPolygonPolygon(toVectors(SQUARE), toVectors(new float[] { 2.75f, 0, 3.75f, 1, 2.75f, 2, 1.75f, 1 })), square.testPolygon(diamond));
+        diamond.translate(0.5f, 0);
+        assertFalse(square.testPolygon(diamond));
+        // separated only along a diagonal edge normal, although the bounds overlap
+        ConvexPolygonf d2 = new ConvexPolygonf(DIAMOND).translate(2.8f, 2.8f);
+        assertFalse(square.testPolygon(d2));
+        assertFalse(Intersectionf.testPolygonPolygon(toVectors(SQUARE), toVectors(new float[] { 2.8f, 1.8f, 3.8f, 2.8f, 2.8f, 3.8f, 1.8f, 2.8f })));
+    }
+
+    public static void testPolygonCircle() {
+        ConvexPolygonf square = new ConvexPolygonf(SQUARE);
+        Vector2f mtv = new Vector2f();
+        assertTrue(square.intersectCircle(2.5f, 1, 1, mtv));
+        TestUtil.assertVector2fEquals(new Vector2f(-0.5f, 0), mtv, 1E-6f);
+        // the closest feature is the corner (2, 2)
+        assertFalse(square.testCircle(new Circlef(2.8f, 2.8f, 1)));
+        assertTrue(square.intersectCircle(2.5f, 2.5f, 1, mtv));
+        assertEquals(1.0f - (float) Math.sqrt(0.5), mtv.length(), 1E-5f);
+        assertTrue(mtv.x < 0 && mtv.y < 0);
+        // the center lies inside
+        assertTrue(square.intersectCircle(1.5f, 1, 0.25f, mtv));
+        TestUtil.assertVector2fEquals(new Vector2f(-0.75f, 0), mtv, 1E-6f);
+    }
+
+    public static void testPolygonRectangle() {
+        ConvexPolygonf diamond = new ConvexPolygonf(DIAMOND);
+        Vector2f mtv = new Vector2f();
+        assertTrue(diamond.intersectRectangle(0.75f, -2, 3, 2, mtv));
+        TestUtil.assertVector2fEquals(new Vector2f(-0.25f, 0), mtv, 1E-6f);
+        assertFalse(diamond.testRectangle(new Rectanglef(0.6f, 0.6f, 2, 2)));
+        assertTrue(diamond.testRectangle(new Rectanglef(0.4f, 0.4f, 2, 2)));
+    }
+
+    public static void testPolygonRay() {
+        ConvexPolygonf square = new ConvexPolygonf(SQUARE);
+        Vector2f p = new Vector2f();
+        assertEquals(3, square.intersectRay(-1, 1, 1, 0, p));
+        TestUtil.assertVector2fEquals(new Vector2f(0, 1), p, 1E-6f);
+        assertEquals(1, square.intersectRay(1, 1, 1, 0, p));
+        TestUtil.assertVector2fEquals(new Vector2f(2, 1), p, 1E-6f);
+        assertEquals(-1, square.intersectRay(-1, 3, 1, 0, p));
+        assertEquals(-1, square.intersectRay(3, 1, 1, 0, p));
+        assertEquals(Intersectionf.intersectPolygonRay(SQUARE, -1, 0.5f, 1, 0.2f, new Vector2f()), square.intersectRay(-1, 0.5f, 1, 0.2f, p));
+    }
+
+    private static Vector2f[] toVectors(float[] xy) {
+        Vector2f[] v = new Vector2f[xy.length / 2];
+        for (int i = 0; i < v.length; i++)
+            v[i] = new Vector2f(xy[2 * i], xy[2 * i + 1]);
+        return v;
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.joml.Matrix4f;
+
+/**
+ * Tests for the {@link Frustumf} class.
+ */
+public class FrustumfTest extends TestCase {
+
+    public static void testIdentityFrustumAab() {
+        Frustumf f = new Frustumf(new Matrix4f());
+        assertTrue(f.testAab(-0.5f, -0.5f, -0.5f, 0.5f, 0.5f, 0.5f));
+        assertTrue(f.testAab(0.5f, 0.5f, 0.5f, 2.0f, 2.0f, 2.0f));
+        assertFalse(f.testAab(1.1f, 0.0f, 0.0f, 2.0f, 1.0f, 1.0f));
+        assertFalse(f.testAab(-2.0f, -2.0f, -2.0f, -1.1f, 0.0f, 0.0f));
+        assertEquals(Frustumf.INSIDE, f.classifyAab(-0.5f, -0.5f, -0.5f, 0.5f, 0.5f, 0.5f));
+        assertEquals(Frustumf.INTERSECT, f.classifyAab(0.5f, 0.5f, 0.5f, 2.0f, 2.0f, 2.0f));
+        assertEquals(Frustumf.PLANE_PX, f.classifyAab(1.1f, 0.0f, 0.0f, 2.0f, 1.0f, 1.0f));
+        assertEquals(Frustumf.PLANE_NY, f.classifyAab(0.0f, -3.0f, 0.0f, 1.0f, -2.0f, 1.0f));
+    }
+
+    public static void testIdentityFrustumSphere() {
+        Frustumf f = new Frustumf(new Matrix4f());
+        assertTrue(f.testSphere(0, 0, 0, 0.1f));
+        assertTrue(f.testSphere(1.5f, 0, 0, 0.6f));
+        assertFalse(f.testSphere(1.5f, 0, 0, 0.4f));
+        assertEquals(Frustumf.INSIDE, f.classifySphere(0, 0, 0, 0.5f));
+        assertEquals(Frustumf.INTERSECT, f.classifySphere(0, 0, 0, 1.5f));
+        assertEquals(Frustumf.PLANE_PZ, f.classifySphere(0, 0, 3, 1.0f));
+    }
+
+    public static void testPerspectiveFrustum() {
+        Matrix4f m = new Matrix4f().perspective((float) Math.toRadians(90), 1.0f, 0.1f, 100.0f);
+        Frustumf f = new Frustumf(m);
+        assertTrue(f.testPoint(0, 0, -1));
+        assertFalse(f.testPoint(0, 0, 1));
+        assertTrue(f.testAab(-1, -1, -10, 1, 1, -5));
+        assertFalse(f.testAab(-1, -1, 5, 1, 1, 10));
+        assertFalse(f.testAab(20, -1, -11, 21, 1, -10));
+        assertTrue(f.testSphere(20, 0, -10, 8.0f));
+        assertFalse(f.testSphere(20, 0, -10, 6.0f));
+    }
+
+    public static void testPlanesAndOrientedBox() {
+        Frustumf f = new Frustumf(
+                new Planef(1, 0, 0, 1), new Planef(-1, 0, 0, 1),
+                new Planef(0, 1, 0, 1), new Planef(0, -1, 0, 1),
+                new Planef(0, 0, 1, 1), new Planef(0, 0, -1, 1));
+        float s = (float) Math.sqrt(0.5);
+        // box rotated by 45 degrees about z, reaching 1.5 + sqrt(2) * 0.5 along x
+        assertTrue(f.testOb(1.5f, 0, 0, s, s, 0, -s, s, 0, 0, 0, 1, 0.5f, 0.5f, 0.5f));
+        assertFalse(f.testOb(1.8f, 0, 0, s, s, 0, -s, s, 0, 0, 0, 1, 0.5f, 0.5f, 0.5f));
+        assertTrue(f.testOb(1.3f, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0, 1, 0.5f, 0.5f, 0.5f));
+        assertFalse(f.testOb(1.6f, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0, 1, 0.5f, 0.5f, 0.5f));
+    }
+
+    public static void testAabsMatchesTestAab() {
+        Frustumf f = new Frustumf(new Matrix4f().perspective((float) Math.toRadians(60), 1.5f, 0.1f, 100.0f));
+        Random rnd = new Random(3L);
+        int count = 200;
+        float[] boxes = new float[3 + count * 6];
+        for (int i = 0; i < count; i++) {
+            int o = 3 + i * 6;
+            float x = rnd.nextFloat() * 80 - 40, y = rnd.nextFloat() * 80 - 40, z = -rnd.nextFloat() * 120;
+            boxes[o] = x;
+            boxes[o + 1] = y;
+            boxes[o + 2] = z;
+            boxes[o + 3] = x + rnd.nextFloat() * 4;
+            boxes[o + 4] = y + rnd.nextFloat() * 4;
+            boxes[o + 5] = z + rnd.nextFloat() * 4;
+        }
+        int[] visible = new int[count];
+        int n = f.testAabs(boxes, 3, count, visible);
+        int expected = 0;
+        for (int i = 0; i < count; i++) {
+            int o = 3 + i * 6;
+            if (f.testAab(boxes[o], boxes[o + 1], boxes[o + 2], boxes[o + 3], boxes[o + 4], boxes[o + 5]))
+                assertEquals(i, visible[expected++]);
+        }
+        assertEquals(expected, n);
+        assertTrue(n > 0 && n < count);
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import junit.framework.TestCase;
+
+import org.joml.Vector3f;
+
+/**
+ * Tests for the {@link GJKf} class.
+ */
+public class GJKfTest extends TestCase {
+
+    public static void testSphereSphereDistance() {
+        GJKf gjk = new GJKf();
+        Spheref a = new Spheref(0, 0, 0, 1);
+        Spheref b = new Spheref(5, 0, 0, 2);
+        Vector3f pa = new Vector3f(), pb = new Vector3f();
+        assertEquals(2.0f, gjk.distance(a, b, false, pa, pb), 1E-3f);
+        TestUtil.assertVector3fEquals(new Vector3f(1, 0, 0), pa, 1E-3f);
+        TestUtil.assertVector3fEquals(new Vector3f(3, 0, 0), pb, 1E-3f);
+        assertFalse(gjk.testIntersection(a, b, false));
+        b.x = 2.5f;
+        assertTrue(gjk.testIntersection(a, b, true));
+    }
+
+    public static void testAabSegmentDistance() {
+        GJKf gjk = new GJKf();
+        AABBf box = new AABBf(-1, -1, -1, 1, 1, 1);
+        LineSegmentf segment = new LineSegmentf(3, -5, 0.5f, 3, 5, 0.5f);
+        Vector3f pa = new Vector3f(), pb = new Vector3f();
+        assertEquals(2.0f, gjk.distance(box, segment, false, pa, pb), 1E-4f);
+        assertEquals(1.0f, pa.x, 1E-4f);
+        assertEquals(3.0f, pb.x, 1E-4f);
+        assertEquals(0.5f, pb.z, 1E-4f);
+    }
+
+    public static void testWarmStartFollowsMovingShape() {
+        GJKf gjk = new GJKf();
+        AABBf box = new AABBf(-1, -1, -1, 1, 1, 1);
+        Trianglef triangle = new Trianglef();
+        Vector3f pa = new Vector3f(), pb = new Vector3f();
+        for (int i = 0; i < 10; i++) {
+            float x = 4.0f - i * 0.25f;
+            triangle.set(x, -1, -1, x + 1, 1, -1, x, 1, 1);
+            float expected = x - 1.0f;
+            assertEquals(expected, gjk.distance(box, triangle, i > 0, pa, pb), 1E-4f);
+        }
+    }
+
+    public static void testPenetrationAabAab() {
+        GJKf gjk = new GJKf();
+        AABBf a = new AABBf(-1, -1, -1, 1, 1, 1);
+        AABBf b = new AABBf(0.75f, -0.5f, -0.5f, 2, 0.5f, 0.5f);
+        Vector3f n = new Vector3f(), pa = new Vector3f(), pb = new Vector3f();
+        assertEquals(0.25f, gjk.penetration(a, b, false, n, pa, pb), 1E-4f);
+        TestUtil.assertVector3fEquals(new Vector3f(1, 0, 0), n, 1E-4f);
+        assertEquals(1.0f, pa.x, 1E-4f);
+        assertEquals(0.75f, pb.x, 1E-4f);
+        b.translate(1, 0, 0);
+        assertEquals(-1.0f, gjk.penetration(a, b, true, n, pa, pb), 0.0f);
+    }
+
+    public static void testPenetrationOrientedBoxPointCloud() {
+        GJKf gjk = new GJKf();
+        float s = (float) Math.sqrt(0.5);
+        OrientedBoxf box = new OrientedBoxf().set(0, 0, 0, s, s, 0, -s, s, 0, 0, 0, 1, 1, 1, 1);
+        // a tetrahedron whose apex pokes 0.1 into the rotated box's corner at (sqrt(2), 0, 0)
+        float cx = 2 * s - 0.1f;
+        PointCloudf cloud = new PointCloudf(new float[] { cx, 0, 0, cx + 1, 1, 0, cx + 1, -1, 1, cx + 1, -1, -1 });
+        Vector3f n = new Vector3f(), pa = new Vector3f(), pb = new Vector3f();
+        assertTrue(gjk.testIntersection(box, cloud, false));
+        float depth = gjk.penetration(box, cloud, false, n, pa, pb);
+        assertTrue(depth > 0.0f && depth <= 0.1f + 1E-4f);
+        assertEquals(1.0f, n.length(), 1E-4f);
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for the {@link HotPathCounters} class.
+ */
+public class HotPathCountersTest extends TestCase {
+
+    public static void testRegisterReturnsSameIndexForSameName() {
+        int a = HotPathCounters.register("HotPathCountersTest.same", 1);
+        int b = HotPathCounters.register("HotPathCountersTest.same", 1);
+        int c = HotPathCounters.register("HotPathCountersTest.other", 1);
+        assertEquals(a, b);
+        assertTrue(a != c);
+    }
+
+    public static void testCountsAndReset() {
+        int id = HotPathCounters.register("HotPathCountersTest.counts", 2);
+        HotPathCounters.reset();
+        for (int i = 0; i < 5; i++)
+            HotPathCounters.call(id);
+        HotPathCounters.hit(id);
+        HotPathCounters.earlyOut(id, 0);
+        HotPathCounters.earlyOut(id, 1);
+        HotPathCounters.earlyOut(id, 1);
+        HotPathCounters.Snapshot s = HotPathCounters.snapshot();
+        int i = s.indexOf("HotPathCountersTest.counts");
+        assertEquals(id, i);
+        assertEquals("HotPathCountersTest.counts", s.name(i));
+        assertEquals(5L, s.calls(i));
+        assertEquals(1L, s.hits(i));
+        assertEquals(2, s.earlyOutCount(i));
+        assertEquals(1L, s.earlyOuts(i, 0));
+        assertEquals(2L, s.earlyOuts(i, 1));
+        assertTrue(s.toString().indexOf("HotPathCountersTest.counts: calls=5, hits=1, earlyOut0=1, earlyOut1=2") >= 0);
+        assertEquals(-1, s.indexOf("HotPathCountersTest.unknown"));
+        HotPathCounters.reset();
+        HotPathCounters.Snapshot r = HotPathCounters.snapshot();
+        assertEquals(0L, r.calls(i));
+        assertEquals(0L, r.earlyOuts(i, 1));
+        // the earlier snapshot is not affected by the reset
+        assertEquals(5L, s.calls(i));
+    }
+
+    public static void testEarlyOutOutOfRange() {
+        int id = HotPathCounters.register("HotPathCountersTest.range", 1);
+        HotPathCounters.Snapshot s = HotPathCounters.snapshot();
+        try {
+            s.earlyOuts(id, 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    public static void testConcurrentIncrements() throws InterruptedException {
+        final int id = HotPathCounters.register("HotPathCountersTest.concurrent", 0);
+        long before = HotPathCounters.snapshot().calls(id);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < 10000; i++)
+                        HotPathCounters.call(id);
+                }
+            };
+            threads[t].start();
+        }
+        for (int t = 0; t < threads.length; t++)
+            threads[t].join();
+        assertEquals(before + 80000L, HotPathCounters.snapshot().calls(id));
+    }
+
+    public static void testResetCoversOtherThreads() throws InterruptedException {
+        final int id = HotPathCounters.register("HotPathCountersTest.otherThreads", 0);
+        Thread t = new Thread() {
+            public void run() {
+                for (int i = 0; i < 100; i++)
+                    HotPathCounters.call(id);
+            }
+        };
+        t.start();
+        t.join();
+        HotPathCounters.reset();
+        assertEquals(0L, HotPathCounters.snapshot().calls(id));
+        HotPathCounters.call(id);
+        assertEquals(1L, HotPathCounters.snapshot().calls(id));
+    }
+
+}
@@ -107,4 +107,50 @@ public class IntersectiondTest extends TestCase {
         TestUtil.assertVector2dEquals(new Vector2d(0, 1), p, 1E-6f);
     }
 
+    public static void testFindClosestPointsLineSegmentAab() {
+        Vector3d ls = new Vector3d(), aab = new Vector3d();
+        double d = Intersectiond.findClosestPointsLineSegmentAab(-2, 3, 0.5, 2, 3, 0.5, 0, 0, 0, 1, 1, 1, ls, aab);
+        assertEquals(4.0, d, 1E-12);
+        assertEquals(4.0, ls.distanceSquared(aab), 1E-12);
+        assertEquals(1.0, aab.y, 1E-12);
+        assertEquals(0.0, Intersectiond.findClosestPointsLineSegmentAab(-2, 0.5, 0.5, 2, 0.5, 0.5, 0, 0, 0, 1, 1, 1, ls, aab), 0.0);
+        assertEquals(0.0, ls.x, 1E-12);
+    }
+
+    public static void testFindClosestPointsTriangleTriangle() {
+        Vector3d a = new Vector3d(), b = new Vector3d();
+        double d = Intersectiond.findClosestPointsTriangleTriangle(0, 0, 0, 1, 0, 0, 0, 1, 0, 0.2, 0.2, 2, 0.3, 0.2, 1, 0.2, 0.3, 1, a, b);
+        assertEquals(1.0, d, 1E-12);
+        assertEquals(1.0, b.z, 1E-12);
+        assertEquals(0.0, a.z, 1E-12);
+        d = Intersectiond.findClosestPointsTriangleTriangle(0, 0, 0, 1, 0, 0, 0, 1, 0, 0.2, 0.2, -1, 0.3, 0.2, 1, 0.2, 0.3, 1, a, b);
+        assertEquals(0.0, d, 0.0);
+    }
+
+    public static void testIntersectSweptAabAabTouching() {
+        Vector3d normal = new Vector3d();
+        assertEquals(-1.0, Intersectiond.intersectSweptAabAab(4, 0, 0, 5, 1, 1, -1, 0, 0, 5, -1, -1, 6, 2, 2, normal), 0.0);
+        assertEquals(-1.0, Intersectiond.intersectSweptAabAab(4, 0, 0, 5, 1, 1, 0, 0.5, 0, 5, -1, -1, 6, 2, 2, normal), 0.0);
+        assertEquals(0.0, Intersectiond.intersectSweptAabAab(4, 0, 0, 5, 1, 1, 1, 0.5, 0, 5, -1, -1, 6, 2, 2, normal), 0.0);
+        assertEquals(new Vector3d(-1, 0, 0), normal);
+    }
+
+    public static void testAabTriangle() {
+        assertTrue(Intersectiond.testAabTriangle(-1, -1, -1, 1, 1, 1, -10, -10, 0, 10, -10, 0, 0, 10, 0));
+        assertFalse(Intersectiond.testAabTriangle(-1, -1, -1, 1, 1, 1, 3.5, 0, 0, 0, 3.5, 0, 0, 0, 3.5));
+        assertFalse(Intersectiond.testAabTriangle(-1, -1, -1, 1, 1, 1, 1.5, 0.8, 0, 0.8, 1.5, 0, 1.5, 1.5, 0));
+        assertTrue(Intersectiond.testAabTriangle(-1, -1, -1, 1, 1, 1, 1.5, 0.4, 0, 0.4, 1.5, 0, 1.5, 1.5, 0));
+    }
+
+    public static void testIntersectTriangleTriangle() {
+        Vector3d p0 = new Vector3d(), p1 = new Vector3d();
+        assertEquals(Intersectiond.TRIANGLES_SEGMENT, Intersectiond.intersectTriangleTriangle(0, 0, 0, 2, 0, 0, 0, 2, 0,
+                0.5, 0.5, -1, 1.5, 0.5, -1, 0.5, 0.5, 1, p0, p1));
+        assertEquals(1.5, p0.x + p1.x, 1E-12);
+        assertEquals(0.5, Math.abs(p0.x - p1.x), 1E-12);
+        assertFalse(Intersectiond.testTriangleTriangle(0, 0, 0, 2, 0, 0, 0, 2, 0, 3, 0.5, -1, 4, 0.5, -1, 3, 0.5, 1));
+        assertEquals(Intersectiond.TRIANGLES_COPLANAR, Intersectiond.intersectTriangleTriangle(0, 0, 0, 2, 0, 0, 0, 2, 0,
+                0.5, 0.5, 0, 3, 0.5, 0, 0.5, 3, 0, p0, p1));
+    }
+
 }
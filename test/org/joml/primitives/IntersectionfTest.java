@@ -23,6 +23,8 @@
  */
 package org.joml.primitives;
 
+import java.util.Random;
+
 import junit.framework.TestCase;
 
 import org.joml.Vector2f;
@@ -49,6 +51,104 @@ public class IntersectionfTest extends TestCase {
         assertEquals(1.0f, t, 0.0f);
     }
 
+    public static void testIntersectRayTriangleWatertight() {
+        float t = Intersectionf.intersectRayTriangleWatertight(0, 0, 0, 1, 0, 0, 1, -1, -1, 1, -1, 1, 1, 1, 0);
+        assertEquals(1.0f, t, 1E-6f);
+        assertEquals(-1.0f, Intersectionf.intersectRayTriangleWatertight(0, 0, 0, -1, 0, 0, 1, -1, -1, 1, -1, 1, 1, 1, 0), 0.0f);
+        assertFalse(Intersectionf.testRayTriangleWatertight(0, 5, 0, 1, 0, 0, 1, -1, -1, 1, -1, 1, 1, 1, 0));
+    }
+
+    public static void testIntersectRayTrianglesWatertightSharedEdge() {
+        // a skewed quad split along its diagonal into two triangles sharing the edge (v0, v2)
+        float[] positions = { 0.1f, 0.3f, 1.7f, 2.9f, 0.2f, 1.3f, 3.1f, 2.7f, 0.9f, 0.3f, 3.3f, 1.1f };
+        int[] indices = { 0, 1, 2, 0, 2, 3 };
+        Vector3f result = new Vector3f();
+        for (int i = 0; i <= 100; i++) {
+            float s = i / 100.0f;
+            float pX = 0.1f + s * (3.1f - 0.1f), pY = 0.3f + s * (2.7f - 0.3f), pZ = 1.7f + s * (0.9f - 1.7f);
+            float oX = pX + 0.37f, oY = pY - 0.21f, oZ = pZ + 5.0f;
+            float dX = pX - oX, dY = pY - oY, dZ = pZ - oZ;
+            int hit = Intersectionf.intersectRayTrianglesWatertight(oX, oY, oZ, dX, dY, dZ, positions, indices, 0, 2, Float.POSITIVE_INFINITY, result);
+            assertTrue(hit == 0 || hit == 3);
+            assertEquals(1.0f, result.x, 1E-4f);
+            assertTrue(Intersectionf.testRayTrianglesWatertight(oX, oY, oZ, dX, dY, dZ, positions, indices, 0, 2, Float.POSITIVE_INFINITY));
+        }
+        assertEquals(-1, Intersectionf.intersectRayTrianglesWatertight(0.5f, 0.5f, 5, 0, 0, -1, positions, indices, 0, 2, 1.0f, result));
+    }
+
+    public static void testIntersectSweptAabAabThinWall() {
+        Vector3f normal = new Vector3f();
+        // a projectile moving 10 units along +x in one tick through a wall 0.1 units thick
+        float t = Intersectionf.intersectSweptAabAab(0, 0, 0, 0.2f, 0.2f, 0.2f, 10, 0, 0, 5, -1, -1, 5.1f, 1, 1, normal);
+        assertEquals(0.48f, t, 1E-6f);
+        TestUtil.assertVector3fEquals(new Vector3f(-1, 0, 0), normal, 0.0f);
+        assertFalse(Intersectionf.testAabAab(10, 0, 0, 10.2f, 0.2f, 0.2f, 5, -1, -1, 5.1f, 1, 1));
+        assertEquals(-1.0f, Intersectionf.intersectSweptAabAab(0, 2, 0, 0.2f, 2.2f, 0.2f, 10, 0, 0, 5, -1, -1, 5.1f, 1, 1, normal), 0.0f);
+        assertEquals(-1.0f, Intersectionf.intersectSweptAabAab(0, 0, 0, 0.2f, 0.2f, 0.2f, 4, 0, 0, 5, -1, -1, 5.1f, 1, 1, normal), 0.0f);
+        assertEquals(0.0f, Intersectionf.intersectSweptAabAab(5, 0, 0, 5.2f, 0.2f, 0.2f, 1, 0, 0, 5, -1, -1, 5.1f, 1, 1, normal), 0.0f);
+    }
+
+    public static void testIntersectSweptAabAabTouching() {
+        Vector3f normal = new Vector3f(7, 7, 7);
+        // resting against the wall at x = 5 and moving away from it
+        assertEquals(-1.0f, Intersectionf.intersectSweptAabAab(4, 0, 0, 5, 1, 1, -1, 0, 0, 5, -1, -1, 6, 2, 2, normal), 0.0f);
+        // sliding along the wall
+        assertEquals(-1.0f, Intersectionf.intersectSweptAabAab(4, 0, 0, 5, 1, 1, 0, 0.5f, 0, 5, -1, -1, 6, 2, 2, normal), 0.0f);
+        // pushing into the wall reports the face normal at t = 0
+        assertEquals(0.0f, Intersectionf.intersectSweptAabAab(4, 0, 0, 5, 1, 1, 1, 0.5f, 0, 5, -1, -1, 6, 2, 2, normal), 0.0f);
+        TestUtil.assertVector3fEquals(new Vector3f(-1, 0, 0), normal, 0.0f);
+        Vector4f normalAndTime = new Vector4f();
+        float[] wall = { 5, -1, -1, 6, 2, 2 };
+        assertEquals(-1, Intersectionf.intersectSweptAabAabs(4, 0, 0, 5, 1, 1, -1, 0, 0, wall, 0, 1, normalAndTime));
+        assertEquals(0, Intersectionf.intersectSweptAabAabs(4, 0, 0, 5, 1, 1, 1, 0, 0, wall, 0, 1, normalAndTime));
+        assertEquals(new Vector4f(-1, 0, 0, 0), normalAndTime);
+    }
+
+    public static void testIntersectSweptAabSweptAab() {
+        Vector3f normal = new Vector3f();
+        AABBf a = new AABBf(0, 0, 0, 1, 1, 1);
+        AABBf b = new AABBf(0, 4, 0, 1, 5, 1);
+        float t = Intersectionf.intersectSweptAabSweptAab(a, new Vector3f(0, 2, 0), b, new Vector3f(0, -2, 0), normal);
+        assertEquals(0.75f, t, 1E-6f);
+        TestUtil.assertVector3fEquals(new Vector3f(0, -1, 0), normal, 0.0f);
+    }
+
+    public static void testIntersectSweptAabAabs() {
+        float[] boxes = {
+            3, -1, -1, 4, 1, 1,
+            8, -1, -1, 9, 1, 1,
+            2, 5, -1, 3, 6, 1,
+            -3, -1, -1, -2, 1, 1,
+        };
+        Vector4f normalAndTime = new Vector4f();
+        int hit = Intersectionf.intersectSweptAabAabs(0, 0, 0, 1, 1, 1, 10, 0, 0, boxes, 0, 4, normalAndTime);
+        assertEquals(0, hit);
+        assertEquals(0.2f, normalAndTime.w, 1E-6f);
+        assertEquals(-1.0f, normalAndTime.x, 0.0f);
+        // indices are relative to the offset, so the box at 8 <= x <= 9 is hit first
+        assertEquals(0, Intersectionf.intersectSweptAabAabs(0, 0, 0, 1, 1, 1, 10, 0, 0, boxes, 6, 3, normalAndTime));
+        assertEquals(0.7f, normalAndTime.w, 1E-6f);
+        assertEquals(-1, Intersectionf.intersectSweptAabAabs(0, 0, 0, 1, 1, 1, 0, 0, 10, boxes, 0, 4, normalAndTime));
+    }
+
+    public static void testIntersectSweptSphereTriangles() {
+        // two quads facing the sphere at z = 2 and z = 5, and a far away quad that is pruned
+        float[] positions = {
+            -1, -1, 5, 1, -1, 5, 1, 1, 5, -1, 1, 5,
+            -1, -1, 2, 1, -1, 2, 1, 1, 2, -1, 1, 2,
+            20, 20, 3, 21, 20, 3, 21, 21, 3, 20, 21, 3,
+        };
+        int[] indices = { 0, 2, 1, 0, 3, 2, 4, 6, 5, 4, 7, 6, 8, 10, 9, 8, 11, 10 };
+        Vector4f pointAndTime = new Vector4f();
+        int[] hitIndex = new int[1];
+        int feature = Intersectionf.intersectSweptSphereTriangles(0.25f, 0.5f, 0, 0.5f, 0, 0, 10, positions, indices, 0, 6, 1E-6f, 1.0f, pointAndTime, hitIndex);
+        assertEquals(Intersectionf.POINT_ON_TRIANGLE_FACE, feature);
+        assertEquals(0.15f, pointAndTime.w, 1E-6f);
+        assertEquals(2.0f, pointAndTime.z, 1E-6f);
+        assertTrue(hitIndex[0] == 6 || hitIndex[0] == 9);
+        assertEquals(0, Intersectionf.intersectSweptSphereTriangles(0.25f, 0.5f, 0, 0.5f, 0, 0, 10, positions, indices, 0, 6, 1E-6f, 0.1f, pointAndTime, null));
+    }
+
     public static void testIntersectRaySphere() {
         Vector3f origin = new Vector3f();
         Vector3f dir = new Vector3f(1, 0, 0);
@@ -358,4 +458,311 @@ public class IntersectionfTest extends TestCase {
         TestUtil.assertVector3fEquals(new Vector3f(0.5f, 1f, 0), v5, EPSILON);
     }
 
+    public static void testFindClosestPointsAabAab() {
+        Vector3f a = new Vector3f(), b = new Vector3f();
+        float d = Intersectionf.findClosestPointsAabAab(0, 0, 0, 1, 1, 1, 3, 0.5f, -2, 4, 2, -1, a, b);
+        assertEquals(4.0f + 1.0f, d, 1E-6f);
+        TestUtil.assertVector3fEquals(new Vector3f(1, 0.75f, 0), a, 1E-6f);
+        TestUtil.assertVector3fEquals(new Vector3f(3, 0.75f, -1), b, 1E-6f);
+        assertEquals(d, Intersectionf.distanceSquaredAabAab(0, 0, 0, 1, 1, 1, 3, 0.5f, -2, 4, 2, -1), 1E-6f);
+        assertEquals(0.0f, Intersectionf.findClosestPointsAabAab(0, 0, 0, 2, 2, 2, 1, 1, 1, 3, 3, 3, a, b), 0.0f);
+        TestUtil.assertVector3fEquals(a, b, 0.0f);
+        assertEquals(3.0f, Intersectionf.distanceSquaredPointAab(-1, 2, 3, 0, 0, 0, 1, 1, 2), 1E-6f);
+    }
+
+    public static void testFindClosestPointsLineSegmentAab() {
+        Random rnd = new Random(17);
+        Vector3f ls = new Vector3f(), aab = new Vector3f();
+        for (int i = 0; i < 200; i++) {
+            float p0X = rnd.nextFloat() * 6 - 3, p0Y = rnd.nextFloat() * 6 - 3, p0Z = rnd.nextFloat() * 6 - 3;
+            float p1X = rnd.nextFloat() * 6 - 3, p1Y = rnd.nextFloat() * 6 - 3, p1Z = rnd.nextFloat() * 6 - 3;
+            float d = Intersectionf.findClosestPointsLineSegmentAab(p0X, p0Y, p0Z, p1X, p1Y, p1Z, -1, -0.5f, 0, 1, 0.5f, 1, ls, aab);
+            assertEquals(d, ls.distanceSquared(aab), 1E-4f);
+            assertEquals(d, Intersectionf.distanceSquaredPointAab(ls.x, ls.y, ls.z, -1, -0.5f, 0, 1, 0.5f, 1), 1E-4f);
+            float min = Float.POSITIVE_INFINITY;
+            for (int s = 0; s <= 1000; s++) {
+                float t = s / 1000.0f;
+                min = Math.min(min, Intersectionf.distanceSquaredPointAab(p0X + (p1X - p0X) * t, p0Y + (p1Y - p0Y) * t, p0Z + (p1Z - p0Z) * t,
+                        -1, -0.5f, 0, 1, 0.5f, 1));
+            }
+            assertTrue(d <= min + 1E-5f);
+            assertTrue(d >= min - 0.05f);
+        }
+    }
+
+    public static void testFindClosestPointsSphereAab() {
+        Vector3f s = new Vector3f(), a = new Vector3f();
+        assertEquals(2.0f, Intersectionf.findClosestPointsSphereAab(5, 0.5f, 0.5f, 2, 0, 0, 0, 1, 1, 1, s, a), 1E-6f);
+        TestUtil.assertVector3fEquals(new Vector3f(3, 0.5f, 0.5f), s, 1E-6f);
+        TestUtil.assertVector3fEquals(new Vector3f(1, 0.5f, 0.5f), a, 1E-6f);
+        assertTrue(Intersectionf.findClosestPointsSphereAab(1.5f, 0.5f, 0.5f, 1, 0, 0, 0, 1, 1, 1, s, a) < 0.0f);
+        assertEquals(-1.0f, Intersectionf.findClosestPointsSphereAab(0.5f, 0.5f, 0.5f, 1, 0, 0, 0, 1, 1, 1, s, a), 0.0f);
+    }
+
+    public static void testFindClosestPointsTriangleTriangle() {
+        Random rnd = new Random(23);
+        Vector3f a = new Vector3f(), b = new Vector3f(), p = new Vector3f();
+        float[] t = new float[18];
+        for (int i = 0; i < 100; i++) {
+            for (int j = 0; j < 18; j++)
+                t[j] = rnd.nextFloat() * 4 - 2 + (j >= 9 && j % 3 == 0 ? 1.5f : 0.0f);
+            float d = Intersectionf.findClosestPointsTriangleTriangle(t[0], t[1], t[2], t[3], t[4], t[5], t[6], t[7], t[8],
+                    t[9], t[10], t[11], t[12], t[13], t[14], t[15], t[16], t[17], a, b);
+            assertEquals(d, a.distanceSquared(b), 1E-4f);
+            /* no point of the first triangle is closer to the second triangle */
+            for (int u = 0; u <= 20; u++) {
+                for (int v = 0; u + v <= 20; v++) {
+                    float bu = u / 20.0f, bv = v / 20.0f, bw = 1.0f - bu - bv;
+                    float x = t[0] * bw + t[3] * bu + t[6] * bv, y = t[1] * bw + t[4] * bu + t[7] * bv, z = t[2] * bw + t[5] * bu + t[8] * bv;
+                    Intersectionf.findClosestPointOnTriangle(t[9], t[10], t[11], t[12], t[13], t[14], t[15], t[16], t[17], x, y, z, p);
+                    assertTrue(d <= p.distanceSquared(x, y, z) + 1E-5f);
+                }
+            }
+        }
+    }
+
+    public static void testFindClosestPointOnOb() {
+        OrientedBoxf ob = new OrientedBoxf(new Vector3f(1, 2, 3), new Vector3f(0, 1, 0), new Vector3f(-1, 0, 0), new Vector3f(0, 0, 1), new Vector3f(1, 2, 3));
+        Vector3f r = Intersectionf.findClosestPointOnOb(ob, new Vector3f(10, 10, 3), new Vector3f());
+        TestUtil.assertVector3fEquals(new Vector3f(3, 3, 3), r, 1E-6f);
+        r = Intersectionf.findClosestPointOnOb(ob, new Vector3f(1.5f, 2.5f, 4), new Vector3f());
+        TestUtil.assertVector3fEquals(new Vector3f(1.5f, 2.5f, 4), r, 1E-6f);
+    }
+
+
+    public static void testObObMatchesSeparatingAxisCache() {
+        Random rnd = new Random(2020L);
+        SeparatingAxisCachef cache = new SeparatingAxisCachef();
+        Matrix3f r0 = new Matrix3f(), r1 = new Matrix3f();
+        int hits = 0;
+        for (int i = 0; i < 2000; i++) {
+            r0.rotationXYZ(rnd.nextFloat() * 7, rnd.nextFloat() * 7, rnd.nextFloat() * 7);
+            r1.rotationXYZ(rnd.nextFloat() * 7, rnd.nextFloat() * 7, rnd.nextFloat() * 7);
+            float c0X = rnd.nextFloat() * 6, c0Y = rnd.nextFloat() * 6, c0Z = rnd.nextFloat() * 6;
+            float c1X = rnd.nextFloat() * 6, c1Y = rnd.nextFloat() * 6, c1Z = rnd.nextFloat() * 6;
+            float h0X = rnd.nextFloat() * 2 + 0.1f, h0Y = rnd.nextFloat() * 2 + 0.1f, h0Z = rnd.nextFloat() * 2 + 0.1f;
+            float h1X = rnd.nextFloat() * 2 + 0.1f, h1Y = rnd.nextFloat() * 2 + 0.1f, h1Z = rnd.nextFloat() * 2 + 0.1f;
+            boolean expected = cache.reset().testObOb(
+                    c0X, c0Y, c0Z, r0.m00, r0.m01, r0.m02, r0.m10, r0.m11, r0.m12, r0.m20, r0.m21, r0.m22, h0X, h0Y, h0Z,
+                    c1X, c1Y, c1Z, r1.m00, r1.m01, r1.m02, r1.m10, r1.m11, r1.m12, r1.m20, r1.m21, r1.m22, h1X, h1Y, h1Z);
+            boolean actual = Intersectionf.testObOb(
+                    c0X, c0Y, c0Z, r0.m00, r0.m01, r0.m02, r0.m10, r0.m11, r0.m12, r0.m20, r0.m21, r0.m22, h0X, h0Y, h0Z,
+                    c1X, c1Y, c1Z, r1.m00, r1.m01, r1.m02, r1.m10, r1.m11, r1.m12, r1.m20, r1.m21, r1.m22, h1X, h1Y, h1Z);
+            assertEquals(expected, actual);
+            if (actual)
+                hits++;
+        }
+        assertTrue(hits > 100 && hits < 1900);
+    }
+
+    public static void testIntersectSweptSphereTriangleFaceAndEdge() {
+        Vector4f pointAndTime = new Vector4f();
+        int feature = Intersectionf.intersectSweptSphereTriangle(0, 0, 5, 1, 0, 0, -10, -1, -1, 0, 1, -1, 0, 0, 1, 0, 1E-6f, 1.0f, pointAndTime);
+        assertEquals(Intersectionf.POINT_ON_TRIANGLE_FACE, feature);
+        assertEquals(0.4f, pointAndTime.w, 1E-6f);
+        assertEquals(0, pointAndTime.z, 1E-6f);
+        feature = Intersectionf.intersectSweptSphereTriangle(0, -1.5f, 5, 1, 0, 0, -10, -1, -1, 0, 1, -1, 0, 0, 1, 0, 1E-6f, 1.0f, pointAndTime);
+        assertEquals(Intersectionf.POINT_ON_TRIANGLE_EDGE_01, feature);
+        assertEquals((5 - Math.sqrt(0.75f)) / 10, pointAndTime.w, 1E-5f);
+        assertEquals(-1, pointAndTime.y, 1E-5f);
+        assertEquals(0, Intersectionf.intersectSweptSphereTriangle(0, -1.5f, 5, 1, 0, 0, -10, -1, -1, 0, 1, -1, 0, 0, 1, 0, 1E-6f, 0.3f, pointAndTime));
+    }
+
+    public static void testFindClosestPointsLineSegmentTriangleEndpointAbove() {
+        Vector3f onSegment = new Vector3f(), onTriangle = new Vector3f();
+        float d = Intersectionf.findClosestPointsLineSegmentTriangle(0, -0.2f, 2, 0.1f, 0, 3, -1, -1, 0, 1, -1, 0, 0, 1, 0, onSegment, onTriangle);
+        assertEquals(4, d, 1E-5f);
+        assertEquals(new Vector3f(0, -0.2f, 2), onSegment);
+        assertEquals(0, onTriangle.x, 1E-6f);
+        assertEquals(-0.2f, onTriangle.y, 1E-6f);
+        assertEquals(0, onTriangle.z, 1E-6f);
+        // the second end point is closer
+        d = Intersectionf.findClosestPointsLineSegmentTriangle(0.1f, 0, 3, 0, -0.2f, 1.5f, -1, -1, 0, 1, -1, 0, 0, 1, 0, onSegment, onTriangle);
+        assertEquals(2.25f, d, 1E-5f);
+        assertEquals(new Vector3f(0, -0.2f, 1.5f), onSegment);
+    }
+
+    public static void testAabTriangle() {
+        // inside, outside along a box face, outside along the triangle normal and touching a face
+        assertTrue(Intersectionf.testAabTriangle(-1, -1, -1, 1, 1, 1, -0.5f, -0.5f, 0, 0.5f, -0.5f, 0, 0, 0.5f, 0));
+        assertFalse(Intersectionf.testAabTriangle(-1, -1, -1, 1, 1, 1, 2, 0, 0, 3, 0, 0, 2, 1, 0));
+        assertFalse(Intersectionf.testAabTriangle(-1, -1, -1, 1, 1, 1, 3.5f, 0, 0, 0, 3.5f, 0, 0, 0, 3.5f));
+        assertTrue(Intersectionf.testAabTriangle(-1, -1, -1, 1, 1, 1, 1, 0, 0, 2, 0, 0, 1, 1, 1));
+        // large triangle containing the box in its plane, with all vertices outside of the box
+        assertTrue(Intersectionf.testAabTriangle(-1, -1, -1, 1, 1, 1, -10, -10, 0, 10, -10, 0, 0, 10, 0));
+        // the bounds and the plane overlap the box, but an edge axis separates the triangle from the corner (1, 1)
+        assertFalse(Intersectionf.testAabTriangle(-1, -1, -1, 1, 1, 1, 1.5f, 0.8f, 0, 0.8f, 1.5f, 0, 1.5f, 1.5f, 0));
+        assertTrue(Intersectionf.testAabTriangle(-1, -1, -1, 1, 1, 1, 1.5f, 0.4f, 0, 0.4f, 1.5f, 0, 1.5f, 1.5f, 0));
+    }
+
+    public static void testAabTriangleContainsSampledPoints() {
+        Random rnd = new Random(3L);
+        for (int i = 0; i < 2000; i++) {
+            float[] v = new float[9];
+            for (int j = 0; j < 9; j++)
+                v[j] = (rnd.nextFloat() - 0.5f) * 6;
+            boolean hit = Intersectionf.testAabTriangle(-1, -1, -1, 1, 1, 1, v[0], v[1], v[2], v[3], v[4], v[5], v[6], v[7], v[8]);
+            // every point of the triangle that lies in the box must be found
+            for (int k = 0; k < 50 && !hit; k++) {
+                float u = rnd.nextFloat(), w = rnd.nextFloat();
+                if (u + w > 1) {
+                    u = 1 - u;
+                    w = 1 - w;
+                }
+                float x = v[0] + u * (v[3] - v[0]) + w * (v[6] - v[0]);
+                float y = v[1] + u * (v[4] - v[1]) + w * (v[7] - v[1]);
+                float z = v[2] + u * (v[5] - v[2]) + w * (v[8] - v[2]);
+                assertFalse(x > -0.999f && x < 0.999f && y > -0.999f && y < 0.999f && z > -0.999f && z < 0.999f);
+            }
+        }
+    }
+
+    public static void testIntersectTriangleTriangle() {
+        Vector3f p0 = new Vector3f(), p1 = new Vector3f();
+        // a triangle standing in the plane y = 0.5 crosses the triangle lying in the plane z = 0 between x = 0.5 and x = 1
+        assertEquals(Intersectionf.TRIANGLES_SEGMENT, Intersectionf.intersectTriangleTriangle(0, 0, 0, 2, 0, 0, 0, 2, 0,
+                0.5f, 0.5f, -1, 1.5f, 0.5f, -1, 0.5f, 0.5f, 1, p0, p1));
+        assertEquals(0.0f, p0.z, 1E-6f);
+        assertEquals(0.5f, p0.y, 1E-6f);
+        assertEquals(1.5f, p0.x + p1.x, 1E-6f);
+        assertEquals(0.5f, Math.abs(p0.x - p1.x), 1E-6f);
+        assertEquals(Intersectionf.TRIANGLES_SEGMENT, Intersectionf.intersectTriangleTriangle(0.5f, 0.5f, -1, 1.5f, 0.5f, -1, 0.5f, 0.5f, 1,
+                0, 0, 0, 2, 0, 0, 0, 2, 0, p0, p1));
+        assertEquals(1.5f, p0.x + p1.x, 1E-6f);
+        // above the plane, crossing the plane beside the triangle, coplanar and touching at an edge
+        assertFalse(Intersectionf.testTriangleTriangle(0, 0, 0, 2, 0, 0, 0, 2, 0, 0.5f, 0.5f, 4, 1.5f, 0.5f, 4, 0.5f, 0.5f, 6));
+        assertFalse(Intersectionf.testTriangleTriangle(0, 0, 0, 2, 0, 0, 0, 2, 0, 3, 0.5f, -1, 4, 0.5f, -1, 3, 0.5f, 1));
+        assertEquals(Intersectionf.TRIANGLES_COPLANAR, Intersectionf.intersectTriangleTriangle(0, 0, 0, 2, 0, 0, 0, 2, 0,
+                0.5f, 0.5f, 0, 3, 0.5f, 0, 0.5f, 3, 0, p0, p1));
+        assertEquals(Intersectionf.TRIANGLES_DISJOINT, Intersectionf.intersectTriangleTriangle(0, 0, 0, 2, 0, 0, 0, 2, 0,
+                3, 3, 0, 4, 3, 0, 3, 4, 0, p0, p1));
+        assertTrue(Intersectionf.testTriangleTriangle(0, 0, 0, 2, 0, 0, 0, 2, 0, 2, 0, 0, 0, 2, 0, 2, 2, 5));
+    }
+
+    public static void testTriangleTriangleMatchesClosestPoints() {
+        Random rnd = new Random(17L);
+        Vector3f a = new Vector3f(), b = new Vector3f(), p0 = new Vector3f(), p1 = new Vector3f();
+        int hits = 0;
+        for (int i = 0; i < 5000; i++) {
+            float[] v = new float[18];
+            for (int j = 0; j < 18; j++)
+                v[j] = rnd.nextFloat() * 4;
+            float d = Intersectionf.findClosestPointsTriangleTriangle(v[0], v[1], v[2], v[3], v[4], v[5], v[6], v[7], v[8],
+                    v[9], v[10], v[11], v[12], v[13], v[14], v[15], v[16], v[17], a, b);
+            int result = Intersectionf.intersectTriangleTriangle(v[0], v[1], v[2], v[3], v[4], v[5], v[6], v[7], v[8],
+                    v[9], v[10], v[11], v[12], v[13], v[14], v[15], v[16], v[17], p0, p1);
+            if (d > 1E-6f)
+                assertEquals(Intersectionf.TRIANGLES_DISJOINT, result);
+            else if (d == 0.0f)
+                assertEquals(Intersectionf.TRIANGLES_SEGMENT, result);
+            if (result != Intersectionf.TRIANGLES_SEGMENT)
+                continue;
+            hits++;
+            // both end points of the segment lie on both triangles
+            for (int k = 0; k < 2; k++) {
+                Vector3f p = k == 0 ? p0 : p1;
+                Intersectionf.findClosestPointOnTriangle(v[0], v[1], v[2], v[3], v[4], v[5], v[6], v[7], v[8], p.x, p.y, p.z, a);
+                Intersectionf.findClosestPointOnTriangle(v[9], v[10], v[11], v[12], v[13], v[14], v[15], v[16], v[17], p.x, p.y, p.z, b);
+                assertEquals(0.0f, a.distance(p), 1E-4f);
+                assertEquals(0.0f, b.distance(p), 1E-4f);
+            }
+        }
+        assertTrue(hits > 100);
+    }
+
+    public static void testClosestPointOnTriangleInAllRegions() {
+        Random rnd = new Random(17L);
+        Vector2f p2 = new Vector2f();
+        Vector3f p3 = new Vector3f();
+        int[] regions = new int[8];
+        for (int i = 0; i < 2000; i++) {
+            float[] v = new float[6];
+            for (int j = 0; j < 6; j++)
+                v[j] = rnd.nextFloat() * 4 - 2;
+            float x = rnd.nextFloat() * 8 - 4, y = rnd.nextFloat() * 8 - 4;
+            int r2 = Intersectionf.findClosestPointOnTriangle(v[0], v[1], v[2], v[3], v[4], v[5], x, y, p2);
+            int r3 = Intersectionf.findClosestPointOnTriangle(v[0], v[1], 0, v[2], v[3], 0, v[4], v[5], 0, x, y, 1, p3);
+            assertEquals(r2, r3);
+            assertEquals(p2.x, p3.x, 1E-4f);
+            assertEquals(p2.y, p3.y, 1E-4f);
+            assertEquals(0.0f, p3.z, 0.0f);
+            regions[r3]++;
+        }
+        for (int r = 1; r <= 7; r++)
+            assertTrue(regions[r] > 0);
+    }
+
+    public static void testRayAabsMatchesTestRayAab() {
+        Random rnd = new Random(17L);
+        int count = 300;
+        float[] boxes = new float[count * 6];
+        for (int i = 0; i < count; i++) {
+            float x = rnd.nextFloat() * 20 - 10, y = rnd.nextFloat() * 20 - 10, z = rnd.nextFloat() * 20 - 10;
+            boxes[i * 6] = x;
+            boxes[i * 6 + 1] = y;
+            boxes[i * 6 + 2] = z;
+            boxes[i * 6 + 3] = x + rnd.nextFloat() * 3;
+            boxes[i * 6 + 4] = y + rnd.nextFloat() * 3;
+            boxes[i * 6 + 5] = z + rnd.nextFloat() * 3;
+        }
+        int[] hits = new int[count];
+        Rayf ray = new Rayf(-1, 0.5f, -2, 0.6f, -0.2f, 0.7f);
+        int n = Intersectionf.testRayAabs(ray, boxes, 0, count, hits);
+        int expected = 0;
+        for (int i = 0; i < count; i++) {
+            if (Intersectionf.testRayAab(ray.oX, ray.oY, ray.oZ, ray.dX, ray.dY, ray.dZ,
+                    boxes[i * 6], boxes[i * 6 + 1], boxes[i * 6 + 2], boxes[i * 6 + 3], boxes[i * 6 + 4], boxes[i * 6 + 5]))
+                assertEquals(i, hits[expected++]);
+        }
+        assertEquals(expected, n);
+        assertTrue(n > 0 && n < count);
+    }
+
+    public static void testPlaneDistancesKeepEvaluationOrderWithoutFma() {
+        if (Boolean.getBoolean("joml.useMathFma"))
+            return;
+        Random rnd = new Random(7L);
+        for (int i = 0; i < 1000; i++) {
+            float x = rnd.nextFloat() * 200 - 100, y = rnd.nextFloat() * 200 - 100, z = rnd.nextFloat() * 200 - 100;
+            float a = rnd.nextFloat() * 2 - 1, b = rnd.nextFloat() * 2 - 1, c = rnd.nextFloat() * 2 - 1, d = rnd.nextFloat() * 20 - 10;
+            float expected = (a * x + b * y + c * z + d) / (float) Math.sqrt(a * a + b * b + c * c);
+            assertEquals(expected, Intersectionf.distancePointPlane(x, y, z, a, b, c, d), 0.0f);
+            float denom = a * b + b * c + c * a;
+            float t = Intersectionf.intersectRayPlane(x, y, z, b, c, a, a, b, c, d, 0.0f);
+            if (denom < 0.0f && -(a * x + b * y + c * z + d) / denom >= 0.0f)
+                assertEquals(-(a * x + b * y + c * z + d) / denom, t, 0.0f);
+        }
+    }
+
+//#ifdef __INSTRUMENT__
+    public static void testInstrumentedAabPlaneEarlyOuts() {
+        HotPathCounters.Snapshot before = HotPathCounters.snapshot();
+        // in front, behind and intersecting the plane z = 0
+        assertFalse(Intersectionf.testAabPlane(-1, -1, 1, 1, 1, 2, 0, 0, 1, 0));
+        assertFalse(Intersectionf.testAabPlane(-1, -1, -2, 1, 1, -1, 0, 0, 1, 0));
+        assertTrue(Intersectionf.testAabPlane(-1, -1, -1, 1, 1, 1, 0, 0, 1, 0));
+        HotPathCounters.Snapshot after = HotPathCounters.snapshot();
+        int i = after.indexOf("Intersectionf.testAabPlane");
+        assertTrue(i >= 0);
+        assertEquals(3L, after.calls(i) - before.calls(i));
+        assertEquals(1L, after.hits(i) - before.hits(i));
+        assertEquals(1L, after.earlyOuts(i, 0) - before.earlyOuts(i, 0));
+        assertEquals(1L, after.earlyOuts(i, 1) - before.earlyOuts(i, 1));
+    }
+
+    public static void testInstrumentedRayTriangleEarlyOuts() {
+        HotPathCounters.Snapshot before = HotPathCounters.snapshot();
+        // parallel, outside in u, outside in v and hitting
+        Intersectionf.intersectRayTriangle(0, 0, 1, 1, 0, 0, 0, 0, 0, 1, 0, 0, 0, 1, 0, 1E-6f);
+        Intersectionf.intersectRayTriangle(-1, 0.5f, 1, 0, 0, -1, 0, 0, 0, 1, 0, 0, 0, 1, 0, 1E-6f);
+        Intersectionf.intersectRayTriangle(0.5f, -1, 1, 0, 0, -1, 0, 0, 0, 1, 0, 0, 0, 1, 0, 1E-6f);
+        assertEquals(1.0f, Intersectionf.intersectRayTriangle(0.2f, 0.2f, 1, 0, 0, -1, 0, 0, 0, 1, 0, 0, 0, 1, 0, 1E-6f), 1E-6f);
+        HotPathCounters.Snapshot after = HotPathCounters.snapshot();
+        int i = after.indexOf("Intersectionf.intersectRayTriangle");
+        assertEquals(4L, after.calls(i) - before.calls(i));
+        assertEquals(1L, after.hits(i) - before.hits(i));
+        for (int b = 0; b < 3; b++)
+            assertEquals(1L, after.earlyOuts(i, b) - before.earlyOuts(i, b));
+    }
+//#endif
 }
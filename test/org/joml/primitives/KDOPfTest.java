@@ -0,0 +1,129 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.joml.Matrix4f;
+import org.joml.Vector2f;
+import org.joml.Vector3f;
+
+/**
+ * Tests for the {@link KDOPf} class.
+ */
+public class KDOPfTest extends TestCase {
+
+    private static final float[] DIAGONAL_ROD = { 0, 0, 0, 10, 10, 10, 0.5f, 0, 0, 10.5f, 10, 10 };
+
+    public static void testUnsupportedK() {
+        try {
+            new KDOPf(8);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    public static void testFromPoints() {
+        KDOPf dop = new KDOPf(26).setFromPoints(DIAGONAL_ROD, 0, 3, 4);
+        assertEquals(13, dop.slabCount());
+        assertEquals(new AABBf(0, 0, 0, 10.5f, 10, 10), dop.bounds(new AABBf()));
+        Vector3f dir = dop.getDirection(3, new Vector3f());
+        assertEquals(new Vector3f(1, 1, 1), dir);
+        assertEquals(0.0f, dop.getMin(3), 0.0f);
+        assertEquals(30.5f, dop.getMax(3), 0.0f);
+        assertTrue(dop.containsPoint(5, 5, 5));
+        assertFalse(dop.containsPoint(9, 1, 1));
+        assertFalse(new KDOPf(14).isValid());
+        assertFalse(new KDOPf(14).setFromPoints(DIAGONAL_ROD, 0, 3, 0).isValid());
+    }
+
+    public static void testTighterThanAabb() {
+        for (int k = 14; k <= 26; k += k == 14 ? 4 : 8) {
+            KDOPf a = new KDOPf(k).setFromPoints(DIAGONAL_ROD, 0, 3, 4);
+            KDOPf b = new KDOPf(k).set(new AABBf(8, 0, 0, 10, 2, 2));
+            assertTrue(a.intersectsAABB(new AABBf(0, 0, 0, 1, 1, 1)));
+            assertTrue(a.bounds(new AABBf()).intersectsAABB(new AABBf(8, 0, 0, 10, 2, 2)));
+            assertFalse(a.intersectsAABB(new AABBf(8, 0, 0, 10, 2, 2)));
+            assertFalse(a.intersectsKDOP(b));
+            assertFalse(b.intersectsKDOP(a));
+        }
+    }
+
+    public static void testUnion() {
+        KDOPf a = new KDOPf(18).set(new AABBf(0, 0, 0, 1, 1, 1));
+        KDOPf b = new KDOPf(18).set(new AABBf(2, 0, 0, 3, 1, 1));
+        KDOPf u = a.union(b, new KDOPf(18));
+        assertTrue(u.containsPoint(2.5f, 0.5f, 0.5f));
+        assertTrue(u.containsPoint(0.5f, 0.5f, 0.5f));
+        assertEquals(u, new KDOPf(18).setEmpty().union(a).union(b));
+        assertEquals(u, new KDOPf(18).set(new AABBf(0, 0, 0, 3, 1, 1)));
+        try {
+            a.union(new KDOPf(14));
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    public static void testRay() {
+        KDOPf dop = new KDOPf(14).set(new AABBf(-1, -1, -1, 1, 1, 1));
+        Vector2f t = new Vector2f();
+        assertTrue(dop.intersectsRay(-5, 0, 0, 1, 0, 0, t));
+        assertEquals(4.0f, t.x, 1E-6f);
+        assertEquals(6.0f, t.y, 1E-6f);
+        assertFalse(dop.intersectsRay(-5, 0, 0, -1, 0, 0));
+        assertFalse(dop.intersectsRay(-5, 2, 0, 1, 0, 0));
+        /* The corner (1, 1, 1) is cut by the diagonal slabs of a k-DOP of a rod, but not of a box */
+        KDOPf rod = new KDOPf(14).setFromPoints(DIAGONAL_ROD, 0, 3, 4);
+        assertFalse(rod.intersectsRay(10, 0, -5, 0, 0, 1));
+        assertTrue(rod.intersectsRay(5, 5, -5, 0, 0, 1, t));
+        assertEquals(5.0f, t.x, 1E-5f);
+        assertEquals(15.0f, t.y, 1E-5f);
+    }
+
+    public static void testTransform() {
+        Random rnd = new Random(7);
+        float[] points = new float[30 * 3];
+        for (int i = 0; i < points.length; i++)
+            points[i] = rnd.nextFloat();
+        Matrix4f m = new Matrix4f().translate(3, -2, 1).rotateXYZ(0.3f, 1.1f, -0.7f).scale(2);
+        KDOPf refit = new KDOPf(26).setFromPoints(points, 0, 3, 30, m);
+        KDOPf moved = new KDOPf(26).setFromPoints(points, 0, 3, 30).transform(m, new KDOPf(26));
+        Vector3f p = new Vector3f();
+        for (int i = 0; i < 30; i++) {
+            m.transformPosition(points[i * 3], points[i * 3 + 1], points[i * 3 + 2], p);
+            assertTrue(refit.getMin(0) <= p.x + 1E-5f && refit.getMax(0) >= p.x - 1E-5f);
+        }
+        for (int i = 0; i < refit.slabCount(); i++) {
+            assertTrue(moved.getMin(i) <= refit.getMin(i) + 1E-4f);
+            assertTrue(moved.getMax(i) >= refit.getMax(i) - 1E-4f);
+        }
+        KDOPf translated = new KDOPf(refit).translate(1, 2, 3);
+        assertEquals(refit.getMin(3) + 6, translated.getMin(3), 1E-4f);
+    }
+
+}
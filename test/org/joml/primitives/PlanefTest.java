@@ -0,0 +1,103 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+
+/**
+ * Tests for the transformation methods of {@link Planef}.
+ */
+public class PlanefTest extends TestCase {
+
+    private static Matrix4f randomAffine(Random rnd) {
+        return new Matrix4f()
+                .translate(rnd.nextFloat() * 20 - 10, rnd.nextFloat() * 20 - 10, rnd.nextFloat() * 20 - 10)
+                .rotateXYZ(rnd.nextFloat() * 7, rnd.nextFloat() * 7, rnd.nextFloat() * 7)
+                .scale(rnd.nextFloat() * 2 + 0.5f, -(rnd.nextFloat() * 2 + 0.5f), rnd.nextFloat() * 2 + 0.5f);
+    }
+
+    public static void testTransformKeepsPointsOnPlaneAndSides() {
+        Random rnd = new Random(42L);
+        Vector3f p = new Vector3f();
+        for (int i = 0; i < 50; i++) {
+            Matrix4f m = randomAffine(rnd);
+            Planef plane = new Planef(rnd.nextFloat() - 0.5f, rnd.nextFloat() - 0.5f, rnd.nextFloat() - 0.5f, rnd.nextFloat() * 4 - 2).normalize();
+            Planef transformed = plane.transform(m, new Planef());
+            // point on the original plane must lie on the transformed plane
+            float t = -plane.d;
+            m.transformPosition(p.set(plane.a * t, plane.b * t, plane.c * t));
+            assertEquals(0, transformed.a * p.x + transformed.b * p.y + transformed.c * p.z + transformed.d, 1E-3f);
+            // a point in front of the plane must stay in front
+            m.transformPosition(p.set(plane.a * (t + 1), plane.b * (t + 1), plane.c * (t + 1)));
+            assertTrue(transformed.a * p.x + transformed.b * p.y + transformed.c * p.z + transformed.d > 0);
+        }
+    }
+
+    public static void testTransformInverseTranspose() {
+        Matrix4f m = new Matrix4f().translate(1, -2, 3).rotateXYZ(0.4f, 1.1f, -0.7f).scale(2, 1, 0.5f);
+        Matrix4f invTrans = new Matrix4f(m).invert().transpose();
+        Planef plane = new Planef(0.3f, -0.5f, 0.8f, 1.5f);
+        Planef expected = plane.transform(m, new Planef());
+        Planef actual = plane.transformInverseTranspose(invTrans, new Planef());
+        assertEquals(expected.a, actual.a, 1E-5f);
+        assertEquals(expected.b, actual.b, 1E-5f);
+        assertEquals(expected.c, actual.c, 1E-5f);
+        assertEquals(expected.d, actual.d, 1E-5f);
+    }
+
+    public static void testTransformOrthonormal() {
+        Matrix4f m = new Matrix4f().translate(1, -2, 3).rotateXYZ(0.4f, 1.1f, -0.7f);
+        assertTrue((m.properties() & Matrix4f.PROPERTY_ORTHONORMAL) != 0);
+        Matrix4f invTrans = new Matrix4f(m).invert().transpose();
+        Planef plane = new Planef(0.3f, -0.5f, 0.8f, 1.5f);
+        Planef expected = plane.transformInverseTranspose(invTrans, new Planef());
+        Planef actual = plane.transform(m, new Planef());
+        assertEquals(expected.a, actual.a, 1E-5f);
+        assertEquals(expected.b, actual.b, 1E-5f);
+        assertEquals(expected.c, actual.c, 1E-5f);
+        assertEquals(expected.d, actual.d, 1E-5f);
+    }
+
+    public static void testTransformAll() {
+        Random rnd = new Random(3L);
+        Matrix4f m = randomAffine(rnd);
+        float[] planes = new float[4 * 10];
+        for (int i = 0; i < planes.length; i++)
+            planes[i] = rnd.nextFloat() * 2 - 1;
+        float[] dest = new float[planes.length];
+        Planef.transformAll(m, planes, 0, dest, 0, 10);
+        for (int i = 0; i < 10; i++) {
+            Planef expected = new Planef(planes[i * 4], planes[i * 4 + 1], planes[i * 4 + 2], planes[i * 4 + 3]).transform(m);
+            assertEquals(expected.a, dest[i * 4], 1E-5f);
+            assertEquals(expected.b, dest[i * 4 + 1], 1E-5f);
+            assertEquals(expected.c, dest[i * 4 + 2], 1E-5f);
+            assertEquals(expected.d, dest[i * 4 + 3], 1E-4f);
+        }
+    }
+}
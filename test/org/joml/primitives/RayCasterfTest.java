@@ -0,0 +1,223 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.joml.Vector2f;
+
+/**
+ * Tests for the {@link RayCasterf} class.
+ */
+public class RayCasterfTest extends TestCase {
+
+    private static final int RAYS = 500;
+
+    private static float[][] randomRays(Random rnd) {
+        float[][] rays = new float[6][RAYS];
+        for (int i = 0; i < RAYS; i++) {
+            for (int c = 0; c < 3; c++) {
+                rays[c][i] = (rnd.nextFloat() - 0.5f) * 40;
+                rays[c + 3][i] = rnd.nextFloat() - 0.5f;
+            }
+        }
+        return rays;
+    }
+
+    public static void testTrianglesMatchSingleRays() {
+        Random rnd = new Random(5L);
+        int triangleCount = 200;
+        float[] positions = new float[triangleCount * 9];
+        int[] indices = new int[triangleCount * 3];
+        for (int j = 0; j < triangleCount; j++) {
+            float x = (rnd.nextFloat() - 0.5f) * 30, y = (rnd.nextFloat() - 0.5f) * 30, z = (rnd.nextFloat() - 0.5f) * 30;
+            for (int v = 0; v < 3; v++) {
+                positions[j * 9 + v * 3] = x + rnd.nextFloat() * 6;
+                positions[j * 9 + v * 3 + 1] = y + rnd.nextFloat() * 6;
+                positions[j * 9 + v * 3 + 2] = z + rnd.nextFloat() * 6;
+                indices[j * 3 + v] = j * 3 + v;
+            }
+        }
+        float[][] r = randomRays(rnd);
+        int[] hits = new int[RAYS];
+        float[] ts = new float[RAYS];
+        for (int threads = 1; threads <= 3; threads += 2) {
+            RayCasterf caster = new RayCasterf(threads);
+            try {
+                int hitCount = caster.castTriangles(r[0], r[1], r[2], r[3], r[4], r[5], RAYS, positions, indices, triangleCount, 1E-6f, false, hits, ts);
+                int expectedHits = 0;
+                for (int i = 0; i < RAYS; i++) {
+                    float nearest = Float.POSITIVE_INFINITY;
+                    for (int j = 0; j < triangleCount; j++) {
+                        int o = j * 9;
+                        float t = Intersectionf.intersectRayTriangle(r[0][i], r[1][i], r[2][i], r[3][i], r[4][i], r[5][i],
+                                positions[o], positions[o + 1], positions[o + 2], positions[o + 3], positions[o + 4], positions[o + 5],
+                                positions[o + 6], positions[o + 7], positions[o + 8], 1E-6f);
+                        if (t >= 0.0f && t < nearest)
+                            nearest = t;
+                    }
+                    if (nearest == Float.POSITIVE_INFINITY) {
+                        assertEquals(-1, hits[i]);
+                        assertEquals(-1.0f, ts[i], 0.0f);
+                    } else {
+                        assertTrue(hits[i] >= 0);
+                        assertEquals(nearest, ts[i], 0.0f);
+                        expectedHits++;
+                    }
+                }
+                assertEquals(expectedHits, hitCount);
+                assertTrue(hitCount > 0);
+                // any hit finds the same rays, but not necessarily the nearest triangle
+                int anyHitCount = caster.castTriangles(r[0], r[1], r[2], r[3], r[4], r[5], RAYS, positions, indices, triangleCount, 1E-6f, true, hits, ts);
+                assertEquals(expectedHits, anyHitCount);
+            } finally {
+                caster.dispose();
+            }
+        }
+    }
+
+    public static void testAabsMatchSingleRays() {
+        Random rnd = new Random(9L);
+        int aabbCount = 150;
+        int offset = 6;
+        float[] aabbs = new float[offset + aabbCount * 6];
+        for (int j = 0; j < aabbCount; j++) {
+            int o = offset + j * 6;
+            for (int c = 0; c < 3; c++) {
+                aabbs[o + c] = (rnd.nextFloat() - 0.5f) * 40;
+                aabbs[o + c + 3] = aabbs[o + c] + rnd.nextFloat() * 4;
+            }
+        }
+        float[][] r = randomRays(rnd);
+        int[] hits = new int[RAYS];
+        float[] ts = new float[RAYS];
+        Vector2f nearFar = new Vector2f();
+        RayCasterf caster = new RayCasterf(2);
+        try {
+            int hitCount = caster.castAabs(r[0], r[1], r[2], r[3], r[4], r[5], RAYS, aabbs, offset, aabbCount, false, hits, ts);
+            int expectedHits = 0;
+            for (int i = 0; i < RAYS; i++) {
+                float nearest = Float.POSITIVE_INFINITY;
+                for (int j = 0; j < aabbCount; j++) {
+                    int o = offset + j * 6;
+                    if (Intersectionf.intersectRayAab(r[0][i], r[1][i], r[2][i], r[3][i], r[4][i], r[5][i],
+                            aabbs[o], aabbs[o + 1], aabbs[o + 2], aabbs[o + 3], aabbs[o + 4], aabbs[o + 5], nearFar))
+                        nearest = Math.min(nearest, Math.max(nearFar.x, 0.0f));
+                }
+                if (nearest == Float.POSITIVE_INFINITY) {
+                    assertEquals(-1, hits[i]);
+                } else {
+                    assertTrue(hits[i] >= 0);
+                    assertEquals(nearest, ts[i], 0.0f);
+                    expectedHits++;
+                }
+            }
+            assertEquals(expectedHits, hitCount);
+            assertTrue(hitCount > 0);
+        } finally {
+            caster.dispose();
+        }
+    }
+
+    public static void testTrianglesOfAxisAlignedGrid() {
+        Random rnd = new Random(13L);
+        int n = 24, triangleCount = 2 * n * n;
+        float[] positions = new float[(n + 1) * (n + 1) * 3];
+        for (int y = 0, p = 0; y <= n; y++)
+            for (int x = 0; x <= n; x++, p += 3) {
+                positions[p] = x;
+                positions[p + 1] = y;
+            }
+        int[] indices = new int[triangleCount * 3];
+        for (int y = 0, i = 0; y < n; y++)
+            for (int x = 0; x < n; x++) {
+                int v = y * (n + 1) + x;
+                indices[i++] = v;
+                indices[i++] = v + 1;
+                indices[i++] = v + n + 2;
+                indices[i++] = v;
+                indices[i++] = v + n + 2;
+                indices[i++] = v + n + 1;
+            }
+        float[][] r = new float[6][RAYS];
+        for (int i = 0; i < RAYS; i++) {
+            r[0][i] = rnd.nextFloat() * 30 - 3;
+            r[1][i] = rnd.nextFloat() * 30 - 3;
+            r[2][i] = rnd.nextFloat() * 20 - 10;
+            r[3][i] = rnd.nextFloat() - 0.5f;
+            r[4][i] = rnd.nextFloat() - 0.5f;
+            /* some rays are parallel to the grid */
+            r[5][i] = i % 10 == 0 ? 0.0f : rnd.nextFloat() - 0.5f;
+        }
+        int[] hits = new int[RAYS];
+        float[] ts = new float[RAYS];
+        RayCasterf caster = new RayCasterf(3);
+        try {
+            int hitCount = caster.castTriangles(r[0], r[1], r[2], r[3], r[4], r[5], RAYS, positions, indices, triangleCount, 1E-6f, false, hits, ts);
+            int expectedHits = 0;
+            for (int i = 0; i < RAYS; i++) {
+                float nearest = Float.POSITIVE_INFINITY;
+                int nearestIndex = -1;
+                for (int j = 0; j < triangleCount; j++) {
+                    int i0 = 3 * indices[3 * j], i1 = 3 * indices[3 * j + 1], i2 = 3 * indices[3 * j + 2];
+                    float t = Intersectionf.intersectRayTriangle(r[0][i], r[1][i], r[2][i], r[3][i], r[4][i], r[5][i],
+                            positions[i0], positions[i0 + 1], positions[i0 + 2], positions[i1], positions[i1 + 1], positions[i1 + 2],
+                            positions[i2], positions[i2 + 1], positions[i2 + 2], 1E-6f);
+                    if (t >= 0.0f && t < nearest) {
+                        nearest = t;
+                        nearestIndex = j;
+                    }
+                }
+                assertEquals(nearestIndex, hits[i]);
+                assertEquals(nearestIndex < 0 ? -1.0f : nearest, ts[i], 0.0f);
+                if (nearestIndex >= 0)
+                    expectedHits++;
+            }
+            assertEquals(expectedHits, hitCount);
+            assertTrue(hitCount > RAYS / 10);
+        } finally {
+            caster.dispose();
+        }
+    }
+
+    public static void testNoPrimitives() {
+        float[][] r = randomRays(new Random(3L));
+        int[] hits = new int[RAYS];
+        float[] ts = new float[RAYS];
+        RayCasterf caster = new RayCasterf(2);
+        try {
+            assertEquals(0, caster.castTriangles(r[0], r[1], r[2], r[3], r[4], r[5], RAYS, new float[0], new int[0], 0, 1E-6f, false, hits, ts));
+            for (int i = 0; i < RAYS; i++) {
+                assertEquals(-1, hits[i]);
+                assertEquals(-1.0f, ts[i], 0.0f);
+            }
+            assertEquals(0, caster.castAabs(r[0], r[1], r[2], r[3], r[4], r[5], RAYS, new float[0], 0, 0, true, hits, ts));
+        } finally {
+            caster.dispose();
+        }
+    }
+
+}
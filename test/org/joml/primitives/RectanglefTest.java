@@ -26,6 +26,7 @@ package org.joml.primitives;
 import junit.framework.Assert;
 import junit.framework.TestCase;
 
+import org.joml.Matrix3x2f;
 import org.joml.Vector2f;
 
 /**
@@ -78,4 +79,21 @@ public class RectanglefTest extends TestCase {
         Assert.assertFalse(rect.isValid());
     }
 
+
+    public void testTransform() {
+        Rectanglef rect = new Rectanglef(1, 1, 3, 2);
+        Matrix3x2f m = new Matrix3x2f().translate(1, 0).rotate((float) Math.PI * 0.5f);
+        Rectanglef result = rect.transform(m, new Rectanglef());
+        Assert.assertEquals(-1, result.minX, 1E-6f);
+        Assert.assertEquals(1, result.minY, 1E-6f);
+        Assert.assertEquals(0, result.maxX, 1E-6f);
+        Assert.assertEquals(3, result.maxY, 1E-6f);
+        float[] packed = { 1, 1, 3, 2 };
+        Rectanglef.transformAll(m, packed, 0, packed, 0, 1);
+        Assert.assertEquals(result, new Rectanglef(packed[0], packed[1], packed[2], packed[3]));
+        Circlef circle = new Circlef(2, 0, 1).transform(new Matrix3x2f(m).scale(2, 1));
+        Assert.assertEquals(1, circle.x, 1E-6f);
+        Assert.assertEquals(4, circle.y, 1E-6f);
+        Assert.assertEquals(2, circle.r, 1E-6f);
+    }
 }
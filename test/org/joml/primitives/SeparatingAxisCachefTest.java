@@ -0,0 +1,112 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.joml.Quaternionf;
+import org.joml.Vector2f;
+import org.joml.Vector3f;
+
+/**
+ * Tests for the {@link SeparatingAxisCachef} class.
+ */
+public class SeparatingAxisCachefTest extends TestCase {
+
+    public static void testObObMatchesIntersectionf() {
+        Random rnd = new Random(12345L);
+        SeparatingAxisCachef cache = new SeparatingAxisCachef();
+        Quaternionf q = new Quaternionf();
+        Vector3f uX = new Vector3f(), uY = new Vector3f(), uZ = new Vector3f();
+        for (int i = 0; i < 1000; i++) {
+            // the second box moves along a smooth path, so the cached axis stays valid most of the time
+            q.rotationXYZ(i * 0.01f, i * 0.02f, i * 0.03f);
+            q.positiveX(uX);
+            q.positiveY(uY);
+            q.positiveZ(uZ);
+            float cX = 3.0f * (float) Math.sin(i * 0.05), cY = 0.5f, cZ = rnd.nextFloat() * 0.1f;
+            boolean expected = Intersectionf.testObOb(0, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0, 1, 1, 0.5f, 0.5f,
+                    cX, cY, cZ, uX.x, uX.y, uX.z, uY.x, uY.y, uY.z, uZ.x, uZ.y, uZ.z, 0.5f, 0.5f, 1);
+            boolean actual = cache.testObOb(0, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0, 1, 1, 0.5f, 0.5f,
+                    cX, cY, cZ, uX.x, uX.y, uX.z, uY.x, uY.y, uY.z, uZ.x, uZ.y, uZ.z, 0.5f, 0.5f, 1);
+            assertEquals(expected, actual);
+            assertEquals(actual, cache.axis() < 0);
+        }
+    }
+
+    public static void testObObCachedAxisOfEveryKind() {
+        Random rnd = new Random(4711L);
+        SeparatingAxisCachef cache = new SeparatingAxisCachef();
+        Quaternionf q = new Quaternionf();
+        Vector3f uX = new Vector3f(), uY = new Vector3f(), uZ = new Vector3f();
+        boolean[] seen = new boolean[15];
+        for (int i = 0; i < 20000; i++) {
+            // unrelated random boxes, so the axis cached by the previous pair is tested first against a new pair
+            q.rotationXYZ(rnd.nextFloat() * 6.3f, rnd.nextFloat() * 6.3f, rnd.nextFloat() * 6.3f);
+            q.positiveX(uX);
+            q.positiveY(uY);
+            q.positiveZ(uZ);
+            float cX = rnd.nextFloat() * 4 - 2, cY = rnd.nextFloat() * 4 - 2, cZ = rnd.nextFloat() * 4 - 2;
+            float hX = rnd.nextFloat() + 0.1f, hY = rnd.nextFloat() + 0.1f, hZ = rnd.nextFloat() + 0.1f;
+            boolean expected = Intersectionf.testObOb(0.5f, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0, 1, 1, 0.25f, 0.75f,
+                    cX, cY, cZ, uX.x, uX.y, uX.z, uY.x, uY.y, uY.z, uZ.x, uZ.y, uZ.z, hX, hY, hZ);
+            for (int k = 0; k < 2; k++) {
+                boolean actual = cache.testObOb(0.5f, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0, 1, 1, 0.25f, 0.75f,
+                        cX, cY, cZ, uX.x, uX.y, uX.z, uY.x, uY.y, uY.z, uZ.x, uZ.y, uZ.z, hX, hY, hZ);
+                assertEquals(expected, actual);
+            }
+            if (cache.axis() >= 0)
+                seen[cache.axis()] = true;
+        }
+        for (int i = 0; i < 15; i++)
+            assertTrue("axis " + i, seen[i]);
+    }
+
+    public static void testPolygonPolygonMatchesIntersectionf() {
+        SeparatingAxisCachef cache = new SeparatingAxisCachef();
+        SeparatingAxisCachef convexCache = new SeparatingAxisCachef();
+        Vector2f[] square = { new Vector2f(0, 0), new Vector2f(2, 0), new Vector2f(2, 2), new Vector2f(0, 2) };
+        Vector2f[] triangle = new Vector2f[3];
+        ConvexPolygonf convexSquare = new ConvexPolygonf(new float[] { 0, 0, 2, 0, 2, 2, 0, 2 });
+        ConvexPolygonf convexTriangle = new ConvexPolygonf();
+        float[] xy = new float[6];
+        for (int i = 0; i < 200; i++) {
+            float x = -2.0f + i * 0.03f, y = 2.5f - i * 0.02f;
+            triangle[0] = new Vector2f(x, y);
+            triangle[1] = new Vector2f(x + 1, y + 0.5f);
+            triangle[2] = new Vector2f(x, y + 1);
+            for (int j = 0; j < 3; j++) {
+                xy[2 * j] = triangle[j].x;
+                xy[2 * j + 1] = triangle[j].y;
+            }
+            convexTriangle.set(xy, 0, 3);
+            boolean expected = Intersectionf.testPolygonPolygon(square, triangle);
+            assertEquals(expected, cache.testPolygonPolygon(square, triangle));
+            assertEquals(convexSquare.testPolygon(convexTriangle), convexCache.testPolygon(convexSquare, convexTriangle));
+        }
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for the {@link SnapshotGridf} class.
+ */
+public class SnapshotGridfTest extends TestCase {
+
+    private static void randomBox(Random rnd, float[] boxes, int i) {
+        float x = rnd.nextFloat() * 100 - 50, y = rnd.nextFloat() * 100 - 50, z = rnd.nextFloat() * 100 - 50;
+        boxes[i * 6] = x;
+        boxes[i * 6 + 1] = y;
+        boxes[i * 6 + 2] = z;
+        boxes[i * 6 + 3] = x + rnd.nextFloat() * 8;
+        boxes[i * 6 + 4] = y + rnd.nextFloat() * 8;
+        boxes[i * 6 + 5] = z + rnd.nextFloat() * 8;
+    }
+
+    private static void assertQueryMatchesBruteForce(SnapshotGridf.Snapshot s, float[] boxes, boolean[] present, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        int[] found = new int[present.length];
+        int n = s.query(minX, minY, minZ, maxX, maxY, maxZ, found);
+        int m = 0;
+        int[] expected = new int[present.length];
+        for (int i = 0; i < present.length; i++) {
+            if (present[i] && Intersectionf.testAabAab(boxes[i * 6], boxes[i * 6 + 1], boxes[i * 6 + 2], boxes[i * 6 + 3], boxes[i * 6 + 4], boxes[i * 6 + 5],
+                    minX, minY, minZ, maxX, maxY, maxZ))
+                expected[m++] = i;
+        }
+        assertEquals(m, n);
+        Arrays.sort(found, 0, n);
+        for (int i = 0; i < n; i++)
+            assertEquals(expected[i], found[i]);
+    }
+
+    public static void testSnapshotsAreIsolated() {
+        Random rnd = new Random(5L);
+        int count = 400;
+        SnapshotGridf grid = new SnapshotGridf(4.0f, 512, count);
+        assertEquals(0, grid.snapshot().size());
+        float[] boxes = new float[count * 6];
+        boolean[] present = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            randomBox(rnd, boxes, i);
+            grid.insert(i, boxes[i * 6], boxes[i * 6 + 1], boxes[i * 6 + 2], boxes[i * 6 + 3], boxes[i * 6 + 4], boxes[i * 6 + 5]);
+            present[i] = true;
+        }
+        // nothing is visible before publishing
+        assertEquals(0, grid.snapshot().query(-100, -100, -100, 100, 100, 100, new int[count]));
+        SnapshotGridf.Snapshot first = grid.publish();
+        assertSame(first, grid.snapshot());
+        assertSame(first, grid.publish());
+        assertEquals(1L, first.version());
+        assertEquals(count, first.size());
+        float[] firstBoxes = (float[]) boxes.clone();
+        boolean[] firstPresent = (boolean[]) present.clone();
+        SnapshotGridf.Snapshot[] snapshots = new SnapshotGridf.Snapshot[4];
+        float[][] snapshotBoxes = new float[4][];
+        boolean[][] snapshotPresent = new boolean[4][];
+        for (int round = 0; round < 4; round++) {
+            for (int i = 0; i < count; i++) {
+                int r = rnd.nextInt(10);
+                if (r == 0) {
+                    assertEquals(present[i], grid.remove(i));
+                    present[i] = false;
+                } else if (r < 5) {
+                    randomBox(rnd, boxes, i);
+                    if (present[i])
+                        grid.move(i, boxes[i * 6], boxes[i * 6 + 1], boxes[i * 6 + 2], boxes[i * 6 + 3], boxes[i * 6 + 4], boxes[i * 6 + 5]);
+                    else
+                        grid.insert(i, boxes[i * 6], boxes[i * 6 + 1], boxes[i * 6 + 2], boxes[i * 6 + 3], boxes[i * 6 + 4], boxes[i * 6 + 5]);
+                    present[i] = true;
+                }
+            }
+            snapshots[round] = grid.publish();
+            snapshotBoxes[round] = (float[]) boxes.clone();
+            snapshotPresent[round] = (boolean[]) present.clone();
+        }
+        // every snapshot still answers with the state at its publish
+        assertQueryMatchesBruteForce(first, firstBoxes, firstPresent, -100, -100, -100, 100, 100, 100);
+        assertQueryMatchesBruteForce(first, firstBoxes, firstPresent, -10, -20, -5, 15, 0, 12);
+        for (int round = 0; round < 4; round++) {
+            assertQueryMatchesBruteForce(snapshots[round], snapshotBoxes[round], snapshotPresent[round], -100, -100, -100, 100, 100, 100);
+            assertQueryMatchesBruteForce(snapshots[round], snapshotBoxes[round], snapshotPresent[round], -10, -20, -5, 15, 0, 12);
+            assertEquals(round + 2L, snapshots[round].version());
+        }
+        AABBf b = snapshots[3].getBounds(7, new AABBf());
+        if (snapshotPresent[3][7]) {
+            assertTrue(snapshots[3].contains(7));
+            assertEquals(snapshotBoxes[3][42], b.minX, 0.0f);
+        }
+    }
+
+    public static void testReaderSeesConsistentSnapshotsWhileWriterUpdates() throws InterruptedException {
+        final int count = 256;
+        final SnapshotGridf grid = new SnapshotGridf(2.0f, 128, count);
+        // all entries always move together, so every snapshot must contain all of them in the same row
+        for (int i = 0; i < count; i++)
+            grid.insert(i, i, 0, 0, i + 0.5f, 0.5f, 0.5f);
+        grid.publish();
+        final boolean[] done = new boolean[1];
+        final String[] failure = new String[1];
+        Thread reader = new Thread() {
+            public void run() {
+                int[] found = new int[count];
+                AABBf b = new AABBf();
+                while (true) {
+                    synchronized (done) {
+                        if (done[0])
+                            return;
+                    }
+                    SnapshotGridf.Snapshot s = grid.snapshot();
+                    float y = s.getBounds(0, b).minY;
+                    int n = s.query(-1, y, -1, count + 1, y + 0.5f, 1, found);
+                    if (n != count) {
+                        failure[0] = "found " + n + " entries in version " + s.version();
+                        return;
+                    }
+                }
+            }
+        };
+        reader.start();
+        for (int step = 1; step <= 200; step++) {
+            for (int i = 0; i < count; i++)
+                grid.move(i, i, step, 0, i + 0.5f, step + 0.5f, 0.5f);
+            grid.publish();
+        }
+        synchronized (done) {
+            done[0] = true;
+        }
+        reader.join();
+        assertNull(failure[0]);
+    }
+
+}
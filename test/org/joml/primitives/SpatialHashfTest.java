@@ -0,0 +1,211 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for the {@link SpatialHashf} class.
+ */
+public class SpatialHashfTest extends TestCase {
+
+    private static float[] randomBoxes(Random rnd, int count) {
+        float[] boxes = new float[count * 6];
+        for (int i = 0; i < count; i++)
+            randomBox(rnd, boxes, i);
+        return boxes;
+    }
+
+    private static void randomBox(Random rnd, float[] boxes, int i) {
+        float x = rnd.nextFloat() * 100 - 50, y = rnd.nextFloat() * 100 - 50, z = rnd.nextFloat() * 100 - 50;
+        boxes[i * 6] = x;
+        boxes[i * 6 + 1] = y;
+        boxes[i * 6 + 2] = z;
+        boxes[i * 6 + 3] = x + rnd.nextFloat() * 8;
+        boxes[i * 6 + 4] = y + rnd.nextFloat() * 8;
+        boxes[i * 6 + 5] = z + rnd.nextFloat() * 8;
+    }
+
+    private static void assertQueryMatchesBruteForce(SpatialHashf hash, float[] boxes, boolean[] present, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        int[] found = new int[present.length];
+        int n = hash.query(minX, minY, minZ, maxX, maxY, maxZ, found);
+        int[] expected = new int[present.length];
+        int m = 0;
+        for (int i = 0; i < present.length; i++) {
+            if (present[i] && Intersectionf.testAabAab(boxes[i * 6], boxes[i * 6 + 1], boxes[i * 6 + 2], boxes[i * 6 + 3], boxes[i * 6 + 4], boxes[i * 6 + 5],
+                    minX, minY, minZ, maxX, maxY, maxZ))
+                expected[m++] = i;
+        }
+        assertEquals(m, n);
+        Arrays.sort(found, 0, n);
+        for (int i = 0; i < n; i++)
+            assertEquals(expected[i], found[i]);
+    }
+
+    public static void testInsertMoveRemoveMatchBruteForce() {
+        Random rnd = new Random(1L);
+        int count = 500;
+        float[] boxes = randomBoxes(rnd, count);
+        boolean[] present = new boolean[count];
+        SpatialHashf hash = new SpatialHashf(4.0f, 256, count);
+        for (int i = 0; i < count; i++) {
+            hash.insert(i, boxes[i * 6], boxes[i * 6 + 1], boxes[i * 6 + 2], boxes[i * 6 + 3], boxes[i * 6 + 4], boxes[i * 6 + 5]);
+            present[i] = true;
+        }
+        for (int round = 0; round < 3; round++) {
+            for (int q = 0; q < 50; q++) {
+                float x = rnd.nextFloat() * 100 - 50, y = rnd.nextFloat() * 100 - 50, z = rnd.nextFloat() * 100 - 50;
+                assertQueryMatchesBruteForce(hash, boxes, present, x, y, z, x + rnd.nextFloat() * 20, y + rnd.nextFloat() * 20, z + rnd.nextFloat() * 20);
+            }
+            for (int i = 0; i < count; i++) {
+                if (rnd.nextInt(10) == 0) {
+                    assertEquals(present[i], hash.remove(i));
+                    present[i] = false;
+                } else if (present[i]) {
+                    randomBox(rnd, boxes, i);
+                    hash.move(i, boxes[i * 6], boxes[i * 6 + 1], boxes[i * 6 + 2], boxes[i * 6 + 3], boxes[i * 6 + 4], boxes[i * 6 + 5]);
+                }
+            }
+        }
+        assertQueryMatchesBruteForce(hash, boxes, present, -100, -100, -100, 100, 100, 100);
+    }
+
+    public static void testSmallMoveAndAabbOverloads() {
+        SpatialHashf hash = new SpatialHashf(1.0f, 16, 2);
+        hash.insert(0, new AABBf(0.1f, 0.1f, 0.1f, 0.4f, 0.4f, 0.4f));
+        hash.insert(1, new AABBi(3, 3, 3, 4, 4, 4));
+        assertTrue(hash.contains(0));
+        int[] found = new int[2];
+        assertEquals(1, hash.query(new AABBf(0, 0, 0, 0.5f, 0.5f, 0.5f), found));
+        assertEquals(0, found[0]);
+        // moving within the same cell only updates the bounds
+        hash.move(0, 0.6f, 0.6f, 0.6f, 0.9f, 0.9f, 0.9f);
+        assertEquals(0, hash.query(0, 0, 0, 0.5f, 0.5f, 0.5f, found));
+        assertEquals(new AABBf(0.6f, 0.6f, 0.6f, 0.9f, 0.9f, 0.9f), hash.getBounds(0, new AABBf()));
+        assertEquals(1, hash.query(new AABBi(4, 4, 4, 5, 5, 5), found));
+        assertEquals(1, found[0]);
+        // the query stops when the destination is full
+        assertEquals(1, hash.query(-10, -10, -10, 10, 10, 10, new int[1]));
+        try {
+            hash.insert(1, 0, 0, 0, 1, 1, 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertTrue(hash.remove(1));
+        assertFalse(hash.remove(1));
+        try {
+            hash.move(1, 0, 0, 0, 1, 1, 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    public static void testConcurrentUpdates() throws InterruptedException {
+        final int threads = 8, perThread = 200;
+        final int count = threads * perThread;
+        final float[] boxes = randomBoxes(new Random(2L), count);
+        final SpatialHashf hash = new SpatialHashf(4.0f, 64, count);
+        final boolean[] failed = new boolean[1];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int first = t * perThread;
+            final long seed = t;
+            workers[t] = new Thread() {
+                public void run() {
+                    try {
+                        Random rnd = new Random(seed);
+                        float[] box = new float[6];
+                        int[] found = new int[count];
+                        for (int i = first; i < first + perThread; i++)
+                            hash.insert(i, boxes[i * 6], boxes[i * 6 + 1], boxes[i * 6 + 2], boxes[i * 6 + 3], boxes[i * 6 + 4], boxes[i * 6 + 5]);
+                        for (int round = 0; round < 20; round++) {
+                            for (int i = first; i < first + perThread; i++) {
+                                randomBox(rnd, box, 0);
+                                hash.move(i, box[0], box[1], box[2], box[3], box[4], box[5]);
+                                System.arraycopy(box, 0, boxes, i * 6, 6);
+                            }
+                            hash.query(-20, -20, -20, 20, 20, 20, found);
+                        }
+                    } catch (RuntimeException e) {
+                        failed[0] = true;
+                        throw e;
+                    }
+                }
+            };
+            workers[t].start();
+        }
+        for (int t = 0; t < threads; t++)
+            workers[t].join();
+        assertFalse(failed[0]);
+        boolean[] present = new boolean[count];
+        Arrays.fill(present, true);
+        assertQueryMatchesBruteForce(hash, boxes, present, -100, -100, -100, 100, 100, 100);
+        assertQueryMatchesBruteForce(hash, boxes, present, -10, -5, 0, 10, 15, 20);
+    }
+
+    public static void testConcurrentQueryAndMove() throws InterruptedException {
+        final int fixed = 200, moving = 200, count = fixed + moving;
+        final float[] boxes = randomBoxes(new Random(3L), count);
+        final SpatialHashf hash = new SpatialHashf(4.0f, 64, count);
+        for (int i = 0; i < count; i++)
+            hash.insert(i, boxes[i * 6], boxes[i * 6 + 1], boxes[i * 6 + 2], boxes[i * 6 + 3], boxes[i * 6 + 4], boxes[i * 6 + 5]);
+        Thread mover = new Thread() {
+            public void run() {
+                Random rnd = new Random(4L);
+                float[] box = new float[6];
+                while (!isInterrupted()) {
+                    int i = fixed + rnd.nextInt(moving);
+                    randomBox(rnd, box, 0);
+                    hash.move(i, box[0], box[1], box[2], box[3], box[4], box[5]);
+                }
+            }
+        };
+        mover.start();
+        try {
+            int[] found = new int[count * 2];
+            int[] reported = new int[count];
+            for (int q = 0; q < 2000; q++) {
+                int n = hash.query(-30, -30, -30, 30, 30, 30, found);
+                Arrays.fill(reported, 0);
+                for (int i = 0; i < n; i++)
+                    reported[found[i]]++;
+                // the entries that are not moved are always reported exactly once
+                for (int i = 0; i < fixed; i++) {
+                    boolean overlaps = Intersectionf.testAabAab(boxes[i * 6], boxes[i * 6 + 1], boxes[i * 6 + 2], boxes[i * 6 + 3], boxes[i * 6 + 4], boxes[i * 6 + 5],
+                            -30, -30, -30, 30, 30, 30);
+                    assertEquals(overlaps ? 1 : 0, reported[i]);
+                }
+            }
+        } finally {
+            mover.interrupt();
+            mover.join();
+        }
+    }
+
+}
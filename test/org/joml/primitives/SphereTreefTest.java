@@ -0,0 +1,122 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+
+/**
+ * Tests for the {@link SphereTreef} class.
+ */
+public class SphereTreefTest extends TestCase {
+
+    private static float[] randomPoints(Random rnd, int count) {
+        float[] points = new float[count * 3];
+        for (int i = 0; i < points.length; i++)
+            points[i] = rnd.nextFloat() * 10.0f;
+        return points;
+    }
+
+    private static void assertBounding(SphereTreef tree, float[] points) {
+        Spheref s = new Spheref(), child = new Spheref();
+        int[] indices = new int[points.length / 3];
+        for (int node = 0; node < tree.nodeCount(); node++) {
+            tree.getSphere(node, s);
+            int n = tree.getPoints(node, indices);
+            for (int i = 0; i < n; i++) {
+                float dX = points[indices[i] * 3] - s.x, dY = points[indices[i] * 3 + 1] - s.y, dZ = points[indices[i] * 3 + 2] - s.z;
+                assertTrue(Math.sqrt(dX * dX + dY * dY + dZ * dZ) <= s.r + 1E-4f);
+            }
+            if (!tree.isLeaf(node)) {
+                tree.getSphere(node + 1, child);
+                float dX = child.x - s.x, dY = child.y - s.y, dZ = child.z - s.z;
+                assertTrue(Math.sqrt(dX * dX + dY * dY + dZ * dZ) + child.r <= s.r + 1E-4f);
+            }
+        }
+    }
+
+    public static void testBuildAndRefit() {
+        Random rnd = new Random(3);
+        float[] points = randomPoints(rnd, 500);
+        SphereTreef tree = new SphereTreef().build(points, 0, 3, 500, 8);
+        assertTrue(tree.nodeCount() <= 2 * 500 - 1);
+        int[] all = new int[500];
+        assertEquals(500, tree.getPoints(0, all));
+        assertBounding(tree, points);
+        Matrix4f m = new Matrix4f().translate(5, 0, -3).rotateXYZ(0.5f, -1.0f, 2.0f);
+        Vector3f p = new Vector3f();
+        for (int i = 0; i < 500; i++) {
+            m.transformPosition(p.set(points[i * 3], points[i * 3 + 1], points[i * 3 + 2]));
+            points[i * 3] = p.x;
+            points[i * 3 + 1] = p.y;
+            points[i * 3 + 2] = p.z;
+        }
+        tree.refit(points, 0, 3);
+        assertBounding(tree, points);
+    }
+
+    public static void testCoincidentPoints() {
+        float[] points = new float[30];
+        SphereTreef tree = new SphereTreef().build(points, 0, 3, 10, 1);
+        assertEquals(19, tree.nodeCount());
+        assertEquals(0.0f, tree.getSphere(0, new Spheref()).r, 0.0f);
+        assertEquals(0, new SphereTreef().build(points, 0, 3, 0, 4).nodeCount());
+    }
+
+    public static void testQueries() {
+        Random rnd = new Random(9);
+        float[] points = randomPoints(rnd, 300);
+        SphereTreef tree = new SphereTreef().build(points, 0, 3, 300, 4);
+        int[] leaves = new int[tree.nodeCount()];
+        Spheref s = new Spheref();
+        for (int q = 0; q < 50; q++) {
+            float x = rnd.nextFloat() * 14.0f - 2.0f, y = rnd.nextFloat() * 14.0f - 2.0f, z = rnd.nextFloat() * 14.0f - 2.0f;
+            float r = rnd.nextFloat() * 0.5f;
+            int expected = 0, expectedRay = 0, expectedAab = 0;
+            for (int node = 0; node < tree.nodeCount(); node++) {
+                if (!tree.isLeaf(node))
+                    continue;
+                tree.getSphere(node, s);
+                float dX = s.x - x, dY = s.y - y, dZ = s.z - z;
+                if (dX * dX + dY * dY + dZ * dZ <= (s.r + r) * (s.r + r))
+                    expected++;
+                if (Intersectionf.testRaySphere(x, y, z, 0, 0, 1, s.x, s.y, s.z, s.r * s.r))
+                    expectedRay++;
+                if (Intersectionf.testAabSphere(x - r, y - r, z - r, x + r, y + r, z + r, s.x, s.y, s.z, s.r * s.r))
+                    expectedAab++;
+            }
+            assertEquals(expected, tree.querySphere(x, y, z, r, leaves));
+            assertEquals(expected > 0, tree.testSphere(x, y, z, r));
+            assertEquals(expectedRay, tree.queryRay(x, y, z, 0, 0, 1, leaves));
+            assertEquals(expectedRay > 0, tree.testRay(x, y, z, 0, 0, 1));
+            assertEquals(expectedAab, tree.queryAab(x - r, y - r, z - r, x + r, y + r, z + r, leaves));
+            assertEquals(expectedAab > 0, tree.testAab(x - r, y - r, z - r, x + r, y + r, z + r));
+        }
+    }
+
+}
@@ -0,0 +1,170 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+
+/**
+ * Tests for the bounding volume builders {@link AABBf#setFromPoints(float[], int, int, int)},
+ * {@link Spheref#setFromPointsRitter(float[], int, int, int)} and {@link Spheref#setFromPointsWelzl(float[], int, int, int)},
+ * and for {@link Spheref#transform(Matrix4f, Spheref)}.
+ */
+public class SpherefTest extends TestCase {
+
+    private static float[] randomPoints(Random rnd, int count, int stride) {
+        float[] points = new float[count * stride + 1];
+        for (int i = 0; i < points.length; i++)
+            points[i] = rnd.nextFloat() * 20.0f - 10.0f;
+        return points;
+    }
+
+    private static void assertContains(Spheref s, float[] points, int offset, int stride, int count) {
+        for (int i = 0, j = offset; i < count; i++, j += stride) {
+            float dX = points[j] - s.x, dY = points[j + 1] - s.y, dZ = points[j + 2] - s.z;
+            assertTrue(dX * dX + dY * dY + dZ * dZ <= s.r * s.r * (1.0f + 1E-5f));
+        }
+    }
+
+    public static void testAabbFromPoints() {
+        float[] points = { 99, 1, 2, 3, 99, -4, 5, 0, 99, 2, -6, 7, 99 };
+        AABBf box = new AABBf().setFromPoints(points, 1, 4, 3);
+        assertEquals(new AABBf(-4, -6, 0, 2, 5, 7), box);
+        assertFalse(new AABBf().setFromPoints(points, 0, 3, 0).isValid());
+    }
+
+    public static void testAabbFromPointsMatchesUnion() {
+        Random rnd = new Random(1);
+        float[] points = randomPoints(rnd, 100, 5);
+        AABBf expected = new AABBf();
+        for (int i = 0; i < 100; i++)
+            expected.union(points[1 + i * 5], points[2 + i * 5], points[3 + i * 5]);
+        assertEquals(expected, new AABBf().setFromPoints(points, 1, 5, 100));
+    }
+
+    public static void testWelzlCubeCorners() {
+        float[] points = new float[8 * 3];
+        for (int i = 0; i < 8; i++) {
+            points[i * 3] = (i & 1) != 0 ? 3 : 1;
+            points[i * 3 + 1] = (i & 2) != 0 ? 3 : 1;
+            points[i * 3 + 2] = (i & 4) != 0 ? 3 : 1;
+        }
+        Spheref s = new Spheref().setFromPointsWelzl(points, 0, 3, 8);
+        assertEquals(2.0f, s.x, 1E-5f);
+        assertEquals(2.0f, s.y, 1E-5f);
+        assertEquals(2.0f, s.z, 1E-5f);
+        assertEquals((float) Math.sqrt(3.0), s.r, 1E-5f);
+    }
+
+    public static void testWelzlTetrahedron() {
+        float[] points = { 1, 1, 1, 1, -1, -1, -1, 1, -1, -1, -1, 1, 0, 0, 0, 0.5f, 0.2f, -0.3f };
+        Spheref s = new Spheref().setFromPointsWelzl(points, 0, 3, 6);
+        assertEquals(0.0f, s.x, 1E-5f);
+        assertEquals(0.0f, s.y, 1E-5f);
+        assertEquals(0.0f, s.z, 1E-5f);
+        assertEquals((float) Math.sqrt(3.0), s.r, 1E-5f);
+    }
+
+    public static void testWelzlTwoPoints() {
+        float[] points = { 0, 0, 0, 4, 0, 0, 2, 1, 0 };
+        Spheref s = new Spheref().setFromPointsWelzl(points, 0, 3, 3);
+        assertEquals(2.0f, s.x, 1E-5f);
+        assertEquals(0.0f, s.y, 1E-5f);
+        assertEquals(2.0f, s.r, 1E-5f);
+    }
+
+    public static void testWelzlCollinearAndCoplanar() {
+        float[] line = new float[10 * 3];
+        for (int i = 0; i < 10; i++)
+            line[i * 3] = line[i * 3 + 1] = line[i * 3 + 2] = i;
+        Spheref s = new Spheref().setFromPointsWelzl(line, 0, 3, 10);
+        assertContains(s, line, 0, 3, 10);
+        assertEquals(4.5f * (float) Math.sqrt(3.0), s.r, 1E-3f);
+        float[] grid = new float[25 * 3];
+        for (int i = 0; i < 25; i++) {
+            grid[i * 3] = i % 5;
+            grid[i * 3 + 1] = i / 5;
+        }
+        s.setFromPointsWelzl(grid, 0, 3, 25);
+        assertContains(s, grid, 0, 3, 25);
+        assertEquals(2.0f * (float) Math.sqrt(2.0), s.r, 1E-3f);
+    }
+
+    public static void testWelzlSortedInput() {
+        // points sorted by angle along a circle are the worst case for Welzl's algorithm without shuffling
+        int n = 5000;
+        float[] points = new float[n * 3];
+        for (int i = 0; i < n; i++) {
+            points[i * 3] = 10 + (float) Math.cos(i * Math.PI / n);
+            points[i * 3 + 1] = (float) Math.sin(i * Math.PI / n);
+        }
+        Spheref s = new Spheref().setFromPointsWelzl(points, 0, 3, n);
+        assertContains(s, points, 0, 3, n);
+        assertEquals(1.0f, s.r, 1E-3f);
+        // a smaller call reusing the shuffled order of the previous one
+        s.setFromPointsWelzl(points, 0, 3, n / 2 + 1);
+        assertContains(s, points, 0, 3, n / 2 + 1);
+        assertEquals((float) Math.sqrt(2.0) / 2, s.r, 1E-3f);
+    }
+
+    public static void testRandomPointClouds() {
+        Random rnd = new Random(42);
+        for (int n = 1; n < 200; n += 7) {
+            float[] points = randomPoints(rnd, n, 4);
+            Spheref ritter = new Spheref().setFromPointsRitter(points, 1, 4, n);
+            Spheref welzl = new Spheref().setFromPointsWelzl(points, 1, 4, n);
+            assertContains(ritter, points, 1, 4, n);
+            assertContains(welzl, points, 1, 4, n);
+            assertTrue(welzl.r <= ritter.r * (1.0f + 1E-5f));
+        }
+    }
+
+    public static void testEmpty() {
+        Spheref s = new Spheref(1, 2, 3, 4).setFromPointsWelzl(new float[0], 0, 3, 0);
+        assertEquals(new Spheref(), s);
+        assertEquals(new Spheref(), new Spheref(1, 2, 3, 4).setFromPointsRitter(new float[0], 0, 3, 0));
+    }
+
+
+    public static void testTransformEnclosesScaledSphere() {
+        Spheref sphere = new Spheref(1, 2, 3, 2);
+        Matrix4f m = new Matrix4f().translate(5, 0, 0).rotateY(0.5f).scale(1, 3, 0.5f);
+        Spheref result = sphere.transform(m, new Spheref());
+        Vector3f c = m.transformPosition(new Vector3f(1, 2, 3));
+        assertEquals(c.x, result.x, 1E-5f);
+        assertEquals(c.y, result.y, 1E-5f);
+        assertEquals(c.z, result.z, 1E-5f);
+        assertEquals(6, result.r, 1E-5f);
+        float[] packed = { 0, 1, 2, 3, 2 };
+        Spheref.transformAll(m, packed, 1, packed, 1, 1);
+        assertEquals(result.x, packed[1], 0);
+        assertEquals(result.y, packed[2], 0);
+        assertEquals(result.z, packed[3], 0);
+        assertEquals(result.r, packed[4], 0);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for the {@link SweepAndPrunef} class.
+ */
+public class SweepAndPrunefTest extends TestCase {
+
+    private static void randomBoxes(Random rnd, float[] boxes, int count, float extent) {
+        for (int i = 0; i < count; i++) {
+            float x = rnd.nextFloat() * extent, y = rnd.nextFloat() * extent, z = rnd.nextFloat() * extent;
+            boxes[i * 6] = x;
+            boxes[i * 6 + 1] = y;
+            boxes[i * 6 + 2] = z;
+            boxes[i * 6 + 3] = x + rnd.nextFloat() * 3;
+            boxes[i * 6 + 4] = y + rnd.nextFloat() * 3;
+            boxes[i * 6 + 5] = z + rnd.nextFloat() * 3;
+        }
+    }
+
+    private static void assertPairsMatchBruteForce(SweepAndPrunef sap, float[] boxes, int count) {
+        int n = sap.findPairs(boxes, 0, count);
+        assertEquals(n, sap.pairCount());
+        int[] pairs = sap.pairs();
+        boolean[] seen = new boolean[count * count];
+        for (int p = 0; p < n; p++) {
+            int a = pairs[p * 2], b = pairs[p * 2 + 1];
+            assertTrue(a < b);
+            assertFalse(seen[a * count + b]);
+            seen[a * count + b] = true;
+        }
+        int expected = 0;
+        for (int a = 0; a < count; a++)
+            for (int b = a + 1; b < count; b++)
+                if (Intersectionf.testAabAab(boxes[a * 6], boxes[a * 6 + 1], boxes[a * 6 + 2], boxes[a * 6 + 3], boxes[a * 6 + 4], boxes[a * 6 + 5],
+                        boxes[b * 6], boxes[b * 6 + 1], boxes[b * 6 + 2], boxes[b * 6 + 3], boxes[b * 6 + 4], boxes[b * 6 + 5])) {
+                    assertTrue(seen[a * count + b]);
+                    expected++;
+                }
+        assertEquals(expected, n);
+    }
+
+    public static void testMatchesBruteForce() {
+        Random rnd = new Random(11L);
+        int count = 1500;
+        float[] boxes = new float[count * 6];
+        randomBoxes(rnd, boxes, count, 60);
+        for (int threads = 1; threads <= 4; threads += 3) {
+            SweepAndPrunef sap = new SweepAndPrunef(threads);
+            try {
+                assertPairsMatchBruteForce(sap, boxes, count);
+                // small moves are repaired by the insertion sort
+                for (int i = 0; i < count * 6; i++)
+                    boxes[i] += (rnd.nextFloat() - 0.5f) * 0.2f;
+                assertPairsMatchBruteForce(sap, boxes, count);
+                // teleporting all boxes triggers a full sort
+                randomBoxes(rnd, boxes, count, 60);
+                assertPairsMatchBruteForce(sap, boxes, count);
+                // so does a different number of boxes
+                assertPairsMatchBruteForce(sap, boxes, count - 100);
+            } finally {
+                sap.dispose();
+            }
+        }
+    }
+
+    public static void testBoxesSpreadAlongZ() {
+        Random rnd = new Random(13L);
+        int count = 1000;
+        float[] boxes = new float[count * 6];
+        randomBoxes(rnd, boxes, count, 10);
+        for (int i = 0; i < count; i++) {
+            boxes[i * 6 + 2] *= 20;
+            boxes[i * 6 + 5] = boxes[i * 6 + 2] + 1;
+        }
+        SweepAndPrunef sap = new SweepAndPrunef(2);
+        try {
+            assertPairsMatchBruteForce(sap, boxes, count);
+        } finally {
+            sap.dispose();
+        }
+    }
+
+    public static void testResultIndependentOfThreadCount() {
+        Random rnd = new Random(12L);
+        int count = 3000;
+        float[] boxes = new float[count * 6];
+        randomBoxes(rnd, boxes, count, 80);
+        SweepAndPrunef single = new SweepAndPrunef(1);
+        SweepAndPrunef multi = new SweepAndPrunef(3);
+        try {
+            int n = single.findPairs(boxes, 0, count);
+            assertEquals(n, multi.findPairs(boxes, 0, count));
+            for (int i = 0; i < n * 2; i++)
+                assertEquals(single.pairs()[i], multi.pairs()[i]);
+        } finally {
+            single.dispose();
+            multi.dispose();
+        }
+    }
+
+    public static void testWorkerPoolPropagatesFailures() {
+        WorkerPool pool = new WorkerPool(3);
+        try {
+            pool.run(new WorkerPool.Task() {
+                public void run(int chunk) {
+                    if (chunk == 5)
+                        throw new IllegalStateException("chunk 5");
+                }
+            }, 10);
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("chunk 5", e.getMessage());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,186 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for the {@link TriangleIntersectionsf} class.
+ */
+public class TriangleIntersectionsfTest extends TestCase {
+
+    private static float[] randomTriangles(Random rnd, int count, float extent) {
+        float[] positions = new float[count * 9];
+        for (int t = 0; t < count; t++) {
+            float x = rnd.nextFloat() * extent, y = rnd.nextFloat() * extent, z = rnd.nextFloat() * extent;
+            for (int v = 0; v < 3; v++) {
+                positions[t * 9 + v * 3] = x + rnd.nextFloat() * 2;
+                positions[t * 9 + v * 3 + 1] = y + rnd.nextFloat() * 2;
+                positions[t * 9 + v * 3 + 2] = z + rnd.nextFloat() * 2;
+            }
+        }
+        return positions;
+    }
+
+    private static int[] sequentialIndices(int count) {
+        int[] indices = new int[count * 3];
+        for (int i = 0; i < indices.length; i++)
+            indices[i] = i;
+        return indices;
+    }
+
+    private static boolean intersect(float[] pa, int a, float[] pb, int b) {
+        int o = a * 9, p = b * 9;
+        return Intersectionf.testTriangleTriangle(pa[o], pa[o + 1], pa[o + 2], pa[o + 3], pa[o + 4], pa[o + 5], pa[o + 6], pa[o + 7], pa[o + 8],
+                pb[p], pb[p + 1], pb[p + 2], pb[p + 3], pb[p + 4], pb[p + 5], pb[p + 6], pb[p + 7], pb[p + 8]);
+    }
+
+    public static void testSelfIntersectionsMatchBruteForce() {
+        Random rnd = new Random(13L);
+        int count = 400;
+        float[] positions = randomTriangles(rnd, count, 20);
+        int[] indices = sequentialIndices(count);
+        for (int threads = 1; threads <= 3; threads += 2) {
+            TriangleIntersectionsf checker = new TriangleIntersectionsf(threads);
+            try {
+                int n = checker.findSelfIntersections(positions, indices, count);
+                assertEquals(n, checker.pairCount());
+                int[] pairs = checker.pairs();
+                boolean[] seen = new boolean[count * count];
+                for (int i = 0; i < n; i++) {
+                    int a = pairs[i * 2], b = pairs[i * 2 + 1];
+                    assertTrue(a < b);
+                    assertFalse(seen[a * count + b]);
+                    seen[a * count + b] = true;
+                }
+                int expected = 0;
+                for (int a = 0; a < count; a++)
+                    for (int b = a + 1; b < count; b++)
+                        if (intersect(positions, a, positions, b)) {
+                            assertTrue(seen[a * count + b]);
+                            expected++;
+                        }
+                assertEquals(expected, n);
+                assertTrue(n > 0);
+            } finally {
+                checker.dispose();
+            }
+        }
+    }
+
+    public static void testWeldedGridWithPiercingTriangle() {
+        // a welded 10 x 10 grid of quads in the plane z = 0, followed by one triangle piercing the quad at (4, 6)
+        int size = 10;
+        float[] positions = new float[((size + 1) * (size + 1) + 3) * 3];
+        for (int y = 0; y <= size; y++)
+            for (int x = 0; x <= size; x++) {
+                positions[(y * (size + 1) + x) * 3] = x;
+                positions[(y * (size + 1) + x) * 3 + 1] = y;
+            }
+        int[] indices = new int[(size * size * 2 + 1) * 3];
+        int n = 0;
+        for (int y = 0; y < size; y++)
+            for (int x = 0; x < size; x++) {
+                int v = y * (size + 1) + x;
+                indices[n++] = v;
+                indices[n++] = v + 1;
+                indices[n++] = v + size + 2;
+                indices[n++] = v;
+                indices[n++] = v + size + 2;
+                indices[n++] = v + size + 1;
+            }
+        int p = (size + 1) * (size + 1);
+        float[] piercing = { 4.1f, 6.5f, -1, 4.4f, 6.5f, -1, 4.25f, 6.5f, 1 };
+        System.arraycopy(piercing, 0, positions, p * 3, 9);
+        indices[n++] = p;
+        indices[n++] = p + 1;
+        indices[n++] = p + 2;
+        TriangleIntersectionsf checker = new TriangleIntersectionsf(2);
+        try {
+            assertEquals(0, checker.findSelfIntersections(positions, indices, size * size * 2));
+            assertEquals(1, checker.findSelfIntersections(positions, indices, size * size * 2 + 1));
+            // the intersection lies left of the diagonal of the quad, within its upper left triangle
+            assertEquals((6 * size + 4) * 2 + 1, checker.pairs()[0]);
+            assertEquals(size * size * 2, checker.pairs()[1]);
+        } finally {
+            checker.dispose();
+        }
+    }
+
+    public static void testSelfIntersectionsOfNeighbors() {
+        // a closed cube whose neighboring triangles only touch
+        float[] cube = { 0, 0, 0, 1, 0, 0, 0, 1, 0, 1, 1, 0, 0, 0, 1, 1, 0, 1, 0, 1, 1, 1, 1, 1 };
+        int[] cubeIndices = { 0, 2, 1, 1, 2, 3, 4, 5, 6, 5, 7, 6, 0, 1, 4, 1, 5, 4, 2, 6, 3, 3, 6, 7, 0, 4, 2, 2, 4, 6, 1, 3, 5, 3, 7, 5 };
+        // a triangle pierced by a neighbor sharing one vertex, a neighbor folded onto it across a shared edge, an overlapping coplanar
+        // neighbor sharing one vertex and a neighbor only touching it in their shared vertex
+        float[] positions = { 0, 0, 0, 2, 0, 0, 0, 2, 0, 0.5f, 0.5f, 1, 0.5f, 0.5f, -1, 1, 1, 0, 1, 2, 0, 2, -1, 1 };
+        int[] pierced = { 0, 1, 2, 0, 3, 4 };
+        int[] folded = { 0, 1, 2, 1, 0, 5 };
+        int[] overlapping = { 0, 1, 2, 0, 5, 6 };
+        int[] touching = { 0, 1, 2, 1, 7, 3 };
+        TriangleIntersectionsf checker = new TriangleIntersectionsf(1);
+        try {
+            assertEquals(0, checker.findSelfIntersections(cube, cubeIndices, 12));
+            assertEquals(1, checker.findSelfIntersections(positions, pierced, 2));
+            assertEquals(1, checker.findSelfIntersections(positions, folded, 2));
+            assertEquals(1, checker.findSelfIntersections(positions, overlapping, 2));
+            assertEquals(0, checker.findSelfIntersections(positions, touching, 2));
+        } finally {
+            checker.dispose();
+        }
+    }
+
+    public static void testIntersectionsBetweenMeshesMatchBruteForce() {
+        Random rnd = new Random(29L);
+        int countA = 250, countB = 150;
+        float[] positionsA = randomTriangles(rnd, countA, 15);
+        float[] positionsB = randomTriangles(rnd, countB, 15);
+        TriangleIntersectionsf checker = new TriangleIntersectionsf(3);
+        try {
+            int n = checker.findIntersections(positionsA, sequentialIndices(countA), countA, positionsB, sequentialIndices(countB), countB);
+            int[] pairs = checker.pairs();
+            boolean[] seen = new boolean[countA * countB];
+            for (int i = 0; i < n; i++) {
+                int a = pairs[i * 2], b = pairs[i * 2 + 1];
+                assertTrue(a < countA && b < countB);
+                assertFalse(seen[a * countB + b]);
+                seen[a * countB + b] = true;
+            }
+            int expected = 0;
+            for (int a = 0; a < countA; a++)
+                for (int b = 0; b < countB; b++)
+                    if (intersect(positionsA, a, positionsB, b)) {
+                        assertTrue(seen[a * countB + b]);
+                        expected++;
+                    }
+            assertEquals(expected, n);
+            assertTrue(n > 0);
+        } finally {
+            checker.dispose();
+        }
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import junit.framework.TestCase;
+
+import org.joml.Vector3f;
+import org.joml.Vector4f;
+
+/**
+ * Tests for the {@link Trianglef} class.
+ */
+public class TrianglefTest extends TestCase {
+
+    public static void testIntersectRayMatchesIntersectionf() {
+        Trianglef t = new Trianglef(-1, -1, 2, 3, -1, 1, -1, 2, 3);
+        float[][] rays = {
+            {0, 0, -5, 0, 0, 1},
+            {0, 0, 5, 0, 0, -1},
+            {0.5f, 0.25f, -5, 0.01f, 0.02f, 1},
+            {4, 4, -5, 0, 0, 1},
+            {0, 0, 5, 0, 0, 1},
+            {-0.9f, -0.9f, 0, 0, 0, 1},
+        };
+        for (int i = 0; i < rays.length; i++) {
+            float[] r = rays[i];
+            float expected = Intersectionf.intersectRayTriangle(r[0], r[1], r[2], r[3], r[4], r[5],
+                    -1, -1, 2, 3, -1, 1, -1, 2, 3, 1E-6f);
+            float actual = t.intersectRay(r[0], r[1], r[2], r[3], r[4], r[5], 1E-6f);
+            // intersections behind the ray's origin are reported as -1
+            assertEquals(expected < 0.0f ? -1.0f : expected, actual, 1E-4f);
+        }
+    }
+
+    public static void testIntersectRayParallel() {
+        Trianglef t = new Trianglef(0, 0, 0, 1, 0, 0, 0, 1, 0);
+        assertEquals(-1.0f, t.intersectRay(0.1f, 0.1f, 1, 1, 0, 0, 1E-6f), 0.0f);
+        assertEquals(1.0f, t.intersectRay(0.1f, 0.1f, 1, 0, 0, -1, 1E-6f), 1E-6f);
+        assertTrue(t.testRay(new Rayf(0.1f, 0.1f, -1, 0, 0, 1), 1E-6f));
+    }
+
+    public static void testIntersectRayEpsilonMatchesIntersectionf() {
+        // the determinant of this large triangle is far above epsilon although the ray is almost parallel
+        Trianglef t = new Trianglef(0, 0, 0, 10, 0, 0, 0, 10, 0);
+        float expected = Intersectionf.intersectRayTriangle(1, 1, 0.001f, 1, 0, -0.001f, 0, 0, 0, 10, 0, 0, 0, 10, 0, 0.01f);
+        assertEquals(1.0f, expected, 1E-4f);
+        assertEquals(expected, t.intersectRay(1, 1, 0.001f, 1, 0, -0.001f, 0.01f), 1E-4f);
+    }
+
+    public static void testLineSegment() {
+        Trianglef t = new Trianglef(0, 0, 0, 1, 0, 0, 0, 1, 0);
+        Vector3f p = new Vector3f();
+        assertTrue(t.intersectLineSegment(0.25f, 0.25f, -1, 0.25f, 0.25f, 1, 1E-6f, p));
+        TestUtil.assertVector3fEquals(new Vector3f(0.25f, 0.25f, 0), p, 1E-6f);
+        assertFalse(t.testLineSegment(0.25f, 0.25f, 1, 0.25f, 0.25f, 2, 1E-6f));
+    }
+
+    public static void testFindClosestPoint() {
+        Trianglef t = new Trianglef(0, 0, 0, 1, 0, 0, 0, 1, 0);
+        Vector3f p = new Vector3f();
+        assertEquals(Intersectionf.POINT_ON_TRIANGLE_VERTEX_0, t.findClosestPoint(-1, -1, 0, p));
+        assertEquals(Intersectionf.POINT_ON_TRIANGLE_VERTEX_1, t.findClosestPoint(2, -1, 0, p));
+        assertEquals(Intersectionf.POINT_ON_TRIANGLE_VERTEX_2, t.findClosestPoint(-1, 2, 0, p));
+        assertEquals(Intersectionf.POINT_ON_TRIANGLE_EDGE_01, t.findClosestPoint(0.5f, -1, 0, p));
+        TestUtil.assertVector3fEquals(new Vector3f(0.5f, 0, 0), p, 1E-6f);
+        assertEquals(Intersectionf.POINT_ON_TRIANGLE_EDGE_12, t.findClosestPoint(1, 1, 0, p));
+        TestUtil.assertVector3fEquals(new Vector3f(0.5f, 0.5f, 0), p, 1E-6f);
+        assertEquals(Intersectionf.POINT_ON_TRIANGLE_EDGE_20, t.findClosestPoint(-1, 0.5f, 0, p));
+        assertEquals(Intersectionf.POINT_ON_TRIANGLE_FACE, t.findClosestPoint(0.25f, 0.25f, 3, p));
+        TestUtil.assertVector3fEquals(new Vector3f(0.25f, 0.25f, 0), p, 1E-6f);
+    }
+
+    public static void testFindClosestPointMatchesIntersectionf() {
+        Trianglef t = new Trianglef(-1, -1, 2, 3, -1, 1, -1, 2, 3);
+        Vector3f expected = new Vector3f(), actual = new Vector3f();
+        for (int i = 0; i < 1000; i++) {
+            float x = (float) Math.sin(i * 0.37) * 5, y = (float) Math.cos(i * 0.51) * 5, z = (float) Math.sin(i * 0.13) * 5;
+            int region = Intersectionf.findClosestPointOnTriangle(-1, -1, 2, 3, -1, 1, -1, 2, 3, x, y, z, expected);
+            assertEquals(region, t.findClosestPoint(x, y, z, actual));
+            TestUtil.assertVector3fEquals(expected, actual, 1E-4f);
+        }
+    }
+
+    public static void testIntersectSphere() {
+        Trianglef t = new Trianglef(0, 0, 0, 1, 0, 0, 0, 1, 0);
+        Vector3f p = new Vector3f();
+        assertEquals(Intersectionf.POINT_ON_TRIANGLE_FACE, t.intersectSphere(0.25f, 0.25f, 0.5f, 1, p));
+        assertEquals(0, t.intersectSphere(0.25f, 0.25f, 2, 1, p));
+        assertEquals(0, t.intersectSphere(2, 2, 0, 1, p));
+    }
+
+    public static void testIntersectSweptSphere() {
+        Trianglef t = new Trianglef(0, 0, 0, 1, 0, 0, 0, 1, 0);
+        Vector4f pt = new Vector4f();
+        assertEquals(Intersectionf.POINT_ON_TRIANGLE_FACE, t.intersectSweptSphere(0.25f, 0.25f, 3, 1, 0, 0, -4, 1E-6f, 1, pt));
+        assertEquals(0.5f, pt.w, 1E-5f);
+        // does not reach the plane within maxT
+        assertEquals(0, t.intersectSweptSphere(0.25f, 0.25f, 10, 1, 0, 0, -4, 1E-6f, 1, pt));
+    }
+
+    public static void testIntersectSweptSphereMatchesIntersectionf() {
+        Trianglef t = new Trianglef(0, 0, 0, 1, 0, 0, 0, 1, 0);
+        float[][] spheres = {
+            { 0.25f, 0.25f, 3, 1, 0, 0, -4 },
+            { 2, 0.5f, 2, 1.2f, 0, 0, -4 },
+            { -1, -1, 2, 1, 0.5f, 0.5f, -4 },
+            { 0.25f, 0.25f, -3, 1, 0, 0, -4 },
+            { 0.25f, 0.25f, 3, 1, 0, 0, 4 },
+        };
+        Vector4f expected = new Vector4f(), actual = new Vector4f();
+        for (int i = 0; i < spheres.length; i++) {
+            float[] s = spheres[i];
+            int e = Intersectionf.intersectSweptSphereTriangle(s[0], s[1], s[2], s[3], s[4], s[5], s[6],
+                    0, 0, 0, 1, 0, 0, 0, 1, 0, 1E-6f, 1, expected);
+            int a = t.intersectSweptSphere(s[0], s[1], s[2], s[3], s[4], s[5], s[6], 1E-6f, 1, actual);
+            assertEquals(e, a);
+            if (e != 0)
+                assertEquals(expected.w, actual.w, 1E-5f);
+        }
+    }
+
+}
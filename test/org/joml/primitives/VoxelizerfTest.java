@@ -0,0 +1,100 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for the {@link Voxelizerf} class.
+ */
+public class VoxelizerfTest extends TestCase {
+
+    public static void testMatchesBruteForce() {
+        Random rnd = new Random(21L);
+        int triangleCount = 60;
+        float[] positions = new float[triangleCount * 9];
+        int[] indices = new int[triangleCount * 3];
+        for (int i = 0; i < positions.length; i++)
+            positions[i] = (rnd.nextFloat() - 0.3f) * 10;
+        for (int i = 0; i < indices.length; i++)
+            indices[i] = i;
+        AABBi bounds = new AABBi(-3, -2, -4, 9, 7, 5);
+        float s = 0.75f;
+        for (int threads = 1; threads <= 3; threads += 2) {
+            Voxelizerf voxelizer = new Voxelizerf(bounds, s, threads);
+            try {
+                int count = voxelizer.voxelize(positions, indices, triangleCount);
+                assertEquals(count, voxelizer.count());
+                int expected = 0;
+                for (int z = bounds.minZ; z < bounds.maxZ; z++)
+                    for (int y = bounds.minY; y < bounds.maxY; y++)
+                        for (int x = bounds.minX; x < bounds.maxX; x++) {
+                            boolean hit = false;
+                            for (int j = 0; j < triangleCount && !hit; j++) {
+                                int o = j * 9;
+                                hit = Intersectionf.testAabTriangle(x * s, y * s, z * s, (x + 1) * s, (y + 1) * s, (z + 1) * s,
+                                        positions[o], positions[o + 1], positions[o + 2], positions[o + 3], positions[o + 4], positions[o + 5],
+                                        positions[o + 6], positions[o + 7], positions[o + 8]);
+                            }
+                            assertEquals(hit, voxelizer.isSet(x, y, z));
+                            if (hit)
+                                expected++;
+                        }
+                assertEquals(expected, count);
+                assertTrue(count > 0);
+                // voxelizing the same mesh again sets no new voxels
+                assertEquals(0, voxelizer.voxelize(positions, indices, triangleCount));
+                voxelizer.clear();
+                assertEquals(0, voxelizer.count());
+            } finally {
+                voxelizer.dispose();
+            }
+        }
+    }
+
+    public static void testQuadInsideAndOutsideOfGrid() {
+        // a square in the plane z = 0.5 spanning x and y from -10 to 10, made of two triangles
+        float[] positions = { -10, -10, 0.5f, 10, -10, 0.5f, 10, 10, 0.5f, -10, 10, 0.5f };
+        int[] indices = { 0, 1, 2, 0, 2, 3 };
+        Voxelizerf voxelizer = new Voxelizerf(new AABBi(0, 0, 0, 70, 3, 2), 1.0f, 2);
+        try {
+            voxelizer.voxelize(positions, indices, 2);
+            // only the first layer, and only the voxels with x and y below 10, plus the row and column touching x = 10 and y = 10
+            assertEquals(11 * 3, voxelizer.count());
+            assertTrue(voxelizer.isSet(0, 0, 0));
+            assertTrue(voxelizer.isSet(10, 2, 0));
+            assertFalse(voxelizer.isSet(11, 0, 0));
+            assertFalse(voxelizer.isSet(0, 0, 1));
+            assertFalse(voxelizer.isSet(-1, 0, 0));
+            AABBi bounds = voxelizer.bounds(new AABBi());
+            assertEquals(70, bounds.maxX);
+            assertEquals(2, bounds.maxZ);
+        } finally {
+            voxelizer.dispose();
+        }
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020 JOML
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.joml.primitives;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for the {@link WorkerPool} class.
+ */
+public class WorkerPoolTest extends TestCase {
+
+    public static void testRunsEveryChunkOnce() {
+        WorkerPool pool = new WorkerPool(3);
+        try {
+            final int[] runs = new int[50];
+            pool.run(new WorkerPool.Task() {
+                public void run(int chunk) {
+                    synchronized (runs) {
+                        runs[chunk]++;
+                    }
+                }
+            }, runs.length);
+            for (int i = 0; i < runs.length; i++)
+                assertEquals(1, runs[i]);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public static void testRejectsNestedJob() {
+        final WorkerPool pool = new WorkerPool(2);
+        try {
+            final WorkerPool.Task empty = new WorkerPool.Task() {
+                public void run(int chunk) {
+                }
+            };
+            try {
+                pool.run(new WorkerPool.Task() {
+                    public void run(int chunk) {
+                        pool.run(empty, 4);
+                    }
+                }, 4);
+                fail();
+            } catch (IllegalStateException e) {
+                // expected
+            }
+            // the pool accepts new jobs after the rejected one
+            pool.run(empty, 4);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+}